@@ -24,6 +24,7 @@ import java.util.Base64;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Set;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -55,6 +56,12 @@ public class AlertFilter extends Enableable {
     private boolean isEvidenceRegex;
     private Set<String> methods;
 
+    // The compiled regular expressions, created when first needed and again only if changed.
+    private volatile Pattern urlPattern;
+    private volatile Pattern parameterPattern;
+    private volatile Pattern attackPattern;
+    private volatile Pattern evidencePattern;
+
     private static final Logger LOGGER = LogManager.getLogger(AlertFilter.class);
 
     public AlertFilter() {
@@ -404,18 +411,22 @@ public class AlertFilter extends Enableable {
                 return false;
             }
         }
-        if (!matchesStringOrRegex("URL", getUrl(), isUrlRegex(), alert.getUri())) {
+        urlPattern = getPattern(urlPattern, getUrl(), isUrlRegex());
+        if (!matchesStringOrRegex("URL", getUrl(), urlPattern, alert.getUri())) {
             return false;
         }
+        parameterPattern = getPattern(parameterPattern, getParameter(), isParameterRegex());
         if (!matchesStringOrRegex(
-                "Parameter", getParameter(), isParameterRegex(), alert.getParam())) {
+                "Parameter", getParameter(), parameterPattern, alert.getParam())) {
             return false;
         }
-        if (!matchesStringOrRegex("Attack", getAttack(), isAttackRegex(), alert.getAttack())) {
+        attackPattern = getPattern(attackPattern, getAttack(), isAttackRegex());
+        if (!matchesStringOrRegex("Attack", getAttack(), attackPattern, alert.getAttack())) {
             return false;
         }
+        evidencePattern = getPattern(evidencePattern, getEvidence(), isEvidenceRegex());
         if (!matchesStringOrRegex(
-                "Evidence", getEvidence(), isEvidenceRegex(), alert.getEvidence())) {
+                "Evidence", getEvidence(), evidencePattern, alert.getEvidence())) {
             return false;
         }
         if (!methods.isEmpty() && !methods.contains(alert.getMethod().toUpperCase(Locale.ROOT))) {
@@ -424,11 +435,21 @@ public class AlertFilter extends Enableable {
         return true;
     }
 
+    private static Pattern getPattern(Pattern pattern, String regex, boolean isRegex) {
+        if (!isRegex || regex == null || regex.isEmpty()) {
+            return null;
+        }
+        if (pattern != null && pattern.pattern().equals(regex)) {
+            return pattern;
+        }
+        return Pattern.compile(regex);
+    }
+
     private static boolean matchesStringOrRegex(
-            String paramName, String paramValue, boolean isRegex, String targetValue) {
+            String paramName, String paramValue, Pattern pattern, String targetValue) {
         if (paramValue != null && paramValue.length() > 0) {
-            if (isRegex) {
-                if (!targetValue.matches(paramValue)) {
+            if (pattern != null) {
+                if (!pattern.matcher(targetValue).matches()) {
                     LOGGER.debug(
                             "Filter didn't match {} regex: {} : {}",
                             paramName,
@@ -0,0 +1,114 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.alertFilters;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.parosproxy.paros.core.scanner.Alert;
+
+/**
+ * Alert filters indexed by rule ID, so that only the filters of the rule that raised an alert are
+ * checked.
+ *
+ * <p>The filters keep the order in which they were given, the filter found for an alert is the
+ * same that would be found checking all the filters in that order.
+ */
+class AlertFilterIndex {
+
+    static final AlertFilterIndex EMPTY = new AlertFilterIndex(Collections.emptyList());
+
+    private final Map<String, List<IndexedFilter>> filters;
+    private final int size;
+
+    AlertFilterIndex(Collection<AlertFilter> alertFilters) {
+        filters = new HashMap<>();
+        int position = 0;
+        for (AlertFilter filter : alertFilters) {
+            if (filter.getRuleId() != null) {
+                filters.computeIfAbsent(filter.getRuleId(), k -> new ArrayList<>())
+                        .add(new IndexedFilter(position, filter));
+            }
+            position++;
+        }
+        size = position;
+    }
+
+    /**
+     * Gets the first filter that applies to the given alert.
+     *
+     * @param alert the alert.
+     * @param ignoreContext {@code true} if the context of the filters should be ignored, {@code
+     *     false} otherwise.
+     * @return the filter, or {@code null} if none applies.
+     * @see AlertFilter#appliesToAlert(Alert, boolean)
+     */
+    AlertFilter getFilter(Alert alert, boolean ignoreContext) {
+        if (filters.isEmpty()) {
+            return null;
+        }
+        String pluginId = String.valueOf(alert.getPluginId());
+        List<IndexedFilter> pluginIdFilters = filters.getOrDefault(pluginId, List.of());
+        List<IndexedFilter> alertRefFilters =
+                pluginId.equals(alert.getAlertRef())
+                        ? List.of()
+                        : filters.getOrDefault(alert.getAlertRef(), List.of());
+
+        // Merge both in the original order.
+        int i = 0;
+        int j = 0;
+        while (i < pluginIdFilters.size() || j < alertRefFilters.size()) {
+            IndexedFilter next;
+            if (j >= alertRefFilters.size()
+                    || i < pluginIdFilters.size()
+                            && pluginIdFilters.get(i).position < alertRefFilters.get(j).position) {
+                next = pluginIdFilters.get(i++);
+            } else {
+                next = alertRefFilters.get(j++);
+            }
+            if (next.filter.appliesToAlert(alert, ignoreContext)) {
+                return next.filter;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the number of filters indexed.
+     *
+     * @return the number of filters.
+     */
+    int size() {
+        return size;
+    }
+
+    private static class IndexedFilter {
+        private final int position;
+        private final AlertFilter filter;
+
+        IndexedFilter(int position, AlertFilter filter) {
+            this.position = position;
+            this.filter = filter;
+        }
+    }
+}
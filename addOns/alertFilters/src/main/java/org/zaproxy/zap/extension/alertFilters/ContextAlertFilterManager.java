@@ -36,6 +36,8 @@ public class ContextAlertFilterManager {
     /** The model. */
     private List<AlertFilter> alertFilters;
 
+    private volatile AlertFilterIndex index;
+
     public ContextAlertFilterManager(int contextId) {
         this.contextId = contextId;
         this.alertFilters = new ArrayList<>();
@@ -68,6 +70,20 @@ public class ContextAlertFilterManager {
         return Collections.unmodifiableList(alertFilters);
     }
 
+    /**
+     * Gets the index of the alertFilters, created again after the alertFilters change.
+     *
+     * @return the index
+     */
+    AlertFilterIndex getIndex() {
+        AlertFilterIndex current = index;
+        if (current == null) {
+            current = new AlertFilterIndex(new ArrayList<>(alertFilters));
+            index = current;
+        }
+        return current;
+    }
+
     /**
      * Sets a new list of alertFilters for this context. An internal copy of the provided list is
      * stored.
@@ -77,6 +93,7 @@ public class ContextAlertFilterManager {
      */
     public void setAlertFilters(List<AlertFilter> alertFilters) {
         this.alertFilters = new ArrayList<>(alertFilters);
+        index = null;
     }
 
     /**
@@ -86,6 +103,7 @@ public class ContextAlertFilterManager {
      */
     public void addAlertFilter(AlertFilter alertFilter) {
         alertFilters.add(alertFilter);
+        index = null;
     }
 
     /**
@@ -94,11 +112,13 @@ public class ContextAlertFilterManager {
      * @param alertFilter the alertFilter being removed
      */
     public boolean removeAlertFilter(AlertFilter alertFilter) {
+        index = null;
         return alertFilters.remove(alertFilter);
     }
 
     /** Removes all the alertFilters. */
     public void removeAllAlertFilters() {
         this.alertFilters.clear();
+        index = null;
     }
 }
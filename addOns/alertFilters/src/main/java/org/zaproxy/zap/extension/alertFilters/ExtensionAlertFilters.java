@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 import org.apache.commons.configuration.Configuration;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -408,28 +409,24 @@ public class ExtensionAlertFilters extends ExtensionAdaptor
     private void handleAlert(Alert alert) {
         String uri = alert.getUri();
         LOGGER.debug("Alert: {} URL: {}", alert.getAlertId(), uri);
-        // Loop through global rules and apply as necessary
-        for (AlertFilter filter : this.globalAlertFilterParam.getGlobalAlertFilters()) {
-            if (filter.appliesToAlert(alert, true)) {
-                updateAlert(alert, filter);
-                return;
-            }
+        // Check the global rules and apply as necessary
+        AlertFilter globalFilter = this.globalAlertFilterParam.getIndex().getFilter(alert, true);
+        if (globalFilter != null) {
+            updateAlert(alert, globalFilter);
+            return;
         }
 
         // Loop through context rules and apply as necessary..
         for (ContextAlertFilterManager mgr : this.contextManagers.values()) {
             Context context = Model.getSingleton().getSession().getContext(mgr.getContextId());
             if (context.isInContext(uri)) {
-                LOGGER.debug(
-                        "Is in context {} got {} filters",
-                        context.getId(),
-                        mgr.getAlertFilters().size());
+                AlertFilterIndex index = mgr.getIndex();
+                LOGGER.debug("Is in context {} got {} filters", context.getId(), index.size());
                 // Its in this context
-                for (AlertFilter filter : mgr.getAlertFilters()) {
-                    if (filter.appliesToAlert(alert, true)) {
-                        updateAlert(alert, filter);
-                        return;
-                    }
+                AlertFilter filter = index.getFilter(alert, true);
+                if (filter != null) {
+                    updateAlert(alert, filter);
+                    return;
                 }
             }
         }
@@ -520,16 +517,15 @@ public class ExtensionAlertFilters extends ExtensionAdaptor
     }
 
     public int applyAlertFilter(AlertFilter af, boolean testOnly) {
-        int count = 0;
-        for (Alert alert : getExtAlert().getAllAlerts()) {
-            if (af.appliesToAlert(alert, false)) {
-                if (!testOnly) {
-                    updateAlert(alert, af);
-                }
-                count++;
-            }
+        // Match in parallel, the alerts are still updated one at a time and in order.
+        List<Alert> alerts =
+                getExtAlert().getAllAlerts().parallelStream()
+                        .filter(alert -> af.appliesToAlert(alert, false))
+                        .collect(Collectors.toList());
+        if (!testOnly) {
+            alerts.forEach(alert -> updateAlert(alert, af));
         }
-        return count;
+        return alerts.size();
     }
 
     public Set<AlertFilter> getGlobalAlertFilters() {
@@ -19,6 +19,7 @@
  */
 package org.zaproxy.zap.extension.alertFilters;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -62,6 +63,7 @@ public class GlobalAlertFilterParam extends VersionedAbstractParam {
             GLOBAL_ALERT_FILTERS_BASE_KEY + ".confirmRemoveFilter";
 
     private Set<AlertFilter> alertFilters = null;
+    private volatile AlertFilterIndex index;
 
     private boolean confirmRemoveFilter = true;
 
@@ -71,13 +73,32 @@ public class GlobalAlertFilterParam extends VersionedAbstractParam {
         return alertFilters;
     }
 
+    /**
+     * Gets the index of the global alert filters, created again after the filters change.
+     *
+     * @return the index, never {@code null}.
+     */
+    AlertFilterIndex getIndex() {
+        AlertFilterIndex current = index;
+        if (current == null) {
+            current =
+                    alertFilters == null
+                            ? AlertFilterIndex.EMPTY
+                            : new AlertFilterIndex(new ArrayList<>(alertFilters));
+            index = current;
+        }
+        return current;
+    }
+
     public void deleteGlobalAlertFilters() {
         alertFilters.clear();
+        index = null;
         this.saveGlobalAlertFilters();
     }
 
     public void setGlobalAlertFilters(List<AlertFilter> filters) {
         this.alertFilters = new HashSet<>(filters);
+        index = null;
         this.saveGlobalAlertFilters();
     }
 
@@ -123,6 +144,7 @@ public class GlobalAlertFilterParam extends VersionedAbstractParam {
         }
 
         if (this.alertFilters.add(alertFilter)) {
+            index = null;
             this.saveGlobalAlertFilters();
             return true;
         }
@@ -134,6 +156,7 @@ public class GlobalAlertFilterParam extends VersionedAbstractParam {
             return false;
         }
         if (alertFilters.remove(alertFilter)) {
+            index = null;
             this.saveGlobalAlertFilters();
             return true;
         }
@@ -180,6 +203,7 @@ public class GlobalAlertFilterParam extends VersionedAbstractParam {
         } catch (ConversionException e) {
             LOGGER.error("Error while loading global alert filters: {}", e.getMessage(), e);
         }
+        index = null;
 
         this.confirmRemoveFilter = getBoolean(CONFIRM_REMOVE_FILTER_KEY, true);
     }
@@ -0,0 +1,126 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.alertFilters;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.core.scanner.Alert;
+
+/** Unit test for {@link AlertFilterIndex}. */
+class AlertFilterIndexUnitTest {
+
+    private static final int NO_CONTEXT = -1;
+
+    @Test
+    void shouldNotGetFilterIfNoneForRule() {
+        // Given
+        AlertFilterIndex index = new AlertFilterIndex(List.of(createFilter("1", null)));
+        // When
+        AlertFilter filter = index.getFilter(createAlert(2, "2", "https://example.com"), true);
+        // Then
+        assertThat(filter, is(nullValue()));
+    }
+
+    @Test
+    void shouldGetFirstFilterThatApplies() {
+        // Given
+        AlertFilter otherUrl = createFilter("10", "https://example\\.org.*");
+        AlertFilter byAlertRef = createFilter("10-1", null);
+        AlertFilter byPluginId = createFilter("10", null);
+        AlertFilterIndex index = new AlertFilterIndex(List.of(otherUrl, byAlertRef, byPluginId));
+        // When
+        AlertFilter filter = index.getFilter(createAlert(10, "10-1", "https://example.com"), true);
+        // Then
+        assertThat(filter, is(sameInstance(byAlertRef)));
+    }
+
+    @Test
+    void shouldSkipDisabledFilters() {
+        // Given
+        AlertFilter disabled = createFilter("10", null);
+        disabled.setEnabled(false);
+        AlertFilter enabled = createFilter("10", null);
+        enabled.setNewRisk(Alert.RISK_HIGH);
+        AlertFilterIndex index = new AlertFilterIndex(List.of(disabled, enabled));
+        // When
+        AlertFilter filter = index.getFilter(createAlert(10, "10", "https://example.com"), true);
+        // Then
+        assertThat(filter, is(sameInstance(enabled)));
+    }
+
+    @Test
+    void shouldGetSameFiltersAsCheckingAllFilters() {
+        // Given
+        List<AlertFilter> filters = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            String ruleId = i % 3 == 0 ? String.valueOf(i % 50) : (i % 50) + "-" + (i % 2 + 1);
+            filters.add(createFilter(ruleId, "https://example\\.com/" + (i % 7) + "/.*"));
+        }
+        AlertFilterIndex index = new AlertFilterIndex(filters);
+        for (int i = 0; i < 10_000; i++) {
+            int pluginId = i % 60;
+            Alert alert =
+                    createAlert(
+                            pluginId,
+                            pluginId + (i % 3 == 0 ? "" : "-" + (i % 2 + 1)),
+                            "https://example.com/" + (i % 11) + "/path");
+            AlertFilter expected =
+                    filters.stream()
+                            .filter(f -> f.appliesToAlert(alert, true))
+                            .findFirst()
+                            .orElse(null);
+            // When
+            AlertFilter filter = index.getFilter(alert, true);
+            // Then
+            assertThat(filter, is(sameInstance(expected)));
+        }
+        assertThat(index.size(), is(equalTo(filters.size())));
+    }
+
+    private static AlertFilter createFilter(String ruleId, String urlRegex) {
+        AlertFilter filter = new AlertFilter();
+        filter.setContextId(NO_CONTEXT);
+        filter.setEnabled(true);
+        filter.setRuleId(ruleId);
+        filter.setNewRisk(-1);
+        if (urlRegex != null) {
+            filter.setUrl(urlRegex);
+            filter.setUrlRegex(true);
+        }
+        return filter;
+    }
+
+    private static Alert createAlert(int pluginId, String alertRef, String uri) {
+        Alert alert = new Alert(pluginId, Alert.RISK_INFO, Alert.CONFIDENCE_LOW, "Test alert");
+        alert.setAlertRef(alertRef);
+        alert.setUri(uri);
+        alert.setParam("param");
+        alert.setAttack("attack");
+        alert.setEvidence("evidence");
+        return alert;
+    }
+}
@@ -391,4 +391,21 @@ class AlertFilterUnitTest {
     private static Set<String> set(String... strings) {
         return new HashSet<>(Arrays.asList(strings));
     }
+
+    @Test
+    void shouldApplyChangedUrlRegex() {
+        // Given
+        AlertFilter af = new AlertFilter();
+        af.setEnabled(true);
+        af.setRuleId(String.valueOf(SCAN_RULE_ID));
+        af.setUrlRegex(true);
+        af.setUrl("https://www\\.example\\.org.*");
+        boolean appliedBefore = af.appliesToAlert(alert, true);
+        // When
+        af.setUrl("https://www\\.example\\.com.*");
+        boolean applies = af.appliesToAlert(alert, true);
+        // Then
+        assertThat(appliedBefore, is(equalTo(false)));
+        assertThat(applies, is(equalTo(true)));
+    }
 }
@@ -27,7 +27,6 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import org.apache.commons.configuration.ConversionException;
 import org.apache.logging.log4j.LogManager;
@@ -36,6 +35,7 @@ import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.core.scanner.Alert;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
+import org.zaproxy.addon.commonlib.timing.TimingEngine;
 import org.zaproxy.addon.commonlib.timing.TimingUtils;
 import org.zaproxy.zap.extension.ruleconfig.RuleConfigParam;
 import org.zaproxy.zap.model.Tech;
@@ -269,20 +269,23 @@ public class CommandInjectionTimingScanRule extends CommandInjectionScanRule
                         LOGGER.debug("Testing [{}] = [{}]", paramName, finalPayload);
 
                         sendAndReceive(msg, false);
-                        return TimeUnit.MILLISECONDS.toSeconds(msg.getTimeElapsedMillis());
+                        return TimingEngine.getResponseTime(msg);
                     };
 
             boolean isInjectable;
             try {
                 try {
-                    // use TimingUtils to detect a response to sleep payloads
+                    // use the TimingEngine to detect a response to sleep payloads
                     isInjectable =
-                            TimingUtils.checkTimingDependence(
-                                    BLIND_REQUESTS_LIMIT,
-                                    timeSleepSeconds,
-                                    requestSender,
-                                    TIME_CORRELATION_ERROR_RANGE,
-                                    TIME_SLOPE_ERROR_RANGE);
+                            TimingEngine.getEngine(getParent())
+                                    .checkTimingDependence(
+                                            getBaseMsg(),
+                                            baselineMsg -> sendAndReceive(baselineMsg, false),
+                                            BLIND_REQUESTS_LIMIT,
+                                            timeSleepSeconds,
+                                            requestSender,
+                                            TIME_CORRELATION_ERROR_RANGE,
+                                            TIME_SLOPE_ERROR_RANGE);
                 } catch (SocketException ex) {
                     LOGGER.debug(
                             "Caught {} {} when accessing: {}.\n The target may have replied with a poorly formed redirect due to our input.",
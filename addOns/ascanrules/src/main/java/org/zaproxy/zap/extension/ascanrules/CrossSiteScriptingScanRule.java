@@ -47,6 +47,7 @@ import org.zaproxy.addon.commonlib.vulnerabilities.Vulnerabilities;
 import org.zaproxy.addon.commonlib.vulnerabilities.Vulnerability;
 import org.zaproxy.zap.extension.ascanrules.httputils.HtmlContext;
 import org.zaproxy.zap.extension.ascanrules.httputils.HtmlContextAnalyser;
+import org.zaproxy.zap.extension.ascanrules.httputils.ReflectionProbe;
 
 public class CrossSiteScriptingScanRule extends AbstractAppParamPlugin
         implements CommonActiveScanRuleInfo {
@@ -115,6 +116,12 @@ public class CrossSiteScriptingScanRule extends AbstractAppParamPlugin
     private static final Logger LOGGER = LogManager.getLogger(CrossSiteScriptingScanRule.class);
     private int currentParamType;
 
+    /**
+     * The result of the reflection probe of the parameter being scanned, used to skip the attacks
+     * that rely on characters that are not reflected. {@code null} if not probed.
+     */
+    private ReflectionProbe reflectionProbe;
+
     private static final char FULL_WIDTH_LESS_THAN_CHAR = '＜';
     private static final char FULL_WIDTH_GREATER_THAN_CHAR = '＞';
 
@@ -248,6 +255,10 @@ public class CrossSiteScriptingScanRule extends AbstractAppParamPlugin
         if (isStop()) {
             return null;
         }
+        if (reflectionProbe != null && !reflectionProbe.canReflect(attack)) {
+            LOGGER.debug("Skipping attack, the characters it needs are not reflected: {}", attack);
+            return List.of();
+        }
 
         HttpMessage msg2 = msg.cloneRequest();
         setParameter(msg2, param, attack);
@@ -301,6 +312,7 @@ public class CrossSiteScriptingScanRule extends AbstractAppParamPlugin
         }
         return this.mutateAttack(
                 msg2,
+                hca,
                 param,
                 attack,
                 targetContext,
@@ -318,6 +330,7 @@ public class CrossSiteScriptingScanRule extends AbstractAppParamPlugin
      */
     private List<HtmlContext> mutateAttack(
             HttpMessage msg,
+            HtmlContextAnalyser hca,
             String param,
             String attack,
             HtmlContext targetContext,
@@ -332,7 +345,6 @@ public class CrossSiteScriptingScanRule extends AbstractAppParamPlugin
             // check if the attack contains the first of the chrs to be mutated, it doesnt matter
             // which one
             if (attack.contains(String.valueOf(mList.get(0).original))) {
-                HtmlContextAnalyser hca = new HtmlContextAnalyser(msg);
                 // Remove all of the chrs to be mutated
                 String filteredEvidence = attack;
                 for (Mutation mutation : mList) {
@@ -890,6 +902,7 @@ public class CrossSiteScriptingScanRule extends AbstractAppParamPlugin
             return;
         }
 
+        reflectionProbe = null;
         try {
             // Inject the 'safe' eyecatcher and see where it appears
             boolean attackWorked = false;
@@ -942,6 +955,8 @@ public class CrossSiteScriptingScanRule extends AbstractAppParamPlugin
             }
             if (contexts.isEmpty()) {
                 attackWorked = performDirectAttack(msg, param);
+            } else if (!AttackStrength.INSANE.equals(getAttackStrength())) {
+                reflectionProbe = sendReflectionProbe(msg, param, appendedValue ? value : "");
             }
 
             for (HtmlContext context : contexts) {
@@ -994,6 +1009,7 @@ public class CrossSiteScriptingScanRule extends AbstractAppParamPlugin
             }
             // Always attack the header if the eyecatcher is reflected in it - this will be
             // different to any alert raised above
+            reflectionProbe = null;
             if (msg2.getResponseHeader().toString().contains(Constant.getEyeCatcher())) {
                 attackHeader(msg, param, appendedValue ? value : "");
             }
@@ -1003,6 +1019,32 @@ public class CrossSiteScriptingScanRule extends AbstractAppParamPlugin
         }
     }
 
+    /**
+     * Sends a probe with the characters needed by the attacks, to know which ones are reflected
+     * and skip the attacks that can not work.
+     *
+     * @return the result of the probe, or {@code null} if nothing can be told from it.
+     */
+    private ReflectionProbe sendReflectionProbe(HttpMessage msg, String param, String value) {
+        if (isStop()) {
+            return null;
+        }
+        HttpMessage probeMsg = msg.cloneRequest();
+        setParameter(
+                probeMsg, param, value + ReflectionProbe.createPayload(Constant.getEyeCatcher()));
+        try {
+            sendAndReceive(probeMsg);
+        } catch (IOException e) {
+            LOGGER.debug("Failed to send the reflection probe, cause: {}", e.getMessage());
+            return null;
+        }
+        ReflectionProbe probe =
+                ReflectionProbe.analyse(
+                        Constant.getEyeCatcher(), probeMsg.getResponseBody().toString());
+        LOGGER.debug("Reflection probe of {}: {}", param, probe);
+        return probe;
+    }
+
     private void attackHeader(HttpMessage msg, String param, String value) {
         // We know the eyecatcher was reflected in the header, lets try some header splitting
         // attacks
@@ -51,6 +51,7 @@ import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
 import org.zaproxy.addon.commonlib.http.ComparableResponse;
 import org.zaproxy.addon.commonlib.http.HttpFieldsNames;
+import org.zaproxy.addon.commonlib.http.ScanResponseCache;
 
 /**
  * Active scan rule which checks whether various URL paths are exposed.
@@ -102,6 +103,9 @@ public class HiddenFilesScanRule extends AbstractHostPlugin implements CommonAct
 
     private static List<HiddenFile> hfList = Collections.emptyList();
 
+    /** The files read from the payloads file, shared by all instances until the file changes. */
+    private static JsonHiddenFiles jsonHiddenFiles;
+
     @Override
     public int getId() {
         return PLUGIN_ID;
@@ -109,7 +113,7 @@ public class HiddenFilesScanRule extends AbstractHostPlugin implements CommonAct
 
     @Override
     public void init() {
-        hfList = readFromJsonFile(DEFAULT_PAYLOAD_PATH);
+        hfList = new ArrayList<>(getJsonHiddenFiles(DEFAULT_PAYLOAD_PATH));
         for (String payload : getHiddenFilePayloads().get()) {
             hfList.add(new HiddenFile(payload, true));
         }
@@ -210,7 +214,8 @@ public class HiddenFilesScanRule extends AbstractHostPlugin implements CommonAct
             testMsg.getRequestHeader().setMethod(HttpRequestHeader.GET);
             testMsg.getRequestHeader().setHeader(HttpFieldsNames.CONTENT_TYPE, null);
             testMsg.setRequestBody("");
-            sendAndReceive(testMsg, false);
+            ScanResponseCache.sendAndReceive(
+                    getParent(), testMsg, false, msg -> sendAndReceive(msg, false));
             return testMsg;
         } catch (URIException uEx) {
             LOGGER.debug(
@@ -336,6 +341,25 @@ public class HiddenFilesScanRule extends AbstractHostPlugin implements CommonAct
         return otherInfo;
     }
 
+    private List<HiddenFile> getJsonHiddenFiles(String path) {
+        File file = new File(path);
+        long lastModified = file.lastModified();
+        long length = file.length();
+        synchronized (HiddenFilesScanRule.class) {
+            JsonHiddenFiles current = jsonHiddenFiles;
+            if (current == null || !current.isSameFile(path, lastModified, length)) {
+                current =
+                        new JsonHiddenFiles(
+                                path,
+                                lastModified,
+                                length,
+                                Collections.unmodifiableList(readFromJsonFile(path)));
+                jsonHiddenFiles = current;
+            }
+            return current.files;
+        }
+    }
+
     List<HiddenFile> readFromJsonFile(String path) {
         String jsonTxt = readPayloadsFile(path);
         if (jsonTxt.isEmpty()) {
@@ -470,6 +494,26 @@ public class HiddenFilesScanRule extends AbstractHostPlugin implements CommonAct
         hfList.add(payload);
     }
 
+    private static class JsonHiddenFiles {
+        private final String path;
+        private final long lastModified;
+        private final long length;
+        private final List<HiddenFile> files;
+
+        JsonHiddenFiles(String path, long lastModified, long length, List<HiddenFile> files) {
+            this.path = path;
+            this.lastModified = lastModified;
+            this.length = length;
+            this.files = files;
+        }
+
+        boolean isSameFile(String path, long lastModified, long length) {
+            return this.path.equals(path)
+                    && this.lastModified == lastModified
+                    && this.length == length;
+        }
+    }
+
     static class HiddenFile {
         private final String path;
         private final List<String> content;
@@ -37,6 +37,7 @@ import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
 import org.zaproxy.addon.commonlib.http.HttpFieldsNames;
+import org.zaproxy.addon.commonlib.timing.TimingEngine;
 import org.zaproxy.addon.commonlib.timing.TimingUtils;
 import org.zaproxy.zap.extension.ruleconfig.RuleConfigParam;
 
@@ -175,16 +176,19 @@ public class ShellShockScanRule extends AbstractAppParamPlugin implements Common
                         attack.compareAndSet(null, finalPayload);
 
                         sendAndReceive(msg, false);
-                        return msg.getTimeElapsedMillis() / 1000.0;
+                        return TimingEngine.getResponseTime(msg);
                     };
 
             boolean vulnerable =
-                    TimingUtils.checkTimingDependence(
-                            BLIND_REQUESTS_LIMIT,
-                            timeSleepSeconds,
-                            requestSender,
-                            TIME_CORRELATION_ERROR_RANGE,
-                            TIME_SLOPE_ERROR_RANGE);
+                    TimingEngine.getEngine(getParent())
+                            .checkTimingDependence(
+                                    getBaseMsg(),
+                                    baselineMsg -> sendAndReceive(baselineMsg, false),
+                                    BLIND_REQUESTS_LIMIT,
+                                    timeSleepSeconds,
+                                    requestSender,
+                                    TIME_CORRELATION_ERROR_RANGE,
+                                    TIME_SLOPE_ERROR_RANGE);
 
             if (vulnerable) {
                 var msg = message.get();
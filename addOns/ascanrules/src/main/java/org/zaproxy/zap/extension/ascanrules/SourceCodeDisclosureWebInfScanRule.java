@@ -46,6 +46,7 @@ import org.parosproxy.paros.network.HttpMalformedHeaderException;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
+import org.zaproxy.addon.commonlib.http.ScanResponseCache;
 import org.zaproxy.addon.commonlib.vulnerabilities.Vulnerabilities;
 import org.zaproxy.addon.commonlib.vulnerabilities.Vulnerability;
 
@@ -159,7 +160,8 @@ public class SourceCodeDisclosureWebInfScanRule extends AbstractHostPlugin
                                                 + "/WEB-INF/"
                                                 + filename,
                                         true));
-                sendAndReceive(webinffilemsg, false); // do not follow redirects
+                ScanResponseCache.sendAndReceive(
+                        getParent(), webinffilemsg, false, msg -> sendAndReceive(msg, false));
                 String body = new String(webinffilemsg.getResponseBody().getBytes());
                 Matcher matcher = JAVA_CLASSNAME_PATTERN.matcher(body);
                 while (matcher.find()) {
@@ -184,7 +186,8 @@ public class SourceCodeDisclosureWebInfScanRule extends AbstractHostPlugin
                 LOGGER.debug("Looking for Class file: {}", classURI);
 
                 HttpMessage classfilemsg = createHttpMessage(classURI);
-                sendAndReceive(classfilemsg, false); // do not follow redirects
+                ScanResponseCache.sendAndReceive(
+                        getParent(), classfilemsg, false, msg -> sendAndReceive(msg, false));
                 if (isPage200(classfilemsg)) {
                     // to decompile the class file, we need to write it to disk..
                     // under the current version of the library, at least
@@ -244,7 +247,11 @@ public class SourceCodeDisclosureWebInfScanRule extends AbstractHostPlugin
 
                             URI propsFileURI = getPropsFileURI(originalURI, propsFilename);
                             HttpMessage propsfilemsg = createHttpMessage(propsFileURI);
-                            sendAndReceive(propsfilemsg, false); // do not follow redirects
+                            ScanResponseCache.sendAndReceive(
+                                    getParent(),
+                                    propsfilemsg,
+                                    false,
+                                    msg -> sendAndReceive(msg, false));
                             if (isPage200(propsfilemsg)) {
                                 // Holy sheet.. we found a properties file
                                 buildPropertiesAlert(classURI.toString())
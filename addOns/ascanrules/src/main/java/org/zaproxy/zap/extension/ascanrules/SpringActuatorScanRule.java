@@ -38,6 +38,7 @@ import org.parosproxy.paros.network.HttpRequestHeader;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
 import org.zaproxy.addon.commonlib.http.HttpFieldsNames;
+import org.zaproxy.addon.commonlib.http.ScanResponseCache;
 import org.zaproxy.zap.model.Tech;
 import org.zaproxy.zap.model.TechSet;
 
@@ -198,7 +199,8 @@ public class SpringActuatorScanRule extends AbstractHostPlugin implements Common
             testMsg.getRequestHeader()
                     .setHeader(HttpFieldsNames.ACCEPT_ENCODING, encodingType); // Set this correctly
             testMsg.setRequestBody("");
-            sendAndReceive(testMsg);
+            ScanResponseCache.sendAndReceive(
+                    getParent(), testMsg, true, msg -> sendAndReceive(msg));
             return testMsg;
         } catch (IOException e) {
             LOGGER.warn(
@@ -36,6 +36,7 @@ import org.parosproxy.paros.core.scanner.Category;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
+import org.zaproxy.addon.commonlib.timing.TimingEngine;
 import org.zaproxy.addon.commonlib.timing.TimingUtils;
 import org.zaproxy.zap.extension.ruleconfig.RuleConfigParam;
 import org.zaproxy.zap.model.Tech;
@@ -234,18 +235,21 @@ public class SqlInjectionOracleTimingScanRule extends AbstractAppParamPlugin
                                 assembleTimingPayload(payloadTemplate, paramValue, (int) x);
                         setParameter(timedMsg, paramName, finalPayload);
                         sendAndReceive(timedMsg, false); // do not follow redirects
-                        return TimeUnit.MILLISECONDS.toSeconds(timedMsg.getTimeElapsedMillis());
+                        return TimingEngine.getResponseTime(timedMsg);
                     };
             boolean isInjectable;
             try {
-                // Use TimingUtils to detect a response to sleep payloads
+                // Use the TimingEngine to detect a response to sleep payloads
                 isInjectable =
-                        TimingUtils.checkTimingDependence(
-                                BLIND_REQUEST_LIMIT,
-                                sleepInSeconds,
-                                requestSender,
-                                TIME_CORRELATION_ERROR_RANGE,
-                                TIME_SLOPE_ERROR_RANGE);
+                        TimingEngine.getEngine(getParent())
+                                .checkTimingDependence(
+                                        getBaseMsg(),
+                                        baselineMsg -> sendAndReceive(baselineMsg, false),
+                                        BLIND_REQUEST_LIMIT,
+                                        sleepInSeconds,
+                                        requestSender,
+                                        TIME_CORRELATION_ERROR_RANGE,
+                                        TIME_SLOPE_ERROR_RANGE);
             } catch (IOException ex) {
                 LOGGER.debug(
                         "Caught {} {} when accessing: {}.",
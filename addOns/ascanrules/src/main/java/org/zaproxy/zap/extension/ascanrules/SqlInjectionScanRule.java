@@ -37,16 +37,17 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.control.Control;
-import org.parosproxy.paros.core.scanner.AbstractAppParamPlugin;
 import org.parosproxy.paros.core.scanner.AbstractPlugin;
 import org.parosproxy.paros.core.scanner.Alert;
 import org.parosproxy.paros.core.scanner.Category;
 import org.parosproxy.paros.network.HttpHeader;
 import org.parosproxy.paros.network.HttpMessage;
 import org.parosproxy.paros.network.HttpStatusCode;
+import org.zaproxy.addon.commonlib.AbstractTriagedAppParamPlugin;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
 import org.zaproxy.addon.commonlib.http.ComparableResponse;
+import org.zaproxy.addon.commonlib.http.ResponseFingerprint;
 import org.zaproxy.zap.extension.authentication.ExtensionAuthentication;
 import org.zaproxy.zap.model.Context;
 import org.zaproxy.zap.model.Tech;
@@ -66,7 +67,7 @@ import org.zaproxy.zap.model.TechSet;
  *
  * @author 70pointer
  */
-public class SqlInjectionScanRule extends AbstractAppParamPlugin
+public class SqlInjectionScanRule extends AbstractTriagedAppParamPlugin
         implements CommonActiveScanRuleInfo {
 
     private static final String MESSAGE_PREFIX = "ascanrules.sqlinjection.";
@@ -594,14 +595,25 @@ public class SqlInjectionScanRule extends AbstractAppParamPlugin
             countBooleanBasedRequests = 0;
             countOrderByBasedRequests = 0;
 
-            List<SqlInjectionTestCase> testCases =
-                    List.of(
-                            this::testErrorBasedSqlInjection,
-                            this::testExpressionBasedSqlInjection,
-                            this::testBooleanBasedSqlInjection,
-                            this::testBooleanBasedNoDataSqlInjection,
-                            this::testUnionBasedSqlInjection,
-                            this::testOrderBySqlInjection);
+            testErrorBasedSqlInjection(param, origParamValue);
+
+            List<SqlInjectionTestCase> testCases;
+            if (!isStop() && !sqlInjectionFoundForUrl && canSkipDifferentialChecks()) {
+                LOGGER.debug(
+                        "Skipping differential checks for parameter [{}], it does not influence the response.",
+                        param);
+                // The responses are stable, the original response is as good as a refreshed one.
+                refreshedmessage = getBaseMsg();
+                testCases = List.of(this::testUnionBasedSqlInjection);
+            } else {
+                testCases =
+                        List.of(
+                                this::testExpressionBasedSqlInjection,
+                                this::testBooleanBasedSqlInjection,
+                                this::testBooleanBasedNoDataSqlInjection,
+                                this::testUnionBasedSqlInjection,
+                                this::testOrderBySqlInjection);
+            }
 
             for (SqlInjectionTestCase testCase : testCases) {
                 if (isStop() || sqlInjectionFoundForUrl) {
@@ -1251,16 +1263,26 @@ public class SqlInjectionScanRule extends AbstractAppParamPlugin
                 countBooleanBasedRequests++;
 
                 String resBodyANDFalseUnstripped = msg2AndFalse.getResponseBody().toString();
-                String resBodyANDFalseStripped =
-                        stripOffOriginalAndAttackParam(
-                                resBodyANDFalseUnstripped, origParamValue, sqlBooleanAndFalseValue);
+                ResponseFingerprint andFalseFingerprint = ResponseFingerprint.of(msg2AndFalse);
+                ResponseFingerprint normalFingerprint = ResponseFingerprint.of(refreshedmessage);
 
                 // does the "AND 1=2" version produce the same as the original (for
-                // stripped/unstripped versions)
+                // stripped/unstripped versions), the fingerprints rule out most of the
+                // differences without comparing the bodies
                 boolean verificationUsingUnstripped =
-                        resBodyANDFalseUnstripped.compareTo(mResBodyNormalUnstripped) == 0;
-                boolean verificationUsingStripped =
-                        resBodyANDFalseStripped.compareTo(mResBodyNormalStripped) == 0;
+                        andFalseFingerprint.mayBeEqual(normalFingerprint)
+                                && resBodyANDFalseUnstripped.equals(mResBodyNormalUnstripped);
+                boolean verificationUsingStripped = false;
+                if (andFalseFingerprint.mayBeEqualAfterStripping(
+                        normalFingerprint, origParamValue, sqlBooleanAndFalseValue)) {
+                    String resBodyANDFalseStripped =
+                            stripOffOriginalAndAttackParam(
+                                    resBodyANDFalseUnstripped,
+                                    origParamValue,
+                                    sqlBooleanAndFalseValue);
+                    verificationUsingStripped =
+                            resBodyANDFalseStripped.compareTo(mResBodyNormalStripped) == 0;
+                }
                 if (verificationUsingUnstripped || verificationUsingStripped) {
                     LOGGER.debug(
                             "Check 2, {} html output for AND FALSE condition [{}] matches the (refreshed) original results",
@@ -1754,6 +1776,16 @@ public class SqlInjectionScanRule extends AbstractAppParamPlugin
      * parameters from both requests
      */
     private float responseBodyHeuristic(ComparableResponse one, ComparableResponse two) {
+        ResponseFingerprint fingerprint1 = one.getFingerprint();
+        ResponseFingerprint fingerprint2 = two.getFingerprint();
+        if (fingerprint1.mayBeEqual(fingerprint2) && one.getBody().equals(two.getBody())) {
+            return 1;
+        }
+        if (!fingerprint1.mayBeEqualAfterStripping(
+                fingerprint2, one.getValueSent(), two.getValueSent())) {
+            return 0;
+        }
+
         String stripped1 =
                 stripOffOriginalAndAttackParam(
                         one.getBody(), one.getValueSent(), two.getValueSent());
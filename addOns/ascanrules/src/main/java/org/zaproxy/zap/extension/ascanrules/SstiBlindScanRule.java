@@ -38,6 +38,7 @@ import org.parosproxy.paros.core.scanner.Plugin;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
+import org.zaproxy.addon.commonlib.timing.TimingEngine;
 import org.zaproxy.addon.commonlib.timing.TimingUtils;
 import org.zaproxy.addon.oast.ExtensionOast;
 import org.zaproxy.zap.extension.ruleconfig.RuleConfigParam;
@@ -259,17 +260,20 @@ public class SstiBlindScanRule extends AbstractAppParamPlugin implements CommonA
 
                     attack.compareAndSet(null, finalPayload);
                     sendAndReceive(msg, false);
-                    return msg.getTimeElapsedMillis() / 1000.0;
+                    return TimingEngine.getResponseTime(msg);
                 };
 
         try {
             boolean injectable =
-                    TimingUtils.checkTimingDependence(
-                            BLIND_REQUESTS_LIMIT,
-                            timeSleepSeconds,
-                            requestSender,
-                            TIME_CORRELATION_ERROR_RANGE,
-                            TIME_SLOPE_ERROR_RANGE);
+                    TimingEngine.getEngine(getParent())
+                            .checkTimingDependence(
+                                    getBaseMsg(),
+                                    baselineMsg -> sendAndReceive(baselineMsg, false),
+                                    BLIND_REQUESTS_LIMIT,
+                                    timeSleepSeconds,
+                                    requestSender,
+                                    TIME_CORRELATION_ERROR_RANGE,
+                                    TIME_SLOPE_ERROR_RANGE);
 
             if (injectable) {
                 LOGGER.debug(
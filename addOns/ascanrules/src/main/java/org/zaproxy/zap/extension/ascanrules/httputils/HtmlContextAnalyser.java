@@ -290,8 +290,9 @@ public class HtmlContextAnalyser {
                 }
             }
             // is it in an HTML comment?
-            String prefix = htmlPage.substring(0, context.getStart());
-            if (prefix.lastIndexOf("<!--") > prefix.lastIndexOf(">")) {
+            // Search backwards in place, copying the prefix is quadratic for many reflections
+            if (htmlPage.lastIndexOf("<!--", context.getStart() - 4)
+                    > htmlPage.lastIndexOf('>', context.getStart() - 1)) {
                 // Also check closing comment?
                 context.setHtmlComment(true);
             }
@@ -304,9 +305,9 @@ public class HtmlContextAnalyser {
                         element.getName()
                                 .equalsIgnoreCase("input"); // Special case for input src attributes
                 boolean isImageInputTag = false;
-                if (StringUtils.strip(element.getContent().toString()).contains(target)) {
-                    Map<String, Map<String, String>> tagMap =
-                            parseTag(StringUtils.strip(element.getContent().toString()));
+                String content = StringUtils.strip(element.getContent().toString());
+                if (content.contains(target)) {
+                    Map<String, Map<String, String>> tagMap = parseTag(content);
                     for (String tagName : tagMap.keySet()) {
                         if (target.contains(tagName)) {
                             context.setInElementName(true);
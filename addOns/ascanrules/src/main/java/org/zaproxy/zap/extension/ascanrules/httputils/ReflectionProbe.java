@@ -0,0 +1,166 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.ascanrules.httputils;
+
+import java.util.Locale;
+
+/**
+ * A canary probe that tells which of the characters needed by XSS payloads are reflected as sent.
+ *
+ * <p>The probe contains each character between markers, for example, {@code <marker>a"<marker>b'},
+ * so a single response tells which characters are reflected unchanged. The full width angle
+ * brackets are also probed, to know if they are converted to their ASCII counterparts.
+ */
+public class ReflectionProbe {
+
+    private static final char FULL_WIDTH_LESS_THAN_CHAR = '＜';
+    private static final char FULL_WIDTH_GREATER_THAN_CHAR = '＞';
+
+    private static final char[] PROBED_CHARS = {
+        '"', '\'', '<', '>', FULL_WIDTH_LESS_THAN_CHAR, FULL_WIDTH_GREATER_THAN_CHAR
+    };
+
+    private static final char NULL_BYTE = 0;
+
+    private final boolean doubleQuote;
+    private final boolean singleQuote;
+    private final boolean lessThan;
+    private final boolean greaterThan;
+    private final boolean fullWidthLessThan;
+    private final boolean fullWidthGreaterThan;
+
+    private ReflectionProbe(String marker, String body) {
+        doubleQuote = isReflected(marker, body, 0, '"');
+        singleQuote = isReflected(marker, body, 1, '\'');
+        lessThan = isReflected(marker, body, 2, '<');
+        greaterThan = isReflected(marker, body, 3, '>');
+        fullWidthLessThan = isReflected(marker, body, 4, '<');
+        fullWidthGreaterThan = isReflected(marker, body, 5, '>');
+    }
+
+    private static boolean isReflected(String marker, String body, int index, char expected) {
+        return body.contains(marker + getLabel(index) + expected);
+    }
+
+    private static char getLabel(int index) {
+        return (char) ('a' + index);
+    }
+
+    /**
+     * Creates the payload of the probe.
+     *
+     * @param marker the marker used to find the reflections, for example, the eye catcher.
+     * @return the payload.
+     */
+    public static String createPayload(String marker) {
+        StringBuilder payload = new StringBuilder(marker.length() * 7 + 12);
+        for (int i = 0; i < PROBED_CHARS.length; i++) {
+            payload.append(marker).append(getLabel(i)).append(PROBED_CHARS[i]);
+        }
+        return payload.append(marker).append(getLabel(PROBED_CHARS.length)).toString();
+    }
+
+    /**
+     * Analyses the response body of the probe.
+     *
+     * @param marker the marker used when creating the payload.
+     * @param body the response body.
+     * @return the result of the probe, or {@code null} if the probe was not reflected whole, in
+     *     which case nothing can be told about the characters.
+     */
+    public static ReflectionProbe analyse(String marker, String body) {
+        String lowerMarker = marker.toLowerCase(Locale.ROOT);
+        String lowerBody = body.toLowerCase(Locale.ROOT);
+        if (!lowerBody.contains(lowerMarker + getLabel(PROBED_CHARS.length))) {
+            return null;
+        }
+        return new ReflectionProbe(lowerMarker, lowerBody);
+    }
+
+    /**
+     * Tells whether or not the given attack can be reflected as needed to be detected, that is,
+     * all the characters it relies on were reflected unchanged by the probe (or can be mutated
+     * into ones that are).
+     *
+     * <p>Attacks with a null byte are always assumed to be reflected, as they target validations
+     * that stop at the null byte.
+     *
+     * @param attack the attack.
+     * @return {@code true} if the attack can be reflected, {@code false} otherwise.
+     */
+    public boolean canReflect(String attack) {
+        if (attack.indexOf(NULL_BYTE) != -1) {
+            return true;
+        }
+        for (int i = 0; i < attack.length(); i++) {
+            switch (attack.charAt(i)) {
+                case '"':
+                    if (!doubleQuote) {
+                        return false;
+                    }
+                    break;
+                case '\'':
+                    if (!singleQuote) {
+                        return false;
+                    }
+                    break;
+                case '<':
+                    if (!lessThan && !fullWidthLessThan) {
+                        return false;
+                    }
+                    break;
+                case '>':
+                    if (!greaterThan && !fullWidthGreaterThan) {
+                        return false;
+                    }
+                    break;
+                case FULL_WIDTH_LESS_THAN_CHAR:
+                    if (!fullWidthLessThan) {
+                        return false;
+                    }
+                    break;
+                case FULL_WIDTH_GREATER_THAN_CHAR:
+                    if (!fullWidthGreaterThan) {
+                        return false;
+                    }
+                    break;
+                default:
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "[\"="
+                + doubleQuote
+                + ", '="
+                + singleQuote
+                + ", <="
+                + lessThan
+                + ", >="
+                + greaterThan
+                + ", full width <="
+                + fullWidthLessThan
+                + ", full width >="
+                + fullWidthGreaterThan
+                + "]";
+    }
+}
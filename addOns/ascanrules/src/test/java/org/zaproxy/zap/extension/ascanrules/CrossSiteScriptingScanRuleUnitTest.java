@@ -46,6 +46,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.core.scanner.Alert;
 import org.parosproxy.paros.core.scanner.Plugin.AlertThreshold;
+import org.parosproxy.paros.core.scanner.Plugin.AttackStrength;
 import org.parosproxy.paros.core.scanner.ScannerParam;
 import org.parosproxy.paros.network.HtmlParameter;
 import org.parosproxy.paros.network.HttpMalformedHeaderException;
@@ -1536,7 +1537,7 @@ class CrossSiteScriptingScanRuleUnitTest extends ActiveScannerTest<CrossSiteScri
 
         this.rule.scan();
 
-        assertThat(httpMessagesSent, hasSize(equalTo(2)));
+        assertThat(httpMessagesSent, hasSize(equalTo(3)));
         assertThat(alertsRaised.size(), equalTo(1));
         assertThat(
                 alertsRaised.get(0).getEvidence(),
@@ -1578,7 +1579,7 @@ class CrossSiteScriptingScanRuleUnitTest extends ActiveScannerTest<CrossSiteScri
 
         this.rule.scan();
 
-        assertThat(httpMessagesSent, hasSize(equalTo(4)));
+        assertThat(httpMessagesSent, hasSize(equalTo(5)));
         assertThat(alertsRaised.size(), equalTo(1));
         assertThat(
                 alertsRaised.get(0).getEvidence(),
@@ -1619,10 +1620,81 @@ class CrossSiteScriptingScanRuleUnitTest extends ActiveScannerTest<CrossSiteScri
 
         this.rule.scan();
 
+        assertThat(httpMessagesSent, hasSize(equalTo(4)));
+        assertThat(alertsRaised.size(), equalTo(0));
+    }
+
+    @Test
+    void shouldSendAllAttacksInsideDivWithGoodFilteringAtInsaneStrength()
+            throws NullPointerException, IOException {
+        // Given
+        String test = "/shouldSendAllAttacksInsideDivWithGoodFilteringAtInsaneStrength/";
+        this.nano.addHandler(
+                new NanoServerHandler(test) {
+                    @Override
+                    protected Response serve(IHTTPSession session) {
+                        String name = getFirstParamValue(session, "name");
+                        String response;
+                        if (name != null) {
+                            // Strip out <>
+                            name = name.replaceAll("<", "").replaceAll(">", "");
+                            response =
+                                    getHtml("InputInsideDiv.html", new String[][] {{"name", name}});
+                        } else {
+                            response = getHtml("NoInput.html");
+                        }
+                        return newFixedLengthResponse(response);
+                    }
+                });
+        HttpMessage msg = this.getHttpMessage(test + "?name=test");
+        this.rule.setAttackStrength(AttackStrength.INSANE);
+        this.rule.init(msg, this.parent);
+        // When
+        this.rule.scan();
+        // Then
         assertThat(httpMessagesSent, hasSize(equalTo(9)));
         assertThat(alertsRaised.size(), equalTo(0));
     }
 
+    @Test
+    void shouldNotSendAttacksWithCharactersNotReflected() throws HttpMalformedHeaderException {
+        // Given
+        String test = "/shouldNotSendAttacksWithCharactersNotReflected/";
+        this.nano.addHandler(
+                new NanoServerHandler(test) {
+                    @Override
+                    protected Response serve(IHTTPSession session) {
+                        String name = getFirstParamValue(session, "name");
+                        String response;
+                        if (name != null) {
+                            response =
+                                    getHtml(
+                                            "InputInsideDiv.html",
+                                            new String[][] {
+                                                {"name", StringEscapeUtils.escapeHtml4(name)}
+                                            });
+                        } else {
+                            response = getHtml("NoInput.html");
+                        }
+                        return newFixedLengthResponse(response);
+                    }
+                });
+        HttpMessage msg = this.getHttpMessage(test + "?name=test");
+        this.rule.init(msg, this.parent);
+        // When
+        this.rule.scan();
+        // Then
+        assertThat(alertsRaised.size(), equalTo(0));
+        assertThat(
+                httpMessagesSent.stream()
+                        .map(m -> m.getRequestHeader().getURI().getEscapedQuery())
+                        .filter(q -> q.contains("%3C") || q.contains("%22"))
+                        .filter(q -> !q.contains(Constant.getEyeCatcher()))
+                        .filter(q -> !q.contains("%00"))
+                        .count(),
+                is(equalTo(0L)));
+    }
+
     @Test
     void shouldNotReportXssInsideInputAndDivWithGoodFiltering()
             throws NullPointerException, IOException {
@@ -22,6 +22,7 @@ package org.zaproxy.zap.extension.ascanrules;
 import static fi.iki.elonen.NanoHTTPD.newFixedLengthResponse;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 
 import fi.iki.elonen.NanoHTTPD.IHTTPSession;
@@ -153,6 +154,33 @@ class SqlInjectionMySqlTimingScanRuleUnitTest
         assertThat(alertsRaised.size(), equalTo(0));
     }
 
+    @Test
+    void shouldMeasureBaselineOnceWithOriginalRequest() throws Exception {
+        // Given
+        String test = "/shouldMeasureBaselineOnceWithOriginalRequest/";
+        this.nano.addHandler(
+                new NanoServerHandler(test) {
+                    @Override
+                    protected Response serve(IHTTPSession session) {
+                        return newFixedLengthResponse("<html><body></body></html>");
+                    }
+                });
+        HttpMessage msg = this.getHttpMessage(test + "?name=test");
+        this.rule.init(msg, this.parent);
+        this.rule.setSleepInSeconds(2);
+        // When
+        this.rule.scan();
+        // Then
+        long baselineRequests =
+                httpMessagesSent.stream()
+                        .map(sent -> sent.getRequestHeader().getURI().getEscapedQuery())
+                        .filter("name=test"::equals)
+                        .count();
+        assertThat(baselineRequests, equalTo(3L));
+        assertThat(httpMessagesSent.size(), greaterThan(4));
+        assertThat(alertsRaised.size(), equalTo(0));
+    }
+
     @Test
     void shouldReturnExpectedMappings() {
         // Given / When
@@ -149,10 +149,10 @@ class SqlInjectionScanRuleUnitTest extends ActiveScannerTest<SqlInjectionScanRul
         int recommendMax = super.getRecommendMaxNumberMessagesPerParam(strength);
         switch (strength) {
             case LOW:
-                return recommendMax + 1;
+                return recommendMax + 3;
             case MEDIUM:
             default:
-                return recommendMax + 14;
+                return recommendMax + 16;
             case HIGH:
                 return recommendMax + 25;
             case INSANE:
@@ -505,6 +505,54 @@ class SqlInjectionScanRuleUnitTest extends ActiveScannerTest<SqlInjectionScanRul
         assertThat(alertsRaised, hasSize(0));
     }
 
+    @Test
+    void shouldSkipDifferentialChecksIfParameterDoesNotInfluenceResponse() throws Exception {
+        // Given
+        nano.addHandler(
+                new NanoServerHandler("/") {
+                    @Override
+                    protected Response serve(IHTTPSession session) {
+                        return newFixedLengthResponse("<html></html>");
+                    }
+                });
+        rule.init(getHttpMessage("/?id=1"), parent);
+        // When
+        rule.scan();
+        // Then
+        List<String> values = getParamValues("id");
+        assertThat(values, Matchers.hasItem(containsString(SqlInjectionScanRule.SQL_UNION_SELECT)));
+        assertThat(values, not(Matchers.hasItem(containsString(" AND "))));
+        assertThat(alertsRaised, hasSize(0));
+    }
+
+    @Test
+    void shouldNotSkipDifferentialChecksAtHighStrength() throws Exception {
+        // Given
+        nano.addHandler(
+                new NanoServerHandler("/") {
+                    @Override
+                    protected Response serve(IHTTPSession session) {
+                        return newFixedLengthResponse("<html></html>");
+                    }
+                });
+        rule.setAttackStrength(AttackStrength.HIGH);
+        rule.init(getHttpMessage("/?id=1"), parent);
+        // When
+        rule.scan();
+        // Then
+        assertThat(getParamValues("id"), Matchers.hasItem(containsString(" AND ")));
+    }
+
+    private List<String> getParamValues(String param) {
+        List<String> values = new ArrayList<>();
+        for (HttpMessage msg : httpMessagesSent) {
+            msg.getUrlParams().stream()
+                    .filter(p -> param.equals(p.getName()))
+                    .forEach(p -> values.add(p.getValue()));
+        }
+        return values;
+    }
+
     static final List<Function<String, String>> ENCODING_FUNCTIONS =
             List.of(
                     SqlInjectionScanRule::getURLEncode,
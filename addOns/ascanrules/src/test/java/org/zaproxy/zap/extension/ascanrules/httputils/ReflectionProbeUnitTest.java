@@ -0,0 +1,118 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.ascanrules.httputils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link ReflectionProbe}. */
+class ReflectionProbeUnitTest {
+
+    private static final String MARKER = "0W45pz4p";
+
+    @Test
+    void shouldCreatePayloadWithAllCharactersBetweenMarkers() {
+        // Given / When
+        String payload = ReflectionProbe.createPayload(MARKER);
+        // Then
+        assertThat(
+                payload,
+                is(
+                        equalTo(
+                                "0W45pz4pa\"0W45pz4pb'0W45pz4pc<0W45pz4pd>0W45pz4pe＜0W45pz4pf＞"
+                                        + "0W45pz4pg")));
+    }
+
+    @Test
+    void shouldNotAnalyseIfProbeNotReflectedWhole() {
+        // Given
+        String body = "<p>0W45pz4pa\"0W45pz4pb'</p>";
+        // When
+        ReflectionProbe probe = ReflectionProbe.analyse(MARKER, body);
+        // Then
+        assertThat(probe, is(nullValue()));
+    }
+
+    @Test
+    void shouldAllowAllAttacksIfAllCharactersReflected() {
+        // Given
+        String body = "<p>" + ReflectionProbe.createPayload(MARKER) + "</p>";
+        // When
+        ReflectionProbe probe = ReflectionProbe.analyse(MARKER, body);
+        // Then
+        assertThat(probe, is(notNullValue()));
+        assertThat(probe.canReflect("<scrIpt>alert(1);</scRipt>"), is(equalTo(true)));
+        assertThat(probe.canReflect("\" onMouseOver=\"alert(1);"), is(equalTo(true)));
+        assertThat(probe.canReflect("accesskey='x' onclick='alert(1)' b"), is(equalTo(true)));
+    }
+
+    @Test
+    void shouldNotAllowAttacksWithEncodedCharacters() {
+        // Given
+        String body =
+                "<p>0W45pz4pa&quot;0W45pz4pb'0W45pz4pc&lt;0W45pz4pd&gt;0W45pz4pe＜0W45pz4pf＞"
+                        + "0W45pz4pg</p>";
+        // When
+        ReflectionProbe probe = ReflectionProbe.analyse(MARKER, body);
+        // Then
+        assertThat(probe.canReflect("<scrIpt>alert(1);</scRipt>"), is(equalTo(false)));
+        assertThat(probe.canReflect("\" onMouseOver=\"alert(1);"), is(equalTo(false)));
+        assertThat(probe.canReflect("accesskey='x' onclick='alert(1)' b"), is(equalTo(true)));
+        assertThat(probe.canReflect("javascript:alert(1);"), is(equalTo(true)));
+    }
+
+    @Test
+    void shouldAllowAttacksWithAngleBracketsIfFullWidthConverted() {
+        // Given
+        String body = "<p>0W45pz4pa\"0W45pz4pb'0W45pz4pc0W45pz4pd0W45pz4pe<0W45pz4pf>0W45pz4pg</p>";
+        // When
+        ReflectionProbe probe = ReflectionProbe.analyse(MARKER, body);
+        // Then
+        assertThat(probe.canReflect("<scrIpt>alert(1);</scRipt>"), is(equalTo(true)));
+        assertThat(probe.canReflect("＜scrIpt＞alert(1);＜/scRipt＞"), is(equalTo(true)));
+    }
+
+    @Test
+    void shouldAlwaysAllowAttacksWithNullByte() {
+        // Given
+        String body = "<p>0W45pz4pa0W45pz4pb0W45pz4pc0W45pz4pd0W45pz4pe0W45pz4pf0W45pz4pg</p>";
+        ReflectionProbe probe = ReflectionProbe.analyse(MARKER, body);
+        // When
+        boolean canReflect = probe.canReflect("\0<scrIpt>alert(1);</scRipt>");
+        // Then
+        assertThat(canReflect, is(equalTo(true)));
+    }
+
+    @Test
+    void shouldAnalyseIgnoringCase() {
+        // Given
+        String body = "<p>" + ReflectionProbe.createPayload(MARKER).toUpperCase() + "</p>";
+        // When
+        ReflectionProbe probe = ReflectionProbe.analyse(MARKER, body);
+        // Then
+        assertThat(probe, is(notNullValue()));
+        assertThat(probe.canReflect("<scrIpt>alert(1);</scRipt>"), is(equalTo(true)));
+    }
+}
@@ -26,7 +26,6 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import org.apache.commons.configuration.ConversionException;
 import org.apache.logging.log4j.LogManager;
@@ -38,6 +37,7 @@ import org.parosproxy.paros.core.scanner.Category;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
 import org.zaproxy.addon.commonlib.PolicyTag;
+import org.zaproxy.addon.commonlib.timing.TimingEngine;
 import org.zaproxy.addon.commonlib.timing.TimingUtils;
 import org.zaproxy.zap.extension.ruleconfig.RuleConfigParam;
 import org.zaproxy.zap.model.Tech;
@@ -226,18 +226,21 @@ public class MongoDbInjectionTimingScanRule extends AbstractAppParamPlugin
 
                         // send the request and retrieve the response
                         sendAndReceive(timedMsg, false);
-                        return TimeUnit.MILLISECONDS.toSeconds(timedMsg.getTimeElapsedMillis());
+                        return TimingEngine.getResponseTime(timedMsg);
                     };
 
             try {
-                // use TimingUtils to detect a response to sleep payloads
+                // use the TimingEngine to detect a response to sleep payloads
                 boolean isInjectable =
-                        TimingUtils.checkTimingDependence(
-                                BLIND_REQUEST_LIMIT,
-                                timeSleepSeconds,
-                                requestSender,
-                                TIME_CORRELATION_ERROR_RANGE,
-                                TIME_SLOPE_ERROR_RANGE);
+                        TimingEngine.getEngine(getParent())
+                                .checkTimingDependence(
+                                        getBaseMsg(),
+                                        baselineMsg -> sendAndReceive(baselineMsg, false),
+                                        BLIND_REQUEST_LIMIT,
+                                        timeSleepSeconds,
+                                        requestSender,
+                                        TIME_CORRELATION_ERROR_RANGE,
+                                        TIME_SLOPE_ERROR_RANGE);
 
                 if (isInjectable) {
                     // We Found IT!
@@ -27,10 +27,14 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Date;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.Timer;
 import java.util.Vector;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.prefs.Preferences;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -78,10 +82,13 @@ public class Manager implements ProcessChecker.ProcessUpdate {
     private boolean blankExt = false;
     // store of all extention that are to be tested
     private Vector<ExtToCheck> extToUse = new Vector<>(10, 5);
-    private Vector<BaseCase> producedBasesCases = new Vector<>(10, 10);
+    // ZAP: Index the base cases, the links, and the dirs to not go through them on each lookup.
+    private final Map<BaseCaseKey, BaseCase> producedBasesCases = new ConcurrentHashMap<>();
     // used to store all the links that have parsed, will not contain a list a all items, processed
     // as this will consume to much memory.  There for there is a chance of some duplication.
-    private Vector<String> processedLinks = new Vector<>(100, 100);
+    private final Set<String> processedLinks = ConcurrentHashMap.newKeySet();
+    // the dirs that were already added to the dir queue, to not add them again
+    private final Set<String> queuedDirs = ConcurrentHashMap.newKeySet();
     // not all base case requests are processed so this will ensure the stats stay correct
     private int baseCaseCounterCorrection = 0;
     // used to store the value of items that will have been skipped
@@ -105,6 +112,8 @@ public class Manager implements ProcessChecker.ProcessUpdate {
      * time at which the fuzzing started
      */
     private long timestarted;
+    // ZAP: the number of requests sent in the last second
+    private volatile long requestsPerSecond;
     /*
      * store of information about request limiting
      */
@@ -384,6 +393,8 @@ public class Manager implements ProcessChecker.ProcessUpdate {
         try {
             Vector<ExtToCheck> tempext = extToUse;
             // extToUse.clone().
+            queuedDirs.clear();
+            queuedDirs.add(toKey(startPoint));
             dirQueue.put(new DirToCheck(startPoint, tempext));
         } catch (InterruptedException e) {
             LOGGER.debug(e);
@@ -393,6 +404,7 @@ public class Manager implements ProcessChecker.ProcessUpdate {
     public void start() {
         try {
             timestarted = System.currentTimeMillis();
+            requestsPerSecond = 0;
 
             totalDirsFound = 0;
             producedBasesCases.clear();
@@ -474,30 +486,10 @@ public class Manager implements ProcessChecker.ProcessUpdate {
             if (Config.caseInsensativeMode) {
                 isStartPoint = url.getPath().equalsIgnoreCase(startPoint);
 
-                /*
-                 * loop through all the items in the queue
-                 */
-
-                /*
-                 * convert to array
-                 */
-                boolean foundDir = false;
-                DirToCheck[] dirArray = (DirToCheck[]) dirQueue.toArray();
-
-                for (int a = 0; a < dirArray.length; a++) {
-                    /*
-                     * perform case in seneative check
-                     */
-                    if (url.getPath().equalsIgnoreCase(dirArray[a].getName())) {
-                        foundDir = true;
-                        break;
-                    }
-                }
-
                 /*
                  * if the dir is not already there.
                  */
-                if (!foundDir) {
+                if (queuedDirs.add(toKey(url.getPath()))) {
 
                     // hack to prevent getting an instance of the main extToUse and its contents!
 
@@ -533,9 +525,7 @@ public class Manager implements ProcessChecker.ProcessUpdate {
             else {
                 isStartPoint = url.getPath().equals(startPoint);
                 // check it is not already in the queue
-                if (!dirQueue.contains(new DirToCheck(url.getPath(), extToUse))
-                        && !isStartPoint
-                        && isRecursive()) {
+                if (!isStartPoint && isRecursive() && queuedDirs.add(url.getPath())) {
                     // Vector tempext = (Vector) extToUse.clone();
 
                     // hack to prevent getting an instance of the main extToUse and its contents!
@@ -689,6 +679,7 @@ public class Manager implements ProcessChecker.ProcessUpdate {
         // clear all the queue
         workQueue.clear();
         dirQueue.clear();
+        queuedDirs.clear();
         parseQueue.clear();
 
         // reset counters
@@ -698,6 +689,7 @@ public class Manager implements ProcessChecker.ProcessUpdate {
         parsedLinksProcessed = 0;
         processedLinks.clear();
         workAmountCorrection = 0;
+        requestsPerSecond = 0;
 
         // kill all the running threads
         task.cancel();
@@ -832,6 +824,7 @@ public class Manager implements ProcessChecker.ProcessUpdate {
         // System.out.println("SBSB addToDirQueue " + dir);
         try {
 
+            queuedDirs.add(toKey(dir));
             dirQueue.put(new DirToCheck(dir, extToUse));
             totalDirsFound++;
         } catch (InterruptedException ex) {
@@ -866,43 +859,24 @@ public class Manager implements ProcessChecker.ProcessUpdate {
         return extToUse;
     }
 
-    public synchronized BaseCase getBaseCase(String base, boolean isDir, String fileExt) {
-
-        try {
-            for (int a = 0; a < producedBasesCases.size(); a++) {
-                BaseCase tempBaseCase = producedBasesCases.elementAt(a);
-
-                if (tempBaseCase.getBaseCaseURL().equals(new URL(base))
-                        && tempBaseCase.isDir() == isDir) {
-                    if (!isDir) {
-                        if (tempBaseCase.getFileExt().equals(fileExt)) {
-                            return tempBaseCase;
-                        }
-                    } else {
-                        return tempBaseCase;
-                    }
-                }
-            }
-        } catch (MalformedURLException ex) {
-            // do nothing I dont care
-        }
-
-        return null;
+    public BaseCase getBaseCase(String base, boolean isDir, String fileExt) {
+        return producedBasesCases.get(new BaseCaseKey(base, isDir, fileExt));
     }
 
-    public synchronized void addBaseCase(BaseCase baseCase) {
-        if (!producedBasesCases.contains(baseCase)) {
-            producedBasesCases.addElement(baseCase);
+    public void addBaseCase(BaseCase baseCase) {
+        if (baseCase.getBaseCaseURL() == null) {
+            return;
         }
+        producedBasesCases.putIfAbsent(
+                new BaseCaseKey(
+                        baseCase.getBaseCaseURL().toString(),
+                        baseCase.isDir(),
+                        baseCase.getFileExt()),
+                baseCase);
     }
 
-    public synchronized boolean hasLinkBeenDone(String link) {
-
-        if (processedLinks.contains(link)) {
-            return true;
-        }
-
-        return false;
+    public boolean hasLinkBeenDone(String link) {
+        return processedLinks.contains(toKey(link));
     }
 
     public int getBaseCaseCounterCorrection() {
@@ -913,19 +887,16 @@ public class Manager implements ProcessChecker.ProcessUpdate {
         return parsedLinksProcessed;
     }
 
-    public synchronized boolean addParsedLink(String link) {
+    public boolean addParsedLink(String link) {
         // System.out.println("SBSB addParsedLink " + link);
+        boolean added = processedLinks.add(toKey(link));
         /*
          * case insenataive mode
          */
         if (Config.caseInsensativeMode) {
-
-            for (int a = 0; a < processedLinks.size(); a++) {
-                if (link.equalsIgnoreCase(processedLinks.elementAt(a))) {
-                    return false;
-                }
+            if (!added) {
+                return false;
             }
-            processedLinks.addElement(link);
 
             if (onlyUnderStartPoint
                     && !link.toLowerCase(Locale.ENGLISH)
@@ -938,10 +909,6 @@ public class Manager implements ProcessChecker.ProcessUpdate {
          * case sensative mode
          */
         {
-            if (!processedLinks.contains(link)) {
-                processedLinks.addElement(link);
-            }
-
             if (onlyUnderStartPoint && !link.startsWith(startPoint)) {
                 addParsedLinksProcessed();
                 return false;
@@ -951,6 +918,13 @@ public class Manager implements ProcessChecker.ProcessUpdate {
         return true;
     }
 
+    private static String toKey(String path) {
+        if (Config.caseInsensativeMode) {
+            return path.toLowerCase(Locale.ENGLISH);
+        }
+        return path;
+    }
+
     public synchronized void addParsedLinksProcessed() {
         parsedLinksProcessed++;
     }
@@ -1030,6 +1004,19 @@ public class Manager implements ProcessChecker.ProcessUpdate {
         return timestarted;
     }
 
+    /**
+     * Gets the number of requests sent in the last second.
+     *
+     * @return the number of requests per second.
+     */
+    public long getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    void setRequestsPerSecond(long requestsPerSecond) {
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
     public boolean isLimitRequests() {
         return limitRequests;
     }
@@ -1155,4 +1142,37 @@ public class Manager implements ProcessChecker.ProcessUpdate {
     public SimpleHttpClient getHttpClient() {
         return httpClient;
     }
+
+    private static class BaseCaseKey {
+
+        private final String url;
+        private final boolean dir;
+        private final String fileExt;
+
+        BaseCaseKey(String url, boolean dir, String fileExt) {
+            this.url = url;
+            this.dir = dir;
+            // The extension is only relevant for the base cases of files.
+            this.fileExt = dir ? null : fileExt;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(url, dir, fileExt);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof BaseCaseKey)) {
+                return false;
+            }
+            BaseCaseKey other = (BaseCaseKey) obj;
+            return dir == other.dir
+                    && Objects.equals(url, other.url)
+                    && Objects.equals(fileExt, other.fileExt);
+        }
+    }
 }
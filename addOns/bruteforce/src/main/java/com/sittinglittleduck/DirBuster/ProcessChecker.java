@@ -88,6 +88,8 @@ public class ProcessChecker extends TimerTask {
             long currentTotal = manager.getTotalDone();
             long average = currentTotal / timePassed;
             long current = currentTotal - lastTotal;
+            lastTotal = currentTotal;
+            manager.setRequestsPerSecond(current);
 
             // store the last ten current speeds
             // used to calculate averages better
@@ -129,7 +131,6 @@ public class ProcessChecker extends TimerTask {
                 } else {
                     long timeLeft = (totalToDo - currentTotal) / averageLastTen;
                     String timeToCompelete = convertSecsToTime(timeLeft);
-                    lastTotal = currentTotal;
                     LOGGER.debug(
                             "Current speed: {} request/sec\nAverage Speed: (T) {}, (C) {} requests/sec\nTotal Requests: {}/{}\nTime To Finish: {}\n{}",
                             current,
@@ -115,8 +115,6 @@ public class Worker implements Runnable {
                     }
 
                     response = FilterResponce.CleanResponce(response, work);
-
-                    Thread.sleep(10);
                 }
 
                 // if we need to check the against the base case
@@ -192,7 +190,6 @@ public class Worker implements Runnable {
                 }
 
                 manager.workDone();
-                Thread.sleep(20);
 
             } catch (IOException e) {
 
@@ -236,6 +236,10 @@ public class BruteForce extends Thread implements BruteForceListenner {
         return this.manager.getTotal();
     }
 
+    public long getRequestsPerSecond() {
+        return this.manager.getRequestsPerSecond();
+    }
+
     public BruteForceTableModel getModel() {
         return tableModel;
     }
@@ -111,6 +111,10 @@ public class BruteForcePanel extends AbstractPanel implements BruteForceListenne
 
     private JLabel requestCountValueLabel;
 
+    private JLabel requestRateNameLabel;
+
+    private JLabel requestRateValueLabel;
+
     private TableExportButton<HistoryReferencesTable> exportButton = null;
 
     private static final Logger LOGGER = LogManager.getLogger(BruteForcePanel.class);
@@ -223,6 +227,8 @@ public class BruteForcePanel extends AbstractPanel implements BruteForceListenne
             GridBagConstraints gridBagConstraints11 = new GridBagConstraints();
             GridBagConstraints gridBagConstraints12 = new GridBagConstraints();
             GridBagConstraints gridBagConstraints13 = new GridBagConstraints();
+            GridBagConstraints gridBagConstraints14 = new GridBagConstraints();
+            GridBagConstraints gridBagConstraints15 = new GridBagConstraints();
             // Dummy
             GridBagConstraints gridBagConstraintsx = new GridBagConstraints();
             GridBagConstraints gridBagConstraintsy = new GridBagConstraints();
@@ -295,6 +301,16 @@ public class BruteForcePanel extends AbstractPanel implements BruteForceListenne
             gridBagConstraints13.insets = new java.awt.Insets(0, 0, 0, 0);
             gridBagConstraints13.anchor = java.awt.GridBagConstraints.EAST;
 
+            gridBagConstraints14.gridx = 13;
+            gridBagConstraints14.gridy = 0;
+            gridBagConstraints14.insets = new java.awt.Insets(0, 0, 0, 0);
+            gridBagConstraints14.anchor = java.awt.GridBagConstraints.EAST;
+
+            gridBagConstraints15.gridx = 14;
+            gridBagConstraints15.gridy = 0;
+            gridBagConstraints15.insets = new java.awt.Insets(0, 0, 0, 0);
+            gridBagConstraints15.anchor = java.awt.GridBagConstraints.EAST;
+
             gridBagConstraintsx.gridx = 20;
             gridBagConstraintsx.gridy = 0;
             gridBagConstraintsx.weightx = 1.0;
@@ -324,7 +340,9 @@ public class BruteForcePanel extends AbstractPanel implements BruteForceListenne
             panelToolbar.add(getActiveScansValueLabel(), gridBagConstraints10);
             panelToolbar.add(getRequestCountNameLabel(), gridBagConstraints11);
             panelToolbar.add(getRequestCountValueLabel(), gridBagConstraints12);
-            panelToolbar.add(getExportButton(), gridBagConstraints13);
+            panelToolbar.add(getRequestRateNameLabel(), gridBagConstraints13);
+            panelToolbar.add(getRequestRateValueLabel(), gridBagConstraints14);
+            panelToolbar.add(getExportButton(), gridBagConstraints15);
 
             panelToolbar.add(new JLabel(), gridBagConstraintsx); // Filler
             panelToolbar.add(getOptionsButton(), gridBagConstraintsy);
@@ -366,6 +384,23 @@ public class BruteForcePanel extends AbstractPanel implements BruteForceListenne
         return requestCountValueLabel;
     }
 
+    private JLabel getRequestRateNameLabel() {
+        if (requestRateNameLabel == null) {
+            requestRateNameLabel = new javax.swing.JLabel();
+            requestRateNameLabel.setText(
+                    Constant.messages.getString("bruteforce.toolbar.requestrate.label"));
+        }
+        return requestRateNameLabel;
+    }
+
+    private JLabel getRequestRateValueLabel() {
+        if (requestRateValueLabel == null) {
+            requestRateValueLabel = new javax.swing.JLabel();
+            requestRateValueLabel.setText("0");
+        }
+        return requestRateValueLabel;
+    }
+
     private void setActiveScanLabels() {
         List<ScanTarget> activeScans = extension.getActiveScans();
         getActiveScansValueLabel().setText(String.valueOf(activeScans.size()));
@@ -591,6 +626,10 @@ public class BruteForcePanel extends AbstractPanel implements BruteForceListenne
             }
 
             getRequestCountValueLabel().setText(String.valueOf(bruteForce.getWorkDone()));
+            getRequestRateValueLabel()
+                    .setText(
+                            String.valueOf(
+                                    bruteForce.isAlive() ? bruteForce.getRequestsPerSecond() : 0));
             getProgressBar().setValue(bruteForce.getWorkDone());
             getProgressBar().setMaximum(bruteForce.getWorkTotal());
             bruteForceTable.setModel(bruteForce.getModel());
@@ -717,6 +756,7 @@ public class BruteForcePanel extends AbstractPanel implements BruteForceListenne
     public void scanFinshed(ScanTarget scanTarget) {
         if (scanTarget.equals(currentSite)) {
             resetScanButtonsAndProgressBarStates(true);
+            getRequestRateValueLabel().setText("0");
         }
         setActiveScanLabels();
     }
@@ -725,6 +765,11 @@ public class BruteForcePanel extends AbstractPanel implements BruteForceListenne
     public void scanProgress(ScanTarget scanTarget, int done, int todo) {
         if (scanTarget.equals(currentSite)) {
             getRequestCountValueLabel().setText(String.valueOf(done));
+            BruteForce bruteForce = extension.getBruteForce(scanTarget);
+            getRequestRateValueLabel()
+                    .setText(
+                            String.valueOf(
+                                    bruteForce != null ? bruteForce.getRequestsPerSecond() : 0));
             getProgressBar().setValue(done);
             getProgressBar().setMaximum(todo);
         }
@@ -742,6 +787,7 @@ public class BruteForcePanel extends AbstractPanel implements BruteForceListenne
         resetScanButtonsAndProgressBarStates(false);
         getProgressBar().setValue(0);
         getRequestCountValueLabel().setText("0");
+        getRequestRateValueLabel().setText("0");
     }
 
     @Override
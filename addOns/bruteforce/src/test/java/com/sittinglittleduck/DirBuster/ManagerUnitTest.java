@@ -0,0 +1,172 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sittinglittleduck.DirBuster;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+
+import java.net.URL;
+import java.util.Vector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link Manager}. */
+class ManagerUnitTest {
+
+    private static final String BASE_URL = "http://localhost:8080";
+
+    private Manager manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new Manager(mock(SimpleHttpClient.class));
+        manager.setupManager(
+                "/",
+                "list.txt",
+                "http",
+                "localhost",
+                8080,
+                "php",
+                1,
+                true,
+                true,
+                true,
+                false,
+                new Vector<>());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        Config.caseInsensativeMode = false;
+    }
+
+    @Test
+    void shouldQueueFoundDirOnce() throws Exception {
+        // Given
+        URL dir = new URL(BASE_URL + "/dir/");
+        // When
+        manager.foundDir(dir, 200, null);
+        manager.foundDir(dir, 200, null);
+        // Then
+        assertThat(manager.getDirQueue().size(), is(equalTo(2)));
+    }
+
+    @Test
+    void shouldQueueFoundDirsWithDifferentCase() throws Exception {
+        // Given / When
+        manager.foundDir(new URL(BASE_URL + "/dir/"), 200, null);
+        manager.foundDir(new URL(BASE_URL + "/DIR/"), 200, null);
+        // Then
+        assertThat(manager.getDirQueue().size(), is(equalTo(3)));
+    }
+
+    @Test
+    void shouldQueueFoundDirOnceIgnoringCaseInCaseInsensitiveMode() throws Exception {
+        // Given
+        Config.caseInsensativeMode = true;
+        // When
+        manager.foundDir(new URL(BASE_URL + "/dir/"), 200, null);
+        manager.foundDir(new URL(BASE_URL + "/DIR/"), 200, null);
+        // Then
+        assertThat(manager.getDirQueue().size(), is(equalTo(2)));
+    }
+
+    @Test
+    void shouldQueueDirAgainIfReAdded() throws Exception {
+        // Given
+        manager.foundDir(new URL(BASE_URL + "/dir/"), 200, null);
+        manager.removeFromDirQueue("/dir/");
+        // When
+        manager.addToDirQueue("/dir/");
+        // Then
+        assertThat(manager.getDirQueue().size(), is(equalTo(2)));
+    }
+
+    @Test
+    void shouldTrackParsedLinks() {
+        // Given
+        String link = "/dir/file.php";
+        // When
+        boolean added = manager.addParsedLink(link);
+        // Then
+        assertThat(added, is(equalTo(true)));
+        assertThat(manager.hasLinkBeenDone(link), is(equalTo(true)));
+        assertThat(manager.hasLinkBeenDone("/dir/other.php"), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldNotAddParsedLinkTwiceIgnoringCaseInCaseInsensitiveMode() {
+        // Given
+        Config.caseInsensativeMode = true;
+        manager.addParsedLink("/dir/file.php");
+        // When
+        boolean added = manager.addParsedLink("/DIR/File.php");
+        // Then
+        assertThat(added, is(equalTo(false)));
+    }
+
+    @Test
+    void shouldGetAddedDirBaseCase() throws Exception {
+        // Given
+        String base = BASE_URL + "/dir/";
+        BaseCase baseCase = createBaseCase(base, true, null);
+        // When
+        manager.addBaseCase(baseCase);
+        // Then
+        assertThat(manager.getBaseCase(base, true, ".php"), is(sameInstance(baseCase)));
+        assertThat(manager.getBaseCase(base, false, ".php"), is(nullValue()));
+    }
+
+    @Test
+    void shouldGetAddedFileBaseCaseOnlyForSameExtension() throws Exception {
+        // Given
+        String base = BASE_URL + "/dir/";
+        BaseCase baseCase = createBaseCase(base, false, ".php");
+        // When
+        manager.addBaseCase(baseCase);
+        // Then
+        assertThat(manager.getBaseCase(base, false, ".php"), is(sameInstance(baseCase)));
+        assertThat(manager.getBaseCase(base, false, ".html"), is(nullValue()));
+        assertThat(manager.getBaseCase(BASE_URL + "/other/", false, ".php"), is(nullValue()));
+    }
+
+    @Test
+    void shouldKeepFirstBaseCaseAdded() throws Exception {
+        // Given
+        String base = BASE_URL + "/dir/";
+        BaseCase baseCase = createBaseCase(base, true, null);
+        manager.addBaseCase(baseCase);
+        // When
+        manager.addBaseCase(createBaseCase(base, true, null));
+        // Then
+        assertThat(manager.getBaseCase(base, true, null), is(sameInstance(baseCase)));
+    }
+
+    private static BaseCase createBaseCase(String base, boolean dir, String fileExt)
+            throws Exception {
+        return new BaseCase(
+                new URL(base), 404, dir, new URL(base + "abc"), null, fileExt, false, null);
+    }
+}
@@ -51,7 +51,7 @@ zapAddOn {
         dependencies {
             addOns {
                 register("selenium") {
-                    version.set(">=15.14.0")
+                    version.set(">=15.48.0")
                 }
                 register("network") {
                     version.set(">=0.8.0")
@@ -422,7 +422,7 @@ public class ExtensionClientIntegration extends ExtensionAdaptor {
     private void loadClientHistory() {
         if (clientHistoryTableModel != null) {
             clientHistoryTableModel.clear();
-            clientHistoryTableModel.addReportedObjects(ClientHistoryDao.loadAll());
+            ClientHistoryDao.loadAll(clientHistoryTableModel::addReportedObjects);
         }
     }
 
@@ -496,6 +496,8 @@ public class ExtensionClientIntegration extends ExtensionAdaptor {
                 .getExtension(ExtensionPassiveScan2.class)
                 .removePscanRuleProvider(clientPscanRuleProvider);
 
+        ClientHistoryDao.shutdown();
+
         if (hasView()) {
             getClientSpiderPanel().unload();
             getView()
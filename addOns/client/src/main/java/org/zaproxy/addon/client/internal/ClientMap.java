@@ -23,6 +23,8 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import javax.swing.tree.DefaultTreeModel;
 import javax.swing.tree.TreeNode;
 import org.apache.logging.log4j.LogManager;
@@ -45,6 +47,7 @@ public class ClientMap extends SortedTreeModel implements EventPublisher {
     private static final long serialVersionUID = 1L;
     private static final Logger LOGGER = LogManager.getLogger(ClientMap.class);
     private ClientNode root;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
     public ClientMap(ClientNode root) {
         super(root);
@@ -67,7 +70,7 @@ public class ClientMap extends SortedTreeModel implements EventPublisher {
         return this.getNode(url, visited, storage, false, false);
     }
 
-    private synchronized ClientNode getNode(
+    private ClientNode getNode(
             String url, boolean visited, boolean storage, boolean add, boolean publishEvent) {
         if (url == null) {
             throw new IllegalArgumentException("The url parameter should not be null");
@@ -75,17 +78,55 @@ public class ClientMap extends SortedTreeModel implements EventPublisher {
         List<String> nodeNames =
                 ClientUtils.urlToNodes(url, root.getSession().getUrlParamParser(url));
 
+        // Most nodes already exist, find them without blocking the other readers.
+        lock.readLock().lock();
+        try {
+            ClientNode node = findNode(nodeNames, storage);
+            if (node != null || !add) {
+                return node;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            return addNode(url, nodeNames, visited, storage, publishEvent);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private ClientNode findNode(List<String> nodeNames, boolean storage) {
+        ClientNode node = null;
+        ClientNode parent = root;
+        for (int i = 0; i < nodeNames.size(); i++) {
+            boolean lastComponent = i == nodeNames.size() - 1;
+            node = parent.getChild(nodeNames.get(i), lastComponent && storage);
+            if (node == null) {
+                return null;
+            }
+            parent = node;
+        }
+        return node;
+    }
+
+    private ClientNode addNode(
+            String url,
+            List<String> nodeNames,
+            boolean visited,
+            boolean storage,
+            boolean publishEvent) {
         ClientNode parent = root;
         ClientNode child = null;
+        // The first node added, all the others are its descendants, notified with it.
+        ClientNode firstAdded = null;
 
         for (int i = 0; i < nodeNames.size(); i++) {
             String nodeName = nodeNames.get(i);
             boolean lastComponent = i == nodeNames.size() - 1;
             child = parent.getChild(nodeName, lastComponent && storage);
             if (child == null) {
-                if (!add) {
-                    return null;
-                }
                 if (lastComponent) {
                     child =
                             new ClientNode(
@@ -133,25 +174,42 @@ public class ClientMap extends SortedTreeModel implements EventPublisher {
                             new ClientNode(
                                     new ClientSideDetails(nodeName, nodeUrl, false, false), false);
                 }
-                this.insertNodeInto(child, parent);
-                this.nodeStructureChanged(parent);
+                this.addNodeInto(child, parent);
+                if (firstAdded == null) {
+                    firstAdded = child;
+                }
             }
             parent = child;
         }
+        if (firstAdded != null) {
+            ClientNode firstAddedParent = firstAdded.getParent();
+            this.nodesWereInserted(
+                    firstAddedParent, new int[] {firstAddedParent.getIndex(firstAdded)});
+        }
         return child;
     }
 
     public void deleteNodes(List<ClientNode> nodes) {
-        for (ClientNode node : nodes) {
-            if (!node.isRoot()) {
-                removeNodeFromParent(node);
+        lock.writeLock().lock();
+        try {
+            for (ClientNode node : nodes) {
+                if (!node.isRoot()) {
+                    removeNodeFromParent(node);
+                }
             }
+        } finally {
+            lock.writeLock().unlock();
         }
     }
 
     public void clear() {
-        root.removeAllChildren();
-        this.nodeStructureChanged(root);
+        lock.writeLock().lock();
+        try {
+            root.removeAllChildren();
+            this.nodeStructureChanged(root);
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     @Override
@@ -264,6 +322,17 @@ class SortedTreeModel extends DefaultTreeModel {
         super.insertNodeInto(child, parent, index);
     }
 
+    /**
+     * Adds the child in order, without notifying the listeners. Callers are expected to notify
+     * once done, for example, after adding all the nodes of a path.
+     *
+     * @param child the node to add.
+     * @param parent the parent of the node.
+     */
+    protected void addNodeInto(ClientNode child, ClientNode parent) {
+        parent.insert(child, findIndexFor(child, parent));
+    }
+
     public void insertNodeInto(ClientNode child, ClientNode parent, int i) {
         // The index is useless in this model, so just ignore it.
         insertNodeInto(child, parent);
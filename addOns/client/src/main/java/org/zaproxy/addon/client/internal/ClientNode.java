@@ -20,8 +20,11 @@
 package org.zaproxy.addon.client.internal;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.MutableTreeNode;
 import org.parosproxy.paros.model.Session;
 
 @SuppressWarnings("serial")
@@ -31,6 +34,10 @@ public class ClientNode extends DefaultMutableTreeNode {
     private boolean storage;
     private Session session;
 
+    // The children by name, to not have to go through all of them to find one.
+    private Map<String, ClientNode> childrenByName;
+    private Map<String, ClientNode> storageChildrenByName;
+
     public ClientNode(ClientSideDetails userObject, Session session) {
         super(userObject);
         this.session = session;
@@ -57,13 +64,38 @@ public class ClientNode extends DefaultMutableTreeNode {
     }
 
     public ClientNode getChild(String name, boolean isStorage) {
-        for (int i = 0; i < getChildCount(); i++) {
-            ClientNode child = getChildAt(i);
-            if (isStorage == child.isStorage() && name.equals(child.getUserObject().getName())) {
-                return child;
+        Map<String, ClientNode> children = isStorage ? storageChildrenByName : childrenByName;
+        if (children == null) {
+            return null;
+        }
+        return children.get(name);
+    }
+
+    @Override
+    public void insert(MutableTreeNode newChild, int childIndex) {
+        super.insert(newChild, childIndex);
+        ClientNode child = (ClientNode) newChild;
+        getChildrenByName(child.isStorage()).putIfAbsent(child.getUserObject().getName(), child);
+    }
+
+    @Override
+    public void remove(int childIndex) {
+        ClientNode child = getChildAt(childIndex);
+        super.remove(childIndex);
+        getChildrenByName(child.isStorage()).remove(child.getUserObject().getName(), child);
+    }
+
+    private Map<String, ClientNode> getChildrenByName(boolean isStorage) {
+        if (isStorage) {
+            if (storageChildrenByName == null) {
+                storageChildrenByName = new HashMap<>();
             }
+            return storageChildrenByName;
         }
-        return null;
+        if (childrenByName == null) {
+            childrenByName = new HashMap<>();
+        }
+        return childrenByName;
     }
 
     public boolean isStorage() {
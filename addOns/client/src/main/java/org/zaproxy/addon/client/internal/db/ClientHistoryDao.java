@@ -22,6 +22,15 @@ package org.zaproxy.addon.client.internal.db;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import javax.jdo.PersistenceManager;
 import javax.jdo.PersistenceManagerFactory;
 import javax.jdo.Query;
@@ -39,21 +48,88 @@ public class ClientHistoryDao {
     private static final int OBJECT_TYPE_ELEMENT = 1;
     private static final int OBJECT_TYPE_EVENT = 2;
 
+    /** The maximum number of entries persisted in a single transaction. */
+    static final int BATCH_SIZE = 500;
+
+    /** The number of entries loaded per query. */
+    static final int PAGE_SIZE = 1000;
+
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private static final BlockingQueue<ReportedObject> PENDING = new LinkedBlockingQueue<>();
+    private static final AtomicBoolean WRITE_SCHEDULED = new AtomicBoolean();
+    private static ExecutorService writer;
+
     private ClientHistoryDao() {}
 
+    /**
+     * Persists the given object, in the background.
+     *
+     * <p>The objects are queued and persisted in batches, by a single thread, so the callers (for
+     * example, the browser callbacks) do not wait for the database.
+     *
+     * @param obj the object to persist.
+     * @see #flush()
+     */
     public static void persist(ReportedObject obj) {
+        if (TableJdo.getPmf() == null) {
+            return;
+        }
+        PENDING.add(obj);
+        if (WRITE_SCHEDULED.compareAndSet(false, true)) {
+            try {
+                getWriter().execute(ClientHistoryDao::writePending);
+            } catch (RejectedExecutionException e) {
+                WRITE_SCHEDULED.set(false);
+            }
+        }
+    }
+
+    private static synchronized ExecutorService getWriter() {
+        if (writer == null) {
+            writer =
+                    Executors.newSingleThreadExecutor(
+                            r -> {
+                                Thread t = new Thread(r, "ZAP-client-history-writer");
+                                t.setDaemon(true);
+                                return t;
+                            });
+        }
+        return writer;
+    }
+
+    private static void writePending() {
+        // Reset before draining, the objects added meanwhile schedule another write.
+        WRITE_SCHEDULED.set(false);
+        List<ReportedObject> batch = new ArrayList<>(BATCH_SIZE);
+        while (PENDING.drainTo(batch, BATCH_SIZE) > 0) {
+            persistAll(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Persists the given objects, in a single transaction.
+     *
+     * @param objs the objects to persist.
+     */
+    static void persistAll(List<ReportedObject> objs) {
         PersistenceManagerFactory pmf = TableJdo.getPmf();
-        if (pmf == null) {
+        if (pmf == null || objs.isEmpty()) {
             return;
         }
         PersistenceManager pm = pmf.getPersistenceManager();
         Transaction tx = pm.currentTransaction();
         try {
             tx.begin();
-            pm.makePersistent(toEntry(obj));
+            List<ClientHistoryEntry> entries = new ArrayList<>(objs.size());
+            for (ReportedObject obj : objs) {
+                entries.add(toEntry(obj));
+            }
+            pm.makePersistentAll(entries);
             tx.commit();
         } catch (Exception e) {
-            LOGGER.warn("Failed to persist client history entry:", e);
+            LOGGER.warn("Failed to persist {} client history entries:", objs.size(), e);
         } finally {
             if (tx.isActive()) {
                 tx.rollback();
@@ -62,30 +138,113 @@ public class ClientHistoryDao {
         }
     }
 
+    /**
+     * Waits for the objects queued so far to be persisted, for example, before the database is
+     * closed.
+     */
+    public static void flush() {
+        ExecutorService currentWriter;
+        synchronized (ClientHistoryDao.class) {
+            currentWriter = writer;
+        }
+        if (currentWriter == null) {
+            return;
+        }
+        try {
+            currentWriter.submit(ClientHistoryDao::writePending).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RejectedExecutionException e) {
+            LOGGER.warn("Failed to persist the pending client history entries:", e);
+        }
+    }
+
+    /**
+     * Persists the objects queued so far and stops the writer, for example, when the add-on is
+     * unloaded. A new writer is started if more objects are persisted afterwards.
+     */
+    public static void shutdown() {
+        flush();
+        ExecutorService currentWriter;
+        synchronized (ClientHistoryDao.class) {
+            currentWriter = writer;
+            writer = null;
+        }
+        if (currentWriter == null) {
+            return;
+        }
+        currentWriter.shutdown();
+        try {
+            if (!currentWriter.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOGGER.warn("The client history writer did not stop in time.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Loads all the persisted objects, in order.
+     *
+     * @return the objects, never {@code null}.
+     * @see #loadAll(Consumer)
+     */
     public static List<ReportedObject> loadAll() {
+        List<ReportedObject> result = new ArrayList<>();
+        loadAll(result::addAll);
+        return result;
+    }
+
+    /**
+     * Loads all the persisted objects, in order, one page at a time.
+     *
+     * <p>The pages are passed to the consumer as soon as loaded, so the objects can be shown
+     * without waiting for the whole history, nor keeping the database entries all in memory.
+     *
+     * @param consumer the consumer of each page.
+     */
+    public static void loadAll(Consumer<List<ReportedObject>> consumer) {
+        flush();
         PersistenceManagerFactory pmf = TableJdo.getPmf();
         if (pmf == null) {
-            return List.of();
+            return;
         }
         PersistenceManager pm = pmf.getPersistenceManager();
         try {
-            Query<ClientHistoryEntry> query = pm.newQuery(ClientHistoryEntry.class);
-            query.setOrdering("id ASC");
-            List<ClientHistoryEntry> entries = query.executeList();
-            List<ReportedObject> result = new ArrayList<>(entries.size());
-            for (ClientHistoryEntry entry : entries) {
-                result.add(toReportedObject(entry));
+            long lastId = -1;
+            while (true) {
+                Query<ClientHistoryEntry> query =
+                        pm.newQuery(ClientHistoryEntry.class, "id > :lastId");
+                query.setParameters(lastId);
+                query.setOrdering("id ASC");
+                query.setRange(0, PAGE_SIZE);
+                List<ClientHistoryEntry> entries = query.executeList();
+                List<ReportedObject> page = new ArrayList<>(entries.size());
+                for (ClientHistoryEntry entry : entries) {
+                    page.add(toReportedObject(entry));
+                    lastId = entry.getId();
+                }
+                query.closeAll();
+                pm.evictAll();
+
+                if (!page.isEmpty()) {
+                    consumer.accept(page);
+                }
+                if (page.size() < PAGE_SIZE) {
+                    return;
+                }
             }
-            return result;
         } catch (Exception e) {
             LOGGER.error("An error occurred while loading client history:", e);
-            return List.of();
         } finally {
             pm.close();
         }
     }
 
     public static void deleteAll() {
+        // The pending entries would be deleted anyway.
+        PENDING.clear();
+        flush();
         PersistenceManagerFactory pmf = TableJdo.getPmf();
         if (pmf == null) {
             return;
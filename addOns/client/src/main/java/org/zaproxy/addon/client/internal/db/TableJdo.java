@@ -72,6 +72,7 @@ public class TableJdo implements DatabaseListener {
 
     @Override
     public void closing(DatabaseServer db) {
+        ClientHistoryDao.flush();
         if (pmf != null) {
             pmf.close();
             pmf = null;
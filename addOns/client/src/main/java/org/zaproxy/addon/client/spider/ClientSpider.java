@@ -21,10 +21,9 @@ package org.zaproxy.addon.client.spider;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -76,7 +75,10 @@ import org.zaproxy.addon.network.server.Server;
 import org.zaproxy.zap.ZAP;
 import org.zaproxy.zap.eventBus.Event;
 import org.zaproxy.zap.eventBus.EventConsumer;
+import org.zaproxy.zap.extension.selenium.BrowserPool;
+import org.zaproxy.zap.extension.selenium.BrowserPool.BrowserFactory;
 import org.zaproxy.zap.extension.selenium.ExtensionSelenium;
+import org.zaproxy.zap.extension.selenium.PageSettleDetector;
 import org.zaproxy.zap.model.Context;
 import org.zaproxy.zap.model.GenericScanner2;
 import org.zaproxy.zap.model.ScanListenner2;
@@ -139,8 +141,7 @@ public class ClientSpider implements EventConsumer, GenericScanner2 {
     private final Session session;
     private final List<String> exclusionList;
 
-    private List<WebDriverProcess> webDriverPool = new ArrayList<>();
-    private Set<WebDriverProcess> webDriverActive = new HashSet<>();
+    private volatile BrowserPool<WebDriverProcess> browserPool;
     private List<ClientSpiderTask> spiderTasks = new ArrayList<>();
     private List<ClientSpiderTask> pausedTasks = new ArrayList<>();
     private long startTime;
@@ -267,6 +268,10 @@ public class ClientSpider implements EventConsumer, GenericScanner2 {
                         new ClientSpiderThreadFactory(
                                 "ZAP-ClientSpiderThreadPool-" + scanId + "-thread-"));
 
+        // Launch the browsers while the initial tasks are being added, instead of on first use.
+        browserPool = extSelenium.createBrowserPool(new WebDriverProcessFactory());
+        browserPool.prestart(options.getThreadCount());
+
         List<String> unvisitedUrls = getUnvisitedUrls();
 
         addInitialOpenUrlTask(targetUrl);
@@ -331,34 +336,36 @@ public class ClientSpider implements EventConsumer, GenericScanner2 {
     }
 
     public WebDriverProcess getWebDriverProcess() {
-        WebDriverProcess wdp;
-        synchronized (this.webDriverPool) {
-            if (!this.webDriverPool.isEmpty()) {
-                wdp = this.webDriverPool.remove(0);
-            } else {
-                try {
-                    wdp =
-                            new WebDriverProcess(
-                                    extClient,
-                                    extensionNetwork,
-                                    extSelenium,
-                                    new ProxyHandler(),
-                                    options);
-                } catch (IOException e) {
-                    throw new RuntimeException("Failed to create WebDriver process:", e);
-                }
+        try {
+            return browserPool.acquire();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create WebDriver process:", e);
+        }
+    }
+
+    /**
+     * Waits for the page of the given browser to settle, that is, for its requests to finish and
+     * its DOM to stop changing.
+     *
+     * @param wdp the browser.
+     * @param timeoutInSecs the maximum time to wait, in seconds.
+     */
+    void awaitPageSettled(WebDriverProcess wdp, int timeoutInSecs) {
+        Duration maxWait = Duration.ofSeconds(timeoutInSecs);
+        try {
+            Duration waited = wdp.getSettleDetector().awaitSettled(wdp.getWebDriver(), maxWait);
+            Stats.incCounter("stats.client.spider.page.settle");
+            Stats.incCounter("stats.client.spider.page.settle.time", waited.toMillis());
+            if (waited.compareTo(maxWait) >= 0) {
+                Stats.incCounter("stats.client.spider.page.settle.timeout");
             }
-            this.webDriverActive.add(wdp);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
-        return wdp;
     }
 
     public void returnWebDriverProcess(WebDriverProcess wdp) {
-        // Deliberately synchronized on webDriverPool as they are modified together
-        synchronized (this.webDriverPool) {
-            this.webDriverActive.remove(wdp);
-            this.webDriverPool.add(wdp);
-        }
+        browserPool.release(wdp);
     }
 
     private ClientSpiderTask addTask(
@@ -664,9 +671,8 @@ public class ClientSpider implements EventConsumer, GenericScanner2 {
             LOGGER.warn("Interrupted while awaiting for all tasks to stop.");
         }
 
-        synchronized (this.webDriverPool) {
-            clear(webDriverPool);
-            clear(webDriverActive);
+        if (browserPool != null) {
+            browserPool.close();
         }
 
         int contentLoaded = 0;
@@ -688,11 +694,6 @@ public class ClientSpider implements EventConsumer, GenericScanner2 {
         Stats.incCounter("stats.client.spider.nodes.contentLoaded", contentLoaded);
     }
 
-    private static void clear(Collection<WebDriverProcess> entries) {
-        entries.forEach(WebDriverProcess::shutdown);
-        entries.clear();
-    }
-
     private class ShutdownThread extends Thread {
 
         private int timeoutInSecs;
@@ -799,6 +800,31 @@ public class ClientSpider implements EventConsumer, GenericScanner2 {
         messagesTableModel.unload();
     }
 
+    private class WebDriverProcessFactory implements BrowserFactory<WebDriverProcess> {
+
+        @Override
+        public WebDriverProcess create() throws IOException {
+            PageSettleDetector settleDetector = new PageSettleDetector();
+            return new WebDriverProcess(
+                    extClient,
+                    extensionNetwork,
+                    extSelenium,
+                    new ProxyHandler(settleDetector),
+                    options,
+                    settleDetector);
+        }
+
+        @Override
+        public WebDriver getWebDriver(WebDriverProcess browser) {
+            return browser.getWebDriver();
+        }
+
+        @Override
+        public void destroy(WebDriverProcess browser) {
+            browser.shutdown();
+        }
+    }
+
     @Getter
     static class WebDriverProcess {
 
@@ -808,15 +834,18 @@ public class ClientSpider implements EventConsumer, GenericScanner2 {
         private Server proxy;
         private WebDriver webDriver;
         private ExtensionClientIntegration extClient;
+        private PageSettleDetector settleDetector;
 
         private WebDriverProcess(
                 ExtensionClientIntegration extensionClient,
                 ExtensionNetwork extensionNetwork,
                 ExtensionSelenium extensionSelenium,
                 ProxyHandler proxyHandler,
-                ClientOptions options)
+                ClientOptions options,
+                PageSettleDetector settleDetector)
                 throws IOException {
             extClient = extensionClient;
+            this.settleDetector = settleDetector;
             proxy =
                     extensionNetwork.createHttpServer(
                             HttpServerConfig.builder()
@@ -856,8 +885,13 @@ public class ClientSpider implements EventConsumer, GenericScanner2 {
 
     private class ProxyHandler implements HttpMessageHandler {
 
+        private final PageSettleDetector settleDetector;
         private boolean allowAll = true;
 
+        ProxyHandler(PageSettleDetector settleDetector) {
+            this.settleDetector = settleDetector;
+        }
+
         public void setAllowAll(boolean allowAll) {
             this.allowAll = allowAll;
         }
@@ -865,6 +899,7 @@ public class ClientSpider implements EventConsumer, GenericScanner2 {
         @Override
         public void handleMessage(HttpMessageHandlerContext ctx, HttpMessage httpMessage) {
             if (!ctx.isFromClient()) {
+                settleDetector.requestFinished(httpMessage);
                 notifyMessage(
                         httpMessage,
                         HistoryReference.TYPE_CLIENT_SPIDER,
@@ -889,6 +924,7 @@ public class ClientSpider implements EventConsumer, GenericScanner2 {
             if (extClient.getAuthenticationHandlers().isEmpty()) {
                 httpMessage.setRequestingUser(user);
             }
+            settleDetector.requestStarted(httpMessage);
         }
 
         private boolean isAllowedResource(URI uri) {
@@ -116,7 +116,11 @@ public class ClientSpiderTask implements Runnable {
             WebDriver wd = wdp.getWebDriver();
             startTime = System.currentTimeMillis();
             wd.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(this.timeout));
-            actions.forEach(e -> e.run(wd));
+            for (SpiderAction action : actions) {
+                action.run(wd);
+                // Wait only as long as the page needs, instead of a fixed time.
+                clientSpider.awaitPageSettled(wdp, this.timeout);
+            }
             ok = true;
             this.status = Status.FINISHED;
             this.clientSpider.taskStateChange(this);
@@ -21,6 +21,7 @@ package org.zaproxy.addon.client.internal;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -28,7 +29,15 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -364,4 +373,74 @@ class ClientMapUnitTest {
         // Then
         assertThat(node, is(nullValue()));
     }
+
+    @Test
+    void shouldAddNodesOnceWhenAddedConcurrently() throws Exception {
+        // Given
+        int threads = 8;
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            urls.add(BBB_URL + "/path" + (i % 10) + "/page" + i);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        // When
+        try {
+            for (int t = 0; t < threads; t++) {
+                futures.add(
+                        executor.submit(
+                                () -> urls.forEach(url -> map.getOrAddNode(url, false, false))));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        ClientNode site = root.getChild(BBB_URL, false);
+        assertThat(root.getChildCount(), is(1));
+        assertThat(site.getChildCount(), is(10));
+        for (String url : urls) {
+            assertThat(map.getNode(url, false, false), is(notNullValue()));
+        }
+    }
+
+    @Test
+    void shouldNotifyOnceWhenAddingPath() {
+        // Given
+        List<TreeModelEvent> events = new ArrayList<>();
+        map.addTreeModelListener(
+                new TreeModelListener() {
+                    @Override
+                    public void treeNodesChanged(TreeModelEvent e) {
+                        events.add(e);
+                    }
+
+                    @Override
+                    public void treeNodesInserted(TreeModelEvent e) {
+                        events.add(e);
+                    }
+
+                    @Override
+                    public void treeNodesRemoved(TreeModelEvent e) {
+                        events.add(e);
+                    }
+
+                    @Override
+                    public void treeStructureChanged(TreeModelEvent e) {
+                        events.add(e);
+                    }
+                });
+
+        // When
+        map.getOrAddNode(BBB_URL + "/aaa/bbb/ccc", false, false);
+        map.getOrAddNode(BBB_URL + "/aaa/bbb/ccc", false, false);
+
+        // Then
+        assertThat(events.size(), is(1));
+        assertThat(events.get(0).getTreePath().getLastPathComponent(), is(root));
+        assertThat(events.get(0).getChildren()[0], is(root.getChild(BBB_URL, false)));
+    }
 }
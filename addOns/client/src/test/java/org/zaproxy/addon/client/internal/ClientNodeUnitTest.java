@@ -27,6 +27,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
+import java.util.List;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -128,6 +129,36 @@ class ClientNodeUnitTest {
         assertThat(child.getUserObject().isStorage(), is(true));
     }
 
+    @Test
+    void shouldNotGetRemovedChild() {
+        // Given
+        map.getOrAddNode(EXAMPLE_COM + "/aa", false, false);
+        map.getOrAddNode(EXAMPLE_COM + "/bbb", false, false);
+        ClientNode site = root.getChild(EXAMPLE_COM, false);
+        ClientNode child = site.getChild("aa", false);
+
+        // When
+        map.deleteNodes(List.of(child));
+
+        // Then
+        assertNull(site.getChild("aa", false));
+        assertNotNull(site.getChild("bbb", false));
+    }
+
+    @Test
+    void shouldNotGetChildrenAfterClear() {
+        // Given
+        map.getOrAddNode(EXAMPLE_COM + "/aa", false, false);
+
+        // When
+        map.clear();
+
+        // Then
+        assertNull(root.getChild(EXAMPLE_COM, false));
+        assertNotNull(map.getOrAddNode(EXAMPLE_COM + "/aa", false, false));
+        assertNotNull(root.getChild(EXAMPLE_COM, false));
+    }
+
     @Test
     void shouldGetSite() {
         // Given
@@ -22,15 +22,29 @@ package org.zaproxy.addon.client.internal.db;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import javax.jdo.PersistenceManager;
+import javax.jdo.PersistenceManagerFactory;
+import javax.jdo.Query;
+import javax.jdo.Transaction;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 import org.zaproxy.addon.client.internal.ReportedElement;
 import org.zaproxy.addon.client.internal.ReportedEvent;
@@ -241,6 +255,13 @@ class ClientHistoryDaoUnitTest {
         }
     }
 
+    @Test
+    void shouldShutdownMoreThanOnce() {
+        // Given / When / Then
+        assertDoesNotThrow(ClientHistoryDao::shutdown);
+        assertDoesNotThrow(ClientHistoryDao::shutdown);
+    }
+
     @Test
     void shouldReturnEmptyListWhenLoadingWithNullPmf() {
         // Given
@@ -266,6 +287,86 @@ class ClientHistoryDaoUnitTest {
         }
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldPersistObjectsInSingleTransaction() {
+        // Given
+        PersistenceManagerFactory pmf = mock(PersistenceManagerFactory.class);
+        PersistenceManager pm = mock(PersistenceManager.class);
+        Transaction tx = mock(Transaction.class);
+        given(pmf.getPersistenceManager()).willReturn(pm);
+        given(pm.currentTransaction()).willReturn(tx);
+        List<ReportedObject> objects = List.of(createElement(), createElement(), createElement());
+        try (MockedStatic<TableJdo> tableJdo = mockStatic(TableJdo.class)) {
+            tableJdo.when(TableJdo::getPmf).thenReturn(pmf);
+
+            // When
+            ClientHistoryDao.persistAll(objects);
+        }
+
+        // Then
+        ArgumentCaptor<Collection<ClientHistoryEntry>> entries =
+                ArgumentCaptor.forClass(Collection.class);
+        verify(pm).makePersistentAll(entries.capture());
+        assertThat(entries.getValue(), hasSize(3));
+        verify(tx).begin();
+        verify(tx).commit();
+        verify(pm).close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldLoadAllInPages() {
+        // Given
+        PersistenceManagerFactory pmf = mock(PersistenceManagerFactory.class);
+        PersistenceManager pm = mock(PersistenceManager.class);
+        given(pmf.getPersistenceManager()).willReturn(pm);
+        Query<ClientHistoryEntry> query = mock(Query.class);
+        given(pm.newQuery(eq(ClientHistoryEntry.class), anyString())).willReturn(query);
+        given(query.executeList())
+                .willReturn(createEntries(ClientHistoryDao.PAGE_SIZE))
+                .willReturn(createEntries(5));
+        List<List<ReportedObject>> pages = new ArrayList<>();
+        try (MockedStatic<TableJdo> tableJdo = mockStatic(TableJdo.class)) {
+            tableJdo.when(TableJdo::getPmf).thenReturn(pmf);
+
+            // When
+            ClientHistoryDao.loadAll(pages::add);
+        }
+
+        // Then
+        assertThat(pages, hasSize(2));
+        assertThat(pages.get(0), hasSize(ClientHistoryDao.PAGE_SIZE));
+        assertThat(pages.get(1), hasSize(5));
+        verify(query).setParameters(-1L);
+        verify(query).setParameters(0L);
+        verify(query, times(2)).setRange(0, ClientHistoryDao.PAGE_SIZE);
+        verify(pm).close();
+    }
+
+    private static ReportedElement createElement() {
+        return new ReportedElement(
+                TIMESTAMP,
+                TYPE,
+                TAG_NAME,
+                ELEMENT_ID,
+                NODE_NAME,
+                URL,
+                XPATH,
+                HREF,
+                TEXT,
+                "text",
+                -1);
+    }
+
+    private static List<ClientHistoryEntry> createEntries(int count) {
+        List<ClientHistoryEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(createEntry(OBJECT_TYPE_ELEMENT));
+        }
+        return entries;
+    }
+
     private static ClientHistoryEntry createEntry(int objectType) {
         ClientHistoryEntry entry = new ClientHistoryEntry();
         entry.setTimestamp(Instant.ofEpochMilli(TIMESTAMP.getTime()));
@@ -34,6 +34,7 @@ import org.parosproxy.paros.network.HttpMalformedHeaderException;
 import org.parosproxy.paros.network.HttpMessage;
 import org.parosproxy.paros.network.HttpRequestHeader;
 import org.parosproxy.paros.network.HttpStatusCode;
+import org.zaproxy.addon.commonlib.http.ScanResponseCache;
 
 /**
  * An {@code AbstractAppPlugin} that checks for the presence of a file.
@@ -167,7 +168,8 @@ public abstract class AbstractHostFilePlugin extends AbstractHostPlugin {
             return;
         }
         try {
-            sendAndReceive(newRequest, false);
+            ScanResponseCache.sendAndReceive(
+                    getParent(), newRequest, false, msg -> sendAndReceive(msg, false));
         } catch (IOException e) {
             LOGGER.warn(
                     "An error occurred while checking [{}] [{}] for {} Caught {} {}",
@@ -0,0 +1,86 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.commonlib;
+
+import java.io.IOException;
+import org.parosproxy.paros.core.scanner.AbstractAppParamPlugin;
+import org.parosproxy.paros.core.scanner.NameValuePair;
+import org.parosproxy.paros.core.scanner.Plugin;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.addon.commonlib.http.ParameterTriage;
+
+/**
+ * An {@code AbstractAppParamPlugin} that uses the {@link ParameterTriage} of the scan to know
+ * whether or not the differential checks can be skipped for the parameter being scanned.
+ *
+ * <p>The triage is done only when the scan rule asks for it, and once per parameter for all the
+ * scan rules of the scan.
+ *
+ * @since 1.42.0
+ */
+public abstract class AbstractTriagedAppParamPlugin extends AbstractAppParamPlugin {
+
+    private NameValuePair currentParam;
+
+    @Override
+    public void scan(HttpMessage msg, NameValuePair originalParam) {
+        currentParam = originalParam;
+        try {
+            super.scan(msg, originalParam);
+        } finally {
+            currentParam = null;
+        }
+    }
+
+    /**
+     * Tells whether or not the differential checks can be skipped for the parameter being scanned,
+     * that is, the checks that compare the responses of the attacks with the original response.
+     *
+     * <p>The checks that look for errors, for the output of the payloads or for time delays should
+     * not be skipped.
+     *
+     * @return {@code true} if the checks can be skipped, {@code false} otherwise.
+     * @see ParameterTriage.Result#canSkipDifferentialChecks(Plugin.AttackStrength)
+     */
+    protected boolean canSkipDifferentialChecks() {
+        if (currentParam == null) {
+            return false;
+        }
+        NameValuePair param = currentParam;
+        return ParameterTriage.canSkipDifferentialChecks(
+                getParent(),
+                getAttackStrength(),
+                getBaseMsg(),
+                param,
+                value -> sendTriageMessage(param, value));
+    }
+
+    private HttpMessage sendTriageMessage(NameValuePair param, String value) throws IOException {
+        if (isStop()) {
+            return null;
+        }
+        HttpMessage msg = getNewMsg();
+        if (value != null) {
+            setParameter(msg, param.getName(), value);
+        }
+        sendAndReceive(msg, false);
+        return msg;
+    }
+}
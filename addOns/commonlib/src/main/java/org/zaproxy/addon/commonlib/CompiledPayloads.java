@@ -0,0 +1,107 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.commonlib;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Payloads compiled once and shared by all the instances of a scan rule, for example, the
+ * {@code Pattern}s created from the payloads of a custom payload category.
+ *
+ * <p>The payloads are read from the provider each time, the compiled value is created again only
+ * if they changed. Callers that get the value often should keep it, for example, once per scan rule
+ * instance, and {@link #clear()} it when the provider changes.
+ *
+ * <pre>{@code
+ * private static final CompiledPayloads<List<Pattern>> PATTERNS =
+ *         new CompiledPayloads<>(payloads -> payloads.stream().map(Pattern::compile).toList());
+ * ...
+ * List<Pattern> patterns = PATTERNS.get(payloadProvider);
+ * }</pre>
+ *
+ * @param <T> the type of the compiled value.
+ * @since 1.42.0
+ */
+public final class CompiledPayloads<T> {
+
+    private final Function<List<String>, T> compiler;
+    private volatile Entry<T> entry;
+
+    /**
+     * Constructs a {@code CompiledPayloads} with the given compiler.
+     *
+     * @param compiler the function that compiles the payloads, called with an unmodifiable list.
+     * @throws NullPointerException if the compiler is {@code null}.
+     */
+    public CompiledPayloads(Function<List<String>, T> compiler) {
+        this.compiler = Objects.requireNonNull(compiler);
+    }
+
+    /**
+     * Gets the value compiled from the payloads of the given provider.
+     *
+     * @param provider the provider of the payloads.
+     * @return the compiled value.
+     */
+    public T get(Supplier<Iterable<String>> provider) {
+        Entry<T> current = entry;
+        if (current != null && isSame(current.payloads, provider.get())) {
+            return current.value;
+        }
+
+        List<String> payloads = new ArrayList<>();
+        provider.get().forEach(payloads::add);
+        List<String> unmodifiablePayloads = Collections.unmodifiableList(payloads);
+        current = new Entry<>(unmodifiablePayloads, compiler.apply(unmodifiablePayloads));
+        entry = current;
+        return current.value;
+    }
+
+    private static boolean isSame(List<String> compiledPayloads, Iterable<String> payloads) {
+        Iterator<String> it = payloads.iterator();
+        for (String payload : compiledPayloads) {
+            if (!it.hasNext() || !payload.equals(it.next())) {
+                return false;
+            }
+        }
+        return !it.hasNext();
+    }
+
+    /** Discards the compiled value, for example, when the add-on is uninstalled. */
+    public void clear() {
+        entry = null;
+    }
+
+    private static class Entry<T> {
+        private final List<String> payloads;
+        private final T value;
+
+        Entry(List<String> payloads, T value) {
+            this.payloads = payloads;
+            this.value = value;
+        }
+    }
+}
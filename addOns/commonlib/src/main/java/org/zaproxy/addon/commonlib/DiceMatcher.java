@@ -50,8 +50,8 @@ public final class DiceMatcher {
 
         if (a == null || b == null) return 0;
 
-        String s = a.replaceAll("\\s+", " ");
-        String t = b.replaceAll("\\s+", " ");
+        String s = collapseWhitespace(a);
+        String t = collapseWhitespace(b);
 
         // Quick check to catch equal strings:
         if (s.equals(t)) return 100;
@@ -82,6 +82,29 @@ public final class DiceMatcher {
         return (int) Math.floor((double) matches * 100 / (n + m));
     }
 
+    /** Same as {@code str.replaceAll("\\s+", " ")} but without the regular expression. */
+    private static String collapseWhitespace(String str) {
+        StringBuilder sb = null;
+        boolean previousWhitespace = false;
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            boolean whitespace = isWhitespace(c);
+            if (whitespace && (previousWhitespace || c != ' ') && sb == null) {
+                sb = new StringBuilder(str.length());
+                sb.append(str, 0, i);
+            }
+            if (sb != null && !(whitespace && previousWhitespace)) {
+                sb.append(whitespace ? ' ' : c);
+            }
+            previousWhitespace = whitespace;
+        }
+        return sb == null ? str : sb.toString();
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
     private static int[] getBigrams(String str) {
         final int n = str.length() - 1;
         final int[] pairs = new int[n];
@@ -23,9 +23,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
-import org.apache.commons.collections4.Trie;
-import org.apache.commons.collections4.trie.PatriciaTrie;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.apache.commons.io.input.BOMInputStream;
 import org.apache.logging.log4j.LogManager;
@@ -41,12 +43,34 @@ public final class BinList {
     private static final Logger LOGGER = LogManager.getLogger(BinList.class);
     private static final String BINLIST_FILE = "binlist-data.csv";
 
+    // Per https://github.com/iannuttall/binlist-data the collection should have BINs 6-8 but
+    // there are actually entries 5-8.
+    private static final int MIN_BIN_LENGTH = 5;
+    private static final int MAX_BIN_LENGTH = 8;
+
+    // The length is encoded in the key to tell apart BINs with leading zeros, e.g. 012345 and
+    // 12345.
+    private static final int LENGTH_FACTOR = 100_000_000;
+
     private static BinList singleton;
 
-    private Trie<String, BinRecord> trie;
+    /** The BINs, encoded with {@link #createKey(int, int)}, sorted. */
+    private int[] keys;
+
+    /** The indexes of the brand, category and issuer in the {@link #strings}, per BIN. */
+    private int[] brands;
+
+    private int[] categories;
+    private int[] issuers;
+
+    /** The distinct brands, categories and issuers. */
+    private String[] strings;
+
+    /** The records already returned, created on first use. */
+    private BinRecord[] records;
 
     private BinList() {
-        trie = createTrie();
+        createIndex();
     }
 
     public static BinList getSingleton() {
@@ -62,61 +86,147 @@ public final class BinList {
         }
     }
 
-    private static Trie<String, BinRecord> createTrie() {
-        Trie<String, BinRecord> trie = new PatriciaTrie<>();
-        Iterable<CSVRecord> records;
+    private void createIndex() {
+        IndexBuilder builder = new IndexBuilder();
         try (InputStream in = BinList.class.getResourceAsStream(BINLIST_FILE);
                 BOMInputStream bomStream = BOMInputStream.builder().setInputStream(in).get();
                 InputStreamReader inStream =
-                        new InputStreamReader(bomStream, StandardCharsets.UTF_8)) {
-
-            records =
-                    CSVFormat.Builder.create()
-                            .setHeader()
-                            .setSkipHeaderRecord(true)
-                            .get()
-                            .parse(inStream)
-                            .getRecords();
+                        new InputStreamReader(bomStream, StandardCharsets.UTF_8);
+                CSVParser parser =
+                        CSVFormat.Builder.create()
+                                .setHeader()
+                                .setSkipHeaderRecord(true)
+                                .get()
+                                .parse(inStream)) {
+
+            for (CSVRecord rec : parser) {
+                builder.add(
+                        rec.get("bin"), rec.get("brand"), rec.get("category"), rec.get("issuer"));
+            }
         } catch (NullPointerException | IOException e) {
             LOGGER.warn("Exception while loading: {}", BINLIST_FILE, e);
-            return trie;
         }
+        builder.build(this);
+    }
 
-        for (CSVRecord rec : records) {
-            trie.put(
-                    rec.get("bin"),
-                    new BinRecord(
-                            rec.get("bin"),
-                            rec.get("brand"),
-                            rec.get("category"),
-                            rec.get("issuer")));
-        }
-        return trie;
+    private static int createKey(int length, int value) {
+        return length * LENGTH_FACTOR + value;
     }
 
     /**
      * Gets the {@code BinRecord} for the given (candidate) credit card number.
      *
+     * <p>The record with the longest BIN that is a prefix of the candidate is returned.
+     *
      * @param candidate the candidate credit card number.
      * @return the {@code BinRecord}, or {@code null} if no match found.
      */
     public BinRecord get(String candidate) {
-        BinRecord binRec = trie.get(candidate);
-        // Per https://github.com/iannuttall/binlist-data the collection should have BINs 6-8 but
-        // based on my searching there are actually entries 5-8. The following are ordered based
-        // on count of occurrence
-        if (binRec == null) {
-            binRec = trie.get(candidate.substring(0, 6));
+        int length = 0;
+        int value = 0;
+        while (length < MAX_BIN_LENGTH && length < candidate.length()) {
+            char c = candidate.charAt(length);
+            if (c < '0' || c > '9') {
+                break;
+            }
+            value = value * 10 + (c - '0');
+            length++;
+        }
+
+        for (; length >= MIN_BIN_LENGTH; length--, value /= 10) {
+            int idx = Arrays.binarySearch(keys, createKey(length, value));
+            if (idx >= 0) {
+                return getRecord(idx);
+            }
         }
-        if (binRec == null) {
-            binRec = trie.get(candidate.substring(0, 8));
+        return null;
+    }
+
+    private BinRecord getRecord(int idx) {
+        BinRecord record = records[idx];
+        if (record == null) {
+            int key = keys[idx];
+            int length = key / LENGTH_FACTOR;
+            StringBuilder bin = new StringBuilder(length).append(key % LENGTH_FACTOR);
+            while (bin.length() < length) {
+                bin.insert(0, '0');
+            }
+            record =
+                    new BinRecord(
+                            bin.toString(),
+                            strings[brands[idx]],
+                            strings[categories[idx]],
+                            strings[issuers[idx]]);
+            records[idx] = record;
         }
-        if (binRec == null) {
-            binRec = trie.get(candidate.substring(0, 5));
+        return record;
+    }
+
+    /** Collects the BINs read, to then create the compact sorted arrays. */
+    private static class IndexBuilder {
+
+        private final Map<String, Integer> stringIndexes = new HashMap<>();
+        private int[] keys = new int[1024];
+        private int[] values = new int[1024 * 3];
+        private int size;
+
+        void add(String bin, String brand, String category, String issuer) {
+            if (bin.length() < MIN_BIN_LENGTH
+                    || bin.length() > MAX_BIN_LENGTH
+                    || !bin.chars().allMatch(c -> c >= '0' && c <= '9')) {
+                LOGGER.debug("Ignoring invalid BIN: {}", bin);
+                return;
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2 * 3);
+            }
+            keys[size] = createKey(bin.length(), Integer.parseInt(bin));
+            values[size * 3] = getStringIndex(brand);
+            values[size * 3 + 1] = getStringIndex(category);
+            values[size * 3 + 2] = getStringIndex(issuer);
+            size++;
         }
-        if (binRec == null) {
-            binRec = trie.get(candidate.substring(0, 7));
+
+        private int getStringIndex(String value) {
+            return stringIndexes.computeIfAbsent(value, k -> stringIndexes.size());
+        }
+
+        void build(BinList binList) {
+            // Sort by key and then by order read, the last duplicated BIN read wins.
+            long[] order = new long[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = ((long) keys[i] << 32) | i;
+            }
+            Arrays.sort(order);
+
+            int[] sortedKeys = new int[size];
+            int[] brands = new int[size];
+            int[] categories = new int[size];
+            int[] issuers = new int[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                int key = (int) (order[i] >>> 32);
+                int idx = (int) order[i];
+                if (count > 0 && sortedKeys[count - 1] == key) {
+                    count--;
+                }
+                sortedKeys[count] = key;
+                brands[count] = values[idx * 3];
+                categories[count] = values[idx * 3 + 1];
+                issuers[count] = values[idx * 3 + 2];
+                count++;
+            }
+
+            String[] strings = new String[stringIndexes.size()];
+            stringIndexes.forEach((value, idx) -> strings[idx] = value);
+
+            binList.keys = Arrays.copyOf(sortedKeys, count);
+            binList.brands = Arrays.copyOf(brands, count);
+            binList.categories = Arrays.copyOf(categories, count);
+            binList.issuers = Arrays.copyOf(issuers, count);
+            binList.strings = strings;
+            binList.records = new BinRecord[count];
         }
-        return binRec;
     }
 }
@@ -87,6 +87,7 @@ public class ComparableResponse {
     private String valueSent;
     private Map<String, Integer> allPaths;
     private int numPaths;
+    private ResponseFingerprint fingerprint;
 
     // Use variables instead of constants to be able to tune it depending on the differences on
     // normal request replay.
@@ -155,6 +156,19 @@ public class ComparableResponse {
         return valueSent;
     }
 
+    /**
+     * Gets the fingerprint of the body, computed once.
+     *
+     * @return the fingerprint, never {@code null}.
+     * @since 1.42.0
+     */
+    public synchronized ResponseFingerprint getFingerprint() {
+        if (fingerprint == null) {
+            fingerprint = ResponseFingerprint.of(body);
+        }
+        return fingerprint;
+    }
+
     /**
      * Compare this {@code ComparableResponse} with another based on heuristics. 0 means very
      * different and 1 very similar.
@@ -424,6 +438,10 @@ public class ComparableResponse {
             if (!r1ContentType.equals(r2ContentType)) {
                 return 0;
             }
+            if (response1.getFingerprint().mayBeEqual(response2.getFingerprint())
+                    && response1.body.equals(response2.body)) {
+                return 1;
+            }
             if (r1ContentType.contains(CONTENT_TYPE_HTML)
                     || r1ContentType.contains(CONTENT_TYPE_JSON)) {
                 Map<String, Integer> response1paths = response1.getAllPaths();
@@ -0,0 +1,396 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.commonlib.http;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Pattern;
+import org.apache.commons.collections4.map.AbstractReferenceMap.ReferenceStrength;
+import org.apache.commons.collections4.map.ReferenceIdentityMap;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.parosproxy.paros.core.scanner.NameValuePair;
+import org.parosproxy.paros.core.scanner.Plugin.AttackStrength;
+import org.parosproxy.paros.network.HttpMessage;
+
+/**
+ * A triage of the parameters of a scan, done once per parameter and shared by the injection scan
+ * rules.
+ *
+ * <p>The triage sends the original request again and a request with a random value, to tell
+ * whether or not:
+ *
+ * <ul>
+ *   <li>the responses are stable, that is, identical requests get identical responses;
+ *   <li>the parameter influences the response at all;
+ *   <li>the value is reflected in the response.
+ * </ul>
+ *
+ * <p>It also records hints of the type of the value (numeric, JSON, path). The scan rules use the
+ * result to skip the checks that compare the responses to the original response (for example,
+ * boolean based checks) when the parameter does not influence it, see {@link
+ * Result#canSkipDifferentialChecks(AttackStrength)}. The checks that look for errors, for the
+ * output of the payloads or for time delays are not affected.
+ *
+ * <p>The triage of a parameter is identified by the canonical request of the message (method, URI,
+ * headers and body, which include the values of the other parameters) and by the type, position,
+ * name and value of the parameter.
+ *
+ * <p>As with the {@link ScanResponseCache} the triage is scoped to an object that lives as long as
+ * the scan, for example, the {@code HostProcess} of the scan rules. Concurrent triages of the same
+ * parameter share the requests.
+ *
+ * @see org.zaproxy.addon.commonlib.AbstractTriagedAppParamPlugin
+ * @since 1.42.0
+ */
+public final class ParameterTriage {
+
+    private static final Logger LOGGER = LogManager.getLogger(ParameterTriage.class);
+
+    private static final int MAX_ENTRIES = 10_000;
+    private static final int RANDOM_VALUE_LENGTH = 12;
+
+    private static final Pattern NUMERIC_PATTERN = Pattern.compile("-?\\d+(?:\\.\\d+)?");
+    private static final Pattern FILE_NAME_PATTERN = Pattern.compile("[\\w.-]+\\.\\w{1,5}");
+
+    private static final Map<Object, ParameterTriage> TRIAGES =
+            Collections.synchronizedMap(
+                    new ReferenceIdentityMap<>(ReferenceStrength.WEAK, ReferenceStrength.HARD));
+
+    private final Map<String, CompletableFuture<Result>> results = new ConcurrentHashMap<>();
+
+    ParameterTriage() {}
+
+    /**
+     * Gets the triage of the given scope, creating it if needed.
+     *
+     * @param scope the scope of the triage, for example, the {@code HostProcess}.
+     * @return the triage, never {@code null}.
+     */
+    public static ParameterTriage getTriage(Object scope) {
+        return TRIAGES.computeIfAbsent(scope, k -> new ParameterTriage());
+    }
+
+    /**
+     * Convenience method that triages the given parameter with the triage of the given scope.
+     *
+     * @param scope the scope of the triage, for example, the {@code HostProcess}.
+     * @param baseMsg the message being scanned, with the original response.
+     * @param param the original parameter.
+     * @param sender the function that sends the message with the parameter set to a value.
+     * @return the result of the triage, or {@code null} if the parameter could not be triaged.
+     * @see #triage(HttpMessage, NameValuePair, ParameterSender)
+     */
+    public static Result triage(
+            Object scope, HttpMessage baseMsg, NameValuePair param, ParameterSender sender) {
+        return getTriage(scope).triage(baseMsg, param, sender);
+    }
+
+    /**
+     * Convenience method that tells whether or not the differential checks can be skipped for the
+     * given parameter.
+     *
+     * <p>The parameter is triaged only if the checks could be skipped at the given strength.
+     *
+     * @param scope the scope of the triage, for example, the {@code HostProcess}.
+     * @param strength the attack strength of the scan rule.
+     * @param baseMsg the message being scanned, with the original response.
+     * @param param the original parameter.
+     * @param sender the function that sends the message with the parameter set to a value.
+     * @return {@code true} if the checks can be skipped, {@code false} otherwise.
+     * @see Result#canSkipDifferentialChecks(AttackStrength)
+     */
+    public static boolean canSkipDifferentialChecks(
+            Object scope,
+            AttackStrength strength,
+            HttpMessage baseMsg,
+            NameValuePair param,
+            ParameterSender sender) {
+        if (!isSkipAllowed(strength)) {
+            return false;
+        }
+        Result result = triage(scope, baseMsg, param, sender);
+        return result != null && result.canSkipDifferentialChecks(strength);
+    }
+
+    private static boolean isSkipAllowed(AttackStrength strength) {
+        return strength != AttackStrength.HIGH && strength != AttackStrength.INSANE;
+    }
+
+    /**
+     * Triages the given parameter, or returns the result of a previous triage of the same
+     * parameter.
+     *
+     * <p>Errors while sending the requests are not propagated, the parameter is not triaged and the
+     * scan rules should proceed as usual.
+     *
+     * @param baseMsg the message being scanned, with the original response.
+     * @param param the original parameter.
+     * @param sender the function that sends the message with the parameter set to a value.
+     * @return the result of the triage, or {@code null} if the parameter could not be triaged.
+     */
+    public Result triage(HttpMessage baseMsg, NameValuePair param, ParameterSender sender) {
+        String value = param.getValue();
+        String key = createKey(baseMsg, param);
+        CompletableFuture<Result> result = results.get(key);
+        if (result == null) {
+            if (results.size() >= MAX_ENTRIES) {
+                return triageNow(baseMsg, value, sender);
+            }
+            CompletableFuture<Result> newResult = new CompletableFuture<>();
+            result = results.putIfAbsent(key, newResult);
+            if (result == null) {
+                Result triaged = triageNow(baseMsg, value, sender);
+                if (triaged == null) {
+                    results.remove(key);
+                }
+                newResult.complete(triaged);
+                return triaged;
+            }
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private static Result triageNow(HttpMessage baseMsg, String value, ParameterSender sender) {
+        String safeValue = value == null ? "" : value;
+        String randomValue = RandomStringUtils.secure().nextAlphanumeric(RANDOM_VALUE_LENGTH);
+        HttpMessage originalMsg;
+        HttpMessage randomMsg;
+        try {
+            originalMsg = sender.send(null);
+            randomMsg = sender.send(randomValue);
+        } catch (InterruptedIOException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (IOException e) {
+            LOGGER.debug("Failed to triage the parameter: {}", e.getMessage());
+            return null;
+        }
+        if (originalMsg == null || randomMsg == null) {
+            return null;
+        }
+
+        boolean stable = isSameResponse(baseMsg, originalMsg, safeValue, safeValue);
+        boolean influential =
+                !stable || !isSameResponse(originalMsg, randomMsg, safeValue, randomValue);
+        boolean reflected = randomMsg.getResponseBody().toString().contains(randomValue);
+        return new Result(
+                stable,
+                influential,
+                reflected,
+                NUMERIC_PATTERN.matcher(safeValue).matches(),
+                isJson(safeValue),
+                isPath(safeValue));
+    }
+
+    private static boolean isSameResponse(
+            HttpMessage msg, HttpMessage otherMsg, String value, String otherValue) {
+        if (msg.getResponseHeader().getStatusCode()
+                != otherMsg.getResponseHeader().getStatusCode()) {
+            return false;
+        }
+        ResponseFingerprint fingerprint = ResponseFingerprint.of(msg);
+        ResponseFingerprint otherFingerprint = ResponseFingerprint.of(otherMsg);
+        if (fingerprint.mayBeEqual(otherFingerprint)) {
+            return msg.getResponseBody().toString().equals(otherMsg.getResponseBody().toString());
+        }
+        if (value.isEmpty()
+                || otherValue.isEmpty()
+                || value.equals(otherValue)
+                || !fingerprint.mayBeEqualAfterStripping(otherFingerprint, value, otherValue)) {
+            return false;
+        }
+        String body = msg.getResponseBody().toString().replace(value, "");
+        String otherBody = otherMsg.getResponseBody().toString().replace(otherValue, "");
+        return body.equals(otherBody);
+    }
+
+    private static boolean isJson(String value) {
+        String trimmed = value.trim();
+        return trimmed.length() >= 2
+                && (trimmed.startsWith("{") && trimmed.endsWith("}")
+                        || trimmed.startsWith("[") && trimmed.endsWith("]"));
+    }
+
+    private static boolean isPath(String value) {
+        return value.indexOf('/') != -1
+                || value.indexOf('\\') != -1
+                || FILE_NAME_PATTERN.matcher(value).matches();
+    }
+
+    /**
+     * Creates the key of the parameter, that is, the canonical request of the message (see {@link
+     * ScanResponseCache#createKey(HttpMessage, boolean)}) with the length and hash of the request
+     * body, and the type, position, name and original value of the parameter.
+     */
+    static String createKey(HttpMessage msg, NameValuePair param) {
+        StringBuilder key = new StringBuilder(ScanResponseCache.createKey(msg, false));
+        byte[] body = msg.getRequestBody().getBytes();
+        key.append("\n\n").append(body.length).append(':');
+        key.append(Long.toHexString(ResponseFingerprint.hash(body)));
+        key.append('\n').append(param.getType()).append(':').append(param.getPosition());
+        key.append(' ').append(param.getName()).append('=').append(param.getValue());
+        return key.toString();
+    }
+
+    /** The result of the triage of a parameter. */
+    public static final class Result {
+
+        private final boolean stable;
+        private final boolean influential;
+        private final boolean reflected;
+        private final boolean numeric;
+        private final boolean json;
+        private final boolean path;
+
+        Result(
+                boolean stable,
+                boolean influential,
+                boolean reflected,
+                boolean numeric,
+                boolean json,
+                boolean path) {
+            this.stable = stable;
+            this.influential = influential;
+            this.reflected = reflected;
+            this.numeric = numeric;
+            this.json = json;
+            this.path = path;
+        }
+
+        /**
+         * Tells whether or not identical requests got identical responses.
+         *
+         * @return {@code true} if the responses are stable, {@code false} otherwise.
+         */
+        public boolean isStable() {
+            return stable;
+        }
+
+        /**
+         * Tells whether or not the parameter influences the response. Parameters with unstable
+         * responses are always considered influential.
+         *
+         * @return {@code true} if the parameter influences the response, {@code false} otherwise.
+         */
+        public boolean isInfluential() {
+            return influential;
+        }
+
+        /**
+         * Tells whether or not the value of the parameter is reflected in the response.
+         *
+         * @return {@code true} if the value is reflected, {@code false} otherwise.
+         */
+        public boolean isReflected() {
+            return reflected;
+        }
+
+        /**
+         * Tells whether or not the original value is numeric.
+         *
+         * @return {@code true} if the value is numeric, {@code false} otherwise.
+         */
+        public boolean isNumeric() {
+            return numeric;
+        }
+
+        /**
+         * Tells whether or not the original value looks like a JSON object or array.
+         *
+         * @return {@code true} if the value looks like JSON, {@code false} otherwise.
+         */
+        public boolean isJson() {
+            return json;
+        }
+
+        /**
+         * Tells whether or not the original value looks like a path or a file name.
+         *
+         * @return {@code true} if the value looks like a path, {@code false} otherwise.
+         */
+        public boolean isPath() {
+            return path;
+        }
+
+        /**
+         * Tells whether or not the differential checks can be skipped, that is, the responses are
+         * stable, the parameter does not influence them and is not reflected. The differential
+         * checks are those that compare the responses of the attacks with the original response,
+         * for example, boolean based checks.
+         *
+         * <p>The checks are never skipped at {@link AttackStrength#HIGH HIGH} and {@link
+         * AttackStrength#INSANE INSANE} strengths. The checks that look for errors, for the output
+         * of the payloads or for time delays should not be skipped.
+         *
+         * @param strength the attack strength of the scan rule.
+         * @return {@code true} if the checks can be skipped, {@code false} otherwise.
+         */
+        public boolean canSkipDifferentialChecks(AttackStrength strength) {
+            return isSkipAllowed(strength) && stable && !influential && !reflected;
+        }
+
+        @Override
+        public String toString() {
+            return "[stable="
+                    + stable
+                    + ", influential="
+                    + influential
+                    + ", reflected="
+                    + reflected
+                    + ", numeric="
+                    + numeric
+                    + ", json="
+                    + json
+                    + ", path="
+                    + path
+                    + "]";
+        }
+    }
+
+    /** A function that sends the message being scanned with the parameter set to a value. */
+    @FunctionalInterface
+    public interface ParameterSender {
+
+        /**
+         * Sends a new message with the parameter set to the given value.
+         *
+         * @param value the value of the parameter, or {@code null} to send the original request
+         *     unchanged.
+         * @return the message sent, with the response, or {@code null} if not sent.
+         * @throws IOException if an error occurred while sending the message.
+         */
+        HttpMessage send(String value) throws IOException;
+    }
+}
@@ -0,0 +1,357 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.commonlib.http;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.commons.collections4.map.AbstractReferenceMap.ReferenceStrength;
+import org.apache.commons.collections4.map.ReferenceIdentityMap;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.zap.network.HttpResponseBody;
+
+/**
+ * A compact fingerprint of a response body, to compare responses without comparing their full
+ * bodies.
+ *
+ * <p>The fingerprint holds:
+ *
+ * <ul>
+ *   <li>a hash and the length of the whole body, to tell that two bodies are different;
+ *   <li>a 64-bit simhash of the word tokens, whose Hamming distance estimates how similar two
+ *       bodies are;
+ *   <li>a histogram of structural characters (for example, {@code <}, {@code >}, {@code \{}, new
+ *       lines) and the number of tags, which do not change when a value is stripped off the body
+ *       unless the value contains those characters;
+ *   <li>the length with whitespace collapsed.
+ * </ul>
+ *
+ * <p>All comparisons are done in constant time. The fingerprints of messages are cached with the
+ * message, see {@link #of(HttpMessage)}.
+ *
+ * @since 1.42.0
+ */
+public final class ResponseFingerprint {
+
+    private static final char[] STRUCTURAL_CHARS = {
+        '<', '>', '/', '=', '{', '}', '[', ']', '(', ')', '"', '\'', ':', ',', '\n'
+    };
+
+    private static final int[] STRUCTURAL_INDEX = new int[128];
+
+    static {
+        Arrays.fill(STRUCTURAL_INDEX, -1);
+        for (int i = 0; i < STRUCTURAL_CHARS.length; i++) {
+            STRUCTURAL_INDEX[STRUCTURAL_CHARS[i]] = i;
+        }
+    }
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final Map<HttpMessage, CachedFingerprint> CACHE =
+            Collections.synchronizedMap(
+                    new ReferenceIdentityMap<>(ReferenceStrength.WEAK, ReferenceStrength.HARD));
+
+    private final int length;
+    private final long contentHash;
+    private final int normalisedLength;
+    private final long simHash;
+    private final int tagCount;
+    private final int[] structuralCounts;
+
+    private ResponseFingerprint(String body) {
+        length = body.length();
+        structuralCounts = new int[STRUCTURAL_CHARS.length];
+
+        int[] bitWeights = new int[Long.SIZE];
+        long hash = FNV_OFFSET_BASIS;
+        long tokenHash = FNV_OFFSET_BASIS;
+        boolean inToken = false;
+        boolean previousWhitespace = true;
+        int normalised = 0;
+        int tags = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = body.charAt(i);
+            hash = (hash ^ c) * FNV_PRIME;
+
+            if (c < STRUCTURAL_INDEX.length && STRUCTURAL_INDEX[c] != -1) {
+                structuralCounts[STRUCTURAL_INDEX[c]]++;
+            }
+            if (c == '<' && i + 1 < length && isTagStart(body.charAt(i + 1))) {
+                tags++;
+            }
+
+            boolean whitespace = Character.isWhitespace(c);
+            if (!whitespace || !previousWhitespace) {
+                normalised++;
+            }
+            previousWhitespace = whitespace;
+
+            if (Character.isLetterOrDigit(c)) {
+                tokenHash = (tokenHash ^ c) * FNV_PRIME;
+                inToken = true;
+            } else if (inToken) {
+                addToken(bitWeights, tokenHash);
+                tokenHash = FNV_OFFSET_BASIS;
+                inToken = false;
+            }
+        }
+        if (inToken) {
+            addToken(bitWeights, tokenHash);
+        }
+        if (previousWhitespace && normalised > 0) {
+            normalised--;
+        }
+
+        long sim = 0;
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            if (bitWeights[bit] > 0) {
+                sim |= 1L << bit;
+            }
+        }
+
+        contentHash = hash;
+        normalisedLength = normalised;
+        simHash = sim;
+        tagCount = tags;
+    }
+
+    private static boolean isTagStart(char c) {
+        return c == '/' || c == '!' || (c < 128 && Character.isLetter(c));
+    }
+
+    private static void addToken(int[] bitWeights, long tokenHash) {
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            bitWeights[bit] += ((tokenHash >>> bit) & 1L) == 1L ? 1 : -1;
+        }
+    }
+
+    /**
+     * Creates the fingerprint of the given body.
+     *
+     * @param body the body.
+     * @return the fingerprint, never {@code null}.
+     */
+    public static ResponseFingerprint of(String body) {
+        return new ResponseFingerprint(body == null ? "" : body);
+    }
+
+    /**
+     * Gets the fingerprint of the response body of the given message.
+     *
+     * <p>The fingerprint is computed once and cached with the message, it is computed again only if
+     * the response body (or its content or charset) was set in the meantime. Setting the content
+     * replaces the bytes of the body, so the change is detected without reading them; changes done
+     * directly to the bytes returned by the body are not detected.
+     *
+     * @param msg the message.
+     * @return the fingerprint, never {@code null}.
+     */
+    public static ResponseFingerprint of(HttpMessage msg) {
+        HttpResponseBody body = msg.getResponseBody();
+        byte[] bytes = body.getBytes();
+        String charset = body.getCharset();
+        CachedFingerprint cached = CACHE.get(msg);
+        if (cached != null && cached.matches(body, bytes, charset)) {
+            return cached.fingerprint;
+        }
+        ResponseFingerprint fingerprint = of(body.toString());
+        CACHE.put(msg, new CachedFingerprint(body, bytes, charset, fingerprint));
+        return fingerprint;
+    }
+
+    static long hash(byte[] bytes) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : bytes) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Gets the length of the body.
+     *
+     * @return the length, in chars.
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Gets the length of the body with consecutive whitespace collapsed into one and without
+     * trailing whitespace.
+     *
+     * @return the normalised length.
+     */
+    public int getNormalisedLength() {
+        return normalisedLength;
+    }
+
+    /**
+     * Gets the hash of the whole body.
+     *
+     * @return the content hash.
+     */
+    public long getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * Gets the simhash of the word tokens of the body.
+     *
+     * @return the simhash.
+     */
+    public long getSimHash() {
+        return simHash;
+    }
+
+    /**
+     * Gets the number of tags (start, end, comment and declaration tags) in the body.
+     *
+     * @return the number of tags.
+     */
+    public int getTagCount() {
+        return tagCount;
+    }
+
+    /**
+     * Tells whether or not the body of this fingerprint might be equal to the body of the given
+     * fingerprint. If {@code false} the bodies are certainly different, otherwise the bodies should
+     * be compared to confirm they are equal.
+     *
+     * @param other the other fingerprint.
+     * @return {@code true} if the bodies might be equal, {@code false} otherwise.
+     */
+    public boolean mayBeEqual(ResponseFingerprint other) {
+        return length == other.length && contentHash == other.contentHash;
+    }
+
+    /**
+     * Tells whether or not the bodies might be equal after stripping off the given values (and
+     * their encoded forms) from both. If {@code false} the stripped bodies are certainly
+     * different, otherwise the stripped bodies should be compared to confirm they are equal.
+     *
+     * <p>The check relies on the structural characters not contained in any of the values, which
+     * are not affected by the stripping.
+     *
+     * @param other the other fingerprint.
+     * @param values the values that are stripped off the bodies, {@code null} values are ignored.
+     * @return {@code true} if the stripped bodies might be equal, {@code false} otherwise.
+     */
+    public boolean mayBeEqualAfterStripping(ResponseFingerprint other, String... values) {
+        if (mayBeEqual(other)) {
+            return true;
+        }
+        boolean[] affected = new boolean[STRUCTURAL_CHARS.length];
+        for (String value : values) {
+            if (value == null) {
+                continue;
+            }
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < STRUCTURAL_INDEX.length && STRUCTURAL_INDEX[c] != -1) {
+                    affected[STRUCTURAL_INDEX[c]] = true;
+                }
+            }
+        }
+        for (int i = 0; i < STRUCTURAL_CHARS.length; i++) {
+            if (!affected[i] && structuralCounts[i] != other.structuralCounts[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the Hamming distance between the simhashes of this and the given fingerprint.
+     *
+     * @param other the other fingerprint.
+     * @return the distance, from {@code 0} (similar) to {@code 64} (very different).
+     */
+    public int getDistance(ResponseFingerprint other) {
+        return Long.bitCount(simHash ^ other.simHash);
+    }
+
+    /**
+     * Gets an estimate of how similar the bodies are, based on the simhashes, the structure and the
+     * normalised lengths.
+     *
+     * @param other the other fingerprint.
+     * @return the similarity, {@code 0} means very different and {@code 1} very similar.
+     */
+    public float getSimilarity(ResponseFingerprint other) {
+        if (mayBeEqual(other)) {
+            return 1;
+        }
+        float tokens = 1 - (float) getDistance(other) / Long.SIZE;
+        float lengths = ratio(normalisedLength, other.normalisedLength);
+        float tags = ratio(tagCount, other.tagCount);
+        return tokens * (0.5f + 0.25f * lengths + 0.25f * tags);
+    }
+
+    /**
+     * Tells whether or not this fingerprint is close to the given one, that is, whether or not a
+     * full comparison of the bodies is worthwhile.
+     *
+     * @param other the other fingerprint.
+     * @param maxDistance the maximum Hamming distance between the simhashes.
+     * @return {@code true} if the fingerprints are close, {@code false} otherwise.
+     */
+    public boolean isClose(ResponseFingerprint other, int maxDistance) {
+        return mayBeEqual(other) || getDistance(other) <= maxDistance;
+    }
+
+    private static float ratio(int a, int b) {
+        if (a == b) {
+            return 1;
+        }
+        return (float) Math.min(a, b) / Math.max(a, b);
+    }
+
+    private static class CachedFingerprint {
+        private final HttpResponseBody body;
+        private final byte[] bytes;
+        private final int bodyLength;
+        private final String charset;
+        private final ResponseFingerprint fingerprint;
+
+        CachedFingerprint(
+                HttpResponseBody body,
+                byte[] bytes,
+                String charset,
+                ResponseFingerprint fingerprint) {
+            this.body = body;
+            this.bytes = bytes;
+            this.bodyLength = bytes.length;
+            this.charset = charset;
+            this.fingerprint = fingerprint;
+        }
+
+        boolean matches(HttpResponseBody body, byte[] bytes, String charset) {
+            return this.body == body
+                    && this.bytes == bytes
+                    && bodyLength == bytes.length
+                    && Objects.equals(this.charset, charset);
+        }
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.commonlib.http;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.collections4.map.AbstractReferenceMap.ReferenceStrength;
+import org.apache.commons.collections4.map.ReferenceIdentityMap;
+import org.apache.commons.httpclient.URI;
+import org.apache.commons.httpclient.URIException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.parosproxy.paros.network.HttpHeaderField;
+import org.parosproxy.paros.network.HttpMessage;
+import org.parosproxy.paros.network.HttpRequestHeader;
+import org.zaproxy.zap.utils.Stats;
+
+/**
+ * A response cache shared by the scan rules of a scan, to avoid sending the same request more than
+ * once.
+ *
+ * <p>The cache is scoped to an object that lives as long as the scan, for example, the {@code
+ * HostProcess} of the scan rules, and is discarded once that object is no longer used. Scan rules
+ * opt in by sending their idempotent requests through {@link #sendAndReceive(Object, HttpMessage,
+ * boolean, MessageSender)}, requests with other methods or with a body are always sent.
+ *
+ * <p>Concurrent requests for the same canonical request share one in-flight request, the scan rules
+ * that did not send the request get a copy of its response.
+ *
+ * <p>The cache is bounded by the size of the responses, not by their number, the least recently
+ * used responses are evicted once the cached responses take more than a few megabytes.
+ *
+ * <p>The messages whose response is reused are not sent through the {@code MessageSender}, so the
+ * scan does not know about them: they are not counted in the number of requests of the scan nor
+ * notified to its listeners (for example, they are not shown in the messages sent by the active
+ * scan). They are counted in the {@link #STATS_REQUESTS_SAVED} statistic instead.
+ *
+ * @since 1.42.0
+ */
+public final class ScanResponseCache {
+
+    private static final Logger LOGGER = LogManager.getLogger(ScanResponseCache.class);
+
+    /** The statistic with the number of requests not sent, per site. */
+    public static final String STATS_REQUESTS_SAVED = "stats.ascan.cache.saved";
+
+    /** The statistic with the number of requests sent through the cache, per site. */
+    public static final String STATS_REQUESTS_SENT = "stats.ascan.cache.sent";
+
+    /** The default maximum size of the cached responses, in bytes (approximately). */
+    static final long DEFAULT_MAX_SIZE = 4 * 1024 * 1024;
+
+    private static final int MAX_BODY_SIZE = 512 * 1024;
+
+    private static final Map<Object, ScanResponseCache> CACHES =
+            Collections.synchronizedMap(
+                    new ReferenceIdentityMap<>(ReferenceStrength.WEAK, ReferenceStrength.HARD));
+
+    private final Map<String, CompletableFuture<HttpMessage>> responses =
+            new ConcurrentHashMap<>();
+    private final AtomicInteger requestsSent = new AtomicInteger();
+    private final AtomicInteger requestsSaved = new AtomicInteger();
+
+    private final long maxSize;
+    // The sizes of the completed responses, in access order, guarded by itself.
+    private final LinkedHashMap<String, Integer> sizes = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    ScanResponseCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    ScanResponseCache(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the cache of the given scope, creating it if needed.
+     *
+     * @param scope the scope of the cache, for example, the {@code HostProcess}.
+     * @return the cache, never {@code null}.
+     */
+    public static ScanResponseCache getCache(Object scope) {
+        return CACHES.computeIfAbsent(scope, k -> new ScanResponseCache());
+    }
+
+    /**
+     * Convenience method that sends the given message through the cache of the given scope.
+     *
+     * @param scope the scope of the cache, for example, the {@code HostProcess}.
+     * @param msg the message to send, the response is set to it.
+     * @param followRedirects {@code true} if the redirects are followed, {@code false} otherwise.
+     * @param sender the function that actually sends the message.
+     * @throws IOException if an error occurred while sending the message.
+     * @see #sendAndReceive(HttpMessage, boolean, MessageSender)
+     */
+    public static void sendAndReceive(
+            Object scope, HttpMessage msg, boolean followRedirects, MessageSender sender)
+            throws IOException {
+        getCache(scope).sendAndReceive(msg, followRedirects, sender);
+    }
+
+    /**
+     * Sends the given message, or sets the response of an equivalent message already sent.
+     *
+     * <p>Only {@code GET} and {@code HEAD} requests without body are cached.
+     *
+     * @param msg the message to send, the response is set to it.
+     * @param followRedirects {@code true} if the redirects are followed, {@code false} otherwise,
+     *     messages are cached separately for each.
+     * @param sender the function that actually sends the message.
+     * @throws IOException if an error occurred while sending the message, or while sending the
+     *     equivalent message in-flight.
+     */
+    public void sendAndReceive(HttpMessage msg, boolean followRedirects, MessageSender sender)
+            throws IOException {
+        if (!isCacheable(msg)) {
+            sender.send(msg);
+            return;
+        }
+
+        String key = createKey(msg, followRedirects);
+        CompletableFuture<HttpMessage> response = responses.get(key);
+        if (response == null) {
+            CompletableFuture<HttpMessage> newResponse = new CompletableFuture<>();
+            response = responses.putIfAbsent(key, newResponse);
+            if (response == null) {
+                send(key, msg, sender, newResponse);
+                return;
+            }
+        }
+
+        HttpMessage cached;
+        try {
+            cached = response.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the response.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+
+        if (cached == null) {
+            // Not cacheable, for example, too big.
+            sender.send(msg);
+            return;
+        }
+
+        copyResponse(cached, msg);
+        synchronized (sizes) {
+            sizes.get(key);
+        }
+        requestsSaved.incrementAndGet();
+        Stats.incCounter(getSite(msg), STATS_REQUESTS_SAVED);
+        LOGGER.debug("Reused the response of {}", key);
+    }
+
+    private void send(
+            String key,
+            HttpMessage msg,
+            MessageSender sender,
+            CompletableFuture<HttpMessage> response)
+            throws IOException {
+        try {
+            sender.send(msg);
+        } catch (IOException | RuntimeException e) {
+            responses.remove(key);
+            response.completeExceptionally(e);
+            throw e;
+        }
+        requestsSent.incrementAndGet();
+        Stats.incCounter(getSite(msg), STATS_REQUESTS_SENT);
+
+        if (msg.getResponseBody().length() > MAX_BODY_SIZE) {
+            responses.remove(key);
+            response.complete(null);
+            return;
+        }
+        response.complete(msg.cloneAll());
+        addSize(
+                key,
+                key.length()
+                        + msg.getResponseHeader().toString().length()
+                        + msg.getResponseBody().length());
+    }
+
+    /**
+     * Adds the size of the response with the given key, evicting the least recently used responses
+     * while the cache is bigger than the maximum size.
+     */
+    private void addSize(String key, int responseSize) {
+        synchronized (sizes) {
+            sizes.put(key, responseSize);
+            size += responseSize;
+            Iterator<Map.Entry<String, Integer>> it = sizes.entrySet().iterator();
+            while (size > maxSize && it.hasNext()) {
+                Map.Entry<String, Integer> eldest = it.next();
+                it.remove();
+                size -= eldest.getValue();
+                responses.remove(eldest.getKey());
+            }
+        }
+    }
+
+    /**
+     * Gets the size of the cached responses.
+     *
+     * @return the size, in bytes (approximately).
+     */
+    long getSize() {
+        synchronized (sizes) {
+            return size;
+        }
+    }
+
+    private static void copyResponse(HttpMessage source, HttpMessage target) {
+        HttpMessage copy = source.cloneAll();
+        target.setResponseHeader(copy.getResponseHeader());
+        target.setResponseBody(copy.getResponseBody());
+        target.setTimeSentMillis(source.getTimeSentMillis());
+        target.setTimeElapsedMillis(source.getTimeElapsedMillis());
+    }
+
+    /**
+     * Gets the number of requests sent through the cache.
+     *
+     * @return the number of requests sent.
+     */
+    public int getRequestsSent() {
+        return requestsSent.get();
+    }
+
+    /**
+     * Gets the number of requests that were not sent, because an equivalent request was already
+     * sent.
+     *
+     * @return the number of requests saved.
+     */
+    public int getRequestsSaved() {
+        return requestsSaved.get();
+    }
+
+    private static boolean isCacheable(HttpMessage msg) {
+        String method = msg.getRequestHeader().getMethod();
+        return (HttpRequestHeader.GET.equals(method) || HttpRequestHeader.HEAD.equals(method))
+                && msg.getRequestBody().length() == 0;
+    }
+
+    /**
+     * Creates the canonical key of the request of the given message, that is, the method, the
+     * normalised URI and the request headers.
+     */
+    static String createKey(HttpMessage msg, boolean followRedirects) {
+        HttpRequestHeader header = msg.getRequestHeader();
+        StringBuilder key = new StringBuilder(256);
+        key.append(followRedirects ? 'F' : 'N').append(' ');
+        key.append(header.getMethod()).append(' ');
+        URI uri = header.getURI();
+        try {
+            String scheme = uri.getScheme();
+            String host = uri.getHost();
+            if (scheme == null || host == null) {
+                key.append(uri);
+            } else {
+                scheme = scheme.toLowerCase(Locale.ROOT);
+                key.append(scheme).append("://");
+                key.append(host.toLowerCase(Locale.ROOT)).append(':');
+                key.append(uri.getPort() != -1 ? uri.getPort() : defaultPort(scheme));
+                String path = uri.getEscapedPath();
+                key.append(path == null || path.isEmpty() ? "/" : path);
+                String query = uri.getEscapedQuery();
+                if (query != null) {
+                    key.append('?').append(query);
+                }
+            }
+        } catch (URIException e) {
+            key.append(uri);
+        }
+        for (HttpHeaderField field : header.getHeaders()) {
+            key.append('\n').append(field.getName()).append(": ").append(field.getValue());
+        }
+        return key.toString();
+    }
+
+    private static int defaultPort(String scheme) {
+        return "https".equals(scheme) ? 443 : 80;
+    }
+
+    private static String getSite(HttpMessage msg) {
+        URI uri = msg.getRequestHeader().getURI();
+        try {
+            StringBuilder site = new StringBuilder();
+            site.append(uri.getScheme()).append("://").append(uri.getHost());
+            if (uri.getPort() != -1) {
+                site.append(':').append(uri.getPort());
+            }
+            return site.toString();
+        } catch (URIException e) {
+            return uri.toString();
+        }
+    }
+
+    /** A function that sends a message. */
+    @FunctionalInterface
+    public interface MessageSender {
+
+        /**
+         * Sends the given message and sets its response.
+         *
+         * @param msg the message to send.
+         * @throws IOException if an error occurred while sending the message.
+         */
+        void send(HttpMessage msg) throws IOException;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.commonlib.timing;
+
+import java.util.Arrays;
+
+/**
+ * The response time of an endpoint when no delay is injected, summarised from a small number of
+ * samples. Instances are immutable.
+ *
+ * <p>The values are expressed in the same unit as the samples, which for the timing scan rules is
+ * seconds.
+ *
+ * @since 1.42.0
+ */
+public final class LatencyBaseline {
+
+    private final double[] samples;
+    private final double mean;
+    private final double jitter;
+    private final long createdMillis;
+
+    /**
+     * Constructs a {@code LatencyBaseline} from the given samples.
+     *
+     * @param samples the response times of the requests without injected delay.
+     * @param createdMillis the time, in milliseconds, when the baseline was measured.
+     * @throws IllegalArgumentException if no samples are provided.
+     */
+    LatencyBaseline(double[] samples, long createdMillis) {
+        if (samples.length == 0) {
+            throw new IllegalArgumentException("At least one sample is required.");
+        }
+        this.samples = samples.clone();
+        Arrays.sort(this.samples);
+        this.createdMillis = createdMillis;
+
+        double sum = 0;
+        for (double sample : this.samples) {
+            sum += sample;
+        }
+        mean = sum / this.samples.length;
+
+        double squares = 0;
+        for (double sample : this.samples) {
+            squares += (sample - mean) * (sample - mean);
+        }
+        jitter = this.samples.length > 1 ? Math.sqrt(squares / (this.samples.length - 1)) : 0;
+    }
+
+    /**
+     * Gets the number of samples used to compute the baseline.
+     *
+     * @return the number of samples.
+     */
+    public int getSampleCount() {
+        return samples.length;
+    }
+
+    /**
+     * Gets the mean response time.
+     *
+     * @return the mean.
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Gets the jitter, that is, the sample standard deviation of the response times.
+     *
+     * @return the jitter, {@code 0} if just one sample was taken.
+     */
+    public double getJitter() {
+        return jitter;
+    }
+
+    /**
+     * Gets the given percentile of the response times, using the nearest-rank method.
+     *
+     * @param percentile the percentile, between {@code 0} and {@code 100}.
+     * @return the response time at the given percentile.
+     * @throws IllegalArgumentException if the percentile is out of range.
+     */
+    public double getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("The percentile must be between 0 and 100.");
+        }
+        int rank = (int) Math.ceil(percentile / 100 * samples.length);
+        return samples[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * Gets the median response time.
+     *
+     * @return the median.
+     */
+    public double getMedian() {
+        return getPercentile(50);
+    }
+
+    long getCreatedMillis() {
+        return createdMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "LatencyBaseline[samples=%d, mean=%.3f, jitter=%.3f, p50=%.3f, p95=%.3f]",
+                samples.length, mean, jitter, getMedian(), getPercentile(95));
+    }
+}
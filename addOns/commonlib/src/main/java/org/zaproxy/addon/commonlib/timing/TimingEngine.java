@@ -0,0 +1,333 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.commonlib.timing;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import org.apache.commons.collections4.map.AbstractReferenceMap.ReferenceStrength;
+import org.apache.commons.collections4.map.ReferenceIdentityMap;
+import org.apache.commons.httpclient.URI;
+import org.apache.commons.httpclient.URIException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.addon.commonlib.http.ScanResponseCache.MessageSender;
+import org.zaproxy.addon.commonlib.timing.TimingUtils.RequestSender;
+
+/**
+ * A timing engine shared by the time-based scan rules.
+ *
+ * <p>The engine measures, and caches for a while, a {@link LatencyBaseline} per endpoint, so that
+ * the scan rules probing the same endpoint do not each need to establish their own. The probes
+ * against the same endpoint are serialised, to prevent the delays injected by one scan rule from
+ * being measured by another, while the probes against different endpoints proceed in parallel in
+ * the scanner threads.
+ *
+ * <p>In addition to the linear regression done by {@link TimingUtils#checkTimingDependence(int,
+ * int, RequestSender, double, double)} each response time is fed to a sequential probability ratio
+ * test against the baseline, which allows to stop probing as soon as the responses clearly do not
+ * follow the injected delays.
+ *
+ * <p>The response times are in seconds, with fractions, as returned by {@link
+ * #getResponseTime(HttpMessage)}, both for the baselines and for the request senders given to the
+ * engine.
+ *
+ * <p>As with the {@code ScanResponseCache} the engine is scoped to an object that lives as long as
+ * the scan, for example, the {@code HostProcess} of the scan rules, so that the baselines are not
+ * kept after the scan.
+ *
+ * @since 1.42.0
+ */
+public class TimingEngine {
+
+    private static final Logger LOGGER = LogManager.getLogger(TimingEngine.class);
+
+    private static final Map<Object, TimingEngine> ENGINES =
+            Collections.synchronizedMap(
+                    new ReferenceIdentityMap<>(ReferenceStrength.WEAK, ReferenceStrength.HARD));
+
+    /** The default number of requests sent to measure the baseline of an endpoint. */
+    public static final int DEFAULT_BASELINE_SAMPLES = 3;
+
+    /** The default time, in milliseconds, that a baseline is reused. */
+    public static final long DEFAULT_BASELINE_TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private static final int MAX_CACHED_ENDPOINTS = 10_000;
+
+    // Minimum requests required for a result
+    private static final int MINIMUM_REQUESTS = 2;
+
+    // Floor of the standard deviation used in the sequential test, the baselines are measured with
+    // few requests so lower values would make the test overconfident.
+    private static final double MIN_JITTER = 0.5;
+
+    // Error rates of the sequential test, false positives are further guarded by the regression.
+    private static final double ALPHA = 0.01;
+    private static final double BETA = 0.01;
+    private static final double LOWER_BOUND = Math.log(BETA / (1 - ALPHA));
+
+    private final int baselineSamples;
+    private final long baselineTtlMillis;
+    private final LongSupplier clock;
+
+    private final Map<String, EndpointState> endpoints = new ConcurrentHashMap<>();
+
+    TimingEngine() {
+        this(DEFAULT_BASELINE_SAMPLES, DEFAULT_BASELINE_TTL_MILLIS, System::currentTimeMillis);
+    }
+
+    TimingEngine(int baselineSamples, long baselineTtlMillis, LongSupplier clock) {
+        if (baselineSamples < 1) {
+            throw new IllegalArgumentException("At least one baseline sample is required.");
+        }
+        this.baselineSamples = baselineSamples;
+        this.baselineTtlMillis = baselineTtlMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Gets the timing engine of the given scope, creating it if needed.
+     *
+     * @param scope the scope of the engine, for example, the {@code HostProcess}.
+     * @return the timing engine, never {@code null}.
+     */
+    public static TimingEngine getEngine(Object scope) {
+        return ENGINES.computeIfAbsent(scope, k -> new TimingEngine());
+    }
+
+    /**
+     * Gets the response time of the given message, in seconds.
+     *
+     * <p>The request senders given to the engine should use this method to return the response
+     * time, to be in the same unit as the baselines.
+     *
+     * @param msg the message, with the response.
+     * @return the response time, in seconds.
+     */
+    public static double getResponseTime(HttpMessage msg) {
+        return msg.getTimeElapsedMillis() / 1000.0;
+    }
+
+    /**
+     * Gets the key of the endpoint targeted by the given message, that is, the method, scheme,
+     * host, port and path, ignoring the query and fragment.
+     *
+     * @param msg the message.
+     * @return the endpoint key, never {@code null}.
+     */
+    public static String getEndpointKey(HttpMessage msg) {
+        String method = msg.getRequestHeader().getMethod();
+        URI uri = msg.getRequestHeader().getURI();
+        try {
+            return method
+                    + " "
+                    + uri.getScheme()
+                    + "://"
+                    + uri.getHost()
+                    + ":"
+                    + uri.getPort()
+                    + uri.getPath();
+        } catch (URIException e) {
+            return method + " " + uri;
+        }
+    }
+
+    /**
+     * Gets the baseline of the endpoint of the given message, measuring it if not yet cached or
+     * expired.
+     *
+     * <p>The baseline is measured by sending copies of the request of the given message, unchanged.
+     *
+     * @param baseMsg the message being scanned.
+     * @param baselineSender the function that sends the copies of the request.
+     * @return the baseline, never {@code null}.
+     * @throws IOException if the {@code baselineSender} throws an {@code IOException}.
+     * @see #getEndpointKey(HttpMessage)
+     */
+    public LatencyBaseline getBaseline(HttpMessage baseMsg, MessageSender baselineSender)
+            throws IOException {
+        String endpoint = getEndpointKey(baseMsg);
+        EndpointState state = getState(endpoint);
+        state.lock.lock();
+        try {
+            return getBaseline(state, endpoint, baseMsg, baselineSender);
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    private LatencyBaseline getBaseline(
+            EndpointState state,
+            String endpoint,
+            HttpMessage baseMsg,
+            MessageSender baselineSender)
+            throws IOException {
+        LatencyBaseline baseline = state.baseline;
+        if (baseline != null
+                && clock.getAsLong() - baseline.getCreatedMillis() < baselineTtlMillis) {
+            return baseline;
+        }
+
+        double[] samples = new double[baselineSamples];
+        for (int i = 0; i < baselineSamples; i++) {
+            HttpMessage msg = baseMsg.cloneRequest();
+            baselineSender.send(msg);
+            samples[i] = getResponseTime(msg);
+        }
+        baseline = new LatencyBaseline(samples, clock.getAsLong());
+        LOGGER.debug("Measured baseline of {}: {}", endpoint, baseline);
+        state.baseline = baseline;
+        return baseline;
+    }
+
+    /**
+     * Same as {@link TimingUtils#checkTimingDependence(int, int, RequestSender, double, double)}
+     * but taking into account the baseline of the endpoint to stop probing as early as possible,
+     * and not overlapping with other probes against the same endpoint.
+     *
+     * @param baseMsg the message being scanned.
+     * @param baselineSender the function that sends the copies of the request of the message being
+     *     scanned, to measure the baseline if needed.
+     * @param requestsLimit the hard limit on how many times at most requestSender will be called.
+     * @param highSleepTimeSeconds the high sleep value to send in requests.
+     * @param requestSender function that takes in the expected time, sends the request, and returns
+     *     the actual delay, as returned by {@link #getResponseTime(HttpMessage)}.
+     * @param correlationErrorRange the interval of acceptance for the regression correlation.
+     * @param slopeErrorRange the interval of acceptance for the regression slope.
+     * @return true if the response times correlate linearly, false otherwise.
+     * @throws IllegalArgumentException if less than 2 is provided as the requestsLimit.
+     * @throws IOException if the senders throw an IOException, it will bubble up here.
+     * @see #getBaseline(HttpMessage, MessageSender)
+     */
+    public boolean checkTimingDependence(
+            HttpMessage baseMsg,
+            MessageSender baselineSender,
+            int requestsLimit,
+            int highSleepTimeSeconds,
+            RequestSender requestSender,
+            double correlationErrorRange,
+            double slopeErrorRange)
+            throws IOException {
+        if (requestsLimit < MINIMUM_REQUESTS) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "requires at least %d requests to get results", MINIMUM_REQUESTS));
+        }
+
+        String endpoint = getEndpointKey(baseMsg);
+        EndpointState state = getState(endpoint);
+        try {
+            state.lock.lockInterruptibly();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        try {
+            LatencyBaseline baseline = getBaseline(state, endpoint, baseMsg, baselineSender);
+            SequentialTest sequentialTest = new SequentialTest(baseline);
+            return TimingUtils.checkTimingDependence(
+                    requestsLimit,
+                    highSleepTimeSeconds,
+                    x -> {
+                        double y = requestSender.apply(x);
+                        if (!sequentialTest.addObservation(x, y)) {
+                            LOGGER.debug(
+                                    "Stopping early on {}, responses do not follow the delays.",
+                                    endpoint);
+                            // Report a time that makes the regression bail out.
+                            return -1;
+                        }
+                        return y;
+                    },
+                    correlationErrorRange,
+                    slopeErrorRange);
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    int getCachedEndpointCount() {
+        return endpoints.size();
+    }
+
+    private EndpointState getState(String endpoint) {
+        if (endpoints.size() >= MAX_CACHED_ENDPOINTS && !endpoints.containsKey(endpoint)) {
+            long now = clock.getAsLong();
+            endpoints
+                    .values()
+                    .removeIf(
+                            e ->
+                                    !e.lock.isLocked()
+                                            && (e.baseline == null
+                                                    || now - e.baseline.getCreatedMillis()
+                                                            >= baselineTtlMillis));
+        }
+        return endpoints.computeIfAbsent(endpoint, k -> new EndpointState());
+    }
+
+    private static class EndpointState {
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private volatile LatencyBaseline baseline;
+    }
+
+    /**
+     * Wald's sequential probability ratio test, comparing the hypothesis that the response times
+     * include the injected delay with the hypothesis that they follow the baseline. Only the
+     * rejection of the delay hypothesis is used, the acceptance is left to the regression.
+     */
+    static class SequentialTest {
+
+        private final double mean;
+        private final double variance;
+        private double logLikelihoodRatio;
+
+        SequentialTest(LatencyBaseline baseline) {
+            this.mean = baseline.getMean();
+            double jitter = Math.max(MIN_JITTER, baseline.getJitter());
+            this.variance = jitter * jitter;
+        }
+
+        /**
+         * Adds the response time of a probe.
+         *
+         * @param delay the injected delay.
+         * @param time the response time.
+         * @return {@code false} if the responses do not follow the injected delays, {@code true}
+         *     otherwise.
+         */
+        boolean addObservation(double delay, double time) {
+            double residualNoDelay = time - mean;
+            double residualDelay = time - mean - delay;
+            logLikelihoodRatio +=
+                    (residualNoDelay * residualNoDelay - residualDelay * residualDelay)
+                            / (2 * variance);
+            return logLikelihoodRatio > LOWER_BOUND;
+        }
+
+        double getLogLikelihoodRatio() {
+            return logLikelihoodRatio;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.commonlib;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link CompiledPayloads}. */
+class CompiledPayloadsUnitTest {
+
+    private AtomicInteger compilations;
+    private CompiledPayloads<List<String>> compiledPayloads;
+
+    @BeforeEach
+    void setUp() {
+        compilations = new AtomicInteger();
+        compiledPayloads =
+                new CompiledPayloads<>(
+                        payloads -> {
+                            compilations.incrementAndGet();
+                            return new ArrayList<>(payloads);
+                        });
+    }
+
+    @Test
+    void shouldCompileOnceForSamePayloads() {
+        // Given
+        List<String> payloads = List.of("a", "b");
+        // When
+        List<String> value1 = compiledPayloads.get(() -> payloads);
+        List<String> value2 = compiledPayloads.get(() -> new ArrayList<>(payloads));
+        // Then
+        assertThat(compilations.get(), is(equalTo(1)));
+        assertThat(value2, is(sameInstance(value1)));
+        assertThat(value1, contains("a", "b"));
+    }
+
+    @Test
+    void shouldCompileAgainIfPayloadsChanged() {
+        // Given
+        compiledPayloads.get(() -> List.of("a", "b"));
+        // When
+        List<String> value = compiledPayloads.get(() -> List.of("a", "c"));
+        // Then
+        assertThat(compilations.get(), is(equalTo(2)));
+        assertThat(value, contains("a", "c"));
+    }
+
+    @Test
+    void shouldCompileAgainIfPayloadsAddedOrRemoved() {
+        // Given
+        compiledPayloads.get(() -> List.of("a"));
+        // When
+        List<String> value1 = compiledPayloads.get(() -> List.of("a", "b"));
+        List<String> value2 = compiledPayloads.get(() -> List.of("a"));
+        // Then
+        assertThat(compilations.get(), is(equalTo(3)));
+        assertThat(value1, contains("a", "b"));
+        assertThat(value2, contains("a"));
+    }
+
+    @Test
+    void shouldCompileAgainAfterClear() {
+        // Given
+        compiledPayloads.get(() -> List.of("a"));
+        // When
+        compiledPayloads.clear();
+        compiledPayloads.get(() -> List.of("a"));
+        // Then
+        assertThat(compilations.get(), is(equalTo(2)));
+    }
+}
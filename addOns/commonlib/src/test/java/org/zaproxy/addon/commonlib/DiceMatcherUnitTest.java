@@ -137,6 +137,17 @@ class DiceMatcherUnitTest {
         assertThat(sim, is(equalTo(25)));
     }
 
+    @Test
+    void shouldIgnoreDifferencesInWhitespace() {
+        // Given
+        String a = "Lorem ipsum\tdolor\r\n  sit amet";
+        String b = "Lorem   ipsum dolor \u000B\fsit\namet";
+        // When
+        int sim = DiceMatcher.getMatchPercentage(a, b);
+        // Then
+        assertThat(sim, is(equalTo(100)));
+    }
+
     static Stream<Arguments> stringSetSource() {
         return Stream.of(
                 Arguments.of(null, ORIGINAL_STRING),
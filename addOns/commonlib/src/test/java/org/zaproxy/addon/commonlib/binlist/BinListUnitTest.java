@@ -24,6 +24,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 
 import org.junit.jupiter.api.Test;
@@ -59,4 +60,36 @@ class BinListUnitTest {
         // Then
         assertThat(record, is(nullValue()));
     }
+
+    @Test
+    void shouldGetBinRecordWithLongestPrefixOfCardNumber() {
+        // Given
+        String candidate = "4716186978544330";
+        // When
+        BinRecord record = BinList.getSingleton().get(candidate);
+        // Then
+        assertThat(record, is(notNullValue()));
+        assertThat(candidate, startsWith(record.getBin()));
+        assertThat(BinList.getSingleton().get(candidate), is(record));
+    }
+
+    @Test
+    void shouldNotGetBinRecordForShortCandidate() {
+        // Given
+        String candidate = "3240";
+        // When
+        BinRecord record = BinList.getSingleton().get(candidate);
+        // Then
+        assertThat(record, is(nullValue()));
+    }
+
+    @Test
+    void shouldNotGetBinRecordForCandidateWithSeparatorsWithinBin() {
+        // Given
+        String candidate = "3240 0012 3456 7890";
+        // When
+        BinRecord record = BinList.getSingleton().get(candidate);
+        // Then
+        assertThat(record, is(nullValue()));
+    }
 }
@@ -0,0 +1,233 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.commonlib.http;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.apache.commons.httpclient.URI;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.core.scanner.NameValuePair;
+import org.parosproxy.paros.core.scanner.Plugin.AttackStrength;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.addon.commonlib.http.ParameterTriage.ParameterSender;
+import org.zaproxy.addon.commonlib.http.ParameterTriage.Result;
+
+/** Unit test for {@link ParameterTriage}. */
+class ParameterTriageUnitTest {
+
+    private static final String STATIC_BODY = "<html><body>Static</body></html>";
+
+    private ParameterTriage triage;
+    private AtomicInteger requestsSent;
+
+    @BeforeEach
+    void setUp() {
+        triage = new ParameterTriage();
+        requestsSent = new AtomicInteger();
+    }
+
+    @Test
+    void shouldTriageParameterThatDoesNotInfluenceResponse() throws Exception {
+        // Given
+        HttpMessage baseMsg = createMessage(STATIC_BODY);
+        // When
+        Result result = triage.triage(baseMsg, param("p", "1"), sender(value -> STATIC_BODY));
+        // Then
+        assertThat(requestsSent.get(), is(equalTo(2)));
+        assertThat(result.isStable(), is(equalTo(true)));
+        assertThat(result.isInfluential(), is(equalTo(false)));
+        assertThat(result.isReflected(), is(equalTo(false)));
+        assertThat(result.isNumeric(), is(equalTo(true)));
+        assertThat(result.canSkipDifferentialChecks(AttackStrength.MEDIUM), is(equalTo(true)));
+        assertThat(result.canSkipDifferentialChecks(AttackStrength.HIGH), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldTriageReflectedParameter() throws Exception {
+        // Given
+        HttpMessage baseMsg = createMessage("<p>value</p>");
+        // When
+        Result result =
+                triage.triage(
+                        baseMsg,
+                        param("p", "value"),
+                        sender(value -> "<p>" + (value == null ? "value" : value) + "</p>"));
+        // Then
+        assertThat(result.isStable(), is(equalTo(true)));
+        assertThat(result.isInfluential(), is(equalTo(false)));
+        assertThat(result.isReflected(), is(equalTo(true)));
+        assertThat(result.canSkipDifferentialChecks(AttackStrength.LOW), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldTriageParameterThatInfluencesResponse() throws Exception {
+        // Given
+        HttpMessage baseMsg = createMessage("<p>Found</p>");
+        // When
+        Result result =
+                triage.triage(
+                        baseMsg,
+                        param("id", "/files/a.txt"),
+                        sender(value -> value == null ? "<p>Found</p>" : "<p>Not Found</p>"));
+        // Then
+        assertThat(result.isStable(), is(equalTo(true)));
+        assertThat(result.isInfluential(), is(equalTo(true)));
+        assertThat(result.isPath(), is(equalTo(true)));
+        assertThat(result.canSkipDifferentialChecks(AttackStrength.LOW), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldConsiderUnstableResponsesInfluential() throws Exception {
+        // Given
+        HttpMessage baseMsg = createMessage(STATIC_BODY);
+        // When
+        Result result =
+                triage.triage(
+                        baseMsg,
+                        param("p", "{\"a\":1}"),
+                        sender(value -> "<p>" + requestsSent.get() + "</p>"));
+        // Then
+        assertThat(result.isStable(), is(equalTo(false)));
+        assertThat(result.isInfluential(), is(equalTo(true)));
+        assertThat(result.isJson(), is(equalTo(true)));
+    }
+
+    @Test
+    void shouldTriageSameParameterOnce() throws Exception {
+        // Given
+        HttpMessage baseMsg = createMessage(STATIC_BODY);
+        ParameterSender sender = sender(value -> STATIC_BODY);
+        // When
+        Result result1 = triage.triage(baseMsg, param("p", "1"), sender);
+        Result result2 = triage.triage(createMessage(STATIC_BODY), param("p", "1"), sender);
+        triage.triage(baseMsg, param("q", "1"), sender);
+        // Then
+        assertThat(result2, is(sameInstance(result1)));
+        assertThat(requestsSent.get(), is(equalTo(4)));
+    }
+
+    @Test
+    void shouldTriageAgainIfOtherParameterValuesDiffer() throws Exception {
+        // Given
+        ParameterSender sender = sender(value -> STATIC_BODY);
+        HttpMessage otherMsg = createMessage("https://example.com/path?p=1&q=2", STATIC_BODY);
+        // When
+        Result result1 = triage.triage(createMessage(STATIC_BODY), param("p", "1"), sender);
+        Result result2 = triage.triage(otherMsg, param("p", "1"), sender);
+        // Then
+        assertThat(result2, is(not(sameInstance(result1))));
+        assertThat(requestsSent.get(), is(equalTo(4)));
+    }
+
+    @Test
+    void shouldTriageAgainIfRequestBodyDiffers() throws Exception {
+        // Given
+        ParameterSender sender = sender(value -> STATIC_BODY);
+        HttpMessage msg = createMessage(STATIC_BODY);
+        msg.setRequestBody("a=1");
+        HttpMessage otherMsg = createMessage(STATIC_BODY);
+        otherMsg.setRequestBody("a=2");
+        // When
+        Result result1 = triage.triage(msg, param("p", "1"), sender);
+        Result result2 = triage.triage(otherMsg, param("p", "1"), sender);
+        // Then
+        assertThat(result2, is(not(sameInstance(result1))));
+        assertThat(requestsSent.get(), is(equalTo(4)));
+    }
+
+    @Test
+    void shouldTriageAgainIfParameterTypeDiffers() throws Exception {
+        // Given
+        ParameterSender sender = sender(value -> STATIC_BODY);
+        HttpMessage baseMsg = createMessage(STATIC_BODY);
+        NameValuePair cookie = new NameValuePair(NameValuePair.TYPE_COOKIE, "p", "1", 0);
+        // When
+        Result result1 = triage.triage(baseMsg, param("p", "1"), sender);
+        Result result2 = triage.triage(baseMsg, cookie, sender);
+        // Then
+        assertThat(result2, is(not(sameInstance(result1))));
+        assertThat(requestsSent.get(), is(equalTo(4)));
+    }
+
+    @Test
+    void shouldNotTriageIfRequestsFail() throws Exception {
+        // Given
+        HttpMessage baseMsg = createMessage(STATIC_BODY);
+        // When
+        Result result =
+                triage.triage(
+                        baseMsg,
+                        param("p", "1"),
+                        value -> {
+                            throw new IOException();
+                        });
+        // Then
+        assertThat(result, is(nullValue()));
+    }
+
+    @Test
+    void shouldNotTriageIfSkipNotAllowedForStrength() throws Exception {
+        // Given
+        HttpMessage baseMsg = createMessage(STATIC_BODY);
+        // When
+        boolean skip =
+                ParameterTriage.canSkipDifferentialChecks(
+                        new Object(),
+                        AttackStrength.INSANE,
+                        baseMsg,
+                        param("p", "1"),
+                        sender(value -> STATIC_BODY));
+        // Then
+        assertThat(skip, is(equalTo(false)));
+        assertThat(requestsSent.get(), is(equalTo(0)));
+    }
+
+    private ParameterSender sender(Function<String, String> responses) {
+        return value -> {
+            requestsSent.incrementAndGet();
+            HttpMessage msg = createMessage(responses.apply(value));
+            return msg;
+        };
+    }
+
+    private static NameValuePair param(String name, String value) {
+        return new NameValuePair(NameValuePair.TYPE_QUERY_STRING, name, value, 0);
+    }
+
+    private static HttpMessage createMessage(String responseBody) throws IOException {
+        return createMessage("https://example.com/path?p=1", responseBody);
+    }
+
+    private static HttpMessage createMessage(String uri, String responseBody) throws IOException {
+        HttpMessage msg = new HttpMessage(new URI(uri, true));
+        msg.setResponseHeader("HTTP/1.1 200 OK\r\n");
+        msg.setResponseBody(responseBody);
+        return msg;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.commonlib.http;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.network.HttpMessage;
+
+/** Unit test for {@link ResponseFingerprint}. */
+class ResponseFingerprintUnitTest {
+
+    private static final String BODY =
+            "<html><head><title>Products</title></head><body>\n"
+                    + "<ul><li>Apple</li><li>Banana</li><li>Cherry</li></ul>\n"
+                    + "<p>You searched for: fruit</p>\n"
+                    + "</body></html>";
+
+    @Test
+    void shouldBeEqualForSameBody() {
+        // Given
+        ResponseFingerprint fp1 = ResponseFingerprint.of(BODY);
+        ResponseFingerprint fp2 = ResponseFingerprint.of(new String(BODY));
+        // When / Then
+        assertThat(fp1.mayBeEqual(fp2), is(equalTo(true)));
+        assertThat(fp1.getDistance(fp2), is(equalTo(0)));
+        assertThat(fp1.getSimilarity(fp2), is(equalTo(1f)));
+    }
+
+    @Test
+    void shouldNotBeEqualForDifferentBody() {
+        // Given
+        ResponseFingerprint fp1 = ResponseFingerprint.of(BODY);
+        ResponseFingerprint fp2 = ResponseFingerprint.of(BODY.replace("Apple", "Apples"));
+        // When / Then
+        assertThat(fp1.mayBeEqual(fp2), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldBeSimilarForSmallChanges() {
+        // Given
+        ResponseFingerprint fp1 = ResponseFingerprint.of(BODY);
+        ResponseFingerprint fp2 = ResponseFingerprint.of(BODY.replace("fruit", "fruits"));
+        ResponseFingerprint fp3 =
+                ResponseFingerprint.of("{\"error\": \"Internal Server Error\", \"code\": 500}");
+        // When
+        float similar = fp1.getSimilarity(fp2);
+        float different = fp1.getSimilarity(fp3);
+        // Then
+        assertThat(similar, is(greaterThan(different)));
+        assertThat(different, is(lessThan(0.75f)));
+    }
+
+    @Test
+    void shouldMayBeEqualAfterStrippingIfOnlyReflectionDiffers() {
+        // Given
+        ResponseFingerprint fp1 = ResponseFingerprint.of(BODY);
+        ResponseFingerprint fp2 =
+                ResponseFingerprint.of(BODY.replace("fruit", "fruit' AND '1'='1"));
+        // When / Then
+        assertThat(fp1.mayBeEqual(fp2), is(equalTo(false)));
+        assertThat(
+                fp1.mayBeEqualAfterStripping(fp2, "fruit", "fruit' AND '1'='1"),
+                is(equalTo(true)));
+    }
+
+    @Test
+    void shouldNotBeEqualAfterStrippingIfStructureDiffers() {
+        // Given
+        ResponseFingerprint fp1 = ResponseFingerprint.of(BODY);
+        ResponseFingerprint fp2 =
+                ResponseFingerprint.of(BODY.replace("<li>Cherry</li>", "").replace("fruit", "x"));
+        // When / Then
+        assertThat(fp1.mayBeEqualAfterStripping(fp2, "fruit", "x"), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldComputeStructureAndLengths() {
+        // Given / When
+        ResponseFingerprint fp = ResponseFingerprint.of("<a>  b \n\t c</a>  ");
+        // Then
+        assertThat(fp.getLength(), is(equalTo(17)));
+        assertThat(fp.getNormalisedLength(), is(equalTo(11)));
+        assertThat(fp.getTagCount(), is(equalTo(2)));
+    }
+
+    @Test
+    void shouldCacheFingerprintWithMessage() throws Exception {
+        // Given
+        HttpMessage msg = new HttpMessage();
+        msg.setResponseBody(BODY);
+        // When
+        ResponseFingerprint fp1 = ResponseFingerprint.of(msg);
+        ResponseFingerprint fp2 = ResponseFingerprint.of(msg);
+        // Then
+        assertThat(fp2, is(sameInstance(fp1)));
+    }
+
+    @Test
+    void shouldComputeAgainIfResponseBodyChanged() throws Exception {
+        // Given
+        HttpMessage msg = new HttpMessage();
+        msg.setResponseBody(BODY);
+        ResponseFingerprint fp1 = ResponseFingerprint.of(msg);
+        // When
+        msg.setResponseBody("Other");
+        ResponseFingerprint fp2 = ResponseFingerprint.of(msg);
+        // Then
+        assertThat(fp2, is(not(sameInstance(fp1))));
+        assertThat(fp2.mayBeEqual(ResponseFingerprint.of("Other")), is(equalTo(true)));
+    }
+
+    @Test
+    void shouldComputeAgainIfResponseBodyChangedToSameLength() throws Exception {
+        // Given
+        HttpMessage msg = new HttpMessage();
+        msg.setResponseBody("Value A");
+        ResponseFingerprint fp1 = ResponseFingerprint.of(msg);
+        // When
+        msg.setResponseBody("Value B");
+        ResponseFingerprint fp2 = ResponseFingerprint.of(msg);
+        // Then
+        assertThat(fp2, is(not(sameInstance(fp1))));
+        assertThat(fp2.mayBeEqual(ResponseFingerprint.of("Value B")), is(equalTo(true)));
+    }
+}
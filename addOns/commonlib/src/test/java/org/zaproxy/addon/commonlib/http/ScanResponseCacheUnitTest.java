@@ -0,0 +1,222 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.commonlib.http;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.httpclient.URI;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.network.HttpMessage;
+import org.parosproxy.paros.network.HttpRequestHeader;
+
+/** Unit test for {@link ScanResponseCache}. */
+class ScanResponseCacheUnitTest {
+
+    private ScanResponseCache cache;
+    private AtomicInteger requestsSent;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ScanResponseCache();
+        requestsSent = new AtomicInteger();
+    }
+
+    @Test
+    void shouldSendEquivalentGetRequestsOnce() throws Exception {
+        // Given
+        HttpMessage msg1 = createMessage("https://Example.com/.env");
+        HttpMessage msg2 = createMessage("https://example.com:443/.env");
+        // When
+        cache.sendAndReceive(msg1, false, this::send);
+        cache.sendAndReceive(msg2, false, this::send);
+        // Then
+        assertThat(requestsSent.get(), is(equalTo(1)));
+        assertThat(cache.getRequestsSent(), is(equalTo(1)));
+        assertThat(cache.getRequestsSaved(), is(equalTo(1)));
+        assertThat(msg2.getResponseHeader().getStatusCode(), is(equalTo(200)));
+        assertThat(msg2.getResponseBody().toString(), is(equalTo("Response 1")));
+        assertThat(msg2.getResponseBody(), is(not(sameInstance(msg1.getResponseBody()))));
+    }
+
+    @Test
+    void shouldSendRequestsWithDifferentPathsOrHeaders() throws Exception {
+        // Given
+        HttpMessage msg1 = createMessage("https://example.com/.env");
+        HttpMessage msg2 = createMessage("https://example.com/.htaccess");
+        HttpMessage msg3 = createMessage("https://example.com/.env");
+        msg3.getRequestHeader().setHeader("Accept-Encoding", "gzip");
+        // When
+        cache.sendAndReceive(msg1, false, this::send);
+        cache.sendAndReceive(msg2, false, this::send);
+        cache.sendAndReceive(msg3, false, this::send);
+        // Then
+        assertThat(requestsSent.get(), is(equalTo(3)));
+        assertThat(cache.getRequestsSaved(), is(equalTo(0)));
+    }
+
+    @Test
+    void shouldCacheSeparatelyWhenFollowingRedirects() throws Exception {
+        // Given
+        HttpMessage msg1 = createMessage("https://example.com/.env");
+        HttpMessage msg2 = createMessage("https://example.com/.env");
+        // When
+        cache.sendAndReceive(msg1, false, this::send);
+        cache.sendAndReceive(msg2, true, this::send);
+        // Then
+        assertThat(requestsSent.get(), is(equalTo(2)));
+    }
+
+    @Test
+    void shouldAlwaysSendNonIdempotentRequests() throws Exception {
+        // Given
+        HttpMessage msg1 = createMessage("https://example.com/login");
+        msg1.getRequestHeader().setMethod(HttpRequestHeader.POST);
+        HttpMessage msg2 = createMessage("https://example.com/login");
+        msg2.getRequestHeader().setMethod(HttpRequestHeader.POST);
+        // When
+        cache.sendAndReceive(msg1, false, this::send);
+        cache.sendAndReceive(msg2, false, this::send);
+        // Then
+        assertThat(requestsSent.get(), is(equalTo(2)));
+        assertThat(cache.getRequestsSent(), is(equalTo(0)));
+    }
+
+    @Test
+    void shouldNotCacheFailedRequests() throws Exception {
+        // Given
+        HttpMessage msg1 = createMessage("https://example.com/.env");
+        HttpMessage msg2 = createMessage("https://example.com/.env");
+        // When
+        assertThrows(
+                IOException.class,
+                () ->
+                        cache.sendAndReceive(
+                                msg1,
+                                false,
+                                msg -> {
+                                    throw new IOException();
+                                }));
+        cache.sendAndReceive(msg2, false, this::send);
+        // Then
+        assertThat(requestsSent.get(), is(equalTo(1)));
+        assertThat(msg2.getResponseHeader().getStatusCode(), is(equalTo(200)));
+    }
+
+    @Test
+    void shouldShareInFlightRequest() throws Exception {
+        // Given
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        HttpMessage msg1 = createMessage("https://example.com/.env");
+        HttpMessage msg2 = createMessage("https://example.com/.env");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // When
+            Future<?> first =
+                    executor.submit(
+                            () -> {
+                                cache.sendAndReceive(
+                                        msg1,
+                                        false,
+                                        msg -> {
+                                            sending.countDown();
+                                            try {
+                                                release.await();
+                                            } catch (InterruptedException e) {
+                                                Thread.currentThread().interrupt();
+                                            }
+                                            send(msg);
+                                        });
+                                return null;
+                            });
+            sending.await(5, TimeUnit.SECONDS);
+            Future<?> second =
+                    executor.submit(
+                            () -> {
+                                cache.sendAndReceive(msg2, false, this::send);
+                                return null;
+                            });
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        // Then
+        assertThat(requestsSent.get(), is(equalTo(1)));
+        assertThat(msg2.getResponseBody().toString(), is(equalTo("Response 1")));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedResponsesWhenBiggerThanMaxSize() throws Exception {
+        // Given
+        cache.sendAndReceive(createMessage("https://example.com/x"), false, this::send);
+        long maxSize = cache.getSize() * 2;
+        cache = new ScanResponseCache(maxSize);
+        requestsSent.set(0);
+        cache.sendAndReceive(createMessage("https://example.com/a"), false, this::send);
+        cache.sendAndReceive(createMessage("https://example.com/b"), false, this::send);
+        cache.sendAndReceive(createMessage("https://example.com/a"), false, this::send);
+        // When
+        cache.sendAndReceive(createMessage("https://example.com/c"), false, this::send);
+        cache.sendAndReceive(createMessage("https://example.com/a"), false, this::send);
+        cache.sendAndReceive(createMessage("https://example.com/b"), false, this::send);
+        // Then
+        assertThat(requestsSent.get(), is(equalTo(4)));
+        assertThat(cache.getSize(), is(lessThanOrEqualTo(maxSize)));
+    }
+
+    @Test
+    void shouldUseSameCacheForSameScope() {
+        // Given
+        Object scope = new Object();
+        // When
+        ScanResponseCache cache1 = ScanResponseCache.getCache(scope);
+        ScanResponseCache cache2 = ScanResponseCache.getCache(scope);
+        ScanResponseCache otherCache = ScanResponseCache.getCache(new Object());
+        // Then
+        assertThat(cache2, is(sameInstance(cache1)));
+        assertThat(otherCache, is(not(sameInstance(cache1))));
+    }
+
+    private static HttpMessage createMessage(String uri) throws Exception {
+        return new HttpMessage(new URI(uri, true));
+    }
+
+    private void send(HttpMessage msg) throws IOException {
+        int count = requestsSent.incrementAndGet();
+        msg.setResponseHeader("HTTP/1.1 200 OK\r\n");
+        msg.setResponseBody("Response " + count);
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.commonlib.timing;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.httpclient.URI;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.addon.commonlib.http.ScanResponseCache.MessageSender;
+
+/** Unit test for {@link TimingEngine}. */
+class TimingEngineUnitTest {
+
+    private static final String ENDPOINT = "GET https://example.com:443/path";
+
+    private AtomicLong time;
+    private AtomicInteger baselineRequests;
+    private TimingEngine engine;
+    private HttpMessage baseMsg;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        time = new AtomicLong();
+        baselineRequests = new AtomicInteger();
+        engine = new TimingEngine(3, 1000, time::get);
+        baseMsg = createMessage("https://example.com/path?a=b");
+    }
+
+    @Test
+    void shouldGetSameEngineForSameScope() {
+        // Given
+        Object scope = new Object();
+        // When
+        TimingEngine first = TimingEngine.getEngine(scope);
+        TimingEngine second = TimingEngine.getEngine(scope);
+        // Then
+        assertThat(second, is(sameInstance(first)));
+    }
+
+    @Test
+    void shouldGetDifferentEnginesForDifferentScopes() {
+        // Given / When
+        TimingEngine first = TimingEngine.getEngine(new Object());
+        TimingEngine second = TimingEngine.getEngine(new Object());
+        // Then
+        assertThat(second, is(not(sameInstance(first))));
+    }
+
+    @Test
+    void shouldGetResponseTimeInSeconds() {
+        // Given
+        HttpMessage msg = new HttpMessage();
+        msg.setTimeElapsedMillis(1250);
+        // When
+        double responseTime = TimingEngine.getResponseTime(msg);
+        // Then
+        assertThat(responseTime, is(closeTo(1.25, 0.0001)));
+    }
+
+    @Test
+    void shouldMeasureBaselineWithCopiesOfRequest() throws IOException {
+        // Given
+        List<HttpMessage> sent = new ArrayList<>();
+        // When
+        engine.getBaseline(
+                baseMsg,
+                msg -> {
+                    sent.add(msg);
+                    msg.setTimeElapsedMillis(100);
+                });
+        // Then
+        assertThat(sent.size(), is(equalTo(3)));
+        for (HttpMessage msg : sent) {
+            assertThat(msg, is(not(sameInstance(baseMsg))));
+            assertThat(
+                    msg.getRequestHeader().toString(),
+                    is(equalTo(baseMsg.getRequestHeader().toString())));
+        }
+        assertThat(baseMsg.getTimeElapsedMillis(), is(equalTo(0)));
+    }
+
+    @Test
+    void shouldShareBaselineBetweenMessagesOfSameEndpoint() throws Exception {
+        // Given
+        MessageSender baselineSender = baselineSender(0.1);
+        HttpMessage otherMsg = createMessage("https://example.com/path?c=d");
+        // When
+        LatencyBaseline first = engine.getBaseline(baseMsg, baselineSender);
+        LatencyBaseline second = engine.getBaseline(otherMsg, baselineSender);
+        // Then
+        assertThat(baselineRequests.get(), is(equalTo(3)));
+        assertThat(second, is(sameInstance(first)));
+    }
+
+    @Test
+    void shouldCreateEndpointKeyWithoutQuery() throws Exception {
+        // Given
+        HttpMessage msg = new HttpMessage(new URI("https://example.com/path?a=b#c", true));
+        // When
+        String key = TimingEngine.getEndpointKey(msg);
+        // Then
+        assertThat(key, is(equalTo(ENDPOINT)));
+    }
+
+    @Test
+    void shouldMeasureBaselineOnce() throws IOException {
+        // Given
+        MessageSender baselineSender = baselineSender(0.1, 0.2, 0.3);
+        // When
+        LatencyBaseline first = engine.getBaseline(baseMsg, baselineSender);
+        LatencyBaseline second = engine.getBaseline(baseMsg, baselineSender);
+        // Then
+        assertThat(baselineRequests.get(), is(equalTo(3)));
+        assertThat(second, is(first));
+        assertThat(first.getMean(), is(closeTo(0.2, 0.0001)));
+        assertThat(first.getJitter(), is(closeTo(0.1, 0.0001)));
+        assertThat(first.getMedian(), is(closeTo(0.2, 0.0001)));
+        assertThat(first.getPercentile(95), is(closeTo(0.3, 0.0001)));
+    }
+
+    @Test
+    void shouldMeasureBaselineAgainOnceExpired() throws IOException {
+        // Given
+        MessageSender baselineSender = baselineSender(0.1);
+        engine.getBaseline(baseMsg, baselineSender);
+        time.addAndGet(1000);
+        // When
+        engine.getBaseline(baseMsg, baselineSender);
+        // Then
+        assertThat(baselineRequests.get(), is(equalTo(6)));
+    }
+
+    @Test
+    void shouldMeasureBaselinePerEndpoint() throws Exception {
+        // Given
+        MessageSender baselineSender = baselineSender(0.1);
+        // When
+        engine.getBaseline(baseMsg, baselineSender);
+        engine.getBaseline(createMessage("https://example.com/other"), baselineSender);
+        // Then
+        assertThat(baselineRequests.get(), is(equalTo(6)));
+        assertThat(engine.getCachedEndpointCount(), is(equalTo(2)));
+    }
+
+    @Test
+    void shouldDetectTimingDependence() throws IOException {
+        // Given
+        AtomicInteger probes = new AtomicInteger();
+        // When
+        boolean result =
+                engine.checkTimingDependence(
+                        baseMsg,
+                        baselineSender(0.1),
+                        4,
+                        15,
+                        x -> {
+                            probes.incrementAndGet();
+                            return x + 0.1;
+                        },
+                        0.1,
+                        0.2);
+        // Then
+        assertThat(result, is(true));
+        assertThat(probes.get(), is(equalTo(4)));
+    }
+
+    @Test
+    void shouldStopEarlyWhenResponsesFollowBaseline() throws IOException {
+        // Given
+        AtomicInteger probes = new AtomicInteger();
+        // When
+        boolean result =
+                engine.checkTimingDependence(
+                        baseMsg,
+                        baselineSender(10, 10, 10),
+                        10,
+                        5,
+                        x -> {
+                            probes.incrementAndGet();
+                            // Slow endpoint, always above the delay but not affected by it.
+                            return 10;
+                        },
+                        0.1,
+                        0.2);
+        // Then
+        assertThat(result, is(false));
+        assertThat(probes.get(), is(equalTo(1)));
+    }
+
+    @Test
+    void shouldNotOverlapProbesOfSameEndpoint() throws Exception {
+        // Given
+        engine.getBaseline(baseMsg, baselineSender(0));
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(2);
+        TimingUtils.RequestSender sender =
+                x -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    inFlight.decrementAndGet();
+                    return x;
+                };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // When
+            Future<?> first = executor.submit(() -> check(sender, started));
+            Future<?> second = executor.submit(() -> check(sender, started));
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        // Then
+        assertThat(maxInFlight.get(), is(equalTo(1)));
+    }
+
+    @Test
+    void shouldThrowIfRequestsLimitTooLow() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        engine.checkTimingDependence(
+                                baseMsg, baselineSender(0), 1, 5, x -> x, 0.1, 0.2));
+    }
+
+    private Void check(TimingUtils.RequestSender sender, CountDownLatch started)
+            throws Exception {
+        started.countDown();
+        started.await();
+        engine.checkTimingDependence(baseMsg, baselineSender(0), 4, 5, sender, 0.1, 0.2);
+        return null;
+    }
+
+    private MessageSender baselineSender(double... times) {
+        return msg ->
+                msg.setTimeElapsedMillis(
+                        (int) (times[baselineRequests.getAndIncrement() % times.length] * 1000));
+    }
+
+    private static HttpMessage createMessage(String uri) throws Exception {
+        return new HttpMessage(new URI(uri, true));
+    }
+}
@@ -22,6 +22,8 @@ zapAddOn {
 dependencies {
     zapAddOn("commonlib")
     implementation(libs.diff.diffutils)
+
+    testImplementation(project(":testutils"))
 }
 
 spotless {
@@ -30,7 +32,7 @@ spotless {
             fileTree(projectDir) {
                 include("src/**/*.java")
                 // Ignore 3rd-party code.
-                exclude("src/**/diff_match_patch.java", "src/**/ZapDiffRowGenerator.java")
+                exclude("src/**/diff_match_patch.java")
             },
         )
     }
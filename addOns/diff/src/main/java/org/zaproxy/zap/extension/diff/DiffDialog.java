@@ -30,6 +30,7 @@ import java.awt.event.AdjustmentEvent;
 import java.awt.event.AdjustmentListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.WindowEvent;
+import java.util.List;
 import javax.swing.AbstractAction;
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
@@ -347,4 +348,30 @@ public class DiffDialog extends AbstractDialog implements AdjustmentListener {
         this.getTxtDisplayLeft().setText("");
         this.getTxtDisplayRight().setText("");
     }
+
+    /** Shows that the differences are being computed. */
+    void showComputing() {
+        String message = Constant.messages.getString("diff.diff.computing");
+        this.getTxtDisplayLeft().setText(message);
+        this.getTxtDisplayRight().setText(message);
+    }
+
+    /**
+     * Shows the given text, replacing the current one.
+     *
+     * @param text the text of the differences.
+     */
+    void setDiffText(DiffText text) {
+        setText(getTxtDisplayLeft(), text.getLeft(), text.getLeftHighlights());
+        setText(getTxtDisplayRight(), text.getRight(), text.getRightHighlights());
+    }
+
+    private void setText(JTextArea area, String text, List<int[]> highlights) {
+        area.getHighlighter().removeAllHighlights();
+        area.setText(text);
+        for (int[] hl : highlights) {
+            highlightText(area, hl[0], hl[1]);
+        }
+        area.setCaretPosition(0);
+    }
 }
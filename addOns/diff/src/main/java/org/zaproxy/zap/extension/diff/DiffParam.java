@@ -0,0 +1,132 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.diff;
+
+import org.zaproxy.zap.common.VersionedAbstractParam;
+
+/**
+ * The options of the Diff add-on, the limits used to compute the differences.
+ *
+ * <p>The options are only available through the configuration file.
+ */
+public class DiffParam extends VersionedAbstractParam {
+
+    /**
+     * The version of the configurations. Used to keep track of configurations changes between
+     * releases, if updates are needed.
+     *
+     * <p>It only needs to be updated for configurations changes (not releases of the add-on).
+     */
+    private static final int CURRENT_VERSION = 1;
+
+    /** The base configuration key for all "diff" configurations. */
+    private static final String BASE_KEY = "diff";
+
+    static final String LINE_DIFF_TIMEOUT_KEY = BASE_KEY + ".lineDiffTimeout";
+    static final String LINE_DIFF_MAX_EDITS_KEY = BASE_KEY + ".lineDiffMaxEdits";
+    static final String INLINE_DIFF_TIMEOUT_KEY = BASE_KEY + ".inlineDiffTimeout";
+    static final String INLINE_DIFF_MAX_LENGTH_KEY = BASE_KEY + ".inlineDiffMaxLength";
+
+    /** The default time, in milliseconds, to find the minimal differences between the lines. */
+    static final int DEFAULT_LINE_DIFF_TIMEOUT = 2000;
+
+    /** The default maximum number of lines inserted and deleted to find the minimal differences. */
+    static final int DEFAULT_LINE_DIFF_MAX_EDITS = 10_000;
+
+    /** The default time, in milliseconds, to find the differences within the changed lines. */
+    static final int DEFAULT_INLINE_DIFF_TIMEOUT = 2000;
+
+    /** The default maximum length of the lines to find the differences within. */
+    static final int DEFAULT_INLINE_DIFF_MAX_LENGTH = 100_000;
+
+    private int lineDiffTimeout = DEFAULT_LINE_DIFF_TIMEOUT;
+    private int lineDiffMaxEdits = DEFAULT_LINE_DIFF_MAX_EDITS;
+    private int inlineDiffTimeout = DEFAULT_INLINE_DIFF_TIMEOUT;
+    private int inlineDiffMaxLength = DEFAULT_INLINE_DIFF_MAX_LENGTH;
+
+    @Override
+    protected void parseImpl() {
+        lineDiffTimeout = getPositiveInt(LINE_DIFF_TIMEOUT_KEY, DEFAULT_LINE_DIFF_TIMEOUT);
+        lineDiffMaxEdits = getPositiveInt(LINE_DIFF_MAX_EDITS_KEY, DEFAULT_LINE_DIFF_MAX_EDITS);
+        inlineDiffTimeout = getPositiveInt(INLINE_DIFF_TIMEOUT_KEY, DEFAULT_INLINE_DIFF_TIMEOUT);
+        inlineDiffMaxLength =
+                getPositiveInt(INLINE_DIFF_MAX_LENGTH_KEY, DEFAULT_INLINE_DIFF_MAX_LENGTH);
+    }
+
+    private int getPositiveInt(String key, int defaultValue) {
+        int value = getInt(key, defaultValue);
+        return value > 0 ? value : defaultValue;
+    }
+
+    /**
+     * Gets the time to find the minimal differences between the lines, past it the remaining lines
+     * are shown as changed.
+     *
+     * @return the time, in milliseconds.
+     */
+    public int getLineDiffTimeout() {
+        return lineDiffTimeout;
+    }
+
+    /**
+     * Gets the maximum number of lines inserted and deleted to find the minimal differences, past
+     * it the remaining lines are shown as changed.
+     *
+     * @return the maximum number of edits.
+     */
+    public int getLineDiffMaxEdits() {
+        return lineDiffMaxEdits;
+    }
+
+    /**
+     * Gets the time to find the differences within all the changed lines, past it the whole lines
+     * are highlighted.
+     *
+     * @return the time, in milliseconds.
+     */
+    public int getInlineDiffTimeout() {
+        return inlineDiffTimeout;
+    }
+
+    /**
+     * Gets the maximum length of the lines to find the differences within, longer lines are
+     * highlighted whole.
+     *
+     * @return the maximum length, in characters.
+     */
+    public int getInlineDiffMaxLength() {
+        return inlineDiffMaxLength;
+    }
+
+    @Override
+    protected String getConfigVersionKey() {
+        return BASE_KEY + VERSION_ATTRIBUTE;
+    }
+
+    @Override
+    protected int getCurrentVersion() {
+        return CURRENT_VERSION;
+    }
+
+    @Override
+    protected void updateConfigsImpl(int fileVersion) {
+        // Nothing to do.
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.diff;
+
+import difflib.DiffRow;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import org.zaproxy.zap.extension.diff.diff_match_patch.Diff;
+
+/**
+ * The text shown side by side in the {@link DiffDialog}, with the ranges to highlight.
+ *
+ * <p>The text is built off the EDT and set at once, the changes within the lines are highlighted
+ * while within the given time and length budget, otherwise the whole lines are highlighted.
+ */
+class DiffText {
+
+    private final StringBuilder left = new StringBuilder();
+    private final StringBuilder right = new StringBuilder();
+    private final List<int[]> leftHighlights = new ArrayList<>();
+    private final List<int[]> rightHighlights = new ArrayList<>();
+
+    private final long inlineDeadline;
+    private final int maxInlineLength;
+
+    private DiffText(long inlineTimeoutMillis, int maxInlineLength) {
+        this.inlineDeadline = System.currentTimeMillis() + inlineTimeoutMillis;
+        this.maxInlineLength = maxInlineLength;
+    }
+
+    /**
+     * Creates the text of the given rows.
+     *
+     * @param rows the rows of the diff.
+     * @param inlineTimeoutMillis the time, in milliseconds, to find the changes within all lines.
+     * @param maxInlineLength the maximum length of the lines to find the changes within.
+     * @return the text.
+     * @throws InterruptedException if interrupted while creating the text.
+     */
+    static DiffText create(List<DiffRow> rows, long inlineTimeoutMillis, int maxInlineLength)
+            throws InterruptedException {
+        DiffText text = new DiffText(inlineTimeoutMillis, maxInlineLength);
+        int leftLine = 0;
+        int rightLine = 0;
+        for (DiffRow dr : rows) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            switch (dr.getTag()) {
+                case CHANGE:
+                    if (dr.getOldLine().length() > 0) {
+                        text.appendLeft(leftLine + " : ", true);
+                    }
+                    if (dr.getNewLine().length() > 0) {
+                        text.appendRight(rightLine + " : ", true);
+                    }
+                    text.appendChange(dr.getOldLine(), dr.getNewLine());
+
+                    if (dr.getOldLine().length() > 0) {
+                        leftLine++;
+                    }
+                    if (dr.getNewLine().length() > 0) {
+                        rightLine++;
+                    }
+                    break;
+                case EQUAL:
+                    text.appendLeft(leftLine + " : ", false);
+                    text.appendRight(rightLine + " : ", false);
+                    text.appendLeft(dr.getOldLine(), false);
+                    text.appendRight(dr.getNewLine(), false);
+                    leftLine++;
+                    rightLine++;
+                    break;
+                case DELETE:
+                    text.appendLeft(leftLine + " : ", true);
+                    text.appendLeft(dr.getOldLine(), true);
+                    leftLine++;
+                    break;
+                case INSERT:
+                    text.appendRight(rightLine + " : ", true);
+                    text.appendRight(dr.getNewLine(), true);
+                    rightLine++;
+                    break;
+            }
+            text.appendLeft("\n", false);
+            text.appendRight("\n", false);
+        }
+        return text;
+    }
+
+    private void appendChange(String oldLine, String newLine) {
+        long remaining = inlineDeadline - System.currentTimeMillis();
+        if (remaining <= 0
+                || oldLine.length() > maxInlineLength
+                || newLine.length() > maxInlineLength) {
+            appendLeft(oldLine, true);
+            appendRight(newLine, true);
+            return;
+        }
+
+        diff_match_patch dmp = new diff_match_patch();
+        dmp.Diff_Timeout = Math.min(remaining, 1000) / 1000f;
+        LinkedList<Diff> diffs = dmp.diff_main(oldLine, newLine);
+        for (Diff diff : diffs) {
+            switch (diff.operation) {
+                case EQUAL:
+                    appendLeft(diff.text, false);
+                    appendRight(diff.text, false);
+                    break;
+                case DELETE:
+                    leftHighlights.add(
+                            new int[] {left.length(), left.length() + diff.text.length()});
+                    left.append(diff.text);
+                    break;
+                case INSERT:
+                    rightHighlights.add(
+                            new int[] {right.length(), right.length() + diff.text.length()});
+                    right.append(diff.text);
+                    break;
+            }
+        }
+    }
+
+    private void appendLeft(String text, boolean highlight) {
+        append(left, leftHighlights, text, highlight);
+    }
+
+    private void appendRight(String text, boolean highlight) {
+        append(right, rightHighlights, text, highlight);
+    }
+
+    private static void append(
+            StringBuilder sb, List<int[]> highlights, String text, boolean highlight) {
+        if (text.isEmpty()) {
+            return;
+        }
+        if (highlight) {
+            highlights.add(new int[] {sb.length(), sb.length() + text.length() - 1});
+        }
+        sb.append(text);
+    }
+
+    String getLeft() {
+        return left.toString();
+    }
+
+    String getRight() {
+        return right.toString();
+    }
+
+    List<int[]> getLeftHighlights() {
+        return leftHighlights;
+    }
+
+    List<int[]> getRightHighlights() {
+        return rightHighlights;
+    }
+}
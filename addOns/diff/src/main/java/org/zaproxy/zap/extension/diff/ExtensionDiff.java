@@ -20,22 +20,29 @@
 package org.zaproxy.zap.extension.diff;
 
 import difflib.DiffRow;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import javax.swing.SwingWorker;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.extension.ExtensionAdaptor;
 import org.parosproxy.paros.extension.ExtensionHook;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.MenuWeights;
-import org.zaproxy.zap.extension.diff.ZapDiffRowGenerator.Builder;
-import org.zaproxy.zap.extension.diff.diff_match_patch.Diff;
 
 public class ExtensionDiff extends ExtensionAdaptor {
 
+    private static final Logger LOGGER = LogManager.getLogger(ExtensionDiff.class);
+
+    private DiffParam param;
     private PopupMenuDiff popupMenuDiffRequests = null;
     private PopupMenuDiff popupMenuDiffResponses = null;
     private DiffDialog diffDialog = null;
+    private DiffWorker diffWorker;
 
     /** */
     public ExtensionDiff() {
@@ -50,6 +57,7 @@ public class ExtensionDiff extends ExtensionAdaptor {
 
     @Override
     public void unload() {
+        cancelDiff();
         if (hasView()) {
             if (diffDialog != null) {
                 diffDialog.dispose();
@@ -63,12 +71,21 @@ public class ExtensionDiff extends ExtensionAdaptor {
     public void hook(ExtensionHook extensionHook) {
         super.hook(extensionHook);
 
+        extensionHook.addOptionsParamSet(getParam());
+
         if (hasView()) {
             extensionHook.getHookMenu().addPopupMenuItem(getPopupMenuDiffRequests());
             extensionHook.getHookMenu().addPopupMenuItem(getPopupMenuDiffResponses());
         }
     }
 
+    private DiffParam getParam() {
+        if (param == null) {
+            param = new DiffParam();
+        }
+        return param;
+    }
+
     private PopupMenuDiff getPopupMenuDiffRequests() {
         if (popupMenuDiffRequests == null) {
             popupMenuDiffRequests =
@@ -98,6 +115,14 @@ public class ExtensionDiff extends ExtensionAdaptor {
     private DiffDialog getDiffDialog() {
         if (diffDialog == null) {
             diffDialog = new DiffDialog(getView().getMainFrame(), false);
+            diffDialog.addComponentListener(
+                    new ComponentAdapter() {
+
+                        @Override
+                        public void componentHidden(ComponentEvent e) {
+                            cancelDiff();
+                        }
+                    });
         }
         return diffDialog;
     }
@@ -105,11 +130,9 @@ public class ExtensionDiff extends ExtensionAdaptor {
     public void showDiffDialog(HttpMessage msg1, HttpMessage msg2, boolean request)
             throws Exception {
         /*
-         * This _is_ fairly nasty ;)
-         * This method uses 2 different classes/projects to work out the diffs.
-         * It uses diffutils to get the differing lines, and then diff_match_patch to identify the
-         * diffs in the pairs of lines.
-         * Be delighted if anyone can implement a cleaner option ;)
+         * The lines are diffed with LineDiff, which has a bounded time for large messages, and
+         * then diff_match_patch identifies the diffs in the pairs of lines. This is done in the
+         * background, the dialog shows that the diff is being computed meanwhile.
          */
 
         if (msg1 == null || msg2 == null) {
@@ -119,7 +142,8 @@ public class ExtensionDiff extends ExtensionAdaptor {
         if (diffDialog.isVisible()) {
             return;
         }
-        diffDialog.clearPanels();
+        cancelDiff();
+        diffDialog.showComputing();
 
         List<String> msgList1 = new ArrayList<>();
         List<String> msgList2 = new ArrayList<>();
@@ -136,95 +160,9 @@ public class ExtensionDiff extends ExtensionAdaptor {
             stringToList(msg2.getResponseBody().toString(), msgList2);
         }
 
-        Builder builder = new ZapDiffRowGenerator.Builder();
-        ZapDiffRowGenerator drg = builder.build();
-
-        List<DiffRow> res = drg.generateDiffRows(msgList1, msgList2);
-        int leftLine = 0;
-        int rightLine = 0;
-        for (DiffRow dr : res) {
-            diff_match_patch dmp = new diff_match_patch();
-
-            switch (dr.getTag()) {
-                case CHANGE:
-                    if (dr.getOldLine().length() > 0) {
-                        diffDialog.appendLeftText(leftLine + " : ", true);
-                    }
-                    if (dr.getNewLine().length() > 0) {
-                        diffDialog.appendRightText(rightLine + " : ", true);
-                    }
-
-                    /*
-                     * Apply the highlighters after adding all the text.
-                     * Bit nasty, but otherwise when you insert test if moves the end of the highlighter
-                     * so everything is highlighted.
-                     */
-
-                    List<int[]> leftHighlighters = new ArrayList<>();
-                    List<int[]> rightHighlighters = new ArrayList<>();
-
-                    LinkedList<Diff> diffs = dmp.diff_main(dr.getOldLine(), dr.getNewLine());
-                    for (Diff diff : diffs) {
-                        int end = 0;
-                        switch (diff.operation) {
-                            case EQUAL:
-                                diffDialog.appendLeftText(diff.text, false);
-                                diffDialog.appendRightText(diff.text, false);
-                                break;
-                            case DELETE:
-                                end = diffDialog.appendLeftText(diff.text, false);
-                                leftHighlighters.add(new int[] {end - diff.text.length(), end});
-                                break;
-                            case INSERT:
-                                end = diffDialog.appendRightText(diff.text, false);
-                                rightHighlighters.add(new int[] {end - diff.text.length(), end});
-                                break;
-                        }
-                    }
-
-                    // These spaces prevent the next lines from moving any highlights at the end of
-                    // the line
-                    diffDialog.appendLeftText(" ", false);
-                    diffDialog.appendRightText(" ", false);
-
-                    for (int[] hl : leftHighlighters) {
-                        diffDialog.highlightLeftText(hl[0], hl[1]);
-                    }
-                    for (int[] hl : rightHighlighters) {
-                        diffDialog.highlightRightText(hl[0], hl[1]);
-                    }
-
-                    if (dr.getOldLine().length() > 0) {
-                        leftLine++;
-                    }
-                    if (dr.getNewLine().length() > 0) {
-                        rightLine++;
-                    }
-                    break;
-                case EQUAL:
-                    diffDialog.appendLeftText(leftLine + " : ", false);
-                    diffDialog.appendRightText(rightLine + " : ", false);
-
-                    diffDialog.appendLeftText(dr.getOldLine(), (dr.getTag() != DiffRow.Tag.EQUAL));
-                    diffDialog.appendRightText(dr.getNewLine(), (dr.getTag() != DiffRow.Tag.EQUAL));
-                    leftLine++;
-                    rightLine++;
-                    break;
-                case DELETE:
-                    diffDialog.appendLeftText(leftLine + " : ", (dr.getTag() != DiffRow.Tag.EQUAL));
-                    diffDialog.appendLeftText(dr.getOldLine(), (dr.getTag() != DiffRow.Tag.EQUAL));
-                    leftLine++;
-                    break;
-                case INSERT:
-                    diffDialog.appendRightText(
-                            rightLine + " : ", (dr.getTag() != DiffRow.Tag.EQUAL));
-                    diffDialog.appendRightText(dr.getNewLine(), (dr.getTag() != DiffRow.Tag.EQUAL));
-                    rightLine++;
-                    break;
-            }
-            diffDialog.appendLeftText("\n", false);
-            diffDialog.appendRightText("\n", false);
-        }
+        diffWorker = new DiffWorker(diffDialog, getParam(), msgList1, msgList2);
+        diffWorker.execute();
+
         diffDialog.setLeftHeader(msg1.getRequestHeader().getURI().toString());
         diffDialog.setRightHeader(msg2.getRequestHeader().getURI().toString());
 
@@ -232,4 +170,53 @@ public class ExtensionDiff extends ExtensionAdaptor {
 
         // TODO scroll to first diff - initial attempts to do this have failed..
     }
+
+    private void cancelDiff() {
+        if (diffWorker != null) {
+            diffWorker.cancel(true);
+            diffWorker = null;
+        }
+    }
+
+    private static class DiffWorker extends SwingWorker<DiffText, Void> {
+
+        private final DiffDialog diffDialog;
+        private final DiffParam param;
+        private final List<String> original;
+        private final List<String> revised;
+
+        DiffWorker(
+                DiffDialog diffDialog,
+                DiffParam param,
+                List<String> original,
+                List<String> revised) {
+            this.diffDialog = diffDialog;
+            this.param = param;
+            this.original = original;
+            this.revised = revised;
+        }
+
+        @Override
+        protected DiffText doInBackground() throws Exception {
+            List<DiffRow> rows =
+                    new LineDiff(param.getLineDiffTimeout(), param.getLineDiffMaxEdits())
+                            .generateDiffRows(original, revised);
+            return DiffText.create(
+                    rows, param.getInlineDiffTimeout(), param.getInlineDiffMaxLength());
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                return;
+            }
+            try {
+                diffDialog.setDiffText(get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                LOGGER.error("Failed to compute the differences:", e.getCause());
+            }
+        }
+    }
 }
@@ -0,0 +1,336 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.diff;
+
+import difflib.DiffRow;
+import difflib.DiffRow.Tag;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A line diff with bounded time, for large messages.
+ *
+ * <p>The lines are mapped to ints, equal lines to the same int, and the common prefix and suffix
+ * are skipped before running the Myers diff on the remaining ints, in linear space (splitting the
+ * lines at the middle snake, recursively). If the diff takes longer than the given time or needs
+ * more edits than the given maximum the remaining lines are reported as changed, the result is
+ * still correct just not minimal.
+ *
+ * <p>The lines of a change are paired in {@link Tag#CHANGE} rows, padded with empty lines, while
+ * changes that only delete or insert lines have {@link Tag#DELETE} or {@link Tag#INSERT} rows.
+ */
+class LineDiff {
+
+    private static final Logger LOGGER = LogManager.getLogger(LineDiff.class);
+
+    private static final int EQUAL = 0;
+    private static final int DELETE = 1;
+    private static final int INSERT = 2;
+
+    private final long timeoutMillis;
+    private final int maxEdits;
+
+    /**
+     * Constructs a {@code LineDiff} with the given budget.
+     *
+     * @param timeoutMillis the time, in milliseconds, to find the minimal diff.
+     * @param maxEdits the maximum number of lines inserted and deleted of the minimal diff.
+     */
+    LineDiff(long timeoutMillis, int maxEdits) {
+        this.timeoutMillis = timeoutMillis;
+        this.maxEdits = maxEdits;
+    }
+
+    /**
+     * Generates the rows of the differences between the given lines.
+     *
+     * @param original the original lines.
+     * @param revised the revised lines.
+     * @return the rows, never {@code null}.
+     * @throws InterruptedException if interrupted while generating the rows.
+     */
+    List<DiffRow> generateDiffRows(List<String> original, List<String> revised)
+            throws InterruptedException {
+        Map<String, Integer> ids = new HashMap<>();
+        int[] a = toIds(original, ids);
+        int[] b = toIds(revised, ids);
+
+        int prefix = 0;
+        while (prefix < a.length && prefix < b.length && a[prefix] == b[prefix]) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < a.length - prefix
+                && suffix < b.length - prefix
+                && a[a.length - 1 - suffix] == b[b.length - 1 - suffix]) {
+            suffix++;
+        }
+
+        int[] ops = diff(a, prefix, a.length - suffix, b, prefix, b.length - suffix);
+
+        List<DiffRow> rows = new ArrayList<>(Math.max(a.length, b.length));
+        for (int i = 0; i < prefix; i++) {
+            rows.add(new DiffRow(Tag.EQUAL, original.get(i), original.get(i)));
+        }
+        int x = prefix;
+        int y = prefix;
+        int i = 0;
+        while (i < ops.length) {
+            if (ops[i] == EQUAL) {
+                rows.add(new DiffRow(Tag.EQUAL, original.get(x++), revised.get(y++)));
+                i++;
+                continue;
+            }
+            int deletes = 0;
+            int inserts = 0;
+            for (; i < ops.length && ops[i] != EQUAL; i++) {
+                if (ops[i] == DELETE) {
+                    deletes++;
+                } else {
+                    inserts++;
+                }
+            }
+            addChangeRows(rows, original.subList(x, x + deletes), revised.subList(y, y + inserts));
+            x += deletes;
+            y += inserts;
+        }
+        for (; x < a.length; x++, y++) {
+            rows.add(new DiffRow(Tag.EQUAL, original.get(x), revised.get(y)));
+        }
+        return rows;
+    }
+
+    private static int[] toIds(List<String> lines, Map<String, Integer> ids) {
+        int[] result = new int[lines.size()];
+        for (int i = 0; i < result.length; i++) {
+            Integer id = ids.get(lines.get(i));
+            if (id == null) {
+                id = ids.size();
+                ids.put(lines.get(i), id);
+            }
+            result[i] = id;
+        }
+        return result;
+    }
+
+    private static void addChangeRows(
+            List<DiffRow> rows, List<String> deleted, List<String> inserted) {
+        if (inserted.isEmpty()) {
+            deleted.forEach(line -> rows.add(new DiffRow(Tag.DELETE, line, "")));
+        } else if (deleted.isEmpty()) {
+            inserted.forEach(line -> rows.add(new DiffRow(Tag.INSERT, "", line)));
+        } else {
+            for (int j = 0; j < Math.max(deleted.size(), inserted.size()); j++) {
+                rows.add(
+                        new DiffRow(
+                                Tag.CHANGE,
+                                j < deleted.size() ? deleted.get(j) : "",
+                                j < inserted.size() ? inserted.get(j) : ""));
+            }
+        }
+    }
+
+    /**
+     * Finds the operations that transform {@code a[aStart, aEnd)} into {@code b[bStart, bEnd)},
+     * with the linear space Myers algorithm, falling back to delete and insert all if over the
+     * budget.
+     */
+    private int[] diff(int[] a, int aStart, int aEnd, int[] b, int bStart, int bEnd)
+            throws InterruptedException {
+        Operations ops = new Operations(aEnd - aStart + bEnd - bStart);
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        diff(a, aStart, aEnd, b, bStart, bEnd, deadline, ops);
+        return ops.toArray();
+    }
+
+    /**
+     * Adds the operations of the given ranges, splitting them at the middle snake and diffing the
+     * halves recursively, which needs memory linear to the length of the ranges.
+     */
+    private void diff(
+            int[] a,
+            int aStart,
+            int aEnd,
+            int[] b,
+            int bStart,
+            int bEnd,
+            long deadline,
+            Operations ops)
+            throws InterruptedException {
+        while (aStart < aEnd && bStart < bEnd && a[aStart] == b[bStart]) {
+            ops.add(EQUAL, 1);
+            aStart++;
+            bStart++;
+        }
+        int suffix = 0;
+        while (aStart < aEnd - suffix
+                && bStart < bEnd - suffix
+                && a[aEnd - 1 - suffix] == b[bEnd - 1 - suffix]) {
+            suffix++;
+        }
+        aEnd -= suffix;
+        bEnd -= suffix;
+
+        if (aStart == aEnd) {
+            ops.add(INSERT, bEnd - bStart);
+        } else if (bStart == bEnd) {
+            ops.add(DELETE, aEnd - aStart);
+        } else {
+            int[] split = findMiddleSnake(a, aStart, aEnd, b, bStart, bEnd, deadline);
+            if (split == null) {
+                LOGGER.debug(
+                        "Diff over the budget, reporting {} and {} lines as changed.",
+                        aEnd - aStart,
+                        bEnd - bStart);
+                ops.add(DELETE, aEnd - aStart);
+                ops.add(INSERT, bEnd - bStart);
+            } else {
+                diff(a, aStart, aStart + split[0], b, bStart, bStart + split[1], deadline, ops);
+                diff(a, aStart + split[0], aEnd, b, bStart + split[1], bEnd, deadline, ops);
+            }
+        }
+        ops.add(EQUAL, suffix);
+    }
+
+    /**
+     * Finds the middle snake of the given ranges, searching forward and backward at the same time
+     * until the paths overlap.
+     *
+     * @return the point where to split the ranges, relative to their starts, or {@code null} if
+     *     over the budget (time or number of edits).
+     */
+    private int[] findMiddleSnake(
+            int[] a, int aStart, int aEnd, int[] b, int bStart, int bEnd, long deadline)
+            throws InterruptedException {
+        int n = aEnd - aStart;
+        int m = bEnd - bStart;
+        // Each step of both searches adds up to two edits.
+        int maxD = Math.min((n + m + 1) / 2, Math.max(0, maxEdits) / 2 + 1);
+        int offset = maxD;
+        int length = 2 * maxD + 2;
+        int[] forward = new int[length];
+        int[] backward = new int[length];
+        Arrays.fill(forward, -1);
+        Arrays.fill(backward, -1);
+        forward[offset + 1] = 0;
+        backward[offset + 1] = 0;
+        int delta = n - m;
+        // If the difference is odd the paths overlap in a forward step, otherwise in a backward.
+        boolean front = (delta & 1) != 0;
+        int kStartForward = 0;
+        int kEndForward = 0;
+        int kStartBackward = 0;
+        int kEndBackward = 0;
+        for (int d = 0; d < maxD; d++) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (System.currentTimeMillis() > deadline) {
+                return null;
+            }
+
+            for (int k = -d + kStartForward; k <= d - kEndForward; k += 2) {
+                int kOffset = offset + k;
+                int x;
+                if (k == -d || (k != d && forward[kOffset - 1] < forward[kOffset + 1])) {
+                    x = forward[kOffset + 1];
+                } else {
+                    x = forward[kOffset - 1] + 1;
+                }
+                int y = x - k;
+                while (x < n && y < m && a[aStart + x] == b[bStart + y]) {
+                    x++;
+                    y++;
+                }
+                forward[kOffset] = x;
+                if (x > n) {
+                    kEndForward += 2;
+                } else if (y > m) {
+                    kStartForward += 2;
+                } else if (front) {
+                    int backwardOffset = offset + delta - k;
+                    if (backwardOffset >= 0
+                            && backwardOffset < length
+                            && backward[backwardOffset] != -1
+                            && x >= n - backward[backwardOffset]) {
+                        return new int[] {x, y};
+                    }
+                }
+            }
+
+            for (int k = -d + kStartBackward; k <= d - kEndBackward; k += 2) {
+                int kOffset = offset + k;
+                int x;
+                if (k == -d || (k != d && backward[kOffset - 1] < backward[kOffset + 1])) {
+                    x = backward[kOffset + 1];
+                } else {
+                    x = backward[kOffset - 1] + 1;
+                }
+                int y = x - k;
+                while (x < n && y < m && a[aEnd - 1 - x] == b[bEnd - 1 - y]) {
+                    x++;
+                    y++;
+                }
+                backward[kOffset] = x;
+                if (x > n) {
+                    kEndBackward += 2;
+                } else if (y > m) {
+                    kStartBackward += 2;
+                } else if (!front) {
+                    int forwardOffset = offset + delta - k;
+                    if (forwardOffset >= 0
+                            && forwardOffset < length
+                            && forward[forwardOffset] != -1) {
+                        int forwardX = forward[forwardOffset];
+                        if (forwardX >= n - x) {
+                            return new int[] {forwardX, offset + forwardX - forwardOffset};
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /** The operations of a diff, in order. */
+    private static class Operations {
+
+        private final int[] ops;
+        private int size;
+
+        Operations(int capacity) {
+            ops = new int[capacity];
+        }
+
+        void add(int op, int count) {
+            Arrays.fill(ops, size, size + count, op);
+            size += count;
+        }
+
+        int[] toArray() {
+            return size == ops.length ? ops : Arrays.copyOf(ops, size);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.diff;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.zaproxy.zap.utils.ZapXmlConfiguration;
+
+/** Unit test for {@link DiffParam}. */
+class DiffParamUnitTest {
+
+    private DiffParam param;
+    private ZapXmlConfiguration configuration;
+
+    @BeforeEach
+    void setUp() {
+        param = new DiffParam();
+        configuration = new ZapXmlConfiguration();
+    }
+
+    @Test
+    void shouldHaveConfigVersionKey() {
+        assertThat(param.getConfigVersionKey(), is(equalTo("diff[@version]")));
+    }
+
+    @Test
+    void shouldHaveDefaultValues() {
+        // Given / When
+        param.load(configuration);
+        // Then
+        assertThat(param.getLineDiffTimeout(), is(equalTo(2000)));
+        assertThat(param.getLineDiffMaxEdits(), is(equalTo(10_000)));
+        assertThat(param.getInlineDiffTimeout(), is(equalTo(2000)));
+        assertThat(param.getInlineDiffMaxLength(), is(equalTo(100_000)));
+    }
+
+    @Test
+    void shouldLoadValuesFromConfig() {
+        // Given
+        configuration.setProperty("diff.lineDiffTimeout", 1);
+        configuration.setProperty("diff.lineDiffMaxEdits", 2);
+        configuration.setProperty("diff.inlineDiffTimeout", 3);
+        configuration.setProperty("diff.inlineDiffMaxLength", 4);
+        // When
+        param.load(configuration);
+        // Then
+        assertThat(param.getLineDiffTimeout(), is(equalTo(1)));
+        assertThat(param.getLineDiffMaxEdits(), is(equalTo(2)));
+        assertThat(param.getInlineDiffTimeout(), is(equalTo(3)));
+        assertThat(param.getInlineDiffMaxLength(), is(equalTo(4)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1})
+    void shouldUseDefaultIfValueNotPositive(int value) {
+        // Given
+        configuration.setProperty("diff.lineDiffTimeout", value);
+        configuration.setProperty("diff.inlineDiffMaxLength", value);
+        // When
+        param.load(configuration);
+        // Then
+        assertThat(param.getLineDiffTimeout(), is(equalTo(2000)));
+        assertThat(param.getInlineDiffMaxLength(), is(equalTo(100_000)));
+    }
+}
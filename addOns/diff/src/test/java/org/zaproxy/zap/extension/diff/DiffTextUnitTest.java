@@ -0,0 +1,87 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.diff;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import difflib.DiffRow;
+import difflib.DiffRow.Tag;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link DiffText}. */
+class DiffTextUnitTest {
+
+    @Test
+    void shouldCreateTextWithLineNumbers() throws Exception {
+        // Given
+        List<DiffRow> rows =
+                List.of(new DiffRow(Tag.EQUAL, "a", "a"), new DiffRow(Tag.INSERT, "", "b"));
+        // When
+        DiffText text = DiffText.create(rows, 1000, 1000);
+        // Then
+        assertThat(text.getLeft(), is(equalTo("0 : a\n\n")));
+        assertThat(text.getRight(), is(equalTo("0 : a\n1 : b\n")));
+        assertThat(text.getLeftHighlights(), is(empty()));
+        assertThat(toStrings(text.getRightHighlights()), contains("6-9", "10-10"));
+    }
+
+    @Test
+    void shouldHighlightChangesWithinLines() throws Exception {
+        // Given
+        List<DiffRow> rows = List.of(new DiffRow(Tag.CHANGE, "abc", "abd"));
+        // When
+        DiffText text = DiffText.create(rows, 1000, 1000);
+        // Then
+        assertThat(text.getLeft(), is(equalTo("0 : abc\n")));
+        assertThat(text.getRight(), is(equalTo("0 : abd\n")));
+        assertThat(toStrings(text.getLeftHighlights()), contains("0-3", "6-7"));
+        assertThat(toStrings(text.getRightHighlights()), contains("0-3", "6-7"));
+    }
+
+    @Test
+    void shouldHighlightWholeLinesIfLongerThanMaxInlineLength() throws Exception {
+        // Given
+        List<DiffRow> rows = List.of(new DiffRow(Tag.CHANGE, "abc", "abd"));
+        // When
+        DiffText text = DiffText.create(rows, 1000, 2);
+        // Then
+        assertThat(toStrings(text.getLeftHighlights()), contains("0-3", "4-6"));
+        assertThat(toStrings(text.getRightHighlights()), contains("0-3", "4-6"));
+    }
+
+    @Test
+    void shouldHighlightWholeLinesIfNoTimeForInlineDiffs() throws Exception {
+        // Given
+        List<DiffRow> rows = List.of(new DiffRow(Tag.CHANGE, "abc", "abd"));
+        // When
+        DiffText text = DiffText.create(rows, 0, 1000);
+        // Then
+        assertThat(toStrings(text.getLeftHighlights()), contains("0-3", "4-6"));
+    }
+
+    private static List<String> toStrings(List<int[]> highlights) {
+        return highlights.stream().map(hl -> hl[0] + "-" + hl[1]).toList();
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.diff;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import difflib.DiffRow;
+import difflib.DiffRow.Tag;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link LineDiff}. */
+class LineDiffUnitTest {
+
+    private static final LineDiff LINE_DIFF = new LineDiff(10_000, 10_000);
+
+    @Test
+    void shouldGenerateNoRowsForNoLines() throws Exception {
+        // Given
+        List<String> lines = List.of();
+        // When
+        List<DiffRow> rows = LINE_DIFF.generateDiffRows(lines, lines);
+        // Then
+        assertThat(rows, is(empty()));
+    }
+
+    @Test
+    void shouldGenerateEqualRowsForSameLines() throws Exception {
+        // Given
+        List<String> lines = List.of("a", "b", "c");
+        // When
+        List<DiffRow> rows = LINE_DIFF.generateDiffRows(lines, lines);
+        // Then
+        assertThat(toStrings(rows), contains("EQUAL a a", "EQUAL b b", "EQUAL c c"));
+    }
+
+    @Test
+    void shouldGenerateInsertAndDeleteRows() throws Exception {
+        // Given
+        List<String> original = List.of("a", "b", "c", "d");
+        List<String> revised = List.of("a", "c", "d", "e");
+        // When
+        List<DiffRow> rows = LINE_DIFF.generateDiffRows(original, revised);
+        // Then
+        assertThat(
+                toStrings(rows),
+                contains("EQUAL a a", "DELETE b ", "EQUAL c c", "EQUAL d d", "INSERT  e"));
+    }
+
+    @Test
+    void shouldPairChangedLines() throws Exception {
+        // Given
+        List<String> original = List.of("a", "b", "c", "d");
+        List<String> revised = List.of("a", "x", "y", "z", "d");
+        // When
+        List<DiffRow> rows = LINE_DIFF.generateDiffRows(original, revised);
+        // Then
+        assertThat(
+                toStrings(rows),
+                contains("EQUAL a a", "CHANGE b x", "CHANGE c y", "CHANGE  z", "EQUAL d d"));
+    }
+
+    @Test
+    void shouldGenerateMinimalDiff() throws Exception {
+        // Given
+        List<String> original = List.of("a", "b", "c", "a", "b", "b", "a");
+        List<String> revised = List.of("c", "b", "a", "b", "a", "c");
+        // When
+        List<DiffRow> rows = LINE_DIFF.generateDiffRows(original, revised);
+        // Then
+        assertThat(count(rows, Tag.EQUAL), is(equalTo(4L)));
+        assertLines(rows, original, revised);
+    }
+
+    @Test
+    void shouldReportAllLinesAsChangedIfOverMaxEdits() throws Exception {
+        // Given
+        LineDiff lineDiff = new LineDiff(10_000, 1);
+        List<String> original = List.of("a", "b", "c", "d");
+        List<String> revised = List.of("a", "x", "c", "y");
+        // When
+        List<DiffRow> rows = lineDiff.generateDiffRows(original, revised);
+        // Then
+        assertThat(
+                toStrings(rows),
+                contains("EQUAL a a", "CHANGE b x", "CHANGE c c", "CHANGE d y"));
+    }
+
+    @Test
+    void shouldDiffLargeMessagesInBoundedTime() {
+        // Given
+        LineDiff lineDiff = new LineDiff(1000, 10_000);
+        Random random = new Random(1);
+        List<String> original = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            original.add("line " + random.nextInt(1000));
+        }
+        List<String> revised = new ArrayList<>(original);
+        Collections.shuffle(revised, random);
+        // When
+        List<DiffRow> rows =
+                assertTimeoutPreemptively(
+                        Duration.ofSeconds(10), () -> lineDiff.generateDiffRows(original, revised));
+        // Then
+        assertLines(rows, original, revised);
+    }
+
+    @Test
+    void shouldGenerateMinimalDiffOfLargeMessagesWithManyEdits() throws Exception {
+        // Given
+        List<String> original = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            original.add("line " + i);
+        }
+        List<String> revised = new ArrayList<>(original);
+        for (int i = 0; i < 4_000; i++) {
+            revised.set(i * 25, "changed " + i);
+        }
+        // When
+        List<DiffRow> rows = LINE_DIFF.generateDiffRows(original, revised);
+        // Then
+        assertThat(count(rows, Tag.EQUAL), is(equalTo(96_000L)));
+        assertThat(count(rows, Tag.CHANGE), is(equalTo(4_000L)));
+        assertLines(rows, original, revised);
+    }
+
+    private static long count(List<DiffRow> rows, Tag tag) {
+        return rows.stream().filter(row -> row.getTag() == tag).count();
+    }
+
+    private static void assertLines(
+            List<DiffRow> rows, List<String> original, List<String> revised) {
+        List<String> oldLines = new ArrayList<>();
+        List<String> newLines = new ArrayList<>();
+        for (DiffRow row : rows) {
+            if (row.getTag() != Tag.INSERT && !row.getOldLine().isEmpty()) {
+                oldLines.add(row.getOldLine());
+            }
+            if (row.getTag() != Tag.DELETE && !row.getNewLine().isEmpty()) {
+                newLines.add(row.getNewLine());
+            }
+        }
+        assertThat(oldLines, is(equalTo(original)));
+        assertThat(newLines, is(equalTo(revised)));
+    }
+
+    private static List<String> toStrings(List<DiffRow> rows) {
+        return rows.stream()
+                .map(row -> row.getTag() + " " + row.getOldLine() + " " + row.getNewLine())
+                .collect(Collectors.toList());
+    }
+}
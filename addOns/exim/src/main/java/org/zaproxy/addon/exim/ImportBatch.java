@@ -0,0 +1,225 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.exim;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.parosproxy.paros.control.Control;
+import org.parosproxy.paros.extension.history.ExtensionHistory;
+import org.parosproxy.paros.model.HistoryReference;
+import org.parosproxy.paros.model.Model;
+import org.parosproxy.paros.network.HttpMessage;
+import org.parosproxy.paros.view.View;
+import org.zaproxy.zap.utils.ThreadUtils;
+
+/**
+ * The messages imported (and persisted) but not yet added to the History and Sites tree, added in
+ * batches to not go to the EDT for each message.
+ *
+ * <p>The batch also counts the imported items (for example, the entries or lines of the file) and
+ * reports the progress once per batch. It's thread-safe, the items can be imported concurrently.
+ *
+ * @since 0.20.0
+ */
+public class ImportBatch {
+
+    /**
+     * The default number of items added at once, also the number of items between progress
+     * updates.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    private final int batchSize;
+    private final ProgressUpdater progressUpdater;
+
+    /**
+     * The lock held while adding a batch, to add one at a time without holding the lock of the
+     * state, which would block the threads importing the items until the EDT is done.
+     */
+    private final Object flushLock = new Object();
+
+    private List<HistoryReference> historyRefs = new ArrayList<>();
+    private List<HttpMessage> messages = new ArrayList<>();
+    private StringBuilder output = new StringBuilder();
+    private int count;
+    private int pending;
+    private String lastTask;
+
+    /**
+     * Constructs an {@code ImportBatch} with the default batch size.
+     *
+     * @param progressUpdater the function that updates the progress of the import.
+     */
+    public ImportBatch(ProgressUpdater progressUpdater) {
+        this(DEFAULT_BATCH_SIZE, progressUpdater);
+    }
+
+    /**
+     * Constructs an {@code ImportBatch} with the given batch size.
+     *
+     * @param batchSize the number of items added at once.
+     * @param progressUpdater the function that updates the progress of the import.
+     */
+    public ImportBatch(int batchSize, ProgressUpdater progressUpdater) {
+        this.batchSize = batchSize;
+        this.progressUpdater = progressUpdater;
+    }
+
+    /**
+     * Adds the given message, to be added to the History and Sites tree with the batch.
+     *
+     * @param historyRef the history reference of the persisted message.
+     * @param message the message.
+     */
+    public synchronized void addMessage(HistoryReference historyRef, HttpMessage message) {
+        historyRefs.add(historyRef);
+        messages.add(message);
+    }
+
+    /**
+     * Notifies that an item was imported, adding the batch if full.
+     *
+     * @param task the description of the item, shown as the current task of the import.
+     */
+    public void itemImported(String task) {
+        itemImported(task, null);
+    }
+
+    /**
+     * Notifies that an item was imported, adding the batch if full.
+     *
+     * @param task the description of the item, shown as the current task of the import.
+     * @param outputLine the text to show in the Output panel, might be {@code null}.
+     */
+    public void itemImported(String task, CharSequence outputLine) {
+        Batch batch = null;
+        synchronized (this) {
+            if (outputLine != null) {
+                output.append(outputLine);
+            }
+            lastTask = task;
+            count++;
+            if (++pending >= batchSize) {
+                batch = takeBatch();
+            }
+        }
+        if (batch != null) {
+            add(batch);
+        }
+    }
+
+    /**
+     * Adds the messages and output of the batch, and updates the progress if any item was imported
+     * since the previous update. Should be called once the import finished.
+     */
+    public void flush() {
+        Batch batch;
+        synchronized (this) {
+            batch = takeBatch();
+        }
+        add(batch);
+    }
+
+    /** Takes the current batch, with the lock of the state held. */
+    private Batch takeBatch() {
+        Batch batch =
+                new Batch(historyRefs, messages, output.toString(), pending > 0, count, lastTask);
+        historyRefs = new ArrayList<>();
+        messages = new ArrayList<>();
+        output.setLength(0);
+        pending = 0;
+        return batch;
+    }
+
+    private void add(Batch batch) {
+        synchronized (flushLock) {
+            if (!batch.historyRefs.isEmpty() || !batch.output.isEmpty()) {
+                addAll(batch.historyRefs, batch.messages, batch.output);
+            }
+            if (batch.updateProgress) {
+                progressUpdater.update(batch.count, batch.task);
+            }
+        }
+    }
+
+    private static void addAll(
+            List<HistoryReference> historyRefs, List<HttpMessage> messages, String output) {
+        ExtensionHistory extHistory =
+                Control.getSingleton().getExtensionLoader().getExtension(ExtensionHistory.class);
+        boolean view = View.isInitialised();
+        Runnable addAll =
+                () -> {
+                    if (extHistory != null) {
+                        for (int i = 0; i < historyRefs.size(); i++) {
+                            extHistory.addHistory(historyRefs.get(i));
+                            Model.getSingleton()
+                                    .getSession()
+                                    .getSiteTree()
+                                    .addPath(historyRefs.get(i), messages.get(i));
+                        }
+                    }
+                    if (view && !output.isEmpty()) {
+                        View.getSingleton().getOutputPanel().append(output);
+                    }
+                };
+        if (view) {
+            ThreadUtils.invokeAndWaitHandled(addAll);
+        } else {
+            addAll.run();
+        }
+    }
+
+    private static class Batch {
+        private final List<HistoryReference> historyRefs;
+        private final List<HttpMessage> messages;
+        private final String output;
+        private final boolean updateProgress;
+        private final int count;
+        private final String task;
+
+        Batch(
+                List<HistoryReference> historyRefs,
+                List<HttpMessage> messages,
+                String output,
+                boolean updateProgress,
+                int count,
+                String task) {
+            this.historyRefs = historyRefs;
+            this.messages = messages;
+            this.output = output;
+            this.updateProgress = updateProgress;
+            this.count = count;
+            this.task = task;
+        }
+    }
+
+    /** A function that updates the progress of the import. */
+    @FunctionalInterface
+    public interface ProgressUpdater {
+
+        /**
+         * Updates the progress of the import.
+         *
+         * @param count the number of items imported.
+         * @param task the description of the last item imported.
+         */
+        void update(int count, String task);
+    }
+}
@@ -49,6 +49,7 @@ import org.zaproxy.addon.exim.log.LogsImporter;
 import org.zaproxy.addon.exim.sites.PruneSiteResult;
 import org.zaproxy.addon.exim.sites.SitesTreeHandler;
 import org.zaproxy.addon.exim.urls.UrlsImporter;
+import org.zaproxy.addon.exim.urls.UrlsImporterOptions;
 import org.zaproxy.zap.extension.api.API;
 import org.zaproxy.zap.extension.api.ApiAction;
 import org.zaproxy.zap.extension.api.ApiException;
@@ -74,7 +75,10 @@ public class ImportExportApi extends ApiImplementor {
     private static final String PARAM_FOLLOW_REDIRECTS = "followRedirects";
     private static final String PARAM_IDS = "ids";
     private static final String PARAM_REQUEST = "request";
+    private static final String PARAM_SEND_REQUESTS = "sendRequests";
     private static final String PARAM_START = "start";
+    private static final String PARAM_THREADS = "threads";
+    private static final String PARAM_THREADS_PER_HOST = "threadsPerHost";
 
     private static final String ACTION_IMPORT_HAR = "importHar";
     private static final String ACTION_IMPORT_URLS = "importUrls";
@@ -92,7 +96,11 @@ public class ImportExportApi extends ApiImplementor {
     public ImportExportApi() {
         super();
         this.addApiAction(new ApiAction(ACTION_IMPORT_HAR, new String[] {PARAM_FILE_PATH}));
-        this.addApiAction(new ApiAction(ACTION_IMPORT_URLS, new String[] {PARAM_FILE_PATH}));
+        this.addApiAction(
+                new ApiAction(
+                        ACTION_IMPORT_URLS,
+                        new String[] {PARAM_FILE_PATH},
+                        new String[] {PARAM_THREADS, PARAM_THREADS_PER_HOST, PARAM_SEND_REQUESTS}));
         this.addApiAction(new ApiAction(ACTION_IMPORT_ZAP_LOGS, new String[] {PARAM_FILE_PATH}));
         this.addApiAction(
                 new ApiAction(ACTION_IMPORT_MODSEC2_LOGS, new String[] {PARAM_FILE_PATH}));
@@ -130,7 +138,8 @@ public class ImportExportApi extends ApiImplementor {
                 return handleFileImportResponse(harImporter.isSuccess(), file);
             case ACTION_IMPORT_URLS:
                 file = new File(ApiUtils.getNonEmptyStringParam(params, PARAM_FILE_PATH));
-                UrlsImporter importer = new UrlsImporter(file);
+                UrlsImporter importer =
+                        new UrlsImporter(file, getUrlsImporterOptions(params), null);
                 return handleFileImportResponse(importer.isSuccess(), file);
             case ACTION_IMPORT_ZAP_LOGS:
                 file = new File(ApiUtils.getNonEmptyStringParam(params, PARAM_FILE_PATH));
@@ -164,6 +173,18 @@ public class ImportExportApi extends ApiImplementor {
         }
     }
 
+    private UrlsImporterOptions getUrlsImporterOptions(JSONObject params) throws ApiException {
+        int threads = getParam(params, PARAM_THREADS, 1);
+        if (threads < 1) {
+            throw new ApiException(ApiException.Type.ILLEGAL_PARAMETER, PARAM_THREADS);
+        }
+        return UrlsImporterOptions.builder()
+                .setThreads(threads)
+                .setThreadsPerHost(getParam(params, PARAM_THREADS_PER_HOST, 0))
+                .setSendRequests(getParam(params, PARAM_SEND_REQUESTS, true))
+                .build();
+    }
+
     @Override
     public HttpMessage handleApiOther(HttpMessage msg, String name, JSONObject params)
             throws ApiException {
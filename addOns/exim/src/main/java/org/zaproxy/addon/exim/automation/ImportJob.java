@@ -49,6 +49,7 @@ import org.zaproxy.addon.exim.ImporterType;
 import org.zaproxy.addon.exim.log.LogsImporter;
 import org.zaproxy.addon.exim.urls.UrlExporter;
 import org.zaproxy.addon.exim.urls.UrlsImporter;
+import org.zaproxy.addon.exim.urls.UrlsImporterOptions;
 import org.zaproxy.zap.utils.Stats;
 import org.zaproxy.zap.utils.ThreadUtils;
 
@@ -92,6 +93,13 @@ public class ImportJob extends AutomationJob {
                 this.getName(),
                 null,
                 progress);
+
+        Integer threads = parameters.getThreads();
+        if (threads != null && threads < 1) {
+            progress.error(
+                    Constant.messages.getString(
+                            "exim.automation.import.error.threads", this.getName(), threads));
+        }
     }
 
     @Override
@@ -145,7 +153,8 @@ public class ImportJob extends AutomationJob {
                                                 "exim.options.value.type.modsec2")));
                     }
                 } else if (UrlExporter.ID.equalsIgnoreCase(type)) {
-                    UrlsImporter urlsImporter = new UrlsImporter(file);
+                    UrlsImporter urlsImporter =
+                            new UrlsImporter(file, getUrlsImporterOptions(), null);
                     if (!urlsImporter.isSuccess()) {
                         progress.error(
                                 Constant.messages.getString(
@@ -187,6 +196,20 @@ public class ImportJob extends AutomationJob {
         return getResourceAsString(this.getType() + "-max.yaml");
     }
 
+    private UrlsImporterOptions getUrlsImporterOptions() {
+        UrlsImporterOptions.Builder builder = UrlsImporterOptions.builder();
+        if (parameters.getThreads() != null) {
+            builder.setThreads(parameters.getThreads());
+        }
+        if (parameters.getThreadsPerHost() != null) {
+            builder.setThreadsPerHost(parameters.getThreadsPerHost());
+        }
+        if (parameters.getSendRequests() != null) {
+            builder.setSendRequests(parameters.getSendRequests());
+        }
+        return builder.build();
+    }
+
     private void persistMessage(AutomationProgress progress, HttpMessage message) {
         try {
             HistoryReference historyRef =
@@ -295,5 +318,8 @@ public class ImportJob extends AutomationJob {
     public static class Parameters extends AutomationData {
         private String type;
         private String fileName;
+        private Integer threads;
+        private Integer threadsPerHost;
+        private Boolean sendRequests;
     }
 }
@@ -42,13 +42,17 @@ public class ImportJobDialog extends StandardFieldsDialog {
     private static final String NAME_PARAM = "exim.automation.dialog.name";
     private static final String TYPE_PARAM = "exim.automation.dialog.type";
     private static final String FILE_NAME_PARAM = "exim.automation.dialog.filename";
+    private static final String THREADS_PARAM = "exim.automation.import.dialog.threads";
+    private static final String THREADS_PER_HOST_PARAM =
+            "exim.automation.import.dialog.threadsperhost";
+    private static final String SEND_REQUESTS_PARAM = "exim.automation.import.dialog.sendrequests";
 
     private ImportJob job;
 
     private DefaultComboBoxModel<ImportTypeOption> typeOptionModel;
 
     public ImportJobDialog(ImportJob job) {
-        super(View.getSingleton().getMainFrame(), TITLE, DisplayUtils.getScaledDimension(500, 200));
+        super(View.getSingleton().getMainFrame(), TITLE, DisplayUtils.getScaledDimension(500, 300));
         this.job = job;
 
         this.addTextField(NAME_PARAM, this.job.getData().getName());
@@ -72,6 +76,21 @@ public class ImportJobDialog extends StandardFieldsDialog {
             f = new File(fileName);
         }
         this.addFileSelectField(FILE_NAME_PARAM, f, JFileChooser.FILES_AND_DIRECTORIES, null);
+
+        ImportJob.Parameters params = this.job.getParameters();
+        this.addNumberField(
+                THREADS_PARAM,
+                1,
+                Integer.MAX_VALUE,
+                params.getThreads() != null ? params.getThreads() : 1);
+        this.addNumberField(
+                THREADS_PER_HOST_PARAM,
+                0,
+                Integer.MAX_VALUE,
+                params.getThreadsPerHost() != null ? params.getThreadsPerHost() : 0);
+        this.addCheckBoxField(
+                SEND_REQUESTS_PARAM,
+                params.getSendRequests() == null || params.getSendRequests());
         this.addPadding();
     }
 
@@ -101,6 +120,9 @@ public class ImportJobDialog extends StandardFieldsDialog {
         ImportTypeOption typeOption = (ImportTypeOption) typeOptionModel.getSelectedItem();
         this.job.getParameters().setType(typeOption.id().toLowerCase(Locale.ROOT));
         this.job.getParameters().setFileName(getStringValue(FILE_NAME_PARAM));
+        this.job.getParameters().setThreads(getIntValue(THREADS_PARAM));
+        this.job.getParameters().setThreadsPerHost(getIntValue(THREADS_PER_HOST_PARAM));
+        this.job.getParameters().setSendRequests(getBoolValue(SEND_REQUESTS_PARAM));
         this.job.resetAndSetChanged();
     }
 
@@ -19,12 +19,13 @@
  */
 package org.zaproxy.addon.exim.har;
 
-import de.sstoehr.harreader.HarReader;
-import de.sstoehr.harreader.HarReaderException;
 import de.sstoehr.harreader.model.HarEntry;
 import de.sstoehr.harreader.model.HarEntry.HarEntryBuilder;
 import de.sstoehr.harreader.model.HarLog;
 import java.io.File;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Predicate;
@@ -32,8 +33,6 @@ import org.apache.commons.lang3.Strings;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.Constant;
-import org.parosproxy.paros.control.Control;
-import org.parosproxy.paros.extension.history.ExtensionHistory;
 import org.parosproxy.paros.model.HistoryReference;
 import org.parosproxy.paros.model.Model;
 import org.parosproxy.paros.network.HttpHeader;
@@ -41,8 +40,8 @@ import org.parosproxy.paros.network.HttpMalformedHeaderException;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.ui.ProgressPaneListener;
 import org.zaproxy.addon.exim.ExtensionExim;
+import org.zaproxy.addon.exim.ImportBatch;
 import org.zaproxy.zap.utils.Stats;
-import org.zaproxy.zap.utils.ThreadUtils;
 
 public class HarImporter {
 
@@ -71,8 +70,6 @@ public class HarImporter {
 
     protected static final String STATS_HAR_FILE_ERROR = "import.har.file.errors";
 
-    private static ExtensionHistory extHistory;
-
     private ProgressPaneListener progressListener;
     private boolean success;
 
@@ -80,18 +77,25 @@ public class HarImporter {
         this(file, null);
     }
 
+    /**
+     * Imports the given HAR file, reading the entries one at a time.
+     *
+     * @param file the HAR file.
+     * @param listener the listener of the progress, might be {@code null}.
+     */
     public HarImporter(File file, ProgressPaneListener listener) {
         this.progressListener = listener;
-        HarLog log = null;
-        try {
-            log = new HarReader().readFromFile(file).log();
-            importHarLog(log);
-        } catch (HarReaderException e) {
+        ImportBatch batch = new ImportBatch(this::updateProgress);
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            HarImporterType.readEntries(reader, entry -> importEntry(entry, batch));
+            Stats.incCounter(ExtensionExim.STATS_PREFIX + STATS_HAR_FILE);
+            success = true;
+        } catch (Exception e) {
             LOGGER.warn("Failed to read HAR file: {}\n{}", file.getAbsolutePath(), e.getMessage());
             Stats.incCounter(ExtensionExim.STATS_PREFIX + STATS_HAR_FILE_ERROR);
             success = false;
-            completed();
-            return;
+        } finally {
+            batch.flush();
         }
         completed();
     }
@@ -113,27 +117,32 @@ public class HarImporter {
             return;
         }
 
-        List<HttpMessage> messages = null;
-
+        ImportBatch batch = new ImportBatch(this::updateProgress);
         try {
-            messages = getHttpMessages(log);
-        } catch (HttpMalformedHeaderException e) {
-            LOGGER.warn("Failed to process HAR entries. {}", e.getMessage());
-            LOGGER.debug(e, e);
-            Stats.incCounter(ExtensionExim.STATS_PREFIX + STATS_HAR_FILE_ERROR);
-            completed();
+            for (HarEntry entry : log.entries()) {
+                importEntry(entry, batch);
+            }
+        } finally {
+            batch.flush();
+        }
+    }
+
+    private static void importEntry(HarEntry entry, ImportBatch batch) {
+        HarEntry preProcessedEntry = preProcessHarEntry(entry);
+        if (preProcessedEntry == null) {
             return;
         }
-        int count = 0;
-        for (HttpMessage msg : messages) {
-            if (msg == null) {
-                updateProgress(
-                        ++count, Constant.messages.getString("exim.progress.invalidmessage"));
-                continue;
-            }
-            persistMessage(msg);
-            updateProgress(++count, msg.getRequestHeader().getURI().toString());
+
+        HttpMessage msg = getHttpMessage(preProcessedEntry);
+        if (msg == null) {
+            batch.itemImported(Constant.messages.getString("exim.progress.invalidmessage"));
+            return;
+        }
+        HistoryReference historyRef = persistMessage(msg);
+        if (historyRef != null) {
+            batch.addMessage(historyRef, msg);
         }
+        batch.itemImported(msg.getRequestHeader().getURI().toString());
     }
 
     private static List<HarEntry> preProcessHarEntries(HarLog log) {
@@ -144,6 +153,14 @@ public class HarImporter {
                 .toList();
     }
 
+    private static HarEntry preProcessHarEntry(HarEntry entry) {
+        if (!entryIsNotLocalPrivate(entry)) {
+            return null;
+        }
+        HarEntry correctedEntry = correctHttpVersions(entry);
+        return entryHasUsableHttpVersion(correctedEntry) ? correctedEntry : null;
+    }
+
     private static boolean entryHasUsableHttpVersion(HarEntry entry) {
         if (!containsIgnoreCase(ACCEPTED_VERSIONS, entry.request().httpVersion())
                 || !containsIgnoreCase(ACCEPTED_VERSIONS, entry.response().httpVersion())) {
@@ -177,8 +194,7 @@ public class HarImporter {
         return result;
     }
 
-    private static HttpMessage getHttpMessage(HarEntry harEntry)
-            throws HttpMalformedHeaderException {
+    private static HttpMessage getHttpMessage(HarEntry harEntry) {
         try {
             return HarUtils.createHttpMessage(harEntry);
         } catch (HttpMalformedHeaderException headerEx) {
@@ -251,40 +267,20 @@ public class HarImporter {
         return false;
     }
 
-    private static void persistMessage(HttpMessage message) {
-        HistoryReference historyRef;
-
+    private static HistoryReference persistMessage(HttpMessage message) {
         try {
-            historyRef =
+            HistoryReference historyRef =
                     new HistoryReference(
                             Model.getSingleton().getSession(),
                             HistoryReference.TYPE_ZAP_USER,
                             message);
             Stats.incCounter(ExtensionExim.STATS_PREFIX + STATS_HAR_FILE_MSG);
+            return historyRef;
         } catch (Exception e) {
             LOGGER.warn(e.getMessage());
             Stats.incCounter(ExtensionExim.STATS_PREFIX + STATS_HAR_FILE_MSG_ERROR);
-            return;
-        }
-
-        if (getExtensionHistory() != null) {
-            ThreadUtils.invokeAndWaitHandled(() -> addMessage(historyRef, message));
-        }
-    }
-
-    private static ExtensionHistory getExtensionHistory() {
-        if (extHistory == null) {
-            extHistory =
-                    Control.getSingleton()
-                            .getExtensionLoader()
-                            .getExtension(ExtensionHistory.class);
+            return null;
         }
-        return extHistory;
-    }
-
-    private static void addMessage(HistoryReference historyRef, HttpMessage message) {
-        getExtensionHistory().addHistory(historyRef);
-        Model.getSingleton().getSession().getSiteTree().addPath(historyRef, message);
     }
 
     public boolean isSuccess() {
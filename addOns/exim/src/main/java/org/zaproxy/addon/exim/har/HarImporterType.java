@@ -26,7 +26,6 @@ import java.io.IOException;
 import java.io.Reader;
 import java.util.Objects;
 import org.parosproxy.paros.Constant;
-import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.exim.ImporterOptions.MessageHandler;
 import org.zaproxy.addon.exim.ImporterType;
 
@@ -44,6 +43,45 @@ public class HarImporterType extends ImporterType {
 
     @Override
     public void importData(Reader reader, MessageHandler handler) throws Exception {
+        readEntries(reader, entry -> handler.handle(HarUtils.createHttpMessage(entry)));
+    }
+
+    /**
+     * Reads the entries of the HAR log, one at a time, without reading the whole log into memory.
+     *
+     * @param reader from where to read the HAR log.
+     * @param handler the handler of the entries.
+     * @throws Exception if an error occurred while reading or handling the entries.
+     */
+    static void readEntries(Reader reader, EntryHandler handler) throws Exception {
+        JsonParser parser = createEntriesParser(reader);
+
+        HarEntry entry;
+        while ((entry = parser.readValueAs(HarEntry.class)) != null) {
+            handler.handle(entry);
+        }
+    }
+
+    /**
+     * Counts the entries of the HAR log, without reading them.
+     *
+     * @param reader from where to read the HAR log.
+     * @return the number of entries.
+     * @throws IOException if an error occurred while reading the HAR log.
+     */
+    static int countEntries(Reader reader) throws IOException {
+        JsonParser parser = createEntriesParser(reader);
+
+        int count = 0;
+        while (parser.currentToken() == JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            count++;
+            parser.nextToken();
+        }
+        return count;
+    }
+
+    private static JsonParser createEntriesParser(Reader reader) throws IOException {
         JsonParser parser = HarUtils.JSON_MAPPER.createParser(reader);
 
         validateNextToken(parser, JsonToken.START_OBJECT, null);
@@ -56,12 +94,7 @@ public class HarImporterType extends ImporterType {
 
         validateNextToken(parser, JsonToken.START_ARRAY, ENTRIES_FIELD);
         parser.nextToken();
-
-        HarEntry entry;
-        while ((entry = parser.readValueAs(HarEntry.class)) != null) {
-            HttpMessage message = HarUtils.createHttpMessage(entry);
-            handler.handle(message);
-        }
+        return parser;
     }
 
     private static boolean isNextToken(JsonParser parser, JsonToken wantedToken, String wantedName)
@@ -89,4 +122,16 @@ public class HarImporterType extends ImporterType {
             throw new IOException("Unexpected name " + name + ", expected: " + expectedName);
         }
     }
+
+    /** A handler of the entries of a HAR log. */
+    interface EntryHandler {
+
+        /**
+         * Handles the given entry.
+         *
+         * @param entry the entry.
+         * @throws Exception if an error occurred while handling the entry.
+         */
+        void handle(HarEntry entry) throws Exception;
+    }
 }
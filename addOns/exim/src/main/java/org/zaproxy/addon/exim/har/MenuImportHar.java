@@ -19,10 +19,11 @@
  */
 package org.zaproxy.addon.exim.har;
 
-import de.sstoehr.harreader.HarReader;
-import de.sstoehr.harreader.HarReaderException;
-import de.sstoehr.harreader.model.HarLog;
 import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import javax.swing.JFileChooser;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -64,11 +65,11 @@ public class MenuImportHar extends ZapMenuItem {
                                         this.setName(THREAD_PREFIX + threadId++);
                                         File file = chooser.getSelectedFile();
                                         int tasks = 0;
-                                        HarLog log = null;
-                                        try {
-                                            log = new HarReader().readFromFile(file).log();
-                                            tasks = log.entries().size();
-                                        } catch (HarReaderException e) {
+                                        try (Reader reader =
+                                                Files.newBufferedReader(
+                                                        file.toPath(), StandardCharsets.UTF_8)) {
+                                            tasks = HarImporterType.countEntries(reader);
+                                        } catch (IOException e) {
                                             LOGGER.warn(
                                                     "Failed to read HAR file: {}\n{}",
                                                     file.getAbsolutePath(),
@@ -85,7 +86,7 @@ public class MenuImportHar extends ZapMenuItem {
                                                 .addProgressPane(currentImportPane);
                                         HarImporter harImporter =
                                                 new HarImporter(
-                                                        log,
+                                                        file,
                                                         new ProgressPaneListener(
                                                                 currentImportPane));
                                         if (!harImporter.isSuccess()) {
@@ -0,0 +1,738 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.exim.pcap;
+
+import io.pkts.PacketHandler;
+import io.pkts.buffer.Buffer;
+import io.pkts.packet.Packet;
+import io.pkts.packet.PacketParseException;
+import io.pkts.packet.TCPPacket;
+import io.pkts.protocol.Protocol;
+import io.pkts.streams.impl.TransportStreamId;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.parosproxy.paros.network.HttpHeader;
+import org.parosproxy.paros.network.HttpMalformedHeaderException;
+import org.parosproxy.paros.network.HttpMessage;
+import org.parosproxy.paros.network.HttpRequestHeader;
+import org.parosproxy.paros.network.HttpResponseHeader;
+import org.parosproxy.paros.network.HttpStatusCode;
+import org.zaproxy.addon.exim.ImporterOptions.MessageHandler;
+import org.zaproxy.zap.network.HttpRequestBody;
+import org.zaproxy.zap.network.HttpResponseBody;
+
+/**
+ * Reassembles the HTTP/1.x messages of the TCP connections of a capture, packet by packet.
+ *
+ * <p>The messages are passed to the handler as soon as their response is complete, the data of a
+ * connection is kept only until then. The connections are dropped once closed, idle for longer
+ * than the idle timeout (in capture time), or if their data exceeds the maximum buffer size. Like
+ * before, only the connections that start with an HTTP/1.1 request are considered.
+ *
+ * <p>The segments are ordered by their sequence number, discarding the retransmitted data. Once
+ * the out of order data exceeds the maximum buffer size, or the connection ends, the missing data
+ * is skipped.
+ */
+class HttpStreamReassembler implements PacketHandler {
+
+    private static final Logger LOGGER = LogManager.getLogger(HttpStreamReassembler.class);
+
+    /** The default maximum size of the data buffered per connection direction, 16 MiB. */
+    static final int DEFAULT_MAX_BUFFER_SIZE = 16 * 1024 * 1024;
+
+    /** The default time, in microseconds, after which an idle connection is dropped. */
+    static final long DEFAULT_IDLE_TIMEOUT = TimeUnit.MINUTES.toMicros(5);
+
+    private static final int MAX_HTTP_HEADER_SIZE = 65536; // 64KB
+
+    /** The number of packets between the checks for idle connections. */
+    private static final int IDLE_CHECK_INTERVAL = 1000;
+
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] DOUBLE_CRLF = {'\r', '\n', '\r', '\n'};
+
+    private static final int BODY_CHUNKED = -1;
+    private static final int BODY_UNTIL_CLOSE = -2;
+
+    private static final long SEQUENCE_MASK = 0xFFFFFFFFL;
+
+    private final MessageHandler handler;
+    private final int maxBufferSize;
+    private final long idleTimeout;
+    private final Map<TransportStreamId, Connection> connections = new LinkedHashMap<>();
+    private int packetsSinceIdleCheck;
+
+    HttpStreamReassembler(MessageHandler handler) {
+        this(handler, DEFAULT_MAX_BUFFER_SIZE, DEFAULT_IDLE_TIMEOUT);
+    }
+
+    HttpStreamReassembler(MessageHandler handler, int maxBufferSize, long idleTimeout) {
+        this.handler = handler;
+        this.maxBufferSize = maxBufferSize;
+        this.idleTimeout = idleTimeout;
+    }
+
+    @Override
+    public boolean nextPacket(Packet packet) throws IOException {
+        TCPPacket tcpPacket;
+        try {
+            if (!packet.hasProtocol(Protocol.TCP)) {
+                return true;
+            }
+            tcpPacket = (TCPPacket) packet.getPacket(Protocol.TCP);
+        } catch (PacketParseException e) {
+            LOGGER.debug("Ignoring malformed packet: {}", e.getMessage());
+            return true;
+        }
+        if (tcpPacket == null) {
+            return true;
+        }
+
+        long time = packet.getArrivalTime();
+        processPacket(tcpPacket, time);
+
+        if (++packetsSinceIdleCheck >= IDLE_CHECK_INTERVAL) {
+            packetsSinceIdleCheck = 0;
+            dropIdleConnections(time);
+        }
+        return true;
+    }
+
+    private void processPacket(TCPPacket packet, long time) throws IOException {
+        TransportStreamId id = new TransportStreamId(packet);
+        Connection connection = connections.get(id);
+        boolean fromClient = true;
+        if (connection == null) {
+            TransportStreamId oppositeId = id.oppositeFlowDirection();
+            connection = connections.get(oppositeId);
+            fromClient = false;
+            if (connection == null) {
+                if (packet.isRST()) {
+                    return;
+                }
+                // The client is the one opening the connection, or the first one seen.
+                boolean synAck = packet.isSYN() && packet.isACK();
+                connection = new Connection(synAck ? oppositeId : id);
+                connections.put(connection.id, connection);
+                fromClient = !synAck;
+            }
+        } else if (packet.isSYN() && !packet.isACK() && connection.hasData()) {
+            // The ports were reused for a new connection.
+            connections.remove(id);
+            connection.close();
+            connection = new Connection(id);
+            connections.put(id, connection);
+        }
+
+        connection.lastActivity = time;
+        connection.receive(packet, fromClient);
+        if (connection.isClosed()) {
+            connections.remove(connection.id);
+            connection.close();
+        }
+    }
+
+    private void dropIdleConnections(long time) throws IOException {
+        Iterator<Connection> it = connections.values().iterator();
+        while (it.hasNext()) {
+            Connection connection = it.next();
+            if (time - connection.lastActivity > idleTimeout) {
+                it.remove();
+                connection.close();
+            }
+        }
+    }
+
+    /**
+     * Ends all the connections still open, passing to the handler the remaining messages.
+     *
+     * <p>Should be called once all the packets of the capture were processed.
+     *
+     * @throws IOException if an error occurred while handling the messages.
+     */
+    void finish() throws IOException {
+        Iterator<Connection> it = connections.values().iterator();
+        while (it.hasNext()) {
+            Connection connection = it.next();
+            it.remove();
+            connection.close();
+        }
+    }
+
+    private void handle(HttpMessage message) throws IOException {
+        try {
+            handler.handle(message);
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static boolean isChunked(HttpHeader header) {
+        String transferEncoding = header.getHeader(HttpHeader.TRANSFER_ENCODING);
+        return transferEncoding != null
+                && transferEncoding.toLowerCase(Locale.ROOT).contains("chunked");
+    }
+
+    private static int getRequestBodyLength(HttpRequestHeader header) {
+        if (isChunked(header)) {
+            return BODY_CHUNKED;
+        }
+        return Math.max(header.getContentLength(), 0);
+    }
+
+    private static int getResponseBodyLength(HttpResponseHeader header, String method) {
+        int statusCode = header.getStatusCode();
+        if (HttpRequestHeader.HEAD.equalsIgnoreCase(method)
+                || (statusCode >= 100 && statusCode < 200)
+                || statusCode == 204
+                || statusCode == 304) {
+            return 0;
+        }
+        if (isChunked(header)) {
+            return BODY_CHUNKED;
+        }
+        int contentLength = header.getContentLength();
+        return contentLength >= 0 ? contentLength : BODY_UNTIL_CLOSE;
+    }
+
+    /**
+     * Removes the chunked transfer encoding from the given header, the body is stored decoded.
+     *
+     * @param header the header of the message.
+     * @param body the decoded body.
+     */
+    private static void setDecodedBody(HttpHeader header, byte[] body) {
+        header.setHeader(HttpHeader.TRANSFER_ENCODING, null);
+        header.setContentLength(body.length);
+    }
+
+    /** A TCP connection, with the HTTP messages being reassembled. */
+    private class Connection {
+
+        private final TransportStreamId id;
+        private final Flow requestFlow = new Flow();
+        private final Flow responseFlow = new Flow();
+        private final Deque<HttpMessage> requests = new ArrayDeque<>();
+        private long lastActivity;
+        private boolean http;
+        private boolean ignored;
+        private boolean reset;
+
+        private HttpRequestHeader requestHeader;
+        private int requestBodyLength;
+        private HttpResponseHeader responseHeader;
+        private int responseBodyLength;
+
+        Connection(TransportStreamId id) {
+            this.id = id;
+        }
+
+        boolean hasData() {
+            return requestFlow.dataReceived || responseFlow.dataReceived;
+        }
+
+        boolean isClosed() {
+            return reset || (requestFlow.fin && responseFlow.fin);
+        }
+
+        void receive(TCPPacket packet, boolean fromClient) throws IOException {
+            if (packet.isRST()) {
+                reset = true;
+                return;
+            }
+
+            Flow flow = fromClient ? requestFlow : responseFlow;
+            if (ignored) {
+                flow.fin |= packet.isFIN();
+                return;
+            }
+
+            flow.receive(packet);
+            if (flow.isOverLimit()) {
+                abandon("the data exceeds the maximum buffer size");
+                return;
+            }
+            if (!http && responseFlow.data.size() > MAX_HTTP_HEADER_SIZE) {
+                // The server is not answering a HTTP request.
+                ignore();
+                return;
+            }
+            parseMessages();
+        }
+
+        void close() throws IOException {
+            if (!ignored) {
+                requestFlow.skipMissingData();
+                requestFlow.closed = true;
+                responseFlow.skipMissingData();
+                responseFlow.closed = true;
+                parseMessages();
+                while (!requests.isEmpty()) {
+                    // Not answered, or the response was not captured.
+                    handle(requests.poll());
+                }
+            }
+            ignore();
+        }
+
+        private void parseMessages() throws IOException {
+            try {
+                parseRequests();
+                parseResponses();
+            } catch (HttpMalformedHeaderException e) {
+                if (http) {
+                    abandon(e.getMessage());
+                } else {
+                    ignore();
+                }
+            }
+        }
+
+        private void parseRequests() throws HttpMalformedHeaderException {
+            FlowBuffer data = requestFlow.data;
+            while (!ignored) {
+                if (requestHeader == null) {
+                    String header = readHeader(data);
+                    if (header == null) {
+                        return;
+                    }
+                    requestHeader = new HttpRequestHeader(header);
+                    if (!http) {
+                        // For now, only detects HTTP/1.1 connections.
+                        if (!requestHeader.isHttp11()) {
+                            ignore();
+                            return;
+                        }
+                        http = true;
+                    }
+                    requestBodyLength = getRequestBodyLength(requestHeader);
+                }
+
+                byte[] body = readBody(requestFlow, requestBodyLength);
+                if (body == null) {
+                    return;
+                }
+                if (requestBodyLength == BODY_CHUNKED) {
+                    setDecodedBody(requestHeader, body);
+                }
+                requests.add(new HttpMessage(requestHeader, new HttpRequestBody(body)));
+                requestHeader = null;
+            }
+        }
+
+        private void parseResponses() throws IOException, HttpMalformedHeaderException {
+            FlowBuffer data = responseFlow.data;
+            while (!ignored && !requests.isEmpty()) {
+                if (responseHeader == null) {
+                    String header = readHeader(data);
+                    if (header == null) {
+                        return;
+                    }
+                    responseHeader = new HttpResponseHeader(header);
+                    int statusCode = responseHeader.getStatusCode();
+                    if (statusCode >= 100
+                            && statusCode < 200
+                            && statusCode != HttpStatusCode.SWITCHING_PROTOCOLS) {
+                        // Interim response, the final one follows.
+                        responseHeader = null;
+                        continue;
+                    }
+                    responseBodyLength =
+                            getResponseBodyLength(
+                                    responseHeader, requests.peek().getRequestHeader().getMethod());
+                }
+
+                byte[] body = readBody(responseFlow, responseBodyLength);
+                if (body == null) {
+                    return;
+                }
+                if (responseBodyLength == BODY_CHUNKED) {
+                    setDecodedBody(responseHeader, body);
+                }
+                HttpMessage message = requests.poll();
+                message.setResponseHeader(responseHeader);
+                message.setResponseBody(new HttpResponseBody(body));
+                message.setResponseFromTargetHost(true);
+                boolean switchingProtocols =
+                        responseHeader.getStatusCode() == HttpStatusCode.SWITCHING_PROTOCOLS;
+                responseHeader = null;
+                handle(message);
+
+                if (switchingProtocols) {
+                    // No longer HTTP/1.x.
+                    ignore();
+                }
+            }
+        }
+
+        private String readHeader(FlowBuffer data) throws HttpMalformedHeaderException {
+            while (data.startsWith(CRLF)) {
+                data.skip(CRLF.length);
+            }
+            int end = data.indexOf(DOUBLE_CRLF, 0);
+            if (end == -1) {
+                if (data.size() > MAX_HTTP_HEADER_SIZE) {
+                    throw new HttpMalformedHeaderException("The header exceeds the maximum size.");
+                }
+                return null;
+            }
+            String header = data.readString(end);
+            data.skip(DOUBLE_CRLF.length);
+            return header;
+        }
+
+        private byte[] readBody(Flow flow, int length) throws HttpMalformedHeaderException {
+            FlowBuffer data = flow.data;
+            if (length == BODY_UNTIL_CLOSE) {
+                return flow.closed ? data.read(data.size()) : null;
+            }
+            if (length == BODY_CHUNKED) {
+                int chunkedLength = getChunkedLength(data);
+                if (chunkedLength == -1) {
+                    return flow.closed ? data.read(data.size()) : null;
+                }
+                return decodeChunked(data, chunkedLength);
+            }
+            if (data.size() < length) {
+                return flow.closed ? data.read(data.size()) : null;
+            }
+            return data.read(length);
+        }
+
+        private void abandon(String reason) throws IOException {
+            LOGGER.warn("Stopped reassembling the connection {}, {}.", this, reason);
+            Deque<HttpMessage> pending = new ArrayDeque<>(requests);
+            ignore();
+            for (HttpMessage request : pending) {
+                handle(request);
+            }
+        }
+
+        private void ignore() {
+            ignored = true;
+            requests.clear();
+            requestHeader = null;
+            responseHeader = null;
+            requestFlow.discard();
+            responseFlow.discard();
+        }
+
+        @Override
+        public String toString() {
+            return id.getSourceAddress()
+                    + ":"
+                    + id.getSourcePort()
+                    + " -> "
+                    + id.getDestinationAddress()
+                    + ":"
+                    + id.getDestinationPort();
+        }
+    }
+
+    /**
+     * Gets the length of the chunked body at the start of the given data.
+     *
+     * @param data the data.
+     * @return the length of the chunked body, or -1 if not yet complete.
+     * @throws HttpMalformedHeaderException if the chunk size is not valid.
+     */
+    private int getChunkedLength(FlowBuffer data) throws HttpMalformedHeaderException {
+        int pos = 0;
+        while (true) {
+            int lineEnd = data.indexOf(CRLF, pos);
+            if (lineEnd == -1) {
+                return -1;
+            }
+            int chunkSize = parseChunkSize(data, pos, lineEnd);
+            pos = lineEnd + CRLF.length;
+            if (chunkSize == 0) {
+                // The trailer, if any, ends with an empty line.
+                while (true) {
+                    lineEnd = data.indexOf(CRLF, pos);
+                    if (lineEnd == -1) {
+                        return -1;
+                    }
+                    boolean emptyLine = lineEnd == pos;
+                    pos = lineEnd + CRLF.length;
+                    if (emptyLine) {
+                        return pos;
+                    }
+                }
+            }
+            if ((long) pos + chunkSize + CRLF.length > data.size()) {
+                return -1;
+            }
+            pos += chunkSize + CRLF.length;
+        }
+    }
+
+    private int parseChunkSize(FlowBuffer data, int start, int end)
+            throws HttpMalformedHeaderException {
+        long chunkSize = 0;
+        int digits = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(data.get(i), 16);
+            if (digit == -1) {
+                break;
+            }
+            chunkSize = chunkSize * 16 + digit;
+            digits++;
+            if (chunkSize > maxBufferSize) {
+                throw new HttpMalformedHeaderException("The chunk exceeds the maximum size.");
+            }
+        }
+        if (digits == 0) {
+            throw new HttpMalformedHeaderException("Invalid chunk size.");
+        }
+        return (int) chunkSize;
+    }
+
+    private static byte[] decodeChunked(FlowBuffer data, int length)
+            throws HttpMalformedHeaderException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        int pos = 0;
+        while (true) {
+            int lineEnd = data.indexOf(CRLF, pos);
+            int chunkSize = 0;
+            for (int i = pos; i < lineEnd; i++) {
+                int digit = Character.digit(data.get(i), 16);
+                if (digit == -1) {
+                    break;
+                }
+                chunkSize = chunkSize * 16 + digit;
+            }
+            pos = lineEnd + CRLF.length;
+            if (chunkSize == 0) {
+                break;
+            }
+            data.copyTo(body, pos, chunkSize);
+            pos += chunkSize + CRLF.length;
+        }
+        data.skip(length);
+        return body.toByteArray();
+    }
+
+    /** A direction of a TCP connection. */
+    private class Flow {
+
+        private final FlowBuffer data = new FlowBuffer();
+        private final Map<Long, byte[]> outOfOrder = new HashMap<>();
+        private int outOfOrderSize;
+        private long nextSequence = -1;
+        private boolean dataReceived;
+        private boolean fin;
+        private boolean closed;
+
+        void receive(TCPPacket packet) {
+            long sequence = packet.getSequenceNumber();
+            if (packet.isSYN()) {
+                sequence = (sequence + 1) & SEQUENCE_MASK;
+                nextSequence = sequence;
+            }
+
+            Buffer payload = packet.getPayload();
+            if (payload != null && !payload.isEmpty()) {
+                add(sequence, payload.getArray());
+            }
+
+            fin |= packet.isFIN();
+            closed = fin && outOfOrder.isEmpty();
+        }
+
+        private void add(long sequence, byte[] segment) {
+            dataReceived = true;
+            if (nextSequence == -1) {
+                nextSequence = sequence;
+            }
+
+            int distance = (int) (sequence - nextSequence);
+            if (distance > 0) {
+                if (outOfOrder.putIfAbsent(sequence, segment) == null) {
+                    outOfOrderSize += segment.length;
+                }
+                if (outOfOrderSize > maxBufferSize) {
+                    skipMissingData();
+                }
+                return;
+            }
+
+            append(segment, -distance);
+            appendOutOfOrder();
+        }
+
+        private void append(byte[] segment, int offset) {
+            if (offset >= segment.length) {
+                // Retransmitted.
+                return;
+            }
+            data.append(segment, offset, segment.length - offset);
+            nextSequence = (nextSequence + segment.length - offset) & SEQUENCE_MASK;
+        }
+
+        private void appendOutOfOrder() {
+            boolean appended = true;
+            while (appended && !outOfOrder.isEmpty()) {
+                appended = false;
+                Iterator<Map.Entry<Long, byte[]>> it = outOfOrder.entrySet().iterator();
+                while (it.hasNext()) {
+                    Map.Entry<Long, byte[]> entry = it.next();
+                    int distance = (int) (entry.getKey() - nextSequence);
+                    if (distance <= 0) {
+                        it.remove();
+                        outOfOrderSize -= entry.getValue().length;
+                        append(entry.getValue(), -distance);
+                        appended = true;
+                    }
+                }
+            }
+        }
+
+        /** Skips the data that is missing, appending the out of order data that follows. */
+        void skipMissingData() {
+            while (!outOfOrder.isEmpty()) {
+                long closest = -1;
+                int closestDistance = Integer.MAX_VALUE;
+                for (long sequence : outOfOrder.keySet()) {
+                    int distance = (int) (sequence - nextSequence);
+                    if (distance < closestDistance) {
+                        closestDistance = distance;
+                        closest = sequence;
+                    }
+                }
+                nextSequence = closest;
+                appendOutOfOrder();
+            }
+            closed = fin;
+        }
+
+        boolean isOverLimit() {
+            return data.size() > maxBufferSize;
+        }
+
+        void discard() {
+            data.clear();
+            outOfOrder.clear();
+            outOfOrderSize = 0;
+        }
+    }
+
+    /** A growable buffer of the data of a flow, consumed from the start. */
+    private static class FlowBuffer {
+
+        private static final byte[] EMPTY = {};
+
+        private byte[] buffer = EMPTY;
+        private int start;
+        private int end;
+
+        int size() {
+            return end - start;
+        }
+
+        byte get(int index) {
+            return buffer[start + index];
+        }
+
+        void append(byte[] src, int offset, int length) {
+            if (end + length > buffer.length) {
+                int size = size();
+                byte[] dest = buffer;
+                if (size + length > buffer.length) {
+                    dest = new byte[Math.max(Math.max(buffer.length * 2, size + length), 4096)];
+                }
+                System.arraycopy(buffer, start, dest, 0, size);
+                buffer = dest;
+                start = 0;
+                end = size;
+            }
+            System.arraycopy(src, offset, buffer, end, length);
+            end += length;
+        }
+
+        boolean startsWith(byte[] prefix) {
+            if (size() < prefix.length) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length; i++) {
+                if (buffer[start + i] != prefix[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int indexOf(byte[] target, int from) {
+            outer:
+            for (int i = start + from; i <= end - target.length; i++) {
+                for (int j = 0; j < target.length; j++) {
+                    if (buffer[i + j] != target[j]) {
+                        continue outer;
+                    }
+                }
+                return i - start;
+            }
+            return -1;
+        }
+
+        String readString(int length) {
+            String value = new String(buffer, start, length, StandardCharsets.ISO_8859_1);
+            skip(length);
+            return value;
+        }
+
+        byte[] read(int length) {
+            byte[] value = Arrays.copyOfRange(buffer, start, start + length);
+            skip(length);
+            return value;
+        }
+
+        void copyTo(ByteArrayOutputStream out, int from, int length) {
+            out.write(buffer, start + from, length);
+        }
+
+        void skip(int length) {
+            start += length;
+            if (start == end) {
+                start = 0;
+                end = 0;
+            }
+        }
+
+        void clear() {
+            buffer = EMPTY;
+            start = 0;
+            end = 0;
+        }
+    }
+}
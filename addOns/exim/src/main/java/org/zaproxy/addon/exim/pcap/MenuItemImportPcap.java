@@ -34,6 +34,9 @@ import org.zaproxy.zap.view.ZapMenuItem;
 
 public class MenuItemImportPcap extends ZapMenuItem {
     private static final long serialVersionUID = 9111279126644588074L;
+    private static final String THREAD_PREFIX = "ZAP-Exim-Import-Pcap-";
+
+    private int threadId = 1;
 
     public MenuItemImportPcap() {
         super("exim.import.pcap.topmenu.import");
@@ -64,7 +67,14 @@ public class MenuItemImportPcap extends ZapMenuItem {
                         ProgressPane currentImportPane =
                                 new ProgressPane(newFile.getAbsolutePath(), true);
                         ExtensionExim.getProgressPanel().addProgressPane(currentImportPane);
-                        new PcapImporter(newFile, new ProgressPaneListener(currentImportPane));
+                        new Thread(
+                                        () ->
+                                                new PcapImporter(
+                                                        newFile,
+                                                        new ProgressPaneListener(
+                                                                currentImportPane)),
+                                        THREAD_PREFIX + threadId++)
+                                .start();
                     }
                 });
     }
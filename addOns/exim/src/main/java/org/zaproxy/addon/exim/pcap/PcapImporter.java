@@ -25,20 +25,22 @@ import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.Constant;
-import org.parosproxy.paros.control.Control;
-import org.parosproxy.paros.extension.history.ExtensionHistory;
 import org.parosproxy.paros.model.HistoryReference;
 import org.parosproxy.paros.model.Model;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.ui.ProgressPaneListener;
-import org.zaproxy.zap.utils.ThreadUtils;
+import org.zaproxy.addon.exim.ImportBatch;
 
+/**
+ * Imports the HTTP messages of a capture file.
+ *
+ * <p>The number of messages is not known until the whole capture is read, so the progress only
+ * shows the current message, the progress pane should be indeterminate.
+ */
 public class PcapImporter {
 
     private static final Logger LOGGER = LogManager.getLogger(PcapImporter.class);
 
-    private static ExtensionHistory extHistory;
-
     private ProgressPaneListener progressListener;
     private boolean success;
 
@@ -52,29 +54,24 @@ public class PcapImporter {
     }
 
     private void importPcapFile(File file) {
-        List<HttpMessage> messages = null;
-
+        ImportBatch batch = new ImportBatch(this::updateProgress);
         try {
-            messages = getHttpMessages(file);
+            PcapUtils.extractHttpMessages(
+                    file,
+                    msg -> {
+                        HistoryReference historyRef = persistMessage(msg);
+                        if (historyRef != null) {
+                            batch.addMessage(historyRef, msg);
+                        }
+                        batch.itemImported(msg.getRequestHeader().getURI().toString());
+                    });
+            success = true;
         } catch (IOException e) {
             LOGGER.warn("Failed to read Pcap file: {}\n{}", file.getAbsolutePath(), e.getMessage());
             success = false;
-            completed();
-            return;
+        } finally {
+            batch.flush();
         }
-
-        progressListener.setTotalTasks(messages.size());
-        int count = 0;
-        for (HttpMessage msg : messages) {
-            if (msg == null) {
-                updateProgress(
-                        ++count, Constant.messages.getString("exim.progress.invalidmessage"));
-                continue;
-            }
-            persistMessage(msg);
-            updateProgress(++count, msg.getRequestHeader().getURI().toString());
-        }
-        success = true;
         completed();
     }
 
@@ -82,38 +79,14 @@ public class PcapImporter {
         return PcapUtils.extractHttpMessages(pcapFile);
     }
 
-    private static void persistMessage(HttpMessage message) {
-        HistoryReference historyRef;
-
+    private static HistoryReference persistMessage(HttpMessage message) {
         try {
-            historyRef =
-                    new HistoryReference(
-                            Model.getSingleton().getSession(),
-                            HistoryReference.TYPE_ZAP_USER,
-                            message);
+            return new HistoryReference(
+                    Model.getSingleton().getSession(), HistoryReference.TYPE_ZAP_USER, message);
         } catch (Exception e) {
             LOGGER.warn(e.getMessage());
-            return;
+            return null;
         }
-
-        if (getExtensionHistory() != null) {
-            ThreadUtils.invokeAndWaitHandled(() -> addMessage(historyRef, message));
-        }
-    }
-
-    private static ExtensionHistory getExtensionHistory() {
-        if (extHistory == null) {
-            extHistory =
-                    Control.getSingleton()
-                            .getExtensionLoader()
-                            .getExtension(ExtensionHistory.class);
-        }
-        return extHistory;
-    }
-
-    private static void addMessage(HistoryReference historyRef, HttpMessage message) {
-        getExtensionHistory().addHistory(historyRef);
-        Model.getSingleton().getSession().getSiteTree().addPath(historyRef, message);
     }
 
     public boolean isSuccess() {
@@ -122,7 +95,6 @@ public class PcapImporter {
 
     private void updateProgress(int count, String line) {
         if (progressListener != null) {
-            progressListener.setTasksDone(count);
             progressListener.setCurrentTask(
                     Constant.messages.getString("exim.progress.currentimport", line));
         }
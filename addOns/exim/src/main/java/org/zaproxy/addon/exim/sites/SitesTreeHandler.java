@@ -21,12 +21,10 @@ package org.zaproxy.addon.exim.sites;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.databind.SerializerProvider;
-import com.fasterxml.jackson.databind.module.SimpleModule;
-import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
 import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
 import java.io.BufferedWriter;
@@ -39,14 +37,16 @@ import java.io.Writer;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.Enumeration;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Spliterator;
-import java.util.Spliterators;
-import java.util.stream.StreamSupport;
+import java.util.Map;
+import java.util.function.Function;
 import javax.swing.tree.TreeNode;
 import org.apache.commons.httpclient.URI;
 import org.apache.commons.httpclient.URIException;
@@ -65,8 +65,6 @@ import org.parosproxy.paros.network.HttpHeader;
 import org.parosproxy.paros.network.HttpMalformedHeaderException;
 import org.parosproxy.paros.network.HttpMessage;
 import org.parosproxy.paros.network.HttpRequestHeader;
-import org.yaml.snakeyaml.LoaderOptions;
-import org.yaml.snakeyaml.Yaml;
 import org.zaproxy.addon.exim.ExporterOptions;
 import org.zaproxy.addon.exim.ExporterResult;
 import org.zaproxy.addon.exim.ExtensionExim;
@@ -88,7 +86,6 @@ public class SitesTreeHandler {
                     + HttpHeader.CRLF;
 
     private static final ObjectMapper YAML_MAPPER;
-    private static final Yaml YAML_PARSER;
 
     static {
         YAML_MAPPER =
@@ -102,8 +99,6 @@ public class SitesTreeHandler {
                                         JsonInclude.Include.NON_NULL, JsonInclude.Include.NON_NULL))
                         .enable(SerializationFeature.INDENT_OUTPUT)
                         .build();
-
-        YAML_PARSER = new Yaml(new LoaderOptions());
     }
 
     public static void exportSitesTree(File file, ExporterResult result) throws IOException {
@@ -129,15 +124,9 @@ public class SitesTreeHandler {
     public static void exportSitesTree(
             Writer fw, SiteMap sites, ExporterResult result, ExporterOptions options)
             throws IOException {
-        try (BufferedWriter bw = new BufferedWriter(fw)) {
-            YAML_MAPPER
-                    .copy()
-                    .registerModule(
-                            new SimpleModule()
-                                    .addSerializer(
-                                            SiteNode.class,
-                                            new SiteNodeSerializer(options, result)))
-                    .writeValue(bw, List.of(sites.getRoot()));
+        try (BufferedWriter bw = new BufferedWriter(fw);
+                JsonGenerator gen = YAML_MAPPER.writer().createGenerator(bw)) {
+            new SitesTreeWriter(gen, options, result).write(sites.getRoot());
         }
     }
 
@@ -148,33 +137,14 @@ public class SitesTreeHandler {
         }
         node.getChildren().forEach(child -> pruneSiteNodes(child, result, siteMap));
 
+        pruneSiteNode(node, null, result, siteMap);
+    }
+
+    private static void pruneSiteNode(
+            EximSiteNode node, SiteNode match, PruneSiteResult result, SiteMap siteMap) {
         try {
             if (node.getUrl() != null) {
-                URI uri = new URI(node.getUrl(), true);
-                SiteNode sn;
-                if (node.getNode().contains("(multipart:")
-                        && StringUtils.isNotBlank(node.getData())) {
-                    // Indicates this request used a multipart form POST
-                    HttpMessage msg = new HttpMessage(uri);
-                    msg.getRequestHeader().setMethod(node.getMethod());
-                    msg.getRequestHeader()
-                            .setHeader(
-                                    HttpHeader.CONTENT_TYPE,
-                                    HttpHeader.FORM_MULTIPART_CONTENT_TYPE + "; boundary=----1234");
-                    StringBuilder sb = new StringBuilder();
-                    Arrays.stream(node.getData().split("&"))
-                            .forEach(
-                                    e ->
-                                            sb.append(
-                                                    MULTIPART_ENTRY.formatted(
-                                                            URLDecoder.decode(
-                                                                    e, StandardCharsets.UTF_8))));
-                    sb.append(HttpHeader.CRLF).append("----boundary1234--").append(HttpHeader.CRLF);
-                    msg.setRequestBody(sb.toString());
-                    sn = siteMap.findNode(msg);
-                } else {
-                    sn = siteMap.findNode(uri, node.getMethod(), node.getData());
-                }
+                SiteNode sn = match != null ? match : findNode(node, siteMap);
                 if (sn != null && sn.getChildCount() == 0) {
                     siteMap.removeNodeFromParent(sn);
                     result.incDeletedNodes();
@@ -199,6 +169,33 @@ public class SitesTreeHandler {
         }
     }
 
+    private static SiteNode findNode(EximSiteNode node, SiteMap siteMap)
+            throws URIException, HttpMalformedHeaderException {
+        URI uri = new URI(node.getUrl(), true);
+        if (node.getNode() != null
+                && node.getNode().contains("(multipart:")
+                && StringUtils.isNotBlank(node.getData())) {
+            // Indicates this request used a multipart form POST
+            HttpMessage msg = new HttpMessage(uri);
+            msg.getRequestHeader().setMethod(node.getMethod());
+            msg.getRequestHeader()
+                    .setHeader(
+                            HttpHeader.CONTENT_TYPE,
+                            HttpHeader.FORM_MULTIPART_CONTENT_TYPE + "; boundary=----1234");
+            StringBuilder sb = new StringBuilder();
+            Arrays.stream(node.getData().split("&"))
+                    .forEach(
+                            e ->
+                                    sb.append(
+                                            MULTIPART_ENTRY.formatted(
+                                                    URLDecoder.decode(e, StandardCharsets.UTF_8))));
+            sb.append(HttpHeader.CRLF).append("----boundary1234--").append(HttpHeader.CRLF);
+            msg.setRequestBody(sb.toString());
+            return siteMap.findNode(msg);
+        }
+        return siteMap.findNode(uri, node.getMethod(), node.getData());
+    }
+
     public static PruneSiteResult pruneSiteNodes(File file) {
         try (FileInputStream is = new FileInputStream(file)) {
             return pruneSiteNodes(is, Model.getSingleton().getSession().getSiteTree());
@@ -214,53 +211,185 @@ public class SitesTreeHandler {
 
     protected static PruneSiteResult pruneSiteNodes(InputStream is, SiteMap siteMap) {
         PruneSiteResult res = new PruneSiteResult();
-        Object obj = YAML_PARSER.load(is);
-        if (obj instanceof ArrayList<?> list) {
-            EximSiteNode rootNode = new EximSiteNode((LinkedHashMap<?, ?>) list.get(0));
-            pruneSiteNodes(rootNode, res, siteMap);
-        } else {
-            LOGGER.warn("Unexpected root node in yaml");
-            res.setError(Constant.messages.getString("exim.sites.error.prune.badformat"));
+        try (JsonParser parser = YAML_MAPPER.createParser(is)) {
+            if (parser.nextToken() == JsonToken.START_ARRAY
+                    && parser.nextToken() == JsonToken.START_OBJECT) {
+                new SitesTreePruner(parser, siteMap, res).prune();
+            } else {
+                LOGGER.warn("Unexpected root node in yaml");
+                res.setError(Constant.messages.getString("exim.sites.error.prune.badformat"));
+            }
+        } catch (IOException e) {
+            LOGGER.error(e.getMessage(), e);
+            res.setError(
+                    Constant.messages.getString(
+                            "exim.sites.error.prune.exception", e.getMessage()));
         }
         return res;
     }
 
-    @SuppressWarnings("serial")
-    private static class SiteNodeSerializer extends StdSerializer<SiteNode> {
+    /**
+     * Prunes the nodes as they are read, children first, without loading the whole file.
+     *
+     * <p>The nodes read are matched by name against the children of the node matched for their
+     * parent, indexed once per parent, falling back to find them by URL if not matched.
+     */
+    private static class SitesTreePruner {
+
+        private final JsonParser parser;
+        private final SiteMap siteMap;
+        private final PruneSiteResult result;
+
+        SitesTreePruner(JsonParser parser, SiteMap siteMap, PruneSiteResult result) {
+            this.parser = parser;
+            this.siteMap = siteMap;
+            this.result = result;
+        }
 
-        private static final long serialVersionUID = 1L;
+        void prune() throws IOException {
+            pruneNode(name -> siteMap.getRoot());
+        }
 
-        private Context context;
-        private ExporterResult result;
+        private void pruneNode(Function<String, SiteNode> matcher) throws IOException {
+            EximSiteNode node = new EximSiteNode();
+            SiteNode match = null;
+            boolean matched = false;
+            for (JsonToken token = parser.nextToken();
+                    token == JsonToken.FIELD_NAME;
+                    token = parser.nextToken()) {
+                String key = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (key) {
+                    case EximSiteNode.NODE_KEY:
+                        node.setNode(getString(value));
+                        break;
+                    case EximSiteNode.URL_KEY:
+                        node.setUrl(getString(value));
+                        break;
+                    case EximSiteNode.METHOD_KEY:
+                        node.setMethod(getString(value));
+                        break;
+                    case EximSiteNode.DATA_KEY:
+                        node.setData(getString(value));
+                        break;
+                    case EximSiteNode.CHILDREN_KEY:
+                        if (value != JsonToken.START_ARRAY) {
+                            parser.skipChildren();
+                            break;
+                        }
+                        if (!matched) {
+                            match = matcher.apply(node.getNode());
+                            matched = true;
+                        }
+                        Map<String, SiteNode> children = indexChildren(match);
+                        for (JsonToken child = parser.nextToken();
+                                child != null && child != JsonToken.END_ARRAY;
+                                child = parser.nextToken()) {
+                            if (child == JsonToken.START_OBJECT) {
+                                pruneNode(children::get);
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
 
-        public SiteNodeSerializer(ExporterOptions options, ExporterResult result) {
-            super(SiteNode.class);
+            if (!EximSiteNode.ROOT_NODE_NAME.equals(node.getNode())) {
+                result.incReadNodes();
+            }
+            if (!matched) {
+                match = matcher.apply(node.getNode());
+            }
+            if (match != null && match.isRoot()) {
+                // Matched just to index its children
+                match = null;
+            }
+            pruneSiteNode(node, match, result, siteMap);
+        }
+
+        private String getString(JsonToken token) throws IOException {
+            return token == JsonToken.VALUE_STRING ? parser.getText() : null;
+        }
 
+        private static Map<String, SiteNode> indexChildren(SiteNode node) {
+            if (node == null) {
+                return Collections.emptyMap();
+            }
+            Map<String, SiteNode> children = new HashMap<>();
+            for (Enumeration<TreeNode> e = node.children(); e.hasMoreElements(); ) {
+                SiteNode child = (SiteNode) e.nextElement();
+                children.putIfAbsent(child.toString(), child);
+            }
+            return children;
+        }
+    }
+
+    /**
+     * Writes the nodes walking the tree depth-first, without recursion.
+     *
+     * <p>The nodes not in scope are written only once a descendant in scope is found, which avoids
+     * checking the whole subtree of each node.
+     */
+    private static class SitesTreeWriter {
+
+        private final JsonGenerator gen;
+        private final Context context;
+        private final ExporterResult result;
+
+        SitesTreeWriter(JsonGenerator gen, ExporterOptions options, ExporterResult result) {
+            this.gen = gen;
             this.context = options != null ? options.getContext() : null;
             this.result = result;
         }
 
-        @Override
-        public void serialize(SiteNode value, JsonGenerator gen, SerializerProvider provider)
-                throws IOException, JsonProcessingException {
-            boolean inScope = isInScope(value);
-            boolean anyChildInScope = isAnyChildInScope(value);
-            if (!inScope && !anyChildInScope) {
-                return;
-            }
+        void write(SiteNode root) throws IOException {
+            gen.writeStartArray();
+
+            Deque<Frame> path = new ArrayDeque<>();
+            path.push(new Frame(root, true));
+            writePending(path);
+            while (!path.isEmpty()) {
+                Frame frame = path.peek();
+                if (frame.children.hasMoreElements()) {
+                    SiteNode child = (SiteNode) frame.children.nextElement();
+                    boolean inScope = isInScope(child);
+                    path.push(new Frame(child, inScope));
+                    if (inScope) {
+                        writePending(path);
+                    }
+                    continue;
+                }
 
-            gen.writeStartObject();
+                path.pop();
+                if (frame.written) {
+                    if (frame.childrenStarted) {
+                        gen.writeEndArray();
+                    }
+                    gen.writeEndObject();
+                }
+            }
 
-            writeNodeData(inScope, value, gen);
+            gen.writeEndArray();
+        }
 
-            if (value.getChildCount() > 0 && anyChildInScope) {
-                gen.writeArrayFieldStart(EximSiteNode.CHILDREN_KEY);
-                for (Enumeration<TreeNode> e = value.children(); e.hasMoreElements(); ) {
-                    gen.writeObject(e.nextElement());
+        private void writePending(Deque<Frame> path) throws IOException {
+            Frame parent = null;
+            for (Iterator<Frame> it = path.descendingIterator(); it.hasNext(); ) {
+                Frame frame = it.next();
+                if (!frame.written) {
+                    if (parent != null && !parent.childrenStarted) {
+                        gen.writeArrayFieldStart(EximSiteNode.CHILDREN_KEY);
+                        parent.childrenStarted = true;
+                    }
+                    gen.writeStartObject();
+                    writeNodeData(frame.inScope, frame.node, gen);
+                    frame.written = true;
                 }
-                gen.writeEndArray();
+                parent = frame;
             }
-            gen.writeEndObject();
         }
 
         private void writeNodeData(boolean inScope, SiteNode value, JsonGenerator gen)
@@ -342,20 +471,6 @@ public class SitesTreeHandler {
             return context.isInContext(value);
         }
 
-        private boolean isAnyChildInScope(SiteNode value) {
-            if (context == null) {
-                return true;
-            }
-
-            return StreamSupport.stream(
-                            Spliterators.spliteratorUnknownSize(
-                                    value.depthFirstEnumeration().asIterator(),
-                                    Spliterator.ORDERED),
-                            false)
-                    .map(SiteNode.class::cast)
-                    .anyMatch(this::isInScope);
-        }
-
         private static boolean isRelevantMultipartParam(int type) {
             return type
                             == org.parosproxy.paros.core.scanner.NameValuePair
@@ -364,5 +479,20 @@ public class SitesTreeHandler {
                             == org.parosproxy.paros.core.scanner.NameValuePair
                                     .TYPE_MULTIPART_DATA_PARAM;
         }
+
+        private static class Frame {
+
+            private final SiteNode node;
+            private final boolean inScope;
+            private final Enumeration<TreeNode> children;
+            private boolean written;
+            private boolean childrenStarted;
+
+            Frame(SiteNode node, boolean inScope) {
+                this.node = node;
+                this.inScope = inScope;
+                this.children = node.children();
+            }
+        }
     }
 }
@@ -19,24 +19,31 @@
  */
 package org.zaproxy.addon.exim.urls;
 
-import java.awt.EventQueue;
 import java.io.BufferedReader;
 import java.io.File;
 import java.nio.file.Files;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.commons.httpclient.URI;
+import org.apache.commons.httpclient.URIException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.Constant;
-import org.parosproxy.paros.control.Control;
-import org.parosproxy.paros.extension.history.ExtensionHistory;
 import org.parosproxy.paros.model.HistoryReference;
 import org.parosproxy.paros.model.Model;
 import org.parosproxy.paros.network.HttpMessage;
 import org.parosproxy.paros.network.HttpRequestHeader;
 import org.parosproxy.paros.network.HttpSender;
-import org.parosproxy.paros.view.View;
 import org.zaproxy.addon.commonlib.ui.ProgressPaneListener;
 import org.zaproxy.addon.exim.ExtensionExim;
+import org.zaproxy.addon.exim.ImportBatch;
 import org.zaproxy.zap.utils.Stats;
 
 public class UrlsImporter {
@@ -47,6 +54,11 @@ public class UrlsImporter {
     private static final String STATS_URL_FILE_URL = "import.url.file.url";
     private static final String STATS_URL_FILE_URL_ERROR = "import.url.file.url.errors";
 
+    private static final String THREAD_PREFIX = "ZAP-Exim-Import-Urls-Worker-";
+
+    private final UrlsImporterOptions options;
+    private final Map<String, Semaphore> hostSlots = new ConcurrentHashMap<>();
+    private final ImportBatch batch = new ImportBatch(this::updateProgress);
     private HttpSender sender;
     private ProgressPaneListener progressListener;
     private boolean success;
@@ -56,6 +68,20 @@ public class UrlsImporter {
     }
 
     public UrlsImporter(File file, ProgressPaneListener listener) {
+        this(file, UrlsImporterOptions.DEFAULT, listener);
+    }
+
+    /**
+     * Imports the URLs of the given file, with the given options.
+     *
+     * @param file the file with the URLs, one per line.
+     * @param options the options of the import.
+     * @param listener the listener of the progress, might be {@code null}.
+     * @throws NullPointerException if the options are {@code null}.
+     * @since 0.20.0
+     */
+    public UrlsImporter(File file, UrlsImporterOptions options, ProgressPaneListener listener) {
+        this.options = Objects.requireNonNull(options);
         this.progressListener = listener;
         importUrlFile(file);
         completed();
@@ -73,44 +99,141 @@ public class UrlsImporter {
             success = false;
             return;
         }
+        if (options.isSendRequests()) {
+            // Created before the workers start, the sender is then shared by all of them.
+            getSender();
+        }
+        int threads = options.getThreads();
+        ExecutorService executor = threads > 1 ? createExecutor(threads) : null;
+        Semaphore slots = new Semaphore(threads);
         try (BufferedReader in = Files.newBufferedReader(file.toPath())) {
             Stats.incCounter(ExtensionExim.STATS_PREFIX + STATS_URL_FILE);
             ExtensionExim.updateOutput("exim.output.start", file.toPath().toString());
 
-            int count = 1;
             String line;
             while ((line = in.readLine()) != null) {
                 if (!line.startsWith("#") && line.trim().length() > 0) {
-                    updateProgress(count, line);
-                    processLine(line);
-                    count++;
+                    if (executor == null) {
+                        processLine(line);
+                    } else {
+                        submitLine(executor, slots, line);
+                    }
                 }
             }
+            // Wait for the URLs still being imported.
+            slots.acquire(threads);
+            batch.flush();
             ExtensionExim.updateOutput("exim.output.end", file.toPath().toString());
         } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
             LOGGER.warn(
                     Constant.messages.getString(
                             ExtensionExim.EXIM_OUTPUT_ERROR, file.getAbsoluteFile()));
             Stats.incCounter(ExtensionExim.STATS_PREFIX + STATS_URL_FILE_ERROR);
+            // Wait for the workers to finish, they might still be adding to the batch.
+            stopWorkers(executor);
+            batch.flush();
             ExtensionExim.updateOutput(ExtensionExim.EXIM_OUTPUT_ERROR, file.toPath().toString());
             success = false;
             return;
+        } finally {
+            stopWorkers(executor);
         }
         success = true;
     }
 
+    /**
+     * Submits the given line to the workers, once there's a slot for its host, if the requests
+     * per host are limited, and then a free worker. The slot of the host is acquired first to not
+     * hold a worker while waiting for it.
+     */
+    private void submitLine(ExecutorService executor, Semaphore slots, String line)
+            throws InterruptedException {
+        Semaphore hostSlot = getHostSlot(line);
+        if (hostSlot != null) {
+            hostSlot.acquire();
+        }
+        try {
+            slots.acquire();
+        } catch (InterruptedException e) {
+            if (hostSlot != null) {
+                hostSlot.release();
+            }
+            throw e;
+        }
+        executor.execute(
+                () -> {
+                    try {
+                        processLine(line);
+                    } finally {
+                        slots.release();
+                        if (hostSlot != null) {
+                            hostSlot.release();
+                        }
+                    }
+                });
+    }
+
+    private Semaphore getHostSlot(String line) {
+        int threadsPerHost = options.getThreadsPerHost();
+        if (!options.isSendRequests()
+                || threadsPerHost <= 0
+                || threadsPerHost >= options.getThreads()) {
+            return null;
+        }
+
+        String host;
+        try {
+            host = new URI(line, false).getHost();
+        } catch (URIException e) {
+            // Not sent, warned when processed.
+            return null;
+        }
+        return hostSlots.computeIfAbsent(
+                host != null ? host.toLowerCase(Locale.ROOT) : "",
+                h -> new Semaphore(threadsPerHost));
+    }
+
+    /** Stops the workers, if any, and waits for them to finish. */
+    private static void stopWorkers(ExecutorService executor) {
+        if (executor == null || executor.isTerminated()) {
+            return;
+        }
+        executor.shutdownNow();
+        // Wait even if interrupted, the workers still use the batch until they finish.
+        boolean interrupted = Thread.interrupted();
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                LOGGER.debug("Waiting for the import workers to finish.");
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static ExecutorService createExecutor(int threads) {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        return Executors.newFixedThreadPool(
+                threads,
+                r -> {
+                    Thread t = new Thread(r, THREAD_PREFIX + threadNumber.getAndIncrement());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
     private void processLine(String line) {
         StringBuilder outputLine = new StringBuilder();
         outputLine.append(HttpRequestHeader.GET).append('\t').append(line).append('\t');
         outputLine.append(processRequest(line));
         outputLine.append('\n');
-        if (View.isInitialised()) {
-            EventQueue.invokeLater(
-                    () -> {
-                        View.getSingleton().getOutputPanel().append(outputLine.toString());
-                        outputLine.delete(0, outputLine.length());
-                    });
-        }
+        batch.itemImported(line, outputLine);
     }
 
     private String processRequest(String line) {
@@ -118,13 +241,22 @@ public class UrlsImporter {
             URI url = new URI(line, false);
             if (hasSheme(url)) {
                 HttpMessage msg = new HttpMessage(url);
-                getSender().sendAndReceive(msg, true);
+                String result;
+                if (options.isSendRequests()) {
+                    getSender().sendAndReceive(msg, true);
+                    result = String.valueOf(msg.getResponseHeader().getStatusCode());
+                } else {
+                    result = Constant.messages.getString("exim.importurls.notsent");
+                }
                 persistMessage(msg);
 
                 Stats.incCounter(ExtensionExim.STATS_PREFIX + STATS_URL_FILE_URL);
-                return String.valueOf(msg.getResponseHeader().getStatusCode());
+                return result;
             }
             return handleWarning(Constant.messages.getString("exim.importurls.warn.scheme", line));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return handleWarning(e.getMessage());
         } catch (Exception e) {
             return handleWarning(e.getMessage());
         }
@@ -140,7 +272,7 @@ public class UrlsImporter {
         return url.getScheme() != null;
     }
 
-    private static void persistMessage(HttpMessage message) {
+    private void persistMessage(HttpMessage message) {
         HistoryReference historyRef;
 
         try {
@@ -154,18 +286,7 @@ public class UrlsImporter {
             return;
         }
 
-        ExtensionHistory extHistory =
-                Control.getSingleton().getExtensionLoader().getExtension(ExtensionHistory.class);
-        if (extHistory != null) {
-            EventQueue.invokeLater(
-                    () -> {
-                        extHistory.addHistory(historyRef);
-                        Model.getSingleton()
-                                .getSession()
-                                .getSiteTree()
-                                .addPath(historyRef, message);
-                    });
-        }
+        batch.addMessage(historyRef, message);
     }
 
     public boolean isSuccess() {
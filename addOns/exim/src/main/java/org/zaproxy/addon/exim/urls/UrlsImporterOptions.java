@@ -0,0 +1,133 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.exim.urls;
+
+/**
+ * The options for the {@link UrlsImporter}.
+ *
+ * @since 0.20.0
+ */
+public class UrlsImporterOptions {
+
+    /** The options used by default, one URL at a time, sending the requests. */
+    public static final UrlsImporterOptions DEFAULT = builder().build();
+
+    private final int threads;
+    private final int threadsPerHost;
+    private final boolean sendRequests;
+
+    private UrlsImporterOptions(int threads, int threadsPerHost, boolean sendRequests) {
+        this.threads = threads;
+        this.threadsPerHost = threadsPerHost;
+        this.sendRequests = sendRequests;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getThreadsPerHost() {
+        return threadsPerHost;
+    }
+
+    public boolean isSendRequests() {
+        return sendRequests;
+    }
+
+    /**
+     * Returns a new builder.
+     *
+     * @return the options builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * A builder of options.
+     *
+     * @see #build()
+     */
+    public static class Builder {
+
+        private int threads;
+        private int threadsPerHost;
+        private boolean sendRequests;
+
+        private Builder() {
+            threads = 1;
+            sendRequests = true;
+        }
+
+        /**
+         * Sets the number of URLs imported at the same time.
+         *
+         * <p>Default value: {@code 1}.
+         *
+         * @param threads the number of threads.
+         * @return the builder for chaining.
+         * @throws IllegalArgumentException if the number of threads is less than one.
+         */
+        public Builder setThreads(int threads) {
+            if (threads < 1) {
+                throw new IllegalArgumentException("The threads must be greater than zero.");
+            }
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Sets the number of URLs of the same host imported at the same time.
+         *
+         * <p>Default value: {@code 0}, no limit other than the number of threads.
+         *
+         * @param threadsPerHost the number of threads per host, zero or less for no limit.
+         * @return the builder for chaining.
+         */
+        public Builder setThreadsPerHost(int threadsPerHost) {
+            this.threadsPerHost = threadsPerHost;
+            return this;
+        }
+
+        /**
+         * Sets whether or not the requests should be sent, if not the requests are just added to
+         * the History and Sites tree.
+         *
+         * <p>Default value: {@code true}.
+         *
+         * @param sendRequests {@code true} if the requests should be sent, {@code false}
+         *     otherwise.
+         * @return the builder for chaining.
+         */
+        public Builder setSendRequests(boolean sendRequests) {
+            this.sendRequests = sendRequests;
+            return this;
+        }
+
+        /**
+         * Builds the options from the specified data.
+         *
+         * @return the options with specified data.
+         */
+        public final UrlsImporterOptions build() {
+            return new UrlsImporterOptions(threads, threadsPerHost, sendRequests);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.exim;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.quality.Strictness;
+import org.parosproxy.paros.control.Control;
+import org.parosproxy.paros.extension.ExtensionLoader;
+import org.parosproxy.paros.extension.history.ExtensionHistory;
+import org.parosproxy.paros.model.HistoryReference;
+import org.parosproxy.paros.model.Model;
+import org.parosproxy.paros.model.Session;
+import org.parosproxy.paros.model.SiteMap;
+import org.parosproxy.paros.network.HttpMessage;
+
+/** Unit test for {@link ImportBatch}. */
+class ImportBatchUnitTest {
+
+    private ExtensionHistory extHistory;
+    private SiteMap siteMap;
+    private ImportBatch.ProgressUpdater progressUpdater;
+
+    @BeforeEach
+    void setUp() {
+        Model model = mock(Model.class, withSettings().strictness(Strictness.LENIENT));
+        Model.setSingletonForTesting(model);
+        Session session = mock(Session.class, withSettings().strictness(Strictness.LENIENT));
+        given(model.getSession()).willReturn(session);
+        siteMap = mock(SiteMap.class);
+        given(session.getSiteTree()).willReturn(siteMap);
+
+        ExtensionLoader extensionLoader =
+                mock(ExtensionLoader.class, withSettings().strictness(Strictness.LENIENT));
+        extHistory = mock(ExtensionHistory.class);
+        given(extensionLoader.getExtension(ExtensionHistory.class)).willReturn(extHistory);
+        Control.initSingletonForTesting(model, extensionLoader);
+
+        progressUpdater = mock(ImportBatch.ProgressUpdater.class);
+    }
+
+    @Test
+    void shouldAddMessagesAndUpdateProgressOncePerBatch() {
+        // Given
+        ImportBatch batch = new ImportBatch(2, progressUpdater);
+        // When
+        for (String task : new String[] {"a", "b", "c"}) {
+            batch.addMessage(mock(HistoryReference.class), new HttpMessage());
+            batch.itemImported(task);
+        }
+        // Then
+        verify(extHistory, times(2)).addHistory(any());
+        verify(siteMap, times(2)).addPath(any(HistoryReference.class), any(HttpMessage.class));
+        verify(progressUpdater).update(2, "b");
+        verify(progressUpdater, times(1)).update(anyInt(), any());
+    }
+
+    @Test
+    void shouldAddRemainingMessagesAndUpdateProgressWhenFlushed() {
+        // Given
+        ImportBatch batch = new ImportBatch(2, progressUpdater);
+        for (String task : new String[] {"a", "b", "c"}) {
+            batch.addMessage(mock(HistoryReference.class), new HttpMessage());
+            batch.itemImported(task);
+        }
+        // When
+        batch.flush();
+        // Then
+        verify(extHistory, times(3)).addHistory(any());
+        verify(siteMap, times(3)).addPath(any(HistoryReference.class), any(HttpMessage.class));
+        verify(progressUpdater).update(3, "c");
+    }
+
+    @Test
+    void shouldAddAllMessagesImportedConcurrently() throws Exception {
+        // Given
+        ImportBatch batch = new ImportBatch(3, progressUpdater);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        // When
+        for (int i = 0; i < 50; i++) {
+            String task = "task" + i;
+            executor.execute(
+                    () -> {
+                        batch.addMessage(mock(HistoryReference.class), new HttpMessage());
+                        batch.itemImported(task);
+                    });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        batch.flush();
+        // Then
+        verify(extHistory, times(50)).addHistory(any());
+        verify(progressUpdater).update(eq(50), any());
+    }
+
+    @Test
+    void shouldNotUpdateProgressIfNothingImported() {
+        // Given
+        ImportBatch batch = new ImportBatch(2, progressUpdater);
+        // When
+        batch.flush();
+        // Then
+        verifyNoInteractions(progressUpdater, extHistory);
+    }
+}
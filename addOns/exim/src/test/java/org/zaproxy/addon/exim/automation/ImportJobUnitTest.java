@@ -118,6 +118,52 @@ class ImportJobUnitTest extends TestUtils {
         assertThat(progress.hasErrors(), is(equalTo(false)));
     }
 
+    @Test
+    void shouldApplyUrlsImportParams() {
+        // Given
+        AutomationProgress progress = new AutomationProgress();
+        String yamlStr =
+                "parameters:\n"
+                        + "  type: url\n"
+                        + "  threads: 8\n"
+                        + "  threadsPerHost: 2\n"
+                        + "  sendRequests: false";
+        Yaml yaml = new Yaml();
+        Object data = yaml.load(yamlStr);
+
+        ImportJob job = new ImportJob(extExim);
+        job.setJobData(((LinkedHashMap<?, ?>) data));
+
+        // When
+        job.verifyParameters(progress);
+
+        // Then
+        assertThat(job.getParameters().getThreads(), is(equalTo(8)));
+        assertThat(job.getParameters().getThreadsPerHost(), is(equalTo(2)));
+        assertThat(job.getParameters().getSendRequests(), is(equalTo(false)));
+        assertThat(progress.hasWarnings(), is(equalTo(false)));
+        assertThat(progress.hasErrors(), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldErrorIfThreadsLessThanOne() {
+        // Given
+        AutomationProgress progress = new AutomationProgress();
+        String yamlStr = "parameters:\n" + "  type: url\n" + "  threads: 0";
+        Yaml yaml = new Yaml();
+        Object data = yaml.load(yamlStr);
+
+        ImportJob job = new ImportJob(extExim);
+        job.setJobData(((LinkedHashMap<?, ?>) data));
+
+        // When
+        job.verifyParameters(progress);
+
+        // Then
+        assertThat(progress.hasErrors(), is(equalTo(true)));
+        assertThat(progress.getErrors().get(0), is(equalTo("Job import invalid threads: 0")));
+    }
+
     @Test
     void shouldFailIfInvalidFile() {
         // Given
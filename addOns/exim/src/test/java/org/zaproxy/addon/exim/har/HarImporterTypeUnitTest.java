@@ -117,4 +117,27 @@ class HarImporterTypeUnitTest {
         // When / Then
         assertDoesNotThrow(() -> importer.importData(reader, msg -> {}));
     }
+
+    @Test
+    void shouldCountEntries() throws Exception {
+        // Given
+        Reader reader =
+                reader(
+                        "{\"log\":{\"version\":\"1.2\",\"entries\":"
+                                + "[{\"request\":{\"headers\":[]}},{},{\"a\":[{}]}]}}");
+        // When
+        int count = HarImporterType.countEntries(reader);
+        // Then
+        assertThat(count, is(equalTo(3)));
+    }
+
+    @Test
+    void shouldCountNoEntriesIfEntriesEmpty() throws Exception {
+        // Given
+        Reader reader = reader("{\"log\":{\"entries\":[]}}");
+        // When
+        int count = HarImporterType.countEntries(reader);
+        // Then
+        assertThat(count, is(equalTo(0)));
+    }
 }
@@ -30,7 +30,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.withSettings;
 
@@ -42,6 +44,7 @@ import de.sstoehr.harreader.model.HarLog.HarLogBuilder;
 import java.io.File;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -251,6 +254,37 @@ class HarImporterUnitTest extends TestUtils {
         verify(listener).setTasksDone(1);
     }
 
+    @Test
+    void shouldImportAllEntriesInBatches(@TempDir Path dir) throws Exception {
+        // Given
+        int numberOfEntries = 150;
+        HarLogBuilder harLog = HarUtils.createZapHarLog();
+        List<HarEntry> harEntries = new ArrayList<>();
+        for (int i = 0; i < numberOfEntries; i++) {
+            harEntries.add(
+                    HarUtils.createHarEntry(
+                            new HttpMessage(
+                                    "GET http://example.com/" + i + " HTTP/1.1",
+                                    EMPTY_BODY,
+                                    "HTTP/1.1 200 OK",
+                                    EMPTY_BODY)));
+        }
+        harLog.entries(harEntries);
+        Path file = dir.resolve("entries.har");
+        Files.write(file, HarUtils.toJsonAsBytes(harLog.build()));
+        ProgressPaneListener listener = mock(ProgressPaneListener.class);
+        clearInvocations(extHistory, siteMap);
+        // When
+        HarImporter importer = new HarImporter(file.toFile(), listener);
+        // Then
+        assertThat(importer.isSuccess(), equalTo(true));
+        verify(extHistory, times(numberOfEntries)).addHistory(any());
+        verify(siteMap, times(numberOfEntries)).addPath(any(), any());
+        verify(listener).setTasksDone(100);
+        verify(listener).setTasksDone(numberOfEntries);
+        verify(listener).completed();
+    }
+
     @ParameterizedTest
     @ValueSource(
             strings = {
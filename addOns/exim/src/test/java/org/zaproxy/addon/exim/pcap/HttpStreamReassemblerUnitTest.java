@@ -0,0 +1,58 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.exim.pcap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+import io.pkts.Pcap;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.zap.testutils.TestUtils;
+
+/** Unit test for {@link HttpStreamReassembler}. */
+class HttpStreamReassemblerUnitTest extends TestUtils {
+
+    @Test
+    void shouldStopReassemblingConnectionsExceedingMaxBufferSize() throws IOException {
+        // Given
+        List<HttpMessage> messages = new ArrayList<>();
+        HttpStreamReassembler reassembler =
+                new HttpStreamReassembler(messages::add, 60, Long.MAX_VALUE);
+        Pcap pcap = Pcap.openStream(getResourcePath("http1.1Reassembly.pcap").toFile());
+        // When
+        try {
+            pcap.loop(reassembler);
+        } finally {
+            pcap.close();
+        }
+        reassembler.finish();
+        // Then
+        assertThat(
+                messages.stream().map(msg -> msg.getRequestHeader().getURI().toString()).toList(),
+                contains(
+                        "http://example.com/first",
+                        "http://example.org/head",
+                        "http://example.org/unanswered"));
+    }
+}
@@ -20,8 +20,10 @@
 package org.zaproxy.addon.exim.pcap;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
@@ -33,6 +35,7 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.parosproxy.paros.network.HttpHeader;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.ui.ProgressPaneListener;
 import org.zaproxy.zap.testutils.TestUtils;
@@ -52,10 +55,12 @@ class PcapImporterUnitTest extends TestUtils {
         File file = getResourcePath("http1.1SmallAndClean.pcap").toFile();
         // When
         List<HttpMessage> messages = PcapImporter.getHttpMessages(file);
-        HttpMessage firstMessage = messages.get(0);
-        HttpMessage secondMessage = messages.get(1);
         // Then
         assertThat(messages.size(), is(equalTo(2)));
+        // Passed as soon as complete, not necessarily in the order of the connections.
+        HttpMessage firstMessage = getMessage(messages, "http://www.ethereal.com/download.html");
+        HttpMessage secondMessage =
+                messages.get(messages.indexOf(firstMessage) == 0 ? 1 : 0);
 
         assertThat(firstMessage.isResponseFromTargetHost(), is(equalTo(true)));
         assertThat(
@@ -119,4 +124,86 @@ class PcapImporterUnitTest extends TestUtils {
         // Then
         assertThat(messages.size(), is(equalTo(1)));
     }
+
+    @Test
+    void shouldReassembleMessagesOfSameConnection() throws IOException {
+        // Given
+        File file = getResourcePath("http1.1Reassembly.pcap").toFile();
+        // When
+        List<HttpMessage> messages = PcapImporter.getHttpMessages(file);
+        // Then
+        HttpMessage first = getMessage(messages, "http://example.com/first");
+        assertThat(first.getResponseHeader().getStatusCode(), is(equalTo(200)));
+        assertThat(first.getResponseBody().toString(), is(equalTo("Hello, World!")));
+        HttpMessage second = getMessage(messages, "http://example.com/second");
+        assertThat(messages.indexOf(second), is(equalTo(messages.indexOf(first) + 1)));
+        assertThat(second.getRequestBody().toString(), is(equalTo("abcd")));
+        assertThat(second.getResponseHeader().getStatusCode(), is(equalTo(201)));
+        assertThat(second.getResponseBody().toString(), is(equalTo("Hello, World")));
+        assertThat(
+                second.getResponseHeader().getHeader(HttpHeader.TRANSFER_ENCODING),
+                is(nullValue()));
+        assertThat(second.getResponseHeader().getContentLength(), is(equalTo(12)));
+    }
+
+    @Test
+    void shouldIgnoreNonHttpConnections() throws IOException {
+        // Given
+        File file = getResourcePath("http1.1Reassembly.pcap").toFile();
+        // When
+        List<HttpMessage> messages = PcapImporter.getHttpMessages(file);
+        // Then
+        assertThat(
+                messages.stream().map(msg -> msg.getRequestHeader().getURI().toString()).toList(),
+                containsInAnyOrder(
+                        "http://example.com/first",
+                        "http://example.com/second",
+                        "http://example.org/upload",
+                        "http://example.org/head",
+                        "http://example.org/unanswered"));
+    }
+
+    @Test
+    void shouldSkipInterimResponseAndReadBodyUntilClose() throws IOException {
+        // Given
+        File file = getResourcePath("http1.1Reassembly.pcap").toFile();
+        // When
+        List<HttpMessage> messages = PcapImporter.getHttpMessages(file);
+        // Then
+        HttpMessage message = getMessage(messages, "http://example.org/upload");
+        assertThat(message.getRequestBody().toString(), is(equalTo("xyz")));
+        assertThat(message.getResponseHeader().getStatusCode(), is(equalTo(200)));
+        assertThat(message.getResponseBody().toString(), is(equalTo("until close")));
+    }
+
+    @Test
+    void shouldNotReadBodyOfHeadResponse() throws IOException {
+        // Given
+        File file = getResourcePath("http1.1Reassembly.pcap").toFile();
+        // When
+        List<HttpMessage> messages = PcapImporter.getHttpMessages(file);
+        // Then
+        HttpMessage message = getMessage(messages, "http://example.org/head");
+        assertThat(message.getResponseHeader().getContentLength(), is(equalTo(1000)));
+        assertThat(message.getResponseBody().length(), is(equalTo(0)));
+    }
+
+    @Test
+    void shouldIncludeRequestWithoutResponse() throws IOException {
+        // Given
+        File file = getResourcePath("http1.1Reassembly.pcap").toFile();
+        // When
+        List<HttpMessage> messages = PcapImporter.getHttpMessages(file);
+        // Then
+        HttpMessage message = getMessage(messages, "http://example.org/unanswered");
+        assertThat(message.getRequestHeader().getMethod(), is(equalTo("GET")));
+        assertThat(message.isResponseFromTargetHost(), is(equalTo(false)));
+    }
+
+    private static HttpMessage getMessage(List<HttpMessage> messages, String uri) {
+        return messages.stream()
+                .filter(msg -> uri.equals(msg.getRequestHeader().getURI().toString()))
+                .findFirst()
+                .orElseThrow();
+    }
 }
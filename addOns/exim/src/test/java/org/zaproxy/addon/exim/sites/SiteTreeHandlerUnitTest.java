@@ -318,6 +318,43 @@ class SiteTreeHandlerUnitTest {
         assertThat(result.getCount(), is(5));
     }
 
+    @Test
+    void shouldNotOutputChildrenIfNoneInScope() throws Exception {
+        // Given
+        String expectedYaml =
+                """
+                - node: Sites
+                  children:
+                  - node: http://www.example.org
+                    url: http://www.example.org
+                    method: GET
+                    children:
+                    - node: a
+                      url: http://www.example.org/a
+                      method: GET
+                """;
+        siteMap.addPath(getHref("http://www.example.org/a/b/file", "GET"));
+        StringWriter sw = new StringWriter();
+        Context ctx = mock();
+        given(ctx.isInContext(any(SiteNode.class)))
+                .willAnswer(
+                        invocation -> {
+                            SiteNode node = invocation.getArgument(0);
+                            return !"b".equals(node.getNodeName())
+                                    && !"GET:file".equals(node.getNodeName());
+                        });
+        ExporterOptions options =
+                ExporterOptions.builder().setOutputFile(Paths.get("/")).setContext(ctx).build();
+        ExporterResult result = new ExporterResult();
+
+        // When
+        SitesTreeHandler.exportSitesTree(sw, siteMap, result, options);
+
+        // Then
+        assertThat(sw.toString(), is(equalTo(expectedYaml)));
+        assertThat(result.getCount(), is(3));
+    }
+
     @Test
     void shouldOutputNodeWithMultipartFormData() throws Exception {
         // Given
@@ -591,6 +628,41 @@ class SiteTreeHandlerUnitTest {
         assertThat(siteMap.getRoot().getChildCount(), is(0));
     }
 
+    @Test
+    void shouldPruneNodesWithChildrenBeforeOtherKeys() throws Exception {
+        // Given
+        String yaml =
+                """
+                - node: Sites
+                  children:
+                  - children:
+                    - children:
+                      - node: GET:file
+                        url: http://www.example.org/a/file
+                        method: GET
+                      node: a
+                      url: http://www.example.org/a
+                      method: GET
+                    node: http://www.example.org
+                    url: http://www.example.org
+                    method: GET
+                """;
+        siteMap.addPath(getHref("http://www.example.org/a/file", "GET"));
+        siteMap.addPath(getHref("http://www.example.com/file", "GET"));
+
+        // When
+        PruneSiteResult res =
+                SitesTreeHandler.pruneSiteNodes(
+                        new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8)), siteMap);
+
+        // Then
+        assertThat(res.getReadNodes(), is(3));
+        assertThat(res.getDeletedNodes(), is(3));
+        assertThat(res.getError(), is(nullValue()));
+        assertThat(siteMap.getRoot().getChildCount(), is(1));
+        assertThat(siteMap.getRoot().getChildAt(0).toString(), is("http://www.example.com"));
+    }
+
     static Stream<Arguments> specialParameterNames() {
         return Stream.of(
                 Arguments.of("\"", "%22"),
@@ -0,0 +1,69 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.exim.urls;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.zaproxy.addon.exim.urls.UrlsImporterOptions.Builder;
+
+/** Unit test for {@link UrlsImporterOptions}. */
+class UrlsImporterOptionsUnitTest {
+
+    @Test
+    void shouldHaveDefaultValues() {
+        // Given / When
+        UrlsImporterOptions options = UrlsImporterOptions.builder().build();
+        // Then
+        assertThat(options.getThreads(), is(equalTo(1)));
+        assertThat(options.getThreadsPerHost(), is(equalTo(0)));
+        assertThat(options.isSendRequests(), is(equalTo(true)));
+    }
+
+    @Test
+    void shouldBuildWithSpecifiedValues() {
+        // Given
+        Builder builder =
+                UrlsImporterOptions.builder()
+                        .setThreads(8)
+                        .setThreadsPerHost(2)
+                        .setSendRequests(false);
+        // When
+        UrlsImporterOptions options = builder.build();
+        // Then
+        assertThat(options.getThreads(), is(equalTo(8)));
+        assertThat(options.getThreadsPerHost(), is(equalTo(2)));
+        assertThat(options.isSendRequests(), is(equalTo(false)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1})
+    void shouldThrowIfThreadsLessThanOne(int threads) {
+        // Given
+        Builder builder = UrlsImporterOptions.builder();
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> builder.setThreads(threads));
+    }
+}
@@ -21,30 +21,75 @@ package org.zaproxy.addon.exim.urls;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
 
+import java.awt.EventQueue;
 import java.io.File;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.mockito.quality.Strictness;
 import org.parosproxy.paros.Constant;
+import org.parosproxy.paros.control.Control;
+import org.parosproxy.paros.db.RecordHistory;
+import org.parosproxy.paros.db.TableAlert;
+import org.parosproxy.paros.db.TableHistory;
+import org.parosproxy.paros.extension.ExtensionLoader;
+import org.parosproxy.paros.extension.history.ExtensionHistory;
+import org.parosproxy.paros.model.HistoryReference;
+import org.parosproxy.paros.model.Model;
+import org.parosproxy.paros.model.Session;
+import org.parosproxy.paros.model.SiteMap;
 import org.zaproxy.addon.commonlib.ui.ProgressPaneListener;
 import org.zaproxy.zap.utils.I18N;
 
 /** Unit test for {@link UrlsImporter}. */
 class UrlsImporterUnitTest {
 
+    private static TableHistory tableHistory;
+    private static ExtensionHistory extHistory;
+    private static SiteMap siteMap;
+
     @BeforeAll
-    static void setup() {
+    static void setup() throws Exception {
         Constant.messages = mock(I18N.class);
+
+        tableHistory = mock(TableHistory.class, withSettings().strictness(Strictness.LENIENT));
+        given(tableHistory.write(anyLong(), anyInt(), any())).willReturn(mock(RecordHistory.class));
+        HistoryReference.setTableHistory(tableHistory);
+        HistoryReference.setTableAlert(mock(TableAlert.class));
+
+        Model model = mock(Model.class, withSettings().strictness(Strictness.LENIENT));
+        Model.setSingletonForTesting(model);
+        Session session = mock(Session.class, withSettings().strictness(Strictness.LENIENT));
+        given(model.getSession()).willReturn(session);
+        siteMap = mock(SiteMap.class);
+        given(session.getSiteTree()).willReturn(siteMap);
+
+        ExtensionLoader extensionLoader =
+                mock(ExtensionLoader.class, withSettings().strictness(Strictness.LENIENT));
+        extHistory = mock(ExtensionHistory.class);
+        given(extensionLoader.getExtension(ExtensionHistory.class)).willReturn(extHistory);
+        Control.initSingletonForTesting(model, extensionLoader);
     }
 
     @AfterAll
     static void cleanup() {
         Constant.messages = null;
+        HistoryReference.setTableHistory(null);
+        HistoryReference.setTableAlert(null);
     }
 
     @Test
@@ -68,4 +113,37 @@ class UrlsImporterUnitTest {
         assertThat(importer.isSuccess(), equalTo(false));
         verify(listener).completed();
     }
+
+    @Test
+    void shouldImportAllUrlsConcurrentlyWithoutSendingRequests(@TempDir Path dir)
+            throws Exception {
+        // Given
+        int numberOfUrls = 250;
+        List<String> lines = new ArrayList<>();
+        lines.add("# Comment");
+        for (int i = 0; i < numberOfUrls; i++) {
+            lines.add("http://example" + (i % 5) + ".com/path/" + i);
+        }
+        lines.add("");
+        Path file = Files.write(dir.resolve("urls.txt"), lines);
+        UrlsImporterOptions options =
+                UrlsImporterOptions.builder()
+                        .setThreads(4)
+                        .setThreadsPerHost(1)
+                        .setSendRequests(false)
+                        .build();
+        ProgressPaneListener listener = mock(ProgressPaneListener.class);
+        // When
+        UrlsImporter importer = new UrlsImporter(file.toFile(), options, listener);
+        EventQueue.invokeAndWait(() -> {});
+        // Then
+        assertThat(importer.isSuccess(), equalTo(true));
+        verify(tableHistory, times(numberOfUrls)).write(anyLong(), anyInt(), any());
+        verify(extHistory, times(numberOfUrls)).addHistory(any());
+        verify(siteMap, times(numberOfUrls)).addPath(any(), any());
+        verify(listener).setTasksDone(100);
+        verify(listener).setTasksDone(200);
+        verify(listener).setTasksDone(numberOfUrls);
+        verify(listener).completed();
+    }
 }
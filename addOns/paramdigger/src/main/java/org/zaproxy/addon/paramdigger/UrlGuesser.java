@@ -25,8 +25,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -78,6 +80,12 @@ public class UrlGuesser implements Runnable {
     private float lineCountHeuristicThreshold;
     private float wordCountHeuristic;
 
+    /**
+     * The status codes returned when the request is too large, for example, the URL. A 400 is not
+     * taken as too large, it might be caused by a specific parameter, not by the number of them.
+     */
+    private static final List<Integer> TOO_LARGE_CODES = List.of(413, 414, 431);
+
     private static final Logger LOGGER = LogManager.getLogger(UrlGuesser.class);
 
     public UrlGuesser(int id, GuesserScan scan, HttpSender httpSender, ExecutorService executor) {
@@ -161,18 +169,27 @@ public class UrlGuesser implements Runnable {
         this.scan.notifyListenersProgress();
         // TODO Add heuristic method to mine parameters from base response.
 
-        List<Map<String, String>> paramGroups =
-                Utils.slice(Utils.populate(wordlist), config.getUrlGuessChunkSize());
-        this.scan.setMaximum(paramGroups.size());
+        Map<String, String> params = Utils.populate(wordlist);
+        int maxGroupSize = getMaxGroupSize(base, method, params);
+        int parts =
+                Math.max(
+                        config.getUrlGuessChunkSize(),
+                        (params.size() + maxGroupSize - 1) / maxGroupSize);
+        LOGGER.debug("Max group size: {}, number of groups: {}", maxGroupSize, parts);
+
         List<Map<String, String>> usableParams = new ArrayList<>();
+        List<ParamGroup> paramGroups = new ArrayList<>();
+        for (Map<String, String> group : Utils.slice(params, parts)) {
+            addParamGroup(group, null, paramGroups, usableParams);
+        }
+        this.scan.setMaximum(paramGroups.size());
 
         // BruteForcing step
         while (!paramGroups.isEmpty()) {
             if (this.scan.isStopped()) {
                 return;
             }
-            paramGroups = narrowDownParams(base, method, paramGroups);
-            paramGroups = Utils.confirmUsableParameters(paramGroups, usableParams);
+            paramGroups = narrowDownParams(base, method, paramGroups, usableParams);
             this.scan.setMaximum(paramGroups.size());
             this.scan.notifyListenersProgress();
             LOGGER.debug("param groups size: {}", paramGroups.size());
@@ -214,12 +231,22 @@ public class UrlGuesser implements Runnable {
         }
     }
 
-    private List<Map<String, String>> narrowDownParams(
-            ComparableResponse base, Method method, List<Map<String, String>> paramGroups) {
-        List<Map<String, String>> narrowedParamGroups = new ArrayList<>();
+    /**
+     * Narrows down the given groups of parameters, the groups that change the response are split
+     * by bisection for the next round.
+     *
+     * <p>Only one half of a split group is sent, if it does not change the response then the other
+     * half does, so it is split without being sent.
+     */
+    private List<ParamGroup> narrowDownParams(
+            ComparableResponse base,
+            Method method,
+            List<ParamGroup> paramGroups,
+            List<Map<String, String>> usableParams) {
+        List<ParamGroup> narrowedParamGroups = new ArrayList<>();
         List<Future<ParamReasons>> futures = new ArrayList<>();
 
-        for (Map<String, String> param : paramGroups) {
+        for (ParamGroup paramGroup : paramGroups) {
             if (this.scan.isStopped()) {
                 return narrowedParamGroups;
             }
@@ -229,7 +256,7 @@ public class UrlGuesser implements Runnable {
                                     base,
                                     INIT_VALUE_2,
                                     method,
-                                    param,
+                                    paramGroup.params,
                                     Mode.BRUTEFORCE,
                                     scan,
                                     this,
@@ -238,15 +265,19 @@ public class UrlGuesser implements Runnable {
                                     null)));
         }
 
-        for (Future<ParamReasons> future : futures) {
+        for (int i = 0; i < futures.size(); i++) {
+            ParamGroup paramGroup = paramGroups.get(i);
             try {
-                ParamReasons narrowedParam = future.get();
-                if (narrowedParam != null && !narrowedParam.isEmpty()) {
-                    List<Map<String, String>> slices = Utils.slice(narrowedParam.getParams(), 2);
-                    for (Map<String, String> slice : slices) {
-                        narrowedParamGroups.add(slice);
-                    }
+                ParamReasons narrowedParam = futures.get(i).get();
+                if (narrowedParam == null) {
+                    // Unknown result, the other half has to be sent.
+                    addParamGroup(paramGroup.sibling, null, narrowedParamGroups, usableParams);
+                } else if (!narrowedParam.isEmpty()) {
+                    splitParamGroup(paramGroup.params, narrowedParamGroups, usableParams);
+                    addParamGroup(paramGroup.sibling, null, narrowedParamGroups, usableParams);
                     this.scan.notifyListenersProgress();
+                } else {
+                    splitParamGroup(paramGroup.sibling, narrowedParamGroups, usableParams);
                 }
             } catch (Exception e) {
                 // TODO Display proper error message to user
@@ -256,6 +287,91 @@ public class UrlGuesser implements Runnable {
         return narrowedParamGroups;
     }
 
+    private static void splitParamGroup(
+            Map<String, String> params,
+            List<ParamGroup> paramGroups,
+            List<Map<String, String>> usableParams) {
+        if (params == null) {
+            return;
+        }
+        if (params.size() == 1) {
+            usableParams.add(params);
+            return;
+        }
+        List<Map<String, String>> halves = Utils.slice(params, 2);
+        addParamGroup(halves.get(0), halves.get(1), paramGroups, usableParams);
+    }
+
+    private static void addParamGroup(
+            Map<String, String> params,
+            Map<String, String> sibling,
+            List<ParamGroup> paramGroups,
+            List<Map<String, String>> usableParams) {
+        if (params == null || params.isEmpty()) {
+            return;
+        }
+        if (params.size() == 1) {
+            // Confirmed in the verify step, the sibling can no longer be inferred from it.
+            usableParams.add(params);
+            addParamGroup(sibling, null, paramGroups, usableParams);
+            return;
+        }
+        paramGroups.add(new ParamGroup(params, sibling));
+    }
+
+    /**
+     * Gets the maximum number of parameters that can be sent at once, that is, without the target
+     * rejecting the request for being too large (for example, the URL).
+     *
+     * <p>The number is searched by bisection, stopping once it's known within 10%.
+     */
+    private int getMaxGroupSize(
+            ComparableResponse base, Method method, Map<String, String> params) {
+        List<Entry<String, String>> entries = new ArrayList<>(params.entrySet());
+        int size = entries.size();
+        if (size <= 1 || TOO_LARGE_CODES.contains(base.getStatusCode())) {
+            return Math.max(1, size);
+        }
+        if (isAccepted(method, entries, size)) {
+            return size;
+        }
+
+        int accepted = 1;
+        int rejected = size;
+        while (rejected - accepted > Math.max(1, accepted / 10) && !this.scan.isStopped()) {
+            int mid = (accepted + rejected) >>> 1;
+            if (isAccepted(method, entries, mid)) {
+                accepted = mid;
+            } else {
+                rejected = mid;
+            }
+        }
+        return accepted;
+    }
+
+    private boolean isAccepted(Method method, List<Entry<String, String>> entries, int count) {
+        Map<String, String> params = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            params.put(entries.get(i).getKey(), entries.get(i).getValue());
+        }
+
+        HttpMessage msg = new HttpMessage();
+        UrlBruteForce bruter =
+                new UrlBruteForce(
+                        null,
+                        INIT_VALUE_2,
+                        method,
+                        params,
+                        Mode.BRUTEFORCE,
+                        scan,
+                        this,
+                        this.httpSender,
+                        wordlist,
+                        null);
+        return bruter.requester(msg, method, params) != null
+                && !TOO_LARGE_CODES.contains(msg.getResponseHeader().getStatusCode());
+    }
+
     public ComparableResponse firstRequest(Method method, String param, String value) {
         HttpMessage msg = new HttpMessage();
         Map<String, String> initialParam = new HashMap<>();
@@ -297,4 +413,16 @@ public class UrlGuesser implements Runnable {
     public float getWordCountHeuristic() {
         return wordCountHeuristic;
     }
+
+    /** A group of parameters and, if it was split from a larger group, the other half. */
+    private static class ParamGroup {
+
+        private final Map<String, String> params;
+        private final Map<String, String> sibling;
+
+        ParamGroup(Map<String, String> params, Map<String, String> sibling) {
+            this.params = params;
+            this.sibling = sibling;
+        }
+    }
 }
@@ -32,6 +32,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.withSettings;
 
+import fi.iki.elonen.NanoHTTPD;
 import fi.iki.elonen.NanoHTTPD.IHTTPSession;
 import fi.iki.elonen.NanoHTTPD.Response;
 import java.io.InputStream;
@@ -66,6 +67,18 @@ class UrlGuesserUnitTest extends TestUtils {
     private HttpSender httpSender = new HttpSender(HttpSender.PARAM_DIGGER_INITIATOR);
     private ParamDiggerConfig config;
     private static String TEST_WORDLIST_FILE = "wordlists/UrlGuesserTestList.txt";
+    private static final Response.IStatus URI_TOO_LONG =
+            new Response.IStatus() {
+                @Override
+                public String getDescription() {
+                    return "414 URI Too Long";
+                }
+
+                @Override
+                public int getRequestStatus() {
+                    return 414;
+                }
+            };
     private Path file;
 
     private static String htmlEscape(String value) {
@@ -163,6 +176,43 @@ class UrlGuesserUnitTest extends TestUtils {
                         Reason.PARAM_VALUE_REFLECTION));
     }
 
+    @Test
+    void shouldGuessUrlParametersIfTargetRejectsLargeRequests() throws Exception {
+        // Given
+        String path = "/limited";
+        this.nano.addHandler(
+                new NanoServerHandler(path) {
+                    @Override
+                    protected Response serve(IHTTPSession session) {
+                        if (session.getParameters().size() > 3) {
+                            return newFixedLengthResponse(
+                                    URI_TOO_LONG, NanoHTTPD.MIME_HTML, "Request too large");
+                        }
+                        String name = getFirstParamValue(session, "q");
+                        name = name == null ? " " : name;
+                        String response =
+                                getHtml("ReflectionInBody.html", new String[][] {{"q", name}});
+
+                        return newFixedLengthResponse(response);
+                    }
+                });
+
+        HttpMessage msg = getHttpMessage(path);
+        config.setUrl(msg.getRequestHeader().getURI().toString());
+        config.setDoUrlGuess(true);
+        config.setUrlGetRequest(true);
+        given(scan.getConfig()).willReturn(config);
+        urlGuesser = new UrlGuesser(0, scan, httpSender, executor);
+
+        // When
+        urlGuesser.run();
+
+        // Then
+        ArgumentCaptor<ParamGuessResult> result = ArgumentCaptor.forClass(ParamGuessResult.class);
+        verify(scan).addParamGuessResult(result.capture());
+        assertThat(result.getValue().getParamName(), equalTo("q"));
+    }
+
     @Test
     void shouldGuessParamteresForReflectionInTags() throws Exception {
         // Given
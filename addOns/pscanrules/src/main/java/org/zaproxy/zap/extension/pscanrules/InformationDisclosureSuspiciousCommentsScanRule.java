@@ -40,6 +40,7 @@ import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.core.scanner.Alert;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
+import org.zaproxy.addon.commonlib.CompiledPayloads;
 import org.zaproxy.addon.commonlib.PolicyTag;
 import org.zaproxy.addon.commonlib.ResourceIdentificationUtils;
 import org.zaproxy.zap.extension.pscan.PluginPassiveScanner;
@@ -94,6 +95,9 @@ public class InformationDisclosureSuspiciousCommentsScanRule extends PluginPassi
 
     private static Supplier<Iterable<String>> payloadProvider = DEFAULT_PAYLOAD_PROVIDER;
 
+    private static final CompiledPayloads<List<Pattern>> PATTERNS =
+            new CompiledPayloads<>(InformationDisclosureSuspiciousCommentsScanRule::initPatterns);
+
     private List<Pattern> patterns = null;
 
     @Override
@@ -223,17 +227,17 @@ public class InformationDisclosureSuspiciousCommentsScanRule extends PluginPassi
 
     private List<Pattern> getPatterns() {
         if (patterns == null) {
-            patterns = initPatterns();
+            patterns = PATTERNS.get(payloadProvider);
         }
         return patterns;
     }
 
-    private static List<Pattern> initPatterns() {
-        List<Pattern> targetPatterns = new ArrayList<>();
-        for (String payload : payloadProvider.get()) {
+    private static List<Pattern> initPatterns(List<String> payloads) {
+        List<Pattern> targetPatterns = new ArrayList<>(payloads.size());
+        for (String payload : payloads) {
             targetPatterns.add(compilePayload(payload));
         }
-        return targetPatterns;
+        return Collections.unmodifiableList(targetPatterns);
     }
 
     private static Pattern compilePayload(String payload) {
@@ -242,6 +246,7 @@ public class InformationDisclosureSuspiciousCommentsScanRule extends PluginPassi
 
     public static void setPayloadProvider(Supplier<Iterable<String>> provider) {
         payloadProvider = provider == null ? DEFAULT_PAYLOAD_PROVIDER : provider;
+        PATTERNS.clear();
     }
 
     @Override
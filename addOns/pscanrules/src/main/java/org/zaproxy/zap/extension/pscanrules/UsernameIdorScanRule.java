@@ -30,6 +30,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import net.htmlparser.jericho.Source;
 import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.collections4.map.LRUMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.Constant;
@@ -73,6 +74,15 @@ public class UsernameIdorScanRule extends PluginPassiveScanner
 
     private static Supplier<Iterable<String>> payloadProvider = DEFAULT_PAYLOAD_PROVIDER;
 
+    private static final int MAX_CACHED_USERNAMES = 1000;
+
+    /**
+     * The patterns of the hashes of the usernames, per username, shared by all instances. The least
+     * recently used are evicted.
+     */
+    private static final Map<String, Map<String, Pattern>> HASH_PATTERNS =
+            Collections.synchronizedMap(new LRUMap<>(MAX_CACHED_USERNAMES));
+
     private List<User> getUsers() {
         List<User> usersList = new ArrayList<>();
 
@@ -102,16 +112,8 @@ public class UsernameIdorScanRule extends PluginPassiveScanner
 
         for (User user : scanUsers) {
             username = user.getName();
-            Map<String, String> hashes = new HashMap<>();
-            hashes.put("MD2", DigestUtils.md2Hex(username));
-            hashes.put("MD5", DigestUtils.md5Hex(username));
-            hashes.put("SHA1", DigestUtils.sha1Hex(username));
-            hashes.put("SHA256", DigestUtils.sha256Hex(username));
-            hashes.put("SHA384", DigestUtils.sha384Hex(username));
-            hashes.put("SHA512", DigestUtils.sha512Hex(username));
-            for (Map.Entry<String, String> entry : hashes.entrySet()) {
-                String hash = entry.getValue();
-                String evidence = match(response, Pattern.compile(hash, Pattern.CASE_INSENSITIVE));
+            for (Map.Entry<String, Pattern> entry : getHashPatterns(username).entrySet()) {
+                String evidence = match(response, entry.getValue());
                 if (evidence != null) {
                     this.raiseAlert(username, evidence, entry.getKey(), id, msg);
                 }
@@ -120,6 +122,27 @@ public class UsernameIdorScanRule extends PluginPassiveScanner
         LOGGER.debug("\tScan of record {} took {} ms", id, System.currentTimeMillis() - start);
     }
 
+    private static Map<String, Pattern> getHashPatterns(String username) {
+        Map<String, Pattern> patterns = HASH_PATTERNS.get(username);
+        if (patterns != null) {
+            return patterns;
+        }
+        patterns = new HashMap<>();
+        patterns.put("MD2", compileHash(DigestUtils.md2Hex(username)));
+        patterns.put("MD5", compileHash(DigestUtils.md5Hex(username)));
+        patterns.put("SHA1", compileHash(DigestUtils.sha1Hex(username)));
+        patterns.put("SHA256", compileHash(DigestUtils.sha256Hex(username)));
+        patterns.put("SHA384", compileHash(DigestUtils.sha384Hex(username)));
+        patterns.put("SHA512", compileHash(DigestUtils.sha512Hex(username)));
+        patterns = Collections.unmodifiableMap(patterns);
+        HASH_PATTERNS.put(username, patterns);
+        return patterns;
+    }
+
+    private static Pattern compileHash(String hash) {
+        return Pattern.compile(hash, Pattern.CASE_INSENSITIVE);
+    }
+
     private void raiseAlert(
             String username, String evidence, String hashType, int id, HttpMessage msg) {
         buildAlert(username, evidence, hashType, id, msg).raise();
@@ -40,6 +40,7 @@ import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.core.scanner.Alert;
 import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.addon.commonlib.CommonAlertTag;
+import org.zaproxy.addon.commonlib.CompiledPayloads;
 import org.zaproxy.addon.commonlib.PolicyTag;
 import org.zaproxy.addon.commonlib.ResourceIdentificationUtils;
 import org.zaproxy.zap.extension.pscan.PluginPassiveScanner;
@@ -75,6 +76,8 @@ public class JsFunctionScanRule extends PluginPassiveScanner implements CommonPa
     }
 
     private static List<Pattern> defaultPatterns = null;
+    private static final CompiledPayloads<List<Pattern>> PATTERNS =
+            new CompiledPayloads<>(JsFunctionScanRule::createPatterns);
     private List<Pattern> patterns = null;
 
     static {
@@ -177,10 +180,15 @@ public class JsFunctionScanRule extends PluginPassiveScanner implements CommonPa
     }
 
     private void loadPayload() {
-        patterns = new ArrayList<>(defaultPatterns);
-        for (String line : getJsFunctionPayloads().get()) {
-            addPattern(line, patterns);
+        patterns = PATTERNS.get(getJsFunctionPayloads());
+    }
+
+    private static List<Pattern> createPatterns(List<String> payloads) {
+        List<Pattern> allPatterns = new ArrayList<>(defaultPatterns);
+        for (String line : payloads) {
+            addPattern(line, allPatterns);
         }
+        return allPatterns;
     }
 
     private static void addPattern(String line, List<Pattern> list) {
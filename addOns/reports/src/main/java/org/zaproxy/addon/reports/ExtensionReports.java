@@ -39,8 +39,15 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -102,6 +109,8 @@ public class ExtensionReports extends ExtensionAdaptor {
 
     private List<ReportDataHandler> reportDataHandlers = new ArrayList<>();
 
+    private final Map<String, CachedTemplateEngine> templateEngines = new ConcurrentHashMap<>();
+
     public ExtensionReports() {
         super(NAME);
         setI18nPrefix(PREFIX);
@@ -129,6 +138,44 @@ public class ExtensionReports extends ExtensionAdaptor {
 
     private void unloadTemplates() {
         this.getTemplateMap().values().forEach(Template::unload);
+        templateEngines.clear();
+    }
+
+    /**
+     * Gets the template engine for the given template, reusing the one previously created while
+     * the template was not changed, so that the template is not parsed again for each report.
+     */
+    private TemplateEngine getTemplateEngine(Template template) {
+        long lastModified = getLastModified(template.getReportTemplateFile().getParentFile());
+        CachedTemplateEngine cached = templateEngines.get(template.getConfigName());
+        if (cached != null
+                && cached.template == template
+                && cached.lastModified == lastModified) {
+            return cached.engine;
+        }
+
+        TemplateEngine templateEngine = new TemplateEngine();
+        FileTemplateResolver templateResolver = new FileTemplateResolver();
+        templateResolver.setTemplateMode(template.getMode());
+        templateEngine.setTemplateResolver(templateResolver);
+
+        templateEngine.setMessageResolver(new ReportMessageResolver(template));
+
+        templateEngines.put(
+                template.getConfigName(),
+                new CachedTemplateEngine(template, lastModified, templateEngine));
+        return templateEngine;
+    }
+
+    private static long getLastModified(File dir) {
+        long lastModified = dir.lastModified();
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                lastModified = Math.max(lastModified, file.lastModified());
+            }
+        }
+        return lastModified;
     }
 
     @Override
@@ -365,35 +412,126 @@ public class ExtensionReports extends ExtensionAdaptor {
     public File generateReport(
             ReportData reportData, Template template, String reportFilename, boolean display)
             throws IOException {
+        return generateReport(
+                reportData,
+                template,
+                reportFilename,
+                display,
+                createReportModel(reportData.getAlertTreeRootNode()),
+                true);
+    }
+
+    /**
+     * Generates the given reports concurrently.
+     *
+     * <p>The data that does not depend on the template, for example, the alert counts and the
+     * statistics, is created once for all the reports with the same alert tree and shared, read
+     * only, by them. The {@link ReportDataHandler}s, which are not expected to be thread-safe, are
+     * called for each report one at a time, in the calling thread, before the reports are rendered
+     * concurrently.
+     *
+     * @param requests the reports to generate.
+     * @return the futures of the reports, in the same order as the requests. Each completes with
+     *     the report file or exceptionally with the reason the report was not generated.
+     * @since 0.45.0
+     */
+    public List<CompletableFuture<File>> generateReports(List<ReportRequest> requests) {
+        List<CompletableFuture<File>> reports = new ArrayList<>(requests.size());
+        if (requests.isEmpty()) {
+            return reports;
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor =
+                Executors.newFixedThreadPool(
+                        Math.min(requests.size(), Runtime.getRuntime().availableProcessors()),
+                        r -> {
+                            Thread thread =
+                                    new Thread(r, "ZAP-reports-" + threadCount.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        });
         try {
-            TemplateEngine templateEngine = new TemplateEngine();
-            FileTemplateResolver templateResolver = new FileTemplateResolver();
-            templateResolver.setTemplateMode(template.getMode());
-            templateEngine.setTemplateResolver(templateResolver);
+            Map<AlertNode, ReportModel> models = new IdentityHashMap<>();
+            for (ReportRequest request : requests) {
+                ReportData reportData = request.getReportData();
+                ReportModel model =
+                        models.computeIfAbsent(
+                                reportData.getAlertTreeRootNode(), this::createReportModel);
+                try {
+                    handleReportData(reportData);
+                } catch (RuntimeException e) {
+                    closeReportObjects(reportData);
+                    reports.add(CompletableFuture.failedFuture(e));
+                    continue;
+                }
+                reports.add(
+                        CompletableFuture.supplyAsync(
+                                () -> {
+                                    try {
+                                        return generateReport(
+                                                reportData,
+                                                request.getTemplate(),
+                                                request.getReportFilename(),
+                                                request.isDisplay(),
+                                                model,
+                                                false);
+                                    } catch (IOException e) {
+                                        throw new CompletionException(e);
+                                    }
+                                },
+                                executor));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return reports;
+    }
+
+    private ReportModel createReportModel(AlertNode rootNode) {
+        Map<String, Long> stats = null;
+        ExtensionStats extStats =
+                Control.getSingleton().getExtensionLoader().getExtension(ExtensionStats.class);
+        if (extStats != null) {
+            InMemoryStats inMemoryStats = extStats.getInMemoryStats();
+            if (inMemoryStats != null) {
+                stats = inMemoryStats.getStats("");
+            }
+        }
+        return new ReportModel(
+                getAlertCountsByRisk(rootNode),
+                getAlertCountsByRule(rootNode),
+                stats,
+                Instant.now());
+    }
 
-            templateEngine.setMessageResolver(new ReportMessageResolver(template));
+    private File generateReport(
+            ReportData reportData,
+            Template template,
+            String reportFilename,
+            boolean display,
+            ReportModel model,
+            boolean handleData)
+            throws IOException {
+        ReportMessageCache messageCache =
+                new ReportMessageCache(reportData.getAlertTreeRootNode());
+        try {
+            TemplateEngine templateEngine = getTemplateEngine(template);
 
             Context context = new Context();
             context.setVariable("alertTree", reportData.getAlertTreeRootNode());
             context.setVariable("reportTitle", reportData.getTitle());
             context.setVariable("description", reportData.getDescription());
-            context.setVariable("helper", new ReportHelper());
-            context.setVariable(
-                    "alertCounts", getAlertCountsByRisk(reportData.getAlertTreeRootNode()));
-            context.setVariable(
-                    "alertCountsByRule", getAlertCountsByRule(reportData.getAlertTreeRootNode()));
+            context.setVariable("helper", new ReportHelper(messageCache));
+            context.setVariable("alertCounts", model.alertCounts);
+            context.setVariable("alertCountsByRule", model.alertCountsByRule);
             context.setVariable("reportData", reportData);
 
-            ExtensionStats extStats =
-                    Control.getSingleton().getExtensionLoader().getExtension(ExtensionStats.class);
-            if (extStats != null) {
-                InMemoryStats stats = extStats.getInMemoryStats();
-                if (stats != null) {
-                    context.setVariable("stats", stats.getStats(""));
-                }
+            if (model.stats != null) {
+                context.setVariable("stats", model.stats);
             }
 
-            Instant currentDateTime = Instant.now();
+            Instant currentDateTime = model.created;
             synchronized (SIMPLE_DATE_FORMAT) {
                 context.setVariable(
                         "generatedString",
@@ -403,7 +541,9 @@ public class ExtensionReports extends ExtensionAdaptor {
             context.setVariable("zapVersion", Constant.PROGRAM_VERSION);
             context.setVariable("programName", Constant.PROGRAM_NAME_SHORT);
 
-            reportDataHandlers.forEach(rdh -> rdh.handle(reportData));
+            if (handleData) {
+                handleReportData(reportData);
+            }
 
             if ("PDF".equals(template.getFormat())) {
                 if (reportFilename.toLowerCase().endsWith(".pdf")) {
@@ -483,20 +623,29 @@ public class ExtensionReports extends ExtensionAdaptor {
             Stats.incCounter("stats.reports.error." + template.getConfigName());
             throw e;
         } finally {
-            reportData.getReportObjects().values().stream()
-                    .filter(Closeable.class::isInstance)
-                    .map(Closeable.class::cast)
-                    .forEach(
-                            e -> {
-                                try {
-                                    e.close();
-                                } catch (Exception ex) {
-                                    LOGGER.error("Failed to close the report data:", ex);
-                                }
-                            });
+            messageCache.close();
+            closeReportObjects(reportData);
         }
     }
 
+    private void handleReportData(ReportData reportData) {
+        reportDataHandlers.forEach(rdh -> rdh.handle(reportData));
+    }
+
+    private static void closeReportObjects(ReportData reportData) {
+        reportData.getReportObjects().values().stream()
+                .filter(Closeable.class::isInstance)
+                .map(Closeable.class::cast)
+                .forEach(
+                        e -> {
+                            try {
+                                e.close();
+                            } catch (Exception ex) {
+                                LOGGER.error("Failed to close the report data:", ex);
+                            }
+                        });
+    }
+
     /**
      * Set (add) a class which can be used to add more data to reports.
      *
@@ -738,4 +887,35 @@ public class ExtensionReports extends ExtensionAdaptor {
     public String getAuthor() {
         return Constant.ZAP_TEAM;
     }
+
+    /** The data shared by the reports generated from the same alert tree. */
+    private static class ReportModel {
+        private final Map<Integer, Integer> alertCounts;
+        private final Map<Integer, Integer> alertCountsByRule;
+        private final Map<String, Long> stats;
+        private final Instant created;
+
+        ReportModel(
+                Map<Integer, Integer> alertCounts,
+                Map<Integer, Integer> alertCountsByRule,
+                Map<String, Long> stats,
+                Instant created) {
+            this.alertCounts = Collections.unmodifiableMap(alertCounts);
+            this.alertCountsByRule = Collections.unmodifiableMap(alertCountsByRule);
+            this.stats = stats;
+            this.created = created;
+        }
+    }
+
+    private static class CachedTemplateEngine {
+        private final Template template;
+        private final long lastModified;
+        private final TemplateEngine engine;
+
+        CachedTemplateEngine(Template template, long lastModified, TemplateEngine engine) {
+            this.template = template;
+            this.lastModified = lastModified;
+            this.engine = engine;
+        }
+    }
 }
@@ -48,6 +48,36 @@ public class ReportHelper {
 
     private static final String STATS_RESOURCE_PREFIX = ExtensionReports.PREFIX + ".report.";
 
+    private final ReportMessageCache messageCache;
+
+    public ReportHelper() {
+        this(null);
+    }
+
+    ReportHelper(ReportMessageCache messageCache) {
+        this.messageCache = messageCache;
+    }
+
+    /**
+     * Gets the HTTP message of the given alert.
+     *
+     * <p>When generating a report the messages are read from the database in batches, ahead of
+     * the alert being rendered, instead of one at a time each time the message is accessed.
+     *
+     * @param alert the alert.
+     * @return the message, or {@code null} if none.
+     * @since 0.45.0
+     */
+    public HttpMessage getAlertMessage(Alert alert) {
+        if (alert == null) {
+            return null;
+        }
+        if (messageCache == null) {
+            return alert.getMessage();
+        }
+        return messageCache.getMessage(alert);
+    }
+
     public static String getRiskString(int risk) {
         return Constant.messages.getString(ExtensionReports.PREFIX + ".report.risk." + risk);
     }
@@ -0,0 +1,178 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.reports;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.parosproxy.paros.core.scanner.Alert;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.zap.extension.alert.AlertNode;
+
+/**
+ * The HTTP messages of the alerts of a report.
+ *
+ * <p>The messages of the alerts read from the database are prefetched in batches, in the order of
+ * the alert tree, in a background thread while the report is being rendered. Only a window of
+ * messages around the one last requested is kept, so the memory used does not grow with the number
+ * of alerts.
+ */
+class ReportMessageCache implements Closeable {
+
+    private static final Logger LOGGER = LogManager.getLogger(ReportMessageCache.class);
+
+    static final int BATCH_SIZE = 50;
+
+    private final List<Alert> alerts = new ArrayList<>();
+    private final Map<Alert, Integer> positions = new IdentityHashMap<>();
+    private final NavigableMap<Integer, CompletableFuture<HttpMessage>> messages = new TreeMap<>();
+
+    private ExecutorService executor;
+    private int prefetchedUntil;
+
+    ReportMessageCache(AlertNode rootNode) {
+        if (rootNode == null) {
+            return;
+        }
+        for (int alertIndex = 0; alertIndex < rootNode.getChildCount(); alertIndex++) {
+            AlertNode alertNode = (AlertNode) rootNode.getChildAt(alertIndex);
+            for (int instIndex = 0; instIndex < alertNode.getChildCount(); instIndex++) {
+                Alert alert = ((AlertNode) alertNode.getChildAt(instIndex)).getUserObject();
+                if (alert != null
+                        && alert.getHistoryRef() != null
+                        && !positions.containsKey(alert)) {
+                    positions.put(alert, alerts.size());
+                    alerts.add(alert);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the message of the given alert.
+     *
+     * @param alert the alert.
+     * @return the message, or {@code null} if none.
+     */
+    HttpMessage getMessage(Alert alert) {
+        if (alert == null) {
+            return null;
+        }
+        Integer position = positions.get(alert);
+        if (position == null) {
+            return alert.getMessage();
+        }
+
+        CompletableFuture<HttpMessage> message;
+        synchronized (this) {
+            message = messages.get(position);
+            if (message == null) {
+                // Not requested in the order of the tree, start prefetching from here.
+                prefetchedUntil = position;
+                prefetch();
+                message = messages.get(position);
+            } else if (position + BATCH_SIZE / 2 >= prefetchedUntil) {
+                prefetch();
+            }
+            messages.headMap(position - BATCH_SIZE).clear();
+            int windowEnd = position + 2 * BATCH_SIZE;
+            messages.tailMap(windowEnd, true).clear();
+            prefetchedUntil = Math.min(prefetchedUntil, windowEnd);
+        }
+
+        try {
+            return message.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            LOGGER.debug("Failed to read the message of the alert:", e);
+            return null;
+        }
+    }
+
+    private void prefetch() {
+        int from = prefetchedUntil;
+        int to = Math.min(from + BATCH_SIZE, alerts.size());
+        if (from >= to) {
+            return;
+        }
+        List<Alert> batch = new ArrayList<>(to - from);
+        List<CompletableFuture<HttpMessage>> futures = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            CompletableFuture<HttpMessage> future = messages.get(i);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                messages.put(i, future);
+                batch.add(alerts.get(i));
+                futures.add(future);
+            }
+        }
+        prefetchedUntil = to;
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        getExecutor()
+                .execute(
+                        () -> {
+                            for (int i = 0; i < batch.size(); i++) {
+                                try {
+                                    futures.get(i).complete(batch.get(i).getMessage());
+                                } catch (RuntimeException e) {
+                                    futures.get(i).completeExceptionally(e);
+                                }
+                            }
+                        });
+    }
+
+    private ExecutorService getExecutor() {
+        if (executor == null) {
+            executor =
+                    Executors.newSingleThreadExecutor(
+                            r -> {
+                                Thread thread = new Thread(r, "ZAP-reports-messages");
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+        }
+        return executor;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        messages.values().forEach(future -> future.complete(null));
+        messages.clear();
+    }
+}
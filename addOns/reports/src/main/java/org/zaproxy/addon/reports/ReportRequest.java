@@ -0,0 +1,69 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.reports;
+
+import java.util.Objects;
+
+/**
+ * A report to generate, with {@link ExtensionReports#generateReports(java.util.List)}.
+ *
+ * @since 0.45.0
+ */
+public class ReportRequest {
+
+    private final ReportData reportData;
+    private final Template template;
+    private final String reportFilename;
+    private final boolean display;
+
+    /**
+     * Constructs a {@code ReportRequest} with the given data.
+     *
+     * @param reportData the data of the report, with the alert tree already set.
+     * @param template the template of the report.
+     * @param reportFilename the name of the report file.
+     * @param display {@code true} if the report should be displayed once generated, {@code false}
+     *     otherwise.
+     * @throws NullPointerException if the report data, template, or file name are {@code null}.
+     */
+    public ReportRequest(
+            ReportData reportData, Template template, String reportFilename, boolean display) {
+        this.reportData = Objects.requireNonNull(reportData);
+        this.template = Objects.requireNonNull(template);
+        this.reportFilename = Objects.requireNonNull(reportFilename);
+        this.display = display;
+    }
+
+    public ReportData getReportData() {
+        return reportData;
+    }
+
+    public Template getTemplate() {
+        return template;
+    }
+
+    public String getReportFilename() {
+        return reportFilename;
+    }
+
+    public boolean isDisplay() {
+        return display;
+    }
+}
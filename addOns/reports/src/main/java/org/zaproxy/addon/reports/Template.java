@@ -50,7 +50,7 @@ public class Template {
     private List<String> sections = new ArrayList<>();
     private List<String> themes = new ArrayList<>();
     private ResourceBundle msgs = null;
-    private Boolean hasMsgs = null;
+    private volatile Boolean hasMsgs = null;
     private URLClassLoader classloader = null;
 
     public Template(File templateYaml) throws IOException {
@@ -236,16 +236,7 @@ public class Template {
      */
     public String getI18nString(String key, Object[] messageParameters) {
         if (hasMsgs == null) {
-            try {
-                File dir = this.reportTemplateFile.getParentFile();
-                URL[] urls = {dir.toURI().toURL()};
-                classloader = new URLClassLoader(urls);
-                msgs = ResourceBundle.getBundle("Messages", Constant.getLocale(), classloader);
-                hasMsgs = Boolean.TRUE;
-            } catch (Exception e) {
-                hasMsgs = Boolean.FALSE;
-                return null;
-            }
+            loadMessages();
         }
         if (hasMsgs && msgs.containsKey(key)) {
             String str = msgs.getString(key);
@@ -257,6 +248,22 @@ public class Template {
         return null;
     }
 
+    // Synchronised as the same template might be used to generate several reports concurrently.
+    private synchronized void loadMessages() {
+        if (hasMsgs != null) {
+            return;
+        }
+        try {
+            File dir = this.reportTemplateFile.getParentFile();
+            URL[] urls = {dir.toURI().toURL()};
+            classloader = new URLClassLoader(urls);
+            msgs = ResourceBundle.getBundle("Messages", Constant.getLocale(), classloader);
+            hasMsgs = Boolean.TRUE;
+        } catch (Exception e) {
+            hasMsgs = Boolean.FALSE;
+        }
+    }
+
     void unload() {
         if (classloader != null) {
             ResourceBundle.clearCache(classloader);
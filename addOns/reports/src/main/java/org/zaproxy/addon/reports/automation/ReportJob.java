@@ -20,10 +20,14 @@
 package org.zaproxy.addon.reports.automation;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import lombok.Getter;
 import lombok.Setter;
 import org.apache.commons.lang3.StringUtils;
@@ -41,6 +45,7 @@ import org.zaproxy.addon.automation.jobs.JobUtils;
 import org.zaproxy.addon.reports.ExtensionReports;
 import org.zaproxy.addon.reports.ReportData;
 import org.zaproxy.addon.reports.ReportParam;
+import org.zaproxy.addon.reports.ReportRequest;
 import org.zaproxy.addon.reports.Template;
 
 public class ReportJob extends AutomationJob {
@@ -62,6 +67,8 @@ public class ReportJob extends AutomationJob {
     private Parameters parameters = new Parameters();
     private Data data;
 
+    private CompletableFuture<File> pendingReport;
+
     public ReportJob() {
         data = new Data(this, this.parameters);
         this.getParameters().setTemplate(ReportParam.DEFAULT_TEMPLATE);
@@ -149,6 +156,129 @@ public class ReportJob extends AutomationJob {
 
     @Override
     public void runJob(AutomationEnvironment env, AutomationProgress progress) {
+        CompletableFuture<File> report = pendingReport;
+        pendingReport = null;
+
+        try {
+            if (report == null) {
+                report = generateReports(env, progress);
+                if (report == null) {
+                    return;
+                }
+            }
+
+            File file = report.join();
+            progress.info(
+                    Constant.messages.getString(
+                            "reports.automation.info.reportgen",
+                            this.getName(),
+                            file.getAbsolutePath()));
+        } catch (Exception e) {
+            Throwable cause =
+                    e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            LOGGER.warn("Failed to generate the report:", cause);
+            progress.error(
+                    Constant.messages.getString(
+                            "reports.automation.error.generate",
+                            this.getName(),
+                            cause.getClass().getSimpleName(),
+                            cause.getMessage()));
+        }
+    }
+
+    /**
+     * Generates the report of this job, along with the reports of the report jobs that follow it
+     * in the plan, if they include the same alerts. The reports are generated concurrently, from
+     * the same alerts, and the following jobs just get their reports when run.
+     *
+     * <p>All the reports are waited for, the progress is shared by them and must not be changed
+     * while they are being generated.
+     */
+    private CompletableFuture<File> generateReports(
+            AutomationEnvironment env, AutomationProgress progress) {
+        ReportRequest request = createReportRequest(env, progress);
+        if (request == null) {
+            return null;
+        }
+        ReportData reportData = request.getReportData();
+        reportData.setAlertTreeRootNode(getExtReport().getFilteredAlertTree(reportData));
+
+        List<ReportJob> jobs = new ArrayList<>();
+        List<ReportRequest> requests = new ArrayList<>();
+        jobs.add(this);
+        requests.add(request);
+        addFollowingReports(env, progress, reportData, jobs, requests);
+
+        if (requests.size() == 1) {
+            try {
+                return CompletableFuture.completedFuture(
+                        getExtReport()
+                                .generateReport(
+                                        reportData,
+                                        request.getTemplate(),
+                                        request.getReportFilename(),
+                                        request.isDisplay()));
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        List<CompletableFuture<File>> reports = getExtReport().generateReports(requests);
+        CompletableFuture.allOf(reports.toArray(new CompletableFuture<?>[0]))
+                .exceptionally(e -> null)
+                .join();
+        for (int i = 1; i < jobs.size(); i++) {
+            jobs.get(i).pendingReport = reports.get(i);
+        }
+        return reports.get(0);
+    }
+
+    private void addFollowingReports(
+            AutomationEnvironment env,
+            AutomationProgress progress,
+            ReportData reportData,
+            List<ReportJob> jobs,
+            List<ReportRequest> requests) {
+        if (getPlan() == null) {
+            return;
+        }
+        List<AutomationJob> planJobs = getPlan().getJobs();
+        for (int i = planJobs.indexOf(this) + 1; i > 0 && i < planJobs.size(); i++) {
+            if (!(planJobs.get(i) instanceof ReportJob job) || !job.isEnabled()) {
+                return;
+            }
+            // Any problem is reported by the job itself, when run.
+            LookAheadProgress lookAheadProgress = new LookAheadProgress();
+            ReportRequest request = job.createReportRequest(env, lookAheadProgress);
+            if (request == null
+                    || lookAheadProgress.hasProblems()
+                    || !hasSameAlerts(reportData, request.getReportData())) {
+                return;
+            }
+            request.getReportData().setAlertTreeRootNode(reportData.getAlertTreeRootNode());
+            request.getReportData().addReportObjects("automation.progress", progress);
+            jobs.add(job);
+            requests.add(request);
+        }
+    }
+
+    private static boolean hasSameAlerts(ReportData reportData, ReportData otherReportData) {
+        for (int i = 0; i < Alert.MSG_RISK.length; i++) {
+            if (reportData.isIncludeRisk(i) != otherReportData.isIncludeRisk(i)) {
+                return false;
+            }
+        }
+        for (int i = 0; i < Alert.MSG_CONFIDENCE.length; i++) {
+            if (reportData.isIncludeConfidence(i) != otherReportData.isIncludeConfidence(i)) {
+                return false;
+            }
+        }
+        return Objects.equals(reportData.getSites(), otherReportData.getSites())
+                && Objects.equals(reportData.getContexts(), otherReportData.getContexts());
+    }
+
+    private ReportRequest createReportRequest(
+            AutomationEnvironment env, AutomationProgress progress) {
 
         String templateName = this.getParameters().getTemplate();
         if (StringUtils.isEmpty(templateName)) {
@@ -159,7 +289,7 @@ public class ReportJob extends AutomationJob {
 
         if (template == null) {
             errorUnknownTemplate(progress);
-            return;
+            return null;
         }
         String theme = this.getParameters().getTheme();
         if (StringUtils.isEmpty(theme) && template.getThemes().size() > 0) {
@@ -258,30 +388,11 @@ public class ReportJob extends AutomationJob {
             }
         }
 
-        reportData.setAlertTreeRootNode(getExtReport().getFilteredAlertTree(reportData));
-
-        try {
-            file =
-                    getExtReport()
-                            .generateReport(
-                                    reportData,
-                                    template,
-                                    file.getAbsolutePath(),
-                                    JobUtils.unBox(this.getParameters().getDisplayReport()));
-            progress.info(
-                    Constant.messages.getString(
-                            "reports.automation.info.reportgen",
-                            this.getName(),
-                            file.getAbsolutePath()));
-        } catch (Exception e) {
-            LOGGER.warn("Failed to generate the report:", e);
-            progress.error(
-                    Constant.messages.getString(
-                            "reports.automation.error.generate",
-                            this.getName(),
-                            e.getClass().getSimpleName(),
-                            e.getMessage()));
-        }
+        return new ReportRequest(
+                reportData,
+                template,
+                file.getAbsolutePath(),
+                JobUtils.unBox(this.getParameters().getDisplayReport()));
     }
 
     private int riskStringToInt(String str, AutomationProgress progress) {
@@ -401,6 +512,11 @@ public class ReportJob extends AutomationJob {
         return map;
     }
 
+    @Override
+    public void planFinished() {
+        pendingReport = null;
+    }
+
     @Override
     public String getTemplateDataMin() {
         return ExtensionReportAutomation.getResourceAsString(this.getType() + "-min.yaml");
@@ -478,4 +594,29 @@ public class ReportJob extends AutomationJob {
         private String reportDescription = "";
         private Boolean displayReport = false;
     }
+
+    /** Notes the problems found when preparing a report, without reporting them. */
+    private static class LookAheadProgress extends AutomationProgress {
+
+        private boolean problems;
+
+        @Override
+        public void error(String error) {
+            problems = true;
+        }
+
+        @Override
+        public void warn(String warning) {
+            problems = true;
+        }
+
+        @Override
+        public void info(String info) {
+            // Nothing to do.
+        }
+
+        boolean hasProblems() {
+            return problems;
+        }
+    }
 }
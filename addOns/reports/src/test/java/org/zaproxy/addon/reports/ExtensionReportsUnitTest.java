@@ -41,6 +41,8 @@ import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.core.LogEvent;
@@ -743,6 +745,58 @@ class ExtensionReportsUnitTest extends TestUtils {
         assertThat(logEvents, not(hasItem(startsWith("ERROR"))));
     }
 
+    @Test
+    void shouldGenerateReportsConcurrently() throws Exception {
+        // Given
+        ExtensionReports extRep = new ExtensionReports();
+        AlertNode alertTree = setupReportData().getAlertTreeRootNode();
+        List<String> templateNames =
+                List.of("traditional-html", "traditional-json", "traditional-xml");
+        List<ReportRequest> requests = new ArrayList<>();
+        for (String templateName : templateNames) {
+            ReportData reportData = ReportTestUtils.getTestReportData();
+            reportData.setAlertTreeRootNode(alertTree);
+            Template template = ReportTestUtils.getTemplateFromYamlFile(templateName);
+            File f = File.createTempFile("zap.reports.test", "." + template.getExtension());
+            requests.add(new ReportRequest(reportData, template, f.getAbsolutePath(), false));
+        }
+        // When
+        List<CompletableFuture<File>> reports = extRep.generateReports(requests);
+        // Then
+        assertThat(reports.size(), is(equalTo(templateNames.size())));
+        for (int i = 0; i < reports.size(); i++) {
+            File r = reports.get(i).get(30, TimeUnit.SECONDS);
+            assertThat(r.getAbsolutePath(), is(equalTo(requests.get(i).getReportFilename())));
+            assertThat(r.length(), greaterThan(0L));
+        }
+        assertThat(logEvents, not(hasItem(startsWith("ERROR"))));
+    }
+
+    @Test
+    void shouldHandleReportDataOfConcurrentReportsInCallingThread() throws Exception {
+        // Given
+        ExtensionReports extRep = new ExtensionReports();
+        List<Thread> handlerThreads = new ArrayList<>();
+        extRep.addReportDataHandler(reportData -> handlerThreads.add(Thread.currentThread()));
+        AlertNode alertTree = setupReportData().getAlertTreeRootNode();
+        List<ReportRequest> requests = new ArrayList<>();
+        for (String templateName : List.of("traditional-json", "traditional-xml")) {
+            ReportData reportData = ReportTestUtils.getTestReportData();
+            reportData.setAlertTreeRootNode(alertTree);
+            Template template = ReportTestUtils.getTemplateFromYamlFile(templateName);
+            File f = File.createTempFile("zap.reports.test", "." + template.getExtension());
+            requests.add(new ReportRequest(reportData, template, f.getAbsolutePath(), false));
+        }
+        // When
+        List<CompletableFuture<File>> reports = extRep.generateReports(requests);
+        // Then
+        for (CompletableFuture<File> report : reports) {
+            report.get(30, TimeUnit.SECONDS);
+        }
+        Thread thread = Thread.currentThread();
+        assertThat(handlerThreads, is(equalTo(List.of(thread, thread))));
+    }
+
     private static ReportData setupReportData() {
         ReportData reportData = ReportTestUtils.getTestReportData();
         AlertNode root = new AlertNode(0, "Alerts");
@@ -23,6 +23,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
@@ -30,6 +31,7 @@ import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.core.scanner.Alert;
+import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.zap.extension.alert.AlertNode;
 import org.zaproxy.zap.utils.I18N;
 
@@ -197,6 +199,26 @@ class ReportHelperUnitTest {
         assertThat(string, is(equalTo(statsKey)));
     }
 
+    @Test
+    void shouldGetAlertMessage() {
+        // Given
+        HttpMessage message = new HttpMessage();
+        Alert alert = new Alert(1);
+        alert.setMessage(message);
+        // When
+        HttpMessage alertMessage = new ReportHelper().getAlertMessage(alert);
+        // Then
+        assertThat(alertMessage, is(sameInstance(message)));
+    }
+
+    @Test
+    void shouldGetNullAlertMessageForNullAlert() {
+        // Given / When
+        HttpMessage alertMessage = new ReportHelper().getAlertMessage(null);
+        // Then
+        assertThat(alertMessage, is(nullValue()));
+    }
+
     AlertNode newAlertNode(int risk, String name, String url) {
         AlertNode node = new AlertNode(risk, name);
         Alert alert = new Alert(1);
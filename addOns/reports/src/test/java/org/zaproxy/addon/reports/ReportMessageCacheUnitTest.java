@@ -0,0 +1,141 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.addon.reports;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.core.scanner.Alert;
+import org.parosproxy.paros.model.HistoryReference;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.zap.extension.alert.AlertNode;
+
+/** Unit test for {@link ReportMessageCache}. */
+class ReportMessageCacheUnitTest {
+
+    @Test
+    void shouldGetMessagesOfAllAlertsInTree() {
+        // Given
+        AlertNode root = new AlertNode(-1, "Root");
+        List<Alert> alerts = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            AlertNode alertNode = new AlertNode(i, "Alert " + i);
+            for (int j = 0; j < ReportMessageCache.BATCH_SIZE; j++) {
+                Alert alert = createAlert(new HttpMessage());
+                alerts.add(alert);
+                AlertNode instance = new AlertNode(0, "Alert " + i);
+                instance.setUserObject(alert);
+                alertNode.add(instance);
+            }
+            root.add(alertNode);
+        }
+        try (ReportMessageCache cache = new ReportMessageCache(root)) {
+            for (Alert alert : alerts) {
+                // When
+                HttpMessage message = cache.getMessage(alert);
+                // Then
+                assertThat(message, is(sameInstance(alert.getMessage())));
+            }
+        }
+    }
+
+    @Test
+    void shouldGetMessagesOfAlertsNotInTreeOrder() {
+        // Given
+        AlertNode root = new AlertNode(-1, "Root");
+        AlertNode alertNode = new AlertNode(0, "Alert");
+        List<Alert> alerts = new ArrayList<>();
+        for (int i = 0; i < ReportMessageCache.BATCH_SIZE * 4; i++) {
+            Alert alert = createAlert(new HttpMessage());
+            alerts.add(alert);
+            AlertNode instance = new AlertNode(0, "Alert");
+            instance.setUserObject(alert);
+            alertNode.add(instance);
+        }
+        root.add(alertNode);
+        try (ReportMessageCache cache = new ReportMessageCache(root)) {
+            for (int i = alerts.size() - 1; i >= 0; i -= 7) {
+                Alert alert = alerts.get(i);
+                // When
+                HttpMessage message = cache.getMessage(alert);
+                // Then
+                assertThat(message, is(sameInstance(alert.getMessage())));
+            }
+        }
+    }
+
+    @Test
+    void shouldGetMessageOfAlertNotInTree() {
+        // Given
+        HttpMessage expectedMessage = new HttpMessage();
+        Alert alert = createAlert(expectedMessage);
+        try (ReportMessageCache cache = new ReportMessageCache(new AlertNode(-1, "Root"))) {
+            // When
+            HttpMessage message = cache.getMessage(alert);
+            // Then
+            assertThat(message, is(sameInstance(expectedMessage)));
+        }
+    }
+
+    @Test
+    void shouldReadMessageOfAlertOnce() {
+        // Given
+        Alert alert = createAlert(new HttpMessage());
+        AlertNode root = new AlertNode(-1, "Root");
+        AlertNode alertNode = new AlertNode(0, "Alert");
+        AlertNode instance = new AlertNode(0, "Alert");
+        instance.setUserObject(alert);
+        alertNode.add(instance);
+        root.add(alertNode);
+        try (ReportMessageCache cache = new ReportMessageCache(root)) {
+            // When
+            cache.getMessage(alert);
+            cache.getMessage(alert);
+        }
+        // Then
+        verify(alert, times(1)).getMessage();
+    }
+
+    @Test
+    void shouldGetNullMessageForNullAlert() {
+        try (ReportMessageCache cache = new ReportMessageCache(null)) {
+            // Given / When
+            HttpMessage message = cache.getMessage(null);
+            // Then
+            assertThat(message, is(nullValue()));
+        }
+    }
+
+    private static Alert createAlert(HttpMessage message) {
+        Alert alert = mock(Alert.class);
+        given(alert.getHistoryRef()).willReturn(mock(HistoryReference.class));
+        given(alert.getMessage()).willReturn(message);
+        return alert;
+    }
+}
@@ -25,14 +25,18 @@ import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.withSettings;
 
@@ -44,6 +48,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -64,6 +69,7 @@ import org.zaproxy.addon.automation.ContextWrapper;
 import org.zaproxy.addon.reports.ExtensionReports;
 import org.zaproxy.addon.reports.ReportData;
 import org.zaproxy.addon.reports.ReportParam;
+import org.zaproxy.addon.reports.ReportRequest;
 import org.zaproxy.addon.reports.Template;
 import org.zaproxy.zap.testutils.TestUtils;
 
@@ -633,6 +639,91 @@ class ReportJobUnitTest extends TestUtils {
         }
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldGenerateReportsOfFollowingJobsConcurrently() throws IOException {
+        // Given
+        ReportJob job1 = createReportJob("parameters:\n  template: template1");
+        ReportJob job2 = createReportJob("parameters:\n  template: template2");
+        AutomationPlan plan = new AutomationPlan();
+        AutomationProgress progress = plan.getProgress();
+        AutomationEnvironment env = plan.getEnv();
+        ContextWrapper contextWrapper = mock(ContextWrapper.class);
+        given(contextWrapper.getUrls()).willReturn(Collections.singletonList(""));
+        env.setContexts(Arrays.asList(contextWrapper));
+        Template template1 = mock(Template.class);
+        given(template1.getExtension()).willReturn("ext1");
+        given(extensionReports.getTemplateByConfigName("template1")).willReturn(template1);
+        Template template2 = mock(Template.class);
+        given(template2.getExtension()).willReturn("ext2");
+        given(extensionReports.getTemplateByConfigName("template2")).willReturn(template2);
+        File file1 = new File("report.ext1");
+        File file2 = new File("report.ext2");
+        ArgumentCaptor<List<ReportRequest>> requestsCaptor = ArgumentCaptor.forClass(List.class);
+        given(extensionReports.generateReports(requestsCaptor.capture()))
+                .willReturn(
+                        List.of(
+                                CompletableFuture.completedFuture(file1),
+                                CompletableFuture.completedFuture(file2)));
+        plan.addJob(job1);
+        plan.addJob(job2);
+        job1.verifyParameters(progress);
+        job2.verifyParameters(progress);
+
+        // When
+        job1.runJob(env, progress);
+        job2.runJob(env, progress);
+
+        // Then
+        verify(extensionReports, never()).generateReport(any(), any(), anyString(), anyBoolean());
+        List<ReportRequest> requests = requestsCaptor.getValue();
+        assertThat(requests.size(), is(equalTo(2)));
+        assertThat(requests.get(0).getTemplate(), is(sameInstance(template1)));
+        assertThat(requests.get(1).getTemplate(), is(sameInstance(template2)));
+        assertThat(
+                requests.get(1).getReportData().getAlertTreeRootNode(),
+                is(sameInstance(requests.get(0).getReportData().getAlertTreeRootNode())));
+        assertThat(progress.getInfos(), hasItem(containsString(file1.getAbsolutePath())));
+        assertThat(progress.getInfos(), hasItem(containsString(file2.getAbsolutePath())));
+        assertThat(progress.hasWarnings(), is(equalTo(false)));
+        assertThat(progress.hasErrors(), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldNotGenerateReportsOfFollowingJobsWithOtherAlerts() throws IOException {
+        // Given
+        ReportJob job1 = createReportJob("parameters:\n  template: template1");
+        ReportJob job2 =
+                createReportJob("parameters:\n  template: template2\nrisks:\n- high");
+        AutomationPlan plan = new AutomationPlan();
+        AutomationProgress progress = plan.getProgress();
+        AutomationEnvironment env = plan.getEnv();
+        ContextWrapper contextWrapper = mock(ContextWrapper.class);
+        given(contextWrapper.getUrls()).willReturn(Collections.singletonList(""));
+        env.setContexts(Arrays.asList(contextWrapper));
+        Template template1 = mock(Template.class);
+        given(template1.getExtension()).willReturn("ext1");
+        given(extensionReports.getTemplateByConfigName("template1")).willReturn(template1);
+        Template template2 = mock(Template.class);
+        given(template2.getExtension()).willReturn("ext2");
+        given(extensionReports.getTemplateByConfigName("template2")).willReturn(template2);
+        given(extensionReports.generateReport(any(), any(), anyString(), anyBoolean()))
+                .willReturn(mock(File.class));
+        plan.addJob(job1);
+        plan.addJob(job2);
+        job1.verifyParameters(progress);
+        job2.verifyParameters(progress);
+
+        // When
+        job1.runJob(env, progress);
+
+        // Then
+        verify(extensionReports, never()).generateReports(any());
+        verify(extensionReports).generateReport(any(), eq(template1), anyString(), anyBoolean());
+        verify(extensionReports, never())
+                .generateReport(any(), eq(template2), anyString(), anyBoolean());
+    }
+
     private static ReportJob createReportJob(String data) {
         ReportJob job = new ReportJob();
         job.setJobData(new Yaml().load(data));
@@ -0,0 +1,382 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.selenium;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * A pool of browsers, launched ahead of time and reused by the tasks of a scan.
+ *
+ * <p>The browsers are created by a {@link BrowserFactory}, which allows to pool the browser along
+ * with the resources it depends on, for example, the proxy it was configured with. Before being
+ * handed out a browser is checked to still be responsive, and it's recycled once it was used the
+ * maximum number of times or its page uses more memory than the maximum allowed.
+ *
+ * <pre>{@code
+ * try (BrowserPool<MyBrowser> pool = extSelenium.createBrowserPool(factory)) {
+ *     pool.prestart(numberOfBrowsers);
+ *     MyBrowser browser = pool.acquire();
+ *     try {
+ *         ...
+ *     } finally {
+ *         pool.release(browser);
+ *     }
+ * }
+ * }</pre>
+ *
+ * @param <T> the type of the pooled browsers.
+ * @since 15.48.0
+ * @see ExtensionSelenium#createBrowserPool(BrowserFactory)
+ */
+public class BrowserPool<T> implements Closeable {
+
+    private static final Logger LOGGER = LogManager.getLogger(BrowserPool.class);
+
+    private static final String USED_MEMORY_SCRIPT =
+            "return window.performance && window.performance.memory"
+                    + " ? window.performance.memory.usedJSHeapSize : -1;";
+
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger(1);
+
+    private final BrowserFactory<T> factory;
+    private final int maxUses;
+    private final long maxMemory;
+    private final String threadNamePrefix;
+
+    private final Deque<PooledBrowser<T>> idle = new ArrayDeque<>();
+    private final Map<T, PooledBrowser<T>> active = new IdentityHashMap<>();
+    private ExecutorService executor;
+    private int starting;
+    private int waiting;
+    private boolean closed;
+
+    /**
+     * Constructs a {@code BrowserPool} with the given factory and limits.
+     *
+     * @param factory the factory of the browsers.
+     * @param maxUses the number of times a browser is used before being recycled, zero or less
+     *     for no limit.
+     * @param maxMemory the memory, in bytes, that the page of a browser can use before the browser
+     *     is recycled, zero or less for no limit. Only enforced in browsers that report it.
+     * @throws NullPointerException if the factory is {@code null}.
+     */
+    public BrowserPool(BrowserFactory<T> factory, int maxUses, long maxMemory) {
+        this.factory = Objects.requireNonNull(factory);
+        this.maxUses = maxUses;
+        this.maxMemory = maxMemory;
+        this.threadNamePrefix = "ZAP-BrowserPool-" + POOL_NUMBER.getAndIncrement() + "-thread-";
+    }
+
+    /**
+     * Launches the given number of browsers in the background, concurrently.
+     *
+     * <p>The browsers are added to the pool as they become ready, the tasks that acquire a browser
+     * meanwhile wait for them instead of launching more.
+     *
+     * @param count the number of browsers to launch.
+     */
+    public void prestart(int count) {
+        for (int i = 0; i < count; i++) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                try {
+                    getExecutor().execute(this::startBrowser);
+                    starting++;
+                } catch (RejectedExecutionException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private ExecutorService getExecutor() {
+        if (executor == null) {
+            AtomicInteger threadNumber = new AtomicInteger(1);
+            executor =
+                    Executors.newCachedThreadPool(
+                            r -> {
+                                Thread t =
+                                        new Thread(
+                                                r,
+                                                threadNamePrefix + threadNumber.getAndIncrement());
+                                t.setDaemon(true);
+                                return t;
+                            });
+        }
+        return executor;
+    }
+
+    private void startBrowser() {
+        PooledBrowser<T> browser = null;
+        try {
+            browser = new PooledBrowser<>(factory.create());
+        } catch (Exception e) {
+            LOGGER.warn("Failed to launch the browser: {}", e.getMessage(), e);
+        } finally {
+            boolean discard;
+            synchronized (this) {
+                starting--;
+                discard = closed && browser != null;
+                if (!discard && browser != null) {
+                    idle.addLast(browser);
+                }
+                notifyAll();
+            }
+            if (discard) {
+                destroy(browser);
+            }
+        }
+    }
+
+    /**
+     * Acquires a browser, waiting for the ones being launched or launching one if none available.
+     *
+     * <p>The browser should be returned to the pool with {@link #release(Object)}, once no longer
+     * needed.
+     *
+     * @return the browser.
+     * @throws IOException if an error occurred while launching the browser or if interrupted while
+     *     waiting for one.
+     * @throws IllegalStateException if the pool is closed.
+     */
+    public T acquire() throws IOException {
+        while (true) {
+            PooledBrowser<T> browser;
+            synchronized (this) {
+                checkOpen();
+                waiting++;
+                try {
+                    while (idle.isEmpty() && starting >= waiting) {
+                        wait();
+                        checkOpen();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while waiting for a browser.", e);
+                } finally {
+                    waiting--;
+                }
+                browser = idle.pollLast();
+            }
+
+            if (browser == null) {
+                browser = new PooledBrowser<>(factory.create());
+            } else if (!isResponsive(browser)) {
+                LOGGER.debug("Discarding unresponsive browser.");
+                destroy(browser);
+                continue;
+            }
+
+            synchronized (this) {
+                if (!closed) {
+                    active.put(browser.browser, browser);
+                    return browser.browser;
+                }
+            }
+            destroy(browser);
+            checkOpen();
+        }
+    }
+
+    private synchronized void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("The pool is closed.");
+        }
+    }
+
+    private boolean isResponsive(PooledBrowser<T> browser) {
+        try {
+            factory.getWebDriver(browser.browser).getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the given browser to the pool.
+     *
+     * <p>The browser is recycled, that is, closed and replaced with a new one launched in the
+     * background, if it reached the maximum number of uses or memory.
+     *
+     * @param browser the browser acquired from this pool.
+     */
+    public void release(T browser) {
+        PooledBrowser<T> pooled;
+        synchronized (this) {
+            pooled = active.remove(browser);
+            if (pooled == null) {
+                return;
+            }
+            pooled.uses++;
+        }
+
+        boolean recycle = shouldRecycle(pooled);
+        synchronized (this) {
+            if (!closed && !recycle) {
+                idle.addLast(pooled);
+                notifyAll();
+                return;
+            }
+        }
+        destroy(pooled);
+        if (recycle) {
+            prestart(1);
+        }
+    }
+
+    /**
+     * Removes the given browser from the pool and closes it, for example, after it failed in a way
+     * that it should no longer be used.
+     *
+     * @param browser the browser acquired from this pool.
+     */
+    public void discard(T browser) {
+        PooledBrowser<T> pooled;
+        synchronized (this) {
+            pooled = active.remove(browser);
+        }
+        if (pooled != null) {
+            destroy(pooled);
+        }
+    }
+
+    private boolean shouldRecycle(PooledBrowser<T> browser) {
+        if (maxUses > 0 && browser.uses >= maxUses) {
+            LOGGER.debug("Recycling browser used {} times.", browser.uses);
+            return true;
+        }
+        if (maxMemory <= 0) {
+            return false;
+        }
+        try {
+            WebDriver wd = factory.getWebDriver(browser.browser);
+            if (wd instanceof JavascriptExecutor) {
+                Object used = ((JavascriptExecutor) wd).executeScript(USED_MEMORY_SCRIPT);
+                if (used instanceof Number && ((Number) used).longValue() > maxMemory) {
+                    LOGGER.debug("Recycling browser using {} bytes.", used);
+                    return true;
+                }
+            }
+            return false;
+        } catch (Exception e) {
+            LOGGER.debug("Recycling browser, failed to check the memory: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * Gets the number of browsers in the pool, idle or in use.
+     *
+     * @return the number of browsers.
+     */
+    public synchronized int size() {
+        return idle.size() + active.size();
+    }
+
+    /** Closes all the browsers, idle or in use, and stops launching new ones. */
+    @Override
+    public void close() {
+        List<PooledBrowser<T>> browsers;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            browsers = new ArrayList<>(idle);
+            browsers.addAll(active.values());
+            idle.clear();
+            active.clear();
+            if (executor != null) {
+                executor.shutdown();
+            }
+            notifyAll();
+        }
+        browsers.forEach(this::destroy);
+    }
+
+    private void destroy(PooledBrowser<T> browser) {
+        try {
+            factory.destroy(browser.browser);
+        } catch (Exception e) {
+            LOGGER.debug("An error occurred while closing the browser.", e);
+        }
+    }
+
+    /**
+     * The factory of the browsers of a {@link BrowserPool}.
+     *
+     * @param <T> the type of the browsers.
+     * @since 15.48.0
+     */
+    public interface BrowserFactory<T> {
+
+        /**
+         * Creates a browser.
+         *
+         * @return the browser.
+         * @throws IOException if an error occurred while creating the browser.
+         */
+        T create() throws IOException;
+
+        /**
+         * Gets the {@code WebDriver} of the given browser, used to check it.
+         *
+         * @param browser the browser.
+         * @return the {@code WebDriver}.
+         */
+        WebDriver getWebDriver(T browser);
+
+        /**
+         * Closes the given browser and the resources it depends on.
+         *
+         * @param browser the browser.
+         */
+        void destroy(T browser);
+    }
+
+    private static class PooledBrowser<T> {
+
+        private final T browser;
+        private int uses;
+
+        PooledBrowser(T browser) {
+            this.browser = browser;
+        }
+    }
+}
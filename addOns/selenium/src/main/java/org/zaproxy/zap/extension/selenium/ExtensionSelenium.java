@@ -590,6 +590,25 @@ public class ExtensionSelenium extends ExtensionAdaptor {
         }
     }
 
+    /**
+     * Creates a pool of browsers, recycled as configured in the options.
+     *
+     * <p>The caller is responsible for closing the pool once no longer needed, for example, when
+     * the scan finishes.
+     *
+     * @param <T> the type of the pooled browsers.
+     * @param factory the factory of the browsers.
+     * @return the pool of browsers.
+     * @since 15.48.0
+     */
+    public <T> BrowserPool<T> createBrowserPool(BrowserPool.BrowserFactory<T> factory) {
+        SeleniumOptions seleniumOptions = getOptions();
+        return new BrowserPool<>(
+                factory,
+                seleniumOptions.getBrowserPoolMaxUses(),
+                seleniumOptions.getBrowserPoolMaxMemory() * 1024L * 1024L);
+    }
+
     protected SeleniumOptions getOptions() {
         if (options == null) {
             options = new SeleniumOptions();
@@ -0,0 +1,183 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.selenium;
+
+import java.time.Duration;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Detects when the page of a browser settled, that is, it has no outstanding requests and its DOM
+ * stopped changing, to wait only as long as needed after loading a page or firing an event.
+ *
+ * <p>The requests are tracked by the component that proxies the browser, which should call {@link
+ * #requestStarted(Object)} and {@link #requestFinished(Object)} for each request. The DOM changes
+ * are tracked with a {@code MutationObserver} installed in the page.
+ *
+ * <p>Requests outstanding for longer than the stale period, for example, long polling requests,
+ * are not waited for. Likewise, DOM changes are not waited for once the DOM has been changing,
+ * without a quiet period, for longer than the stale period, for example, carousels or clocks.
+ *
+ * @since 15.48.0
+ */
+public class PageSettleDetector {
+
+    /** The default time without network activity nor DOM changes for the page to be settled. */
+    public static final Duration DEFAULT_QUIET_PERIOD = Duration.ofMillis(300);
+
+    /**
+     * The default time after which an outstanding request, or the DOM changing continuously, is no
+     * longer waited for.
+     */
+    public static final Duration DEFAULT_STALE_PERIOD = Duration.ofSeconds(5);
+
+    private static final long POLL_INTERVAL_MS = 50;
+
+    /**
+     * The script that installs the {@code MutationObserver} and returns the ready state, the time
+     * since the last DOM change, and the time since the DOM has been changing without a quiet
+     * period. The quiet period is formatted into the script.
+     */
+    private static final String DOM_STATE_SCRIPT =
+            "var w = window, now = Date.now();"
+                    + "if (!w.__zapSettle) {"
+                    + "  w.__zapSettle = { last: now, changing: now };"
+                    + "  try {"
+                    + "    new MutationObserver(function() {"
+                    + "      var t = Date.now(), s = w.__zapSettle;"
+                    + "      if (t - s.last >= %d) { s.changing = t; }"
+                    + "      s.last = t;"
+                    + "    }).observe(document, { childList: true, subtree: true,"
+                    + "        attributes: true, characterData: true });"
+                    + "  } catch (e) {}"
+                    + "}"
+                    + "return [document.readyState, now - w.__zapSettle.last,"
+                    + "  now - w.__zapSettle.changing];";
+
+    private final long quietPeriodMs;
+    private final long stalePeriodMs;
+    private final String domStateScript;
+
+    private final Map<Object, Long> outstandingRequests = new IdentityHashMap<>();
+    private long lastNetworkActivity;
+
+    /** Constructs a {@code PageSettleDetector} with the default quiet and stale periods. */
+    public PageSettleDetector() {
+        this(DEFAULT_QUIET_PERIOD, DEFAULT_STALE_PERIOD);
+    }
+
+    /**
+     * Constructs a {@code PageSettleDetector} with the given quiet and stale periods.
+     *
+     * @param quietPeriod the time without network activity nor DOM changes for the page to be
+     *     settled.
+     * @param stalePeriod the time after which an outstanding request, or the DOM changing
+     *     continuously, is no longer waited for.
+     */
+    public PageSettleDetector(Duration quietPeriod, Duration stalePeriod) {
+        this.quietPeriodMs = quietPeriod.toMillis();
+        this.stalePeriodMs = stalePeriod.toMillis();
+        this.domStateScript = String.format(DOM_STATE_SCRIPT, quietPeriodMs);
+    }
+
+    /**
+     * Notifies that the browser sent the given request.
+     *
+     * @param request the request, for example, the {@code HttpMessage}.
+     */
+    public synchronized void requestStarted(Object request) {
+        lastNetworkActivity = System.currentTimeMillis();
+        outstandingRequests.put(request, lastNetworkActivity);
+    }
+
+    /**
+     * Notifies that the browser received the response to the given request, or that the request
+     * failed.
+     *
+     * @param request the request, for example, the {@code HttpMessage}.
+     */
+    public synchronized void requestFinished(Object request) {
+        lastNetworkActivity = System.currentTimeMillis();
+        outstandingRequests.remove(request);
+    }
+
+    /**
+     * Tells whether or not the network is idle, that is, there are no outstanding requests (other
+     * than stale ones) and no request started or finished during the quiet period.
+     *
+     * @return {@code true} if the network is idle, {@code false} otherwise.
+     */
+    public synchronized boolean isNetworkIdle() {
+        long now = System.currentTimeMillis();
+        if (now - lastNetworkActivity < quietPeriodMs) {
+            return false;
+        }
+        outstandingRequests.values().removeIf(started -> now - started >= stalePeriodMs);
+        return outstandingRequests.isEmpty();
+    }
+
+    /**
+     * Waits for the page of the given browser to settle, up to the given maximum time.
+     *
+     * @param wd the browser.
+     * @param maxWait the maximum time to wait.
+     * @return the time waited, equal or greater than {@code maxWait} if the page did not settle.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public Duration awaitSettled(WebDriver wd, Duration maxWait) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        long deadline = start + maxWait.toMillis();
+        while (true) {
+            long now = System.currentTimeMillis();
+            if (isNetworkIdle() && isDomQuiet(wd)) {
+                return Duration.ofMillis(now - start);
+            }
+            if (now >= deadline) {
+                return Duration.ofMillis(now - start);
+            }
+            Thread.sleep(Math.min(POLL_INTERVAL_MS, deadline - now));
+        }
+    }
+
+    private boolean isDomQuiet(WebDriver wd) {
+        if (!(wd instanceof JavascriptExecutor)) {
+            return true;
+        }
+        try {
+            Object state = ((JavascriptExecutor) wd).executeScript(domStateScript);
+            if (!(state instanceof List<?> values) || values.size() != 3) {
+                return true;
+            }
+            if (!"complete".equals(values.get(0))) {
+                return false;
+            }
+            return values.get(1) instanceof Number quietTime
+                            && quietTime.longValue() >= quietPeriodMs
+                    || values.get(2) instanceof Number changingTime
+                            && changingTime.longValue() >= stalePeriodMs;
+        } catch (Exception e) {
+            // Page being unloaded or an alert shown, not settled yet.
+            return false;
+        }
+    }
+}
@@ -156,6 +156,16 @@ public class SeleniumOptions extends VersionedAbstractParam {
 
     private static final String CUSTOM_BROWSERS_KEY = SELENIUM_BASE_KEY + ".customBrowsers.browser";
 
+    private static final String BROWSER_POOL_MAX_USES_KEY =
+            SELENIUM_BASE_KEY + ".browserPool.maxUses";
+
+    private static final String BROWSER_POOL_MAX_MEMORY_KEY =
+            SELENIUM_BASE_KEY + ".browserPool.maxMemory";
+
+    static final int DEFAULT_BROWSER_POOL_MAX_USES = 50;
+
+    static final int DEFAULT_BROWSER_POOL_MAX_MEMORY = 512;
+
     private final File extensionsDir;
 
     /** The path to Chrome binary. */
@@ -187,6 +197,9 @@ public class SeleniumOptions extends VersionedAbstractParam {
     private List<CustomBrowserImpl> customBrowsers =
             Collections.synchronizedList(new ArrayList<>());
 
+    private int browserPoolMaxUses = DEFAULT_BROWSER_POOL_MAX_USES;
+    private int browserPoolMaxMemory = DEFAULT_BROWSER_POOL_MAX_MEMORY;
+
     public SeleniumOptions() {
         extensionsDir = new File(Constant.getZapHome() + "/selenium/extensions/");
 
@@ -262,6 +275,9 @@ public class SeleniumOptions extends VersionedAbstractParam {
         confirmRemoveBrowserPreference = getBoolean(CONFIRM_REMOVE_BROWSER_PREF, true);
 
         customBrowsers = readCustomBrowsers();
+
+        browserPoolMaxUses = getInt(BROWSER_POOL_MAX_USES_KEY, DEFAULT_BROWSER_POOL_MAX_USES);
+        browserPoolMaxMemory = getInt(BROWSER_POOL_MAX_MEMORY_KEY, DEFAULT_BROWSER_POOL_MAX_MEMORY);
     }
 
     /**
@@ -647,6 +663,56 @@ public class SeleniumOptions extends VersionedAbstractParam {
         this.getConfig().setProperty(EXTENSIONS_LAST_DIR_KEY, this.lastDirectory);
     }
 
+    /**
+     * Gets the number of times a pooled browser is used before being recycled.
+     *
+     * @return the number of uses, zero or less for no limit.
+     * @since 15.48.0
+     * @see BrowserPool
+     */
+    @ZapApiIgnore
+    public int getBrowserPoolMaxUses() {
+        return browserPoolMaxUses;
+    }
+
+    /**
+     * Sets the number of times a pooled browser is used before being recycled.
+     *
+     * @param maxUses the number of uses, zero or less for no limit.
+     * @since 15.48.0
+     */
+    @ZapApiIgnore
+    public void setBrowserPoolMaxUses(int maxUses) {
+        this.browserPoolMaxUses = maxUses;
+        getConfig().setProperty(BROWSER_POOL_MAX_USES_KEY, maxUses);
+    }
+
+    /**
+     * Gets the memory, in MiB, that the page of a pooled browser can use before the browser is
+     * recycled.
+     *
+     * @return the memory, zero or less for no limit.
+     * @since 15.48.0
+     * @see BrowserPool
+     */
+    @ZapApiIgnore
+    public int getBrowserPoolMaxMemory() {
+        return browserPoolMaxMemory;
+    }
+
+    /**
+     * Sets the memory, in MiB, that the page of a pooled browser can use before the browser is
+     * recycled.
+     *
+     * @param maxMemory the memory, zero or less for no limit.
+     * @since 15.48.0
+     */
+    @ZapApiIgnore
+    public void setBrowserPoolMaxMemory(int maxMemory) {
+        this.browserPoolMaxMemory = maxMemory;
+        getConfig().setProperty(BROWSER_POOL_MAX_MEMORY_KEY, maxMemory);
+    }
+
     void setConfirmRemoveBrowserArgument(boolean confirmRemove) {
         this.confirmRemoveBrowserArgument = confirmRemove;
         getConfig().setProperty(CONFIRM_REMOVE_BROWSER_ARG, confirmRemoveBrowserArgument);
@@ -0,0 +1,194 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.selenium;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+/** Unit test for {@link BrowserPool}. */
+class BrowserPoolUnitTest {
+
+    private TestBrowserFactory factory;
+    private BrowserPool<WebDriver> pool;
+
+    @BeforeEach
+    void setUp() {
+        factory = new TestBrowserFactory();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    void shouldUsePrestartedBrowsers() throws Exception {
+        // Given
+        pool = new BrowserPool<>(factory, 0, 0);
+        pool.prestart(3);
+        // When
+        WebDriver wd1 = pool.acquire();
+        WebDriver wd2 = pool.acquire();
+        WebDriver wd3 = pool.acquire();
+        // Then
+        assertThat(factory.created, containsInAnyOrder(wd1, wd2, wd3));
+        assertThat(pool.size(), is(equalTo(3)));
+    }
+
+    @Test
+    void shouldLaunchBrowserIfNoneAvailable() throws Exception {
+        // Given
+        pool = new BrowserPool<>(factory, 0, 0);
+        // When
+        WebDriver wd = pool.acquire();
+        // Then
+        assertThat(factory.created, contains(wd));
+    }
+
+    @Test
+    void shouldReuseReleasedBrowser() throws Exception {
+        // Given
+        pool = new BrowserPool<>(factory, 0, 0);
+        WebDriver wd1 = pool.acquire();
+        pool.release(wd1);
+        // When
+        WebDriver wd2 = pool.acquire();
+        // Then
+        assertThat(wd2, is(sameInstance(wd1)));
+        assertThat(factory.created.size(), is(equalTo(1)));
+    }
+
+    @Test
+    void shouldRecycleBrowserAfterMaxUses() throws Exception {
+        // Given
+        pool = new BrowserPool<>(factory, 2, 0);
+        WebDriver wd1 = pool.acquire();
+        pool.release(wd1);
+        pool.release(pool.acquire());
+        // When
+        WebDriver wd2 = pool.acquire();
+        // Then
+        assertThat(wd2, is(not(sameInstance(wd1))));
+        assertThat(factory.destroyed, contains(wd1));
+    }
+
+    @Test
+    void shouldRecycleBrowserUsingTooMuchMemory() throws Exception {
+        // Given
+        factory.memory = 2048L;
+        pool = new BrowserPool<>(factory, 0, 1024);
+        WebDriver wd1 = pool.acquire();
+        pool.release(wd1);
+        // When
+        WebDriver wd2 = pool.acquire();
+        // Then
+        assertThat(wd2, is(not(sameInstance(wd1))));
+        assertThat(factory.destroyed, contains(wd1));
+    }
+
+    @Test
+    void shouldNotRecycleBrowserWithinMemoryLimit() throws Exception {
+        // Given
+        factory.memory = 512L;
+        pool = new BrowserPool<>(factory, 0, 1024);
+        WebDriver wd1 = pool.acquire();
+        pool.release(wd1);
+        // When
+        WebDriver wd2 = pool.acquire();
+        // Then
+        assertThat(wd2, is(sameInstance(wd1)));
+    }
+
+    @Test
+    void shouldDiscardUnresponsiveBrowser() throws Exception {
+        // Given
+        pool = new BrowserPool<>(factory, 0, 0);
+        WebDriver wd1 = pool.acquire();
+        pool.release(wd1);
+        given(wd1.getWindowHandle()).willThrow(WebDriverException.class);
+        // When
+        WebDriver wd2 = pool.acquire();
+        // Then
+        assertThat(wd2, is(not(sameInstance(wd1))));
+        assertThat(factory.destroyed, contains(wd1));
+    }
+
+    @Test
+    void shouldCloseAllBrowsers() throws Exception {
+        // Given
+        pool = new BrowserPool<>(factory, 0, 0);
+        WebDriver wd1 = pool.acquire();
+        WebDriver wd2 = pool.acquire();
+        pool.release(wd2);
+        // When
+        pool.close();
+        // Then
+        assertThat(factory.destroyed, containsInAnyOrder(wd1, wd2));
+        assertThat(pool.size(), is(equalTo(0)));
+        assertThrows(IllegalStateException.class, () -> pool.acquire());
+    }
+
+    private static class TestBrowserFactory implements BrowserPool.BrowserFactory<WebDriver> {
+
+        private final List<WebDriver> created = new CopyOnWriteArrayList<>();
+        private final List<WebDriver> destroyed = new CopyOnWriteArrayList<>();
+        private Long memory;
+
+        @Override
+        public WebDriver create() {
+            WebDriver wd =
+                    mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+            given(((JavascriptExecutor) wd).executeScript(anyString())).willReturn(memory);
+            created.add(wd);
+            return wd;
+        }
+
+        @Override
+        public WebDriver getWebDriver(WebDriver browser) {
+            return browser;
+        }
+
+        @Override
+        public void destroy(WebDriver browser) {
+            destroyed.add(browser);
+        }
+    }
+}
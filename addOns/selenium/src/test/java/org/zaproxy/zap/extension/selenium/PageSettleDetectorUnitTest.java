@@ -0,0 +1,181 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.selenium;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/** Unit test for {@link PageSettleDetector}. */
+class PageSettleDetectorUnitTest {
+
+    private WebDriver wd;
+
+    @BeforeEach
+    void setUp() {
+        wd = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        given(((JavascriptExecutor) wd).executeScript(anyString()))
+                .willReturn(List.of("complete", 10_000L, 10_000L));
+    }
+
+    @Test
+    void shouldBeNetworkIdleWithoutRequests() {
+        // Given
+        PageSettleDetector detector = new PageSettleDetector(Duration.ZERO, Duration.ofMinutes(1));
+        // When
+        boolean idle = detector.isNetworkIdle();
+        // Then
+        assertThat(idle, is(equalTo(true)));
+    }
+
+    @Test
+    void shouldNotBeNetworkIdleWithOutstandingRequest() {
+        // Given
+        PageSettleDetector detector = new PageSettleDetector(Duration.ZERO, Duration.ofMinutes(1));
+        detector.requestStarted(new Object());
+        // When
+        boolean idle = detector.isNetworkIdle();
+        // Then
+        assertThat(idle, is(equalTo(false)));
+    }
+
+    @Test
+    void shouldBeNetworkIdleOnceRequestsFinished() {
+        // Given
+        PageSettleDetector detector = new PageSettleDetector(Duration.ZERO, Duration.ofMinutes(1));
+        Object request1 = new Object();
+        Object request2 = new Object();
+        detector.requestStarted(request1);
+        detector.requestStarted(request2);
+        detector.requestFinished(request1);
+        detector.requestFinished(request2);
+        // When
+        boolean idle = detector.isNetworkIdle();
+        // Then
+        assertThat(idle, is(equalTo(true)));
+    }
+
+    @Test
+    void shouldNotBeNetworkIdleDuringQuietPeriod() {
+        // Given
+        PageSettleDetector detector = new PageSettleDetector(Duration.ofMinutes(1), Duration.ZERO);
+        Object request = new Object();
+        detector.requestStarted(request);
+        detector.requestFinished(request);
+        // When
+        boolean idle = detector.isNetworkIdle();
+        // Then
+        assertThat(idle, is(equalTo(false)));
+    }
+
+    @Test
+    void shouldIgnoreStaleRequests() throws Exception {
+        // Given
+        PageSettleDetector detector = new PageSettleDetector(Duration.ZERO, Duration.ofMillis(50));
+        detector.requestStarted(new Object());
+        Thread.sleep(100);
+        // When
+        boolean idle = detector.isNetworkIdle();
+        // Then
+        assertThat(idle, is(equalTo(true)));
+    }
+
+    @Test
+    void shouldWaitUntilRequestFinished() throws Exception {
+        // Given
+        PageSettleDetector detector = new PageSettleDetector(Duration.ZERO, Duration.ofMinutes(1));
+        Object request = new Object();
+        detector.requestStarted(request);
+        CompletableFuture.runAsync(
+                () -> detector.requestFinished(request),
+                CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS));
+        // When
+        Duration waited = detector.awaitSettled(wd, Duration.ofSeconds(10));
+        // Then
+        assertThat(waited.toMillis(), is(greaterThanOrEqualTo(150L)));
+        assertThat(waited.toMillis(), is(lessThan(10_000L)));
+    }
+
+    @Test
+    void shouldWaitUntilDomStopsChanging() throws Exception {
+        // Given
+        PageSettleDetector detector =
+                new PageSettleDetector(Duration.ofMillis(100), Duration.ofMinutes(1));
+        given(((JavascriptExecutor) wd).executeScript(anyString()))
+                .willReturn(List.of("loading", 0L, 0L))
+                .willReturn(List.of("complete", 0L, 0L))
+                .willReturn(List.of("complete", 200L, 0L));
+        // When
+        Duration waited = detector.awaitSettled(wd, Duration.ofSeconds(10));
+        // Then
+        assertThat(waited.toMillis(), is(greaterThanOrEqualTo(100L)));
+        assertThat(waited.toMillis(), is(lessThan(10_000L)));
+    }
+
+    @Test
+    void shouldNotWaitForDomChangingLongerThanStalePeriod() throws Exception {
+        // Given
+        PageSettleDetector detector =
+                new PageSettleDetector(Duration.ofMillis(100), Duration.ofSeconds(1));
+        given(((JavascriptExecutor) wd).executeScript(anyString()))
+                .willReturn(List.of("complete", 0L, 2_000L));
+        // When
+        Duration waited = detector.awaitSettled(wd, Duration.ofSeconds(10));
+        // Then
+        assertThat(waited.toMillis(), is(lessThan(1_000L)));
+    }
+
+    @Test
+    void shouldStopWaitingAfterMaxWait() throws Exception {
+        // Given
+        PageSettleDetector detector = new PageSettleDetector(Duration.ZERO, Duration.ofMinutes(1));
+        detector.requestStarted(new Object());
+        Duration maxWait = Duration.ofMillis(200);
+        // When
+        Duration waited = detector.awaitSettled(wd, maxWait);
+        // Then
+        assertThat(waited.compareTo(maxWait), is(greaterThanOrEqualTo(0)));
+    }
+
+    @Test
+    void shouldNotWaitIfAlreadySettled() throws Exception {
+        // Given
+        PageSettleDetector detector = new PageSettleDetector(Duration.ZERO, Duration.ofMinutes(1));
+        // When
+        Duration waited = detector.awaitSettled(wd, Duration.ofSeconds(10));
+        // Then
+        assertThat(waited.toMillis(), is(lessThan(1_000L)));
+    }
+}
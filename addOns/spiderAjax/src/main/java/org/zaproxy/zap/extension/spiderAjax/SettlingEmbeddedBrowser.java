@@ -0,0 +1,180 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.spiderAjax;
+
+import com.crawljax.browser.EmbeddedBrowser;
+import com.crawljax.browser.WebDriverBackedEmbeddedBrowser;
+import com.crawljax.core.CrawljaxException;
+import com.crawljax.core.state.Eventable;
+import com.crawljax.core.state.Identification;
+import com.crawljax.forms.FormInput;
+import java.io.File;
+import java.net.URI;
+import java.time.Duration;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.WebElement;
+import org.zaproxy.zap.extension.selenium.PageSettleDetector;
+import org.zaproxy.zap.utils.Stats;
+
+/**
+ * An {@link EmbeddedBrowser} that, after loading a URL or firing an event, waits for the page to
+ * settle instead of a fixed time.
+ *
+ * <p>The configured wait times are used as the maximum time to wait.
+ */
+class SettlingEmbeddedBrowser implements EmbeddedBrowser {
+
+    private static final String STATS_PREFIX = "stats.spiderAjax.settle";
+
+    private final WebDriverBackedEmbeddedBrowser browser;
+    private final PageSettleDetector settleDetector;
+    private final Duration maxEventWait;
+    private final Duration maxReloadWait;
+
+    SettlingEmbeddedBrowser(
+            WebDriverBackedEmbeddedBrowser browser,
+            PageSettleDetector settleDetector,
+            long maxEventWaitMs,
+            long maxReloadWaitMs) {
+        this.browser = browser;
+        this.settleDetector = settleDetector;
+        this.maxEventWait = Duration.ofMillis(maxEventWaitMs);
+        this.maxReloadWait = Duration.ofMillis(maxReloadWaitMs);
+    }
+
+    private void awaitSettled(Duration maxWait) throws InterruptedException {
+        Duration waited = settleDetector.awaitSettled(browser.getBrowser(), maxWait);
+        Stats.incCounter(STATS_PREFIX);
+        Stats.incCounter(STATS_PREFIX + ".time", waited.toMillis());
+        if (waited.compareTo(maxWait) >= 0) {
+            Stats.incCounter(STATS_PREFIX + ".timeout");
+        }
+    }
+
+    private void awaitSettledUninterruptibly(Duration maxWait) {
+        try {
+            awaitSettled(maxWait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void goToUrl(URI url) {
+        browser.goToUrl(url);
+        awaitSettledUninterruptibly(maxReloadWait);
+    }
+
+    @Override
+    public boolean fireEventAndWait(Eventable event)
+            throws ElementNotInteractableException, InterruptedException {
+        boolean fired = browser.fireEventAndWait(event);
+        if (fired) {
+            awaitSettled(maxEventWait);
+        }
+        return fired;
+    }
+
+    @Override
+    public void goBack() {
+        browser.goBack();
+        awaitSettledUninterruptibly(maxEventWait);
+    }
+
+    @Override
+    public String getStrippedDom() {
+        return browser.getStrippedDom();
+    }
+
+    @Override
+    public String getUnStrippedDom() {
+        return browser.getUnStrippedDom();
+    }
+
+    @Override
+    public String getDom() {
+        return browser.getDom();
+    }
+
+    @Override
+    public String getStrippedDomWithoutIframeContent() {
+        return browser.getStrippedDomWithoutIframeContent();
+    }
+
+    @Override
+    public void close() {
+        browser.close();
+    }
+
+    @Override
+    public void closeOtherWindows() {
+        browser.closeOtherWindows();
+    }
+
+    @Override
+    public boolean input(Identification identification, String text) throws CrawljaxException {
+        return browser.input(identification, text);
+    }
+
+    @Override
+    public Object executeJavaScript(String code) throws CrawljaxException {
+        return browser.executeJavaScript(code);
+    }
+
+    @Override
+    public boolean isVisible(Identification identification) {
+        return browser.isVisible(identification);
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        return browser.getCurrentUrl();
+    }
+
+    @Override
+    public FormInput getInputWithRandomValue(FormInput inputForm) {
+        return browser.getInputWithRandomValue(inputForm);
+    }
+
+    @Override
+    public String getFrameDom(String iframeIdentification) {
+        return browser.getFrameDom(iframeIdentification);
+    }
+
+    @Override
+    public boolean elementExists(Identification identification) {
+        return browser.elementExists(identification);
+    }
+
+    @Override
+    public WebElement getWebElement(Identification identification) {
+        return browser.getWebElement(identification);
+    }
+
+    @Override
+    public void saveScreenShot(File file) throws CrawljaxException {
+        browser.saveScreenShot(file);
+    }
+
+    @Override
+    public byte[] getScreenShot() throws CrawljaxException {
+        return browser.getScreenShot();
+    }
+}
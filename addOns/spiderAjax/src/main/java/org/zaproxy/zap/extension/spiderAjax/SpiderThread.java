@@ -33,10 +33,8 @@ import java.awt.EventQueue;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import javax.inject.Inject;
 import javax.inject.Provider;
@@ -61,7 +59,10 @@ import org.zaproxy.addon.network.server.HttpMessageHandler;
 import org.zaproxy.addon.network.server.HttpMessageHandlerContext;
 import org.zaproxy.addon.network.server.HttpServerConfig;
 import org.zaproxy.addon.network.server.Server;
+import org.zaproxy.zap.extension.selenium.BrowserPool;
+import org.zaproxy.zap.extension.selenium.BrowserPool.BrowserFactory;
 import org.zaproxy.zap.extension.selenium.ExtensionSelenium;
+import org.zaproxy.zap.extension.selenium.PageSettleDetector;
 import org.zaproxy.zap.extension.spiderAjax.AjaxSpiderParam.ScopeCheck;
 import org.zaproxy.zap.extension.spiderAjax.SpiderListener.ResourceState;
 import org.zaproxy.zap.extension.spiderAjax.internal.ExcludedElement;
@@ -104,7 +105,7 @@ public class SpiderThread implements Runnable {
     private AuthenticationHandler authHandler;
 
     private ExtensionNetwork extensionNetwork;
-    private List<WebDriverProcess> webDriverProcesses;
+    private final BrowserPool<WebDriverProcess> browserPool;
 
     /**
      * Constructs a {@code SpiderThread} for the given target.
@@ -148,7 +149,8 @@ public class SpiderThread implements Runnable {
         this.extension = extension;
 
         this.extensionNetwork = extensionNetwork;
-        webDriverProcesses = Collections.synchronizedList(new ArrayList<>());
+        // Crawljax closes the browsers itself, so they are not reused nor recycled.
+        browserPool = new BrowserPool<>(new WebDriverProcessFactory(), 0, 0);
 
         createOutOfScopeResponse(
                 extension.getMessages().getString("spiderajax.outofscope.response"));
@@ -221,12 +223,7 @@ public class SpiderThread implements Runnable {
                 new BrowserConfiguration(
                         com.crawljax.browser.EmbeddedBrowser.BrowserType.FIREFOX,
                         target.getOptions().getNumberOfBrowsers(),
-                        new AjaxSpiderBrowserBuilder(
-                                extensionNetwork,
-                                webDriverProcesses,
-                                SpiderProxyListener::new,
-                                target.getOptions().getBrowserId(),
-                                target.getOptions().isEnableExtensions())));
+                        new AjaxSpiderBrowserBuilder(browserPool)));
 
         if (target.getOptions().isClickDefaultElems()) {
             configurationBuilder.crawlRules().clickDefaultElements();
@@ -363,6 +360,8 @@ public class SpiderThread implements Runnable {
         }
 
         try {
+            // Launch all the browsers at once, Crawljax would otherwise wait for each one.
+            browserPool.prestart(target.getOptions().getNumberOfBrowsers());
             crawljax = new CrawljaxRunner(createCrawljaxConfiguration());
             crawljax.call();
         } catch (ProvisionException e) {
@@ -396,8 +395,7 @@ public class SpiderThread implements Runnable {
     }
 
     private void stopProxy() {
-        webDriverProcesses.forEach(WebDriverProcess::shutdown);
-        webDriverProcesses.clear();
+        browserPool.close();
     }
 
     /** called by the buttons of the panel to stop the spider */
@@ -434,10 +432,21 @@ public class SpiderThread implements Runnable {
 
     private class SpiderProxyListener implements HttpMessageHandler {
 
+        private final PageSettleDetector settleDetector;
         private boolean allowAll = true;
 
+        SpiderProxyListener(PageSettleDetector settleDetector) {
+            this.settleDetector = settleDetector;
+        }
+
         @Override
         public void handleMessage(HttpMessageHandlerContext ctx, HttpMessage httpMessage) {
+            if (ctx.isFromClient()) {
+                settleDetector.requestStarted(httpMessage);
+            } else {
+                settleDetector.requestFinished(httpMessage);
+            }
+
             if (allowAll) {
                 return;
             }
@@ -461,6 +470,7 @@ public class SpiderThread implements Runnable {
                     setOutOfScopeResponse(httpMessage);
                     notifyMessage(httpMessage, HistoryReference.TYPE_SPIDER_AJAX_TEMPORARY, state);
                     ctx.overridden();
+                    settleDetector.requestFinished(httpMessage);
                 }
                 return;
             }
@@ -536,27 +546,11 @@ public class SpiderThread implements Runnable {
         @Inject private CrawljaxConfiguration configuration;
         @Inject private Plugins plugins;
 
-        private final ExtensionNetwork extensionNetwork;
-        private final List<WebDriverProcess> webDriverProcesses;
-        private final Supplier<SpiderProxyListener> listenerFactory;
-        private final String providedBrowserId;
-        private final boolean enableExtensions;
+        private final BrowserPool<WebDriverProcess> browserPool;
 
-        public AjaxSpiderBrowserBuilder(
-                ExtensionNetwork extensionNetwork,
-                List<WebDriverProcess> webDriverProcesses,
-                Supplier<SpiderProxyListener> listenerFactory,
-                String providedBrowserId,
-                boolean enableExtensions) {
+        public AjaxSpiderBrowserBuilder(BrowserPool<WebDriverProcess> browserPool) {
             super();
-            this.extensionNetwork = extensionNetwork;
-            this.webDriverProcesses = webDriverProcesses;
-            this.listenerFactory = listenerFactory;
-            this.providedBrowserId =
-                    StringUtils.isEmpty(providedBrowserId)
-                            ? AjaxSpiderParam.DEFAULT_BROWSER_ID
-                            : providedBrowserId;
-            this.enableExtensions = enableExtensions;
+            this.browserPool = browserPool;
         }
 
         /**
@@ -573,21 +567,19 @@ public class SpiderThread implements Runnable {
             long crawlWaitReload = configuration.getCrawlRules().getWaitAfterReloadUrl();
             long crawlWaitEvent = configuration.getCrawlRules().getWaitAfterEvent();
 
-            SpiderProxyListener listener = listenerFactory.get();
             WebDriverProcess webDriverProcess;
             try {
-                webDriverProcess =
-                        new WebDriverProcess(
-                                extensionNetwork, listener, providedBrowserId, enableExtensions);
+                webDriverProcess = browserPool.acquire();
             } catch (IOException e) {
                 throw new IllegalStateException(e);
             }
-            webDriverProcesses.add(webDriverProcess);
 
+            // The waits are the maximum, the browser waits only until the page settles.
             EmbeddedBrowser embeddedBrowser =
-                    WebDriverBackedEmbeddedBrowser.withDriver(
-                            webDriverProcess.getWebDriver(),
-                            filterAttributes,
+                    new SettlingEmbeddedBrowser(
+                            WebDriverBackedEmbeddedBrowser.withDriver(
+                                    webDriverProcess.getWebDriver(), filterAttributes, 0, 0),
+                            webDriverProcess.getSettleDetector(),
                             crawlWaitEvent,
                             crawlWaitReload);
             plugins.runOnBrowserCreatedPlugins(embeddedBrowser);
@@ -612,6 +604,31 @@ public class SpiderThread implements Runnable {
         }
     }
 
+    private class WebDriverProcessFactory implements BrowserFactory<WebDriverProcess> {
+
+        @Override
+        public WebDriverProcess create() throws IOException {
+            String browserId = target.getOptions().getBrowserId();
+            PageSettleDetector settleDetector = new PageSettleDetector();
+            return new WebDriverProcess(
+                    extensionNetwork,
+                    new SpiderProxyListener(settleDetector),
+                    settleDetector,
+                    StringUtils.isEmpty(browserId) ? AjaxSpiderParam.DEFAULT_BROWSER_ID : browserId,
+                    target.getOptions().isEnableExtensions());
+        }
+
+        @Override
+        public WebDriver getWebDriver(WebDriverProcess browser) {
+            return browser.getWebDriver();
+        }
+
+        @Override
+        public void destroy(WebDriverProcess browser) {
+            browser.shutdown();
+        }
+    }
+
     @Getter
     static class WebDriverProcess {
 
@@ -622,13 +639,16 @@ public class SpiderThread implements Runnable {
 
         private Server proxy;
         private WebDriver webDriver;
+        private PageSettleDetector settleDetector;
 
         private WebDriverProcess(
                 ExtensionNetwork extensionNetwork,
                 SpiderProxyListener listener,
+                PageSettleDetector settleDetector,
                 String browser,
                 boolean enableExtensions)
                 throws IOException {
+            this.settleDetector = settleDetector;
             proxy =
                     extensionNetwork.createHttpServer(
                             HttpServerConfig.builder()
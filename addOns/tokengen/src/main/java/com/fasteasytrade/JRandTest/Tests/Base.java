@@ -200,6 +200,12 @@ public class Base {
 	}
 
 	public static java.text.DecimalFormat df = new java.text.DecimalFormat();
+	private static final ThreadLocal<java.text.DecimalFormat> DF = ThreadLocal.withInitial(() -> {
+		java.text.DecimalFormat format = new java.text.DecimalFormat();
+		format.setMaximumFractionDigits(4);
+		format.setMinimumFractionDigits(4);
+		return format;
+	});
 	static {
 		df.setMaximumFractionDigits(4);
 		df.setMinimumFractionDigits(4);
@@ -217,7 +223,8 @@ public class Base {
 	 * @return double with 4 decimal places (as in C "%.4f")
 	 */
 	public String d4d(double d) {
-		return df.format(d);
+		// ZAP: Use a format per thread, the tests can run concurrently.
+		return DF.get().format(d);
 	}
 
 	/**
@@ -40,6 +40,8 @@ import org.zaproxy.zap.extension.tokengen.TokenAnalysisTestResult.Result;
 public class CharacterFrequencyMap {
     // Rename to something more generic??
 
+    private static final double LN_2 = Math.log(2);
+
     private static String DEC_CHRS = "-.0123456789";
     private static String HEX_CHRS = "0123456789ABCDEFabcdef";
 
@@ -53,10 +55,10 @@ public class CharacterFrequencyMap {
     private boolean exceededLong = false;
     private int minLength = Integer.MAX_VALUE;
     private int maxLength = 0;
-    private Map<Integer, Set<Character>> charsPerPosn = new HashMap<>();
+    private Map<Integer, Map<Character, Integer>> charsPerPosn = new HashMap<>();
     private Set<Character> allChrs = new HashSet<>();
 
-    public void addToken(String token) {
+    public synchronized void addToken(String token) {
         tokens.add(token);
         if (token.length() > maxLength) {
             maxLength = token.length();
@@ -67,10 +69,7 @@ public class CharacterFrequencyMap {
         int index = 0;
         for (char chr : token.toCharArray()) {
             allChrs.add(chr);
-            if (charsPerPosn.get(index) == null) {
-                charsPerPosn.put(index, new HashSet<>());
-            }
-            charsPerPosn.get(index).add(chr);
+            charsPerPosn.computeIfAbsent(index, k -> new HashMap<>()).merge(chr, 1, Integer::sum);
             Integer intVal = map.get(chr);
             if (intVal == null) {
                 intVal = Integer.valueOf(0);
@@ -111,22 +110,62 @@ public class CharacterFrequencyMap {
         return Math.log(i) / Math.log(2);
     }
 
-    public double getMaxTheoreticalEntropy() {
+    public synchronized double getMaxTheoreticalEntropy() {
         double entropy = 0;
-        Iterator<Entry<Integer, Set<Character>>> iter = charsPerPosn.entrySet().iterator();
+        Iterator<Entry<Integer, Map<Character, Integer>>> iter =
+                charsPerPosn.entrySet().iterator();
         while (iter.hasNext()) {
-            Entry<Integer, Set<Character>> cpp = iter.next();
+            Entry<Integer, Map<Character, Integer>> cpp = iter.next();
             entropy += log2(cpp.getValue().size());
         }
         return entropy;
     }
 
+    /**
+     * Gets the entropy estimated from the character frequencies of each position of the tokens
+     * added so far.
+     *
+     * <p>The estimate is updated as the tokens are added, it does not go through the tokens again.
+     * The positions are assumed to be independent, so it's an upper bound of the entropy of the
+     * tokens.
+     *
+     * <p>The variance of the estimate has the usual first order term, which goes to zero for
+     * near-uniform characters, and the second order term, which does not. That is, for a position
+     * with {@code k} different characters in {@code n} tokens, {@code (k - 1) / (2 n^2 ln^2(2))},
+     * the variance of the chi-squared distributed error of uniform characters.
+     *
+     * @return the estimate, never {@code null}.
+     */
+    public synchronized EntropyEstimate getEntropyEstimate() {
+        double entropy = 0;
+        double variance = 0;
+        for (Map<Character, Integer> counts : charsPerPosn.values()) {
+            int total = 0;
+            for (int count : counts.values()) {
+                total += count;
+            }
+            double posnEntropy = 0;
+            double sumSquares = 0;
+            for (int count : counts.values()) {
+                double p = (double) count / total;
+                double bits = log2(p);
+                posnEntropy -= p * bits;
+                sumSquares += p * bits * bits;
+            }
+            // Miller-Madow correction, the observed frequencies underestimate the entropy.
+            entropy += posnEntropy + (counts.size() - 1) / (2.0 * total * LN_2);
+            variance += Math.max(0, sumSquares - posnEntropy * posnEntropy) / total;
+            variance += (counts.size() - 1) / (2.0 * total * total * LN_2 * LN_2);
+        }
+        return new EntropyEstimate(tokens.size(), entropy, Math.sqrt(variance));
+    }
+
     private int mdev(int i) {
         // TODO where does stompy get this formula from??
         return (int) (500 / Math.pow(i, 0.375) + 5);
     }
 
-    public TokenAnalysisTestResult checkCharacterUniformity() {
+    public synchronized TokenAnalysisTestResult checkCharacterUniformity() {
         TokenAnalysisTestResult result =
                 new TokenAnalysisTestResult(TokenAnalysisTestResult.Type.CHR_UNIFORMITY);
         List<String> details = new ArrayList<>();
@@ -140,15 +179,10 @@ public class CharacterFrequencyMap {
             StringBuilder sb = new StringBuilder();
             sb.append("Col ");
             sb.append(i);
+            Map<Character, Integer> counts = charsPerPosn.get(i);
             for (char c : allChrs) {
-                int instantsOfChr = 0;
-
                 // TODO handle decs as special case?
-                for (String token : tokens) {
-                    if (token != null && token.length() > i && token.charAt(i) == c) {
-                        instantsOfChr++;
-                    }
-                }
+                int instantsOfChr = counts.getOrDefault(c, 0);
                 sb.append(" ");
                 sb.append(c);
                 sb.append(":");
@@ -215,7 +249,7 @@ public class CharacterFrequencyMap {
         }
     }
 
-    public TokenAnalysisTestResult checkCharacterTransitions() {
+    public synchronized TokenAnalysisTestResult checkCharacterTransitions() {
         TokenAnalysisTestResult result =
                 new TokenAnalysisTestResult(TokenAnalysisTestResult.Type.CHR_TRANSITIONS);
         Result res = Result.PASS;
@@ -395,7 +429,7 @@ public class CharacterFrequencyMap {
         }
     }
 
-    public int size() {
+    public synchronized int size() {
         return this.tokens.size();
     }
 
@@ -0,0 +1,80 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.tokengen;
+
+/**
+ * An estimate of the entropy of the tokens, with the margin of error of a 95% confidence interval.
+ *
+ * @see CharacterFrequencyMap#getEntropyEstimate()
+ */
+public class EntropyEstimate {
+
+    private static final double Z_95 = 1.96;
+
+    private final int tokens;
+    private final double entropy;
+    private final double standardError;
+
+    EntropyEstimate(int tokens, double entropy, double standardError) {
+        this.tokens = tokens;
+        this.entropy = entropy;
+        this.standardError = standardError;
+    }
+
+    /**
+     * Gets the number of tokens the estimate is based on.
+     *
+     * @return the number of tokens.
+     */
+    public int getTokens() {
+        return tokens;
+    }
+
+    /**
+     * Gets the estimated entropy, in bits.
+     *
+     * @return the entropy.
+     */
+    public double getEntropy() {
+        return entropy;
+    }
+
+    /**
+     * Gets the margin of error of the entropy, in bits, that is, the half width of the 95%
+     * confidence interval.
+     *
+     * @return the margin of error.
+     */
+    public double getMargin() {
+        return Z_95 * standardError;
+    }
+
+    /**
+     * Tells whether or not the estimate converged, that is, the margin of error is no larger than
+     * the given one.
+     *
+     * @param minTokens the minimum number of tokens needed.
+     * @param maxMargin the maximum margin of error, in bits.
+     * @return {@code true} if the estimate converged, {@code false} otherwise.
+     */
+    public boolean hasConverged(int minTokens, double maxMargin) {
+        return tokens >= minTokens && getMargin() <= maxMargin;
+    }
+}
@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.TreeSet;
 import java.util.Vector;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import net.htmlparser.jericho.Element;
 import net.htmlparser.jericho.HTMLElementName;
 import net.htmlparser.jericho.Source;
@@ -52,6 +53,9 @@ public class ExtensionTokenGen extends ExtensionAdaptor {
 
     public static final String NAME = "ExtensionTokenGen";
 
+    /** The minimum number of tokens before checking if the entropy estimate converged. */
+    private static final int MIN_TOKENS_CONVERGED = 100;
+
     private TokenGenPopupMenu popupTokenGenMenu = null;
     private TokenPanel tokenPanel = null;
     private GenerateTokensDialog genTokensDialog = null;
@@ -61,8 +65,10 @@ public class ExtensionTokenGen extends ExtensionAdaptor {
     private TokenOptionsPanel tokenOptionsPanel;
 
     private List<TokenGenerator> generators = Collections.emptyList();
-    private int runningGenerators = 0;
-    private CharacterFrequencyMap cfm = null;
+    private volatile int runningGenerators = 0;
+    private AtomicInteger remainingTokens = new AtomicInteger();
+    private int requestedTokens = 0;
+    private volatile CharacterFrequencyMap cfm = null;
     private boolean manuallyStopped = false;
 
     private static final Logger LOGGER = LogManager.getLogger(ExtensionTokenGen.class);
@@ -86,6 +92,7 @@ public class ExtensionTokenGen extends ExtensionAdaptor {
         extensionHook.addSessionListener(new SessionChangedListenerImpl());
 
         extensionHook.addOptionsParamSet(getTokenParam());
+        extensionHook.addApiImplementor(new TokenGenAPI(this));
 
         if (hasView()) {
             // Register our popup menu item, as long as we're not running as a daemon
@@ -243,7 +250,48 @@ public class ExtensionTokenGen extends ExtensionAdaptor {
             msg.setNote(token);
         }
 
-        this.getTokenPanel().addTokenResult(new MessageSummary(msg));
+        EntropyEstimate estimate = cfm.getEntropyEstimate();
+        double margin = getTokenParam().getEntropyMarginInBits();
+        if (margin > 0
+                && estimate.hasConverged(MIN_TOKENS_CONVERGED, margin)
+                && remainingTokens.getAndSet(0) > 0) {
+            LOGGER.debug(
+                    "Stopping token generation, entropy {} converged with {} tokens.",
+                    estimate.getEntropy(),
+                    estimate.getTokens());
+        }
+
+        if (hasView()) {
+            this.getTokenPanel().addTokenResult(new MessageSummary(msg), estimate);
+        }
+    }
+
+    /**
+     * Gets the estimate of the entropy of the tokens being, or last, generated.
+     *
+     * @return the estimate, or {@code null} if no tokens were generated.
+     */
+    public EntropyEstimate getEntropyEstimate() {
+        CharacterFrequencyMap map = cfm;
+        return map != null ? map.getEntropyEstimate() : null;
+    }
+
+    /**
+     * Gets the number of tokens requested for the token generation.
+     *
+     * @return the number of tokens.
+     */
+    public int getRequestedTokens() {
+        return requestedTokens;
+    }
+
+    /**
+     * Tells whether or not the tokens are being generated.
+     *
+     * @return {@code true} if generating, {@code false} otherwise.
+     */
+    public boolean isGeneratingTokens() {
+        return runningGenerators > 0;
     }
 
     private TokenGenPopupMenu getPopupTokenGen() {
@@ -314,6 +362,8 @@ public class ExtensionTokenGen extends ExtensionAdaptor {
 
         int numThreads = this.getTokenParam().getThreadsPerScan();
         this.manuallyStopped = false;
+        this.requestedTokens = numGen;
+        this.remainingTokens = new AtomicInteger(numGen);
 
         generators = new ArrayList<>();
 
@@ -323,21 +373,26 @@ public class ExtensionTokenGen extends ExtensionAdaptor {
 
             gen.setExtension(this);
             gen.setHttpMessage(msg);
-            gen.setNumberTokens(numGen / numThreads); // TODO what about remainder?
+            gen.setRemainingTokens(remainingTokens);
             gen.setTargetToken(htmlParameterStats);
             gen.setRequestDelay(getTokenParam().getRequestDelayInMs(), TimeUnit.MILLISECONDS);
             gen.setShouldRemoveCookie(shouldRemoveCookie);
+            synchronized (this) {
+                this.runningGenerators++;
+            }
             gen.execute();
-            this.runningGenerators++;
         }
     }
 
-    protected void generatorStopped(TokenGenerator gen) {
+    protected synchronized void generatorStopped(TokenGenerator gen) {
         this.runningGenerators--;
         LOGGER.debug("generatorStopped runningGenerators {}", runningGenerators);
 
         if (this.runningGenerators <= 0) {
             LOGGER.debug("generatorStopped scanFinished");
+            if (!hasView()) {
+                return;
+            }
             this.getTokenPanel().scanFinshed();
 
             if (!manuallyStopped) {
@@ -31,6 +31,11 @@ import com.fasteasytrade.JRandTest.Tests.Count8Bits;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.zaproxy.zap.extension.tokengen.TokenAnalysisTestResult.Result;
@@ -42,7 +47,7 @@ public class TokenAnalyserThread extends Thread {
     private CharacterFrequencyMap cfm = null;
     private List<TokenAnalyserListenner> listeners = new ArrayList<>();
     private OutputDestination outputDestination = null;
-    private boolean cancelled = false;
+    private volatile boolean cancelled = false;
 
     private static final Logger LOGGER = LogManager.getLogger(TokenAnalyserThread.class);
 
@@ -106,29 +111,81 @@ public class TokenAnalyserThread extends Thread {
             return;
         }
 
-        TokenRandomStream trs = new TokenRandomStream(cfm);
-
-        runTest(new Count1Bit(), trs, TokenAnalysisTestResult.Type.COUNT_1_BIT);
-        runTest(new Count2Bits(), trs, TokenAnalysisTestResult.Type.COUNT_2_BITS);
-        runTest(new Count3Bits(), trs, TokenAnalysisTestResult.Type.COUNT_3_BITS);
-        runTest(new Count4Bits(), trs, TokenAnalysisTestResult.Type.COUNT_4_BITS);
-        runTest(new Count8Bits(), trs, TokenAnalysisTestResult.Type.COUNT_8_BITS);
-        runTest(new Count16Bits(), trs, TokenAnalysisTestResult.Type.COUNT_16_BITS);
+        runTests(
+                TokenRandomStream.pack(cfm),
+                List.of(
+                        new RandomTest(new Count1Bit(), TokenAnalysisTestResult.Type.COUNT_1_BIT),
+                        new RandomTest(new Count2Bits(), TokenAnalysisTestResult.Type.COUNT_2_BITS),
+                        new RandomTest(new Count3Bits(), TokenAnalysisTestResult.Type.COUNT_3_BITS),
+                        new RandomTest(new Count4Bits(), TokenAnalysisTestResult.Type.COUNT_4_BITS),
+                        new RandomTest(new Count8Bits(), TokenAnalysisTestResult.Type.COUNT_8_BITS),
+                        new RandomTest(
+                                new Count16Bits(), TokenAnalysisTestResult.Type.COUNT_16_BITS)));
     }
 
-    private void runTest(Base test, RandomStream rs, TokenAnalysisTestResult.Type type) {
+    /**
+     * Runs the given tests concurrently, each with its own stream over the given bytes.
+     *
+     * <p>The results are notified in the order of the tests, as they complete.
+     */
+    private void runTests(byte[] data, List<RandomTest> tests) {
         if (cancelled) {
             return;
         }
+        ExecutorService executor = createExecutor(tests.size());
         try {
-            TokenAnalysisTestResult result = new TokenAnalysisTestResult(type);
-            test.registerInput(rs);
-            test.addOutputDestination(this.outputDestination);
-            test.runTest();
+            List<Future<?>> futures = new ArrayList<>(tests.size());
+            for (RandomTest test : tests) {
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    test.run(new TokenRandomStream(data));
+                                    return null;
+                                }));
+            }
+
+            for (int i = 0; i < tests.size(); i++) {
+                try {
+                    futures.get(i).get();
+                } catch (ExecutionException e) {
+                    LOGGER.error(e.getCause().getMessage(), e.getCause());
+                    continue;
+                }
+                if (cancelled) {
+                    return;
+                }
+                notifyResult(tests.get(i));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ExecutorService createExecutor(int tests) {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        return Executors.newFixedThreadPool(
+                Math.max(1, Math.min(tests, Runtime.getRuntime().availableProcessors())),
+                r -> {
+                    String name = "ZAP-TokenAnalyser-thread-" + threadNumber.getAndIncrement();
+                    Thread t = new Thread(r, name);
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    private void notifyResult(RandomTest randomTest) {
+        Base test = randomTest.test;
+        try {
+            TokenAnalysisTestResult result = new TokenAnalysisTestResult(randomTest.type);
             result.setDetails(test.getDetails());
             result.setFailures(test.getErrors());
             result.setResult(Result.valueOf(test.getResult().name()));
-            test.help(); // This outputs a summary to the specified outputDestination
+            test.help(); // This outputs a summary to the buffered output of the test
+            if (this.outputDestination != null) {
+                randomTest.output.writeTo(this.outputDestination);
+            }
             this.notifyListenners(result);
         } catch (Exception e) {
             LOGGER.error(e.getMessage(), e);
@@ -158,4 +215,45 @@ public class TokenAnalyserThread extends Thread {
     public void addOutputDestination(OutputDestination outputDestination) {
         this.outputDestination = outputDestination;
     }
+
+    private static class RandomTest {
+
+        private final Base test;
+        private final TokenAnalysisTestResult.Type type;
+        private final BufferedOutputDestination output;
+
+        RandomTest(Base test, TokenAnalysisTestResult.Type type) {
+            this.test = test;
+            this.type = type;
+            this.output = new BufferedOutputDestination();
+        }
+
+        void run(RandomStream rs) throws Exception {
+            test.registerInput(rs);
+            // Buffered, to not mix the output of the tests running concurrently.
+            test.addOutputDestination(output);
+            test.runTest();
+        }
+    }
+
+    private static class BufferedOutputDestination implements OutputDestination {
+
+        private final StringBuilder output = new StringBuilder();
+
+        @Override
+        public void printf(String s) {
+            output.append(s);
+        }
+
+        @Override
+        public void puts(String s) {
+            output.append(s);
+        }
+
+        void writeTo(OutputDestination outputDestination) {
+            if (output.length() != 0) {
+                outputDestination.printf(output.toString());
+            }
+        }
+    }
 }
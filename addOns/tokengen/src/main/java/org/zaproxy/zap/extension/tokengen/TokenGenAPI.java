@@ -0,0 +1,87 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.tokengen;
+
+import java.util.HashMap;
+import java.util.Map;
+import net.sf.json.JSONObject;
+import org.zaproxy.zap.extension.api.ApiAction;
+import org.zaproxy.zap.extension.api.ApiException;
+import org.zaproxy.zap.extension.api.ApiImplementor;
+import org.zaproxy.zap.extension.api.ApiResponse;
+import org.zaproxy.zap.extension.api.ApiResponseElement;
+import org.zaproxy.zap.extension.api.ApiResponseSet;
+import org.zaproxy.zap.extension.api.ApiView;
+
+/** The API of the token generation, to follow and stop it. */
+public class TokenGenAPI extends ApiImplementor {
+
+    private static final String PREFIX = "tokengen";
+
+    private static final String VIEW_STATS = "stats";
+
+    private static final String ACTION_STOP = "stop";
+
+    private final ExtensionTokenGen extension;
+
+    /** Provided only for API client generator usage. */
+    public TokenGenAPI() {
+        this(null);
+    }
+
+    public TokenGenAPI(ExtensionTokenGen extension) {
+        this.addApiView(new ApiView(VIEW_STATS));
+
+        this.addApiAction(new ApiAction(ACTION_STOP));
+
+        this.extension = extension;
+    }
+
+    @Override
+    public String getPrefix() {
+        return PREFIX;
+    }
+
+    @Override
+    public ApiResponse handleApiAction(String name, JSONObject params) throws ApiException {
+        if (ACTION_STOP.equals(name)) {
+            extension.stopTokenGeneration();
+        } else {
+            throw new ApiException(ApiException.Type.BAD_ACTION);
+        }
+        return ApiResponseElement.OK;
+    }
+
+    @Override
+    public ApiResponse handleApiView(String name, JSONObject params) throws ApiException {
+        if (!VIEW_STATS.equals(name)) {
+            throw new ApiException(ApiException.Type.BAD_VIEW);
+        }
+
+        Map<String, String> map = new HashMap<>();
+        map.put("generating", Boolean.toString(extension.isGeneratingTokens()));
+        map.put("requested", Integer.toString(extension.getRequestedTokens()));
+        EntropyEstimate estimate = extension.getEntropyEstimate();
+        map.put("tokens", Integer.toString(estimate != null ? estimate.getTokens() : 0));
+        map.put("entropy", estimate != null ? Double.toString(estimate.getEntropy()) : "");
+        map.put("margin", estimate != null ? Double.toString(estimate.getMargin()) : "");
+        return new ApiResponseSet<>(name, map);
+    }
+}
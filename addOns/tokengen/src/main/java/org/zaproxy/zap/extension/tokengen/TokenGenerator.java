@@ -23,6 +23,7 @@ import java.net.SocketTimeoutException;
 import java.util.Iterator;
 import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.swing.SwingWorker;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -34,13 +35,13 @@ import org.zaproxy.zap.extension.params.HtmlParameterStats;
 
 public class TokenGenerator extends SwingWorker<Void, Void> {
 
-    private int numberTokens = 0;
+    private AtomicInteger remainingTokens = new AtomicInteger();
     private HttpMessage httpMessage = null;
     private HttpSender httpSender = null;
     private HtmlParameterStats targetToken = null;
     private ExtensionTokenGen extension = null;
-    private boolean stopGenerating = false;
-    private boolean paused = false;
+    private volatile boolean stopGenerating = false;
+    private volatile boolean paused = false;
     private long requestDelayDuration;
     private TimeUnit requestDelayTimeUnit;
     private boolean shouldRemoveCookie = false;
@@ -81,7 +82,9 @@ public class TokenGenerator extends SwingWorker<Void, Void> {
             msg.getRequestHeader().setHeader(HttpHeader.COOKIE, null);
         }
 
-        for (int i = 0; i < numberTokens; i++) {
+        // The generators share the tokens still to collect, the faster ones collect more. The
+        // counter never goes below zero, so a request that timed out is always sent again.
+        while (remainingTokens.getAndUpdate(n -> n > 0 ? n - 1 : n) > 0) {
             while (paused && !this.stopGenerating) {
                 try {
                     Thread.sleep(500);
@@ -100,7 +103,7 @@ public class TokenGenerator extends SwingWorker<Void, Void> {
             } catch (SocketTimeoutException ste) {
                 LOGGER.debug(
                         "A timeout occurred while sending a request to generate a token. Reducing sent count, initiating supplemental request.");
-                i--;
+                remainingTokens.incrementAndGet();
             } catch (Exception e) {
                 LOGGER.error(e.getMessage(), e);
             }
@@ -110,7 +113,16 @@ public class TokenGenerator extends SwingWorker<Void, Void> {
     }
 
     public void setNumberTokens(int numberTokens) {
-        this.numberTokens = numberTokens;
+        this.remainingTokens = new AtomicInteger(numberTokens);
+    }
+
+    /**
+     * Sets the number of tokens still to collect, shared with other generators.
+     *
+     * @param remainingTokens the number of tokens.
+     */
+    void setRemainingTokens(AtomicInteger remainingTokens) {
+        this.remainingTokens = remainingTokens;
     }
 
     public void setHttpMessage(HttpMessage httpMessage) {
@@ -21,6 +21,8 @@ package org.zaproxy.zap.extension.tokengen;
 
 import javax.swing.GroupLayout;
 import javax.swing.JLabel;
+import javax.swing.JSpinner;
+import javax.swing.SpinnerNumberModel;
 import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.model.OptionsParam;
 import org.parosproxy.paros.view.AbstractParamPanel;
@@ -34,6 +36,7 @@ import org.zaproxy.zap.utils.ZapNumberSpinner;
  * <ul>
  *   <li>Number of threads for the token generation;
  *   <li>The request delay;
+ *   <li>The margin of error of the entropy that stops the token generation;
  * </ul>
  *
  * @see TokenParam
@@ -53,12 +56,19 @@ public class TokenOptionsPanel extends AbstractParamPanel {
     private static final String REQUEST_DELAY_LABEL =
             Constant.messages.getString("tokengen.optionspanel.option.requestdelay");
 
+    /** The label for the entropy margin option. */
+    private static final String ENTROPY_MARGIN_LABEL =
+            Constant.messages.getString("tokengen.optionspanel.option.entropymargin");
+
     /** The number spinner for the number of threads per scan. */
     private ZapNumberSpinner threadsPerScanNumberSpinner;
 
     /** The number spinner for the request delay. */
     private ZapNumberSpinner requestDelayNumberSpinner;
 
+    /** The number spinner for the entropy margin, in fractions of bits. */
+    private JSpinner entropyMarginNumberSpinner;
+
     public TokenOptionsPanel() {
         super();
 
@@ -70,6 +80,14 @@ public class TokenOptionsPanel extends AbstractParamPanel {
         requestDelayNumberSpinner =
                 new ZapNumberSpinner(0, TokenParam.DEFAULT_REQUEST_DELAY_IN_MS, Integer.MAX_VALUE);
 
+        JLabel entropyMarginLabel = new JLabel(ENTROPY_MARGIN_LABEL);
+        entropyMarginNumberSpinner =
+                new JSpinner(
+                        new SpinnerNumberModel(
+                                TokenParam.DEFAULT_ENTROPY_MARGIN_IN_BITS, 0, 1024, 0.1));
+        entropyMarginNumberSpinner.setEditor(
+                new JSpinner.NumberEditor(entropyMarginNumberSpinner, "0.0##"));
+
         setName(NAME);
 
         GroupLayout layout = new GroupLayout(this);
@@ -83,11 +101,13 @@ public class TokenOptionsPanel extends AbstractParamPanel {
                         .addGroup(
                                 layout.createParallelGroup(GroupLayout.Alignment.TRAILING)
                                         .addComponent(threadsPerScanLabel)
-                                        .addComponent(requestDelayLabel))
+                                        .addComponent(requestDelayLabel)
+                                        .addComponent(entropyMarginLabel))
                         .addGroup(
                                 layout.createParallelGroup(GroupLayout.Alignment.LEADING)
                                         .addComponent(threadsPerScanNumberSpinner)
-                                        .addComponent(requestDelayNumberSpinner)));
+                                        .addComponent(requestDelayNumberSpinner)
+                                        .addComponent(entropyMarginNumberSpinner)));
 
         layout.setVerticalGroup(
                 layout.createSequentialGroup()
@@ -98,7 +118,11 @@ public class TokenOptionsPanel extends AbstractParamPanel {
                         .addGroup(
                                 layout.createParallelGroup(GroupLayout.Alignment.BASELINE)
                                         .addComponent(requestDelayLabel)
-                                        .addComponent(requestDelayNumberSpinner)));
+                                        .addComponent(requestDelayNumberSpinner))
+                        .addGroup(
+                                layout.createParallelGroup(GroupLayout.Alignment.BASELINE)
+                                        .addComponent(entropyMarginLabel)
+                                        .addComponent(entropyMarginNumberSpinner)));
     }
 
     @Override
@@ -107,6 +131,7 @@ public class TokenOptionsPanel extends AbstractParamPanel {
 
         threadsPerScanNumberSpinner.setValue(options.getThreadsPerScan());
         requestDelayNumberSpinner.setValue(options.getRequestDelayInMs());
+        entropyMarginNumberSpinner.setValue(options.getEntropyMarginInBits());
     }
 
     @Override
@@ -115,6 +140,8 @@ public class TokenOptionsPanel extends AbstractParamPanel {
 
         options.setThreadsPerScan(threadsPerScanNumberSpinner.getValue());
         options.setRequestDelayInMs(requestDelayNumberSpinner.getValue());
+        options.setEntropyMarginInBits(
+                ((Number) entropyMarginNumberSpinner.getValue()).doubleValue());
     }
 
     @Override
@@ -76,6 +76,7 @@ public class TokenPanel extends AbstractPanel {
     private JButton loadButton = null;
     private JButton saveButton = null;
     private JButton optionsButton;
+    private JLabel entropyLabel;
 
     // Disabled
     // private HttpPanel requestPanel = null;
@@ -166,6 +167,7 @@ public class TokenPanel extends AbstractPanel {
             GridBagConstraints gridBagConstraints8 = new GridBagConstraints();
             GridBagConstraints gridBagConstraints9 = new GridBagConstraints();
             GridBagConstraints gridBagConstraints10 = new GridBagConstraints();
+            GridBagConstraints gridBagConstraints11 = new GridBagConstraints();
             // Dummy
             GridBagConstraints gridBagConstraintsx = new GridBagConstraints();
 
@@ -202,7 +204,12 @@ public class TokenPanel extends AbstractPanel {
             gridBagConstraints10.insets = new java.awt.Insets(0, 0, 0, 0);
             gridBagConstraints10.anchor = java.awt.GridBagConstraints.EAST;
 
-            gridBagConstraintsx.gridx = 10;
+            gridBagConstraints11.gridx = 10;
+            gridBagConstraints11.gridy = 0;
+            gridBagConstraints11.insets = new java.awt.Insets(0, 5, 0, 5);
+            gridBagConstraints11.anchor = java.awt.GridBagConstraints.WEST;
+
+            gridBagConstraintsx.gridx = 11;
             gridBagConstraintsx.gridy = 0;
             gridBagConstraintsx.weightx = 1.0;
             gridBagConstraintsx.weighty = 1.0;
@@ -216,6 +223,7 @@ public class TokenPanel extends AbstractPanel {
             panelToolbar.add(getProgressBar(), gridBagConstraints8);
             panelToolbar.add(getLoadButton(), gridBagConstraints9);
             panelToolbar.add(getSaveButton(), gridBagConstraints10);
+            panelToolbar.add(getEntropyLabel(), gridBagConstraints11);
 
             panelToolbar.add(t1, gridBagConstraintsx);
             panelToolbar.add(getOptionsButton());
@@ -233,6 +241,26 @@ public class TokenPanel extends AbstractPanel {
         return progressBar;
     }
 
+    private JLabel getEntropyLabel() {
+        if (entropyLabel == null) {
+            entropyLabel = new JLabel();
+        }
+        return entropyLabel;
+    }
+
+    private void setEntropyEstimate(EntropyEstimate estimate) {
+        if (estimate == null || estimate.getTokens() == 0) {
+            getEntropyLabel().setText("");
+            return;
+        }
+        getEntropyLabel()
+                .setText(
+                        Constant.messages.getString(
+                                "tokengen.toolbar.entropy.label",
+                                String.format("%.2f", estimate.getEntropy()),
+                                String.format("%.2f", estimate.getMargin())));
+    }
+
     private JButton getStopScanButton() {
         if (stopScanButton == null) {
             stopScanButton = new JButton();
@@ -341,16 +369,29 @@ public class TokenPanel extends AbstractPanel {
     }
 
     protected void addTokenResult(final MessageSummary msg) {
+        addTokenResult(msg, null);
+    }
+
+    /**
+     * Adds the given result, along with the entropy estimate that includes its token.
+     *
+     * @param msg the result.
+     * @param estimate the entropy estimate, might be {@code null}.
+     */
+    protected void addTokenResult(final MessageSummary msg, final EntropyEstimate estimate) {
 
         if (EventQueue.isDispatchThread()) {
             resultsModel.addMessage(msg);
             if (msg.isGoodResponse()) {
                 getProgressBar().setValue(getProgressBar().getValue() + 1);
             }
+            if (estimate != null) {
+                setEntropyEstimate(estimate);
+            }
             return;
         }
         try {
-            EventQueue.invokeLater(() -> addTokenResult(msg));
+            EventQueue.invokeLater(() -> addTokenResult(msg, estimate));
         } catch (Exception e) {
         }
     }
@@ -448,6 +489,7 @@ public class TokenPanel extends AbstractPanel {
         this.getJScrollPane().setViewportView(getTokenGenMessagesTable());
         this.setTabFocus();
         resetTokenResultList();
+        setEntropyEstimate(null);
 
         getProgressBar().setEnabled(true);
         getStopScanButton().setEnabled(true);
@@ -470,6 +512,7 @@ public class TokenPanel extends AbstractPanel {
     public void reset() {
         getJScrollPane().setViewportView(getInitialMessage());
         resetTokenResultList();
+        setEntropyEstimate(null);
         getSaveButton().setEnabled(false);
         getStopScanButton().setEnabled(false);
         getPauseScanButton().setEnabled(false);
@@ -29,6 +29,7 @@ import org.zaproxy.zap.common.VersionedAbstractParam;
  * <ul>
  *   <li>Number of threads for the token generation;
  *   <li>The request delay;
+ *   <li>The margin of error of the entropy that stops the token generation;
  * </ul>
  */
 public class TokenParam extends VersionedAbstractParam {
@@ -37,6 +38,8 @@ public class TokenParam extends VersionedAbstractParam {
 
     protected static final int DEFAULT_REQUEST_DELAY_IN_MS = 0;
 
+    protected static final double DEFAULT_ENTROPY_MARGIN_IN_BITS = 0;
+
     /**
      * The version of the configurations. Used to keep track of configurations changes between
      * releases, if updates are needed.
@@ -52,10 +55,14 @@ public class TokenParam extends VersionedAbstractParam {
 
     private static final String REQUEST_DELAY_IN_MS = PARAM_BASE_KEY + ".requestDelayInMs";
 
+    private static final String ENTROPY_MARGIN_IN_BITS = PARAM_BASE_KEY + ".entropyMarginInBits";
+
     private int threadsPerScan = DEFAULT_THREADS_PER_SCAN;
 
     private int requestDelayInMs = DEFAULT_REQUEST_DELAY_IN_MS;
 
+    private double entropyMarginInBits = DEFAULT_ENTROPY_MARGIN_IN_BITS;
+
     public TokenParam() {}
 
     @Override
@@ -78,6 +85,12 @@ public class TokenParam extends VersionedAbstractParam {
         setThreadsPerScanImpl(getConfig().getInt(THREADS_PER_SCAN, DEFAULT_THREADS_PER_SCAN));
 
         requestDelayInMs = getConfig().getInt(REQUEST_DELAY_IN_MS, DEFAULT_REQUEST_DELAY_IN_MS);
+        entropyMarginInBits =
+                Math.max(
+                        0,
+                        getConfig()
+                                .getDouble(
+                                        ENTROPY_MARGIN_IN_BITS, DEFAULT_ENTROPY_MARGIN_IN_BITS));
     }
 
     private void setThreadsPerScanImpl(int threadsPerScan) {
@@ -101,4 +114,23 @@ public class TokenParam extends VersionedAbstractParam {
         this.requestDelayInMs = requestDelayInMs;
         getConfig().setProperty(REQUEST_DELAY_IN_MS, this.requestDelayInMs);
     }
+
+    /**
+     * Gets the margin of error of the entropy, in bits, at which the token generation stops.
+     *
+     * @return the margin of error, zero if the generation should not stop early.
+     */
+    public double getEntropyMarginInBits() {
+        return entropyMarginInBits;
+    }
+
+    /**
+     * Sets the margin of error of the entropy, in bits, at which the token generation stops.
+     *
+     * @param entropyMarginInBits the margin of error, zero to not stop early.
+     */
+    public void setEntropyMarginInBits(double entropyMarginInBits) {
+        this.entropyMarginInBits = Math.max(0, entropyMarginInBits);
+        getConfig().setProperty(ENTROPY_MARGIN_IN_BITS, this.entropyMarginInBits);
+    }
 }
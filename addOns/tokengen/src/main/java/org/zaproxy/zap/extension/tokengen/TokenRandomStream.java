@@ -19,14 +19,19 @@
  */
 package org.zaproxy.zap.extension.tokengen;
 
-import java.math.BigInteger;
+import java.io.ByteArrayOutputStream;
 
+/**
+ * A {@code RandomStream} over the bytes of the tokens of a {@link CharacterFrequencyMap}.
+ *
+ * <p>The bytes of all the tokens are packed into a single array, which can be shared by several
+ * streams, each reading with its own position, for example, to run the tests concurrently.
+ */
 public class TokenRandomStream implements com.fasteasytrade.JRandTest.IO.RandomStream {
 
     private CharacterFrequencyMap cfm = null;
-    private int offset = 0;
-    private int byteOffset = 0;
-    private byte[] bytes = null;
+    private byte[] data = null;
+    private int position = 0;
     private boolean open = false;
     private String fileName = "TokenRandomStream";
 
@@ -35,6 +40,32 @@ public class TokenRandomStream implements com.fasteasytrade.JRandTest.IO.RandomS
         open = true;
     }
 
+    /**
+     * Constructs a {@code TokenRandomStream} over the given bytes, packed with {@link
+     * #pack(CharacterFrequencyMap)}.
+     *
+     * @param data the bytes of the tokens, not modified.
+     */
+    TokenRandomStream(byte[] data) {
+        this.data = data;
+        open = true;
+    }
+
+    /**
+     * Packs the bytes of all the tokens of the given map into a single array.
+     *
+     * @param cfm the map with the tokens.
+     * @return the bytes of the tokens.
+     */
+    static byte[] pack(CharacterFrequencyMap cfm) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        byte[] bytes;
+        for (int i = 0; (bytes = cfm.getByteArrayToken(i)) != null; i++) {
+            baos.write(bytes, 0, bytes.length);
+        }
+        return baos.toByteArray();
+    }
+
     @Override
     public boolean closeInputStream() {
         open = false;
@@ -53,50 +84,62 @@ public class TokenRandomStream implements com.fasteasytrade.JRandTest.IO.RandomS
 
     @Override
     public boolean openInputStream() throws Exception {
-        offset = 0;
-        open = true;
-        readNextToken();
+        if (data == null) {
+            data = pack(cfm);
+        }
+        position = 0;
+        open = data.length != 0;
         return true;
     }
 
-    private void readNextToken() throws Exception {
-        bytes = cfm.getByteArrayToken(offset);
-        if (bytes == null) {
-            open = false;
+    private boolean hasBytes(int count) {
+        if (open && data.length - position >= count) {
+            return true;
         }
-        offset++;
-        byteOffset = 0;
+        open = false;
+        return false;
     }
 
-    private BigInteger readNumber(int sizeInBytes) throws Exception {
-        byte[] ba = new byte[sizeInBytes];
-
-        for (int i = 0; i < sizeInBytes; i++) {
-            if (!open) {
-                return BigInteger.valueOf(-1);
-            }
-            ba[i] = bytes[byteOffset];
-            byteOffset++;
-            if (byteOffset >= bytes.length) {
-                readNextToken();
-            }
+    private void closeIfConsumed() {
+        if (position >= data.length) {
+            open = false;
         }
-        return new BigInteger(ba);
     }
 
     @Override
     public byte readByte() throws Exception {
-        return readNumber(1).byteValue();
+        if (!hasBytes(1)) {
+            return -1;
+        }
+        byte value = data[position++];
+        closeIfConsumed();
+        return value;
     }
 
     @Override
     public int readInt() throws Exception {
-        return readNumber(4).intValue();
+        if (!hasBytes(4)) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            value = (value << 8) | (data[position++] & 0xff);
+        }
+        closeIfConsumed();
+        return value;
     }
 
     @Override
     public long readLong() throws Exception {
-        return readNumber(8).longValue();
+        if (!hasBytes(8)) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (data[position++] & 0xff);
+        }
+        closeIfConsumed();
+        return value;
     }
 
     @Override
@@ -20,10 +20,13 @@
 package org.zaproxy.zap.extension.tokengen;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.nullValue;
 
 import org.junit.jupiter.api.Test;
@@ -97,4 +100,95 @@ class CharacterFrequencyMapUnitTest {
                 contains("Col 0 A:1 B:1 C:1", "Col 1 A:1 B:1 C:1", "Col 2 A:1 B:1 C:1"));
         assertThat(result.getSummary(), is(nullValue()));
     }
+
+    @Test
+    void shouldEstimateZeroEntropyWithoutTokens() {
+        // Given
+        CharacterFrequencyMap cfm = new CharacterFrequencyMap();
+        // When
+        EntropyEstimate estimate = cfm.getEntropyEstimate();
+        // Then
+        assertThat(estimate.getTokens(), is(equalTo(0)));
+        assertThat(estimate.getEntropy(), is(equalTo(0.0)));
+        assertThat(estimate.getMargin(), is(equalTo(0.0)));
+    }
+
+    @Test
+    void shouldEstimateZeroEntropyIfTokensAreConstant() {
+        // Given
+        CharacterFrequencyMap cfm = new CharacterFrequencyMap();
+        for (int i = 0; i < 10; i++) {
+            cfm.addToken("ABC");
+        }
+        // When
+        EntropyEstimate estimate = cfm.getEntropyEstimate();
+        // Then
+        assertThat(estimate.getTokens(), is(equalTo(10)));
+        assertThat(estimate.getEntropy(), is(equalTo(0.0)));
+        assertThat(estimate.getMargin(), is(equalTo(0.0)));
+    }
+
+    @Test
+    void shouldEstimateEntropyOfEachPosition() {
+        // Given
+        CharacterFrequencyMap cfm = new CharacterFrequencyMap();
+        for (int i = 0; i < 1000; i++) {
+            cfm.addToken("A" + (i % 2) + (i % 4));
+        }
+        // When
+        EntropyEstimate estimate = cfm.getEntropyEstimate();
+        // Then
+        assertThat(estimate.getTokens(), is(equalTo(1000)));
+        assertThat(estimate.getEntropy(), is(closeTo(3.0, 0.01)));
+    }
+
+    @Test
+    void shouldNarrowEntropyMarginAsTokensAreAdded() {
+        // Given
+        CharacterFrequencyMap cfm = new CharacterFrequencyMap();
+        addSkewedTokens(cfm, 10);
+        EntropyEstimate estimate = cfm.getEntropyEstimate();
+        addSkewedTokens(cfm, 1000);
+        // When
+        EntropyEstimate narrowedEstimate = cfm.getEntropyEstimate();
+        // Then
+        assertThat(estimate.getMargin(), is(greaterThan(0.1)));
+        assertThat(narrowedEstimate.getMargin(), is(lessThan(0.05)));
+        assertThat(narrowedEstimate.getEntropy(), is(closeTo(0.81, 0.01)));
+    }
+
+    @Test
+    void shouldHaveEntropyMarginWithUniformCharacters() {
+        // Given
+        CharacterFrequencyMap cfm = new CharacterFrequencyMap();
+        for (int i = 0; i < 100; i++) {
+            cfm.addToken(String.valueOf((char) ('A' + i % 4)));
+        }
+        // When
+        EntropyEstimate estimate = cfm.getEntropyEstimate();
+        // Then
+        assertThat(estimate.getMargin(), is(closeTo(0.035, 0.001)));
+    }
+
+    @Test
+    void shouldConvergeOnlyWithMinimumTokensAndMargin() {
+        // Given
+        CharacterFrequencyMap cfm = new CharacterFrequencyMap();
+        addSkewedTokens(cfm, 10);
+        // When
+        EntropyEstimate estimate = cfm.getEntropyEstimate();
+        // Then
+        assertThat(estimate.hasConverged(100, 1), is(equalTo(false)));
+        assertThat(estimate.hasConverged(10, 0.01), is(equalTo(false)));
+        assertThat(estimate.hasConverged(10, 1), is(equalTo(true)));
+    }
+
+    private static void addSkewedTokens(CharacterFrequencyMap cfm, int times) {
+        for (int i = 0; i < times; i++) {
+            cfm.addToken("A");
+            cfm.addToken("A");
+            cfm.addToken("A");
+            cfm.addToken("B");
+        }
+    }
 }
@@ -21,6 +21,7 @@ package org.zaproxy.zap.extension.tokengen;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.BDDMockito.given;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -51,6 +52,90 @@ class TokenRandomStreamUnitTest {
         assertThat(stream.readLong(), is(-1L));
     }
 
-    // TODO Add more tests
+    @Test
+    void shouldReadBytesOfAllTokens() throws Exception {
+        // Given
+        given(characterFrequencyMap.getByteArrayToken(0)).willReturn(new byte[] {1, 2});
+        given(characterFrequencyMap.getByteArrayToken(1)).willReturn(new byte[] {-3});
+        given(characterFrequencyMap.getByteArrayToken(2)).willReturn(null);
+        stream.openInputStream();
+        // When / Then
+        assertThat(stream.readByte(), is((byte) 1));
+        assertThat(stream.readByte(), is((byte) 2));
+        assertThat(stream.isOpen(), is(true));
+        assertThat(stream.readByte(), is((byte) -3));
+        assertThat(stream.isOpen(), is(false));
+        assertThat(stream.readByte(), is((byte) -1));
+    }
+
+    @Test
+    void shouldReadNumbersAcrossTokens() throws Exception {
+        // Given
+        given(characterFrequencyMap.getByteArrayToken(0)).willReturn(new byte[] {0x01, 0x02});
+        given(characterFrequencyMap.getByteArrayToken(1))
+                .willReturn(new byte[] {0x03, (byte) 0xff, 0x05, 0x06, 0x07, 0x08, 0x09, 0x0a});
+        given(characterFrequencyMap.getByteArrayToken(2))
+                .willReturn(new byte[] {0x0b, (byte) 0x80});
+        given(characterFrequencyMap.getByteArrayToken(3)).willReturn(null);
+        stream.openInputStream();
+        // When / Then
+        assertThat(stream.readInt(), is(0x010203ff));
+        assertThat(stream.readLong(), is(0x05060708090a0b80L));
+        assertThat(stream.isOpen(), is(false));
+        assertThat(stream.readInt(), is(-1));
+    }
+
+    @Test
+    void shouldReadNegativeNumbers() throws Exception {
+        // Given
+        byte[] data = {(byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xfe};
+        stream = new TokenRandomStream(data);
+        stream.openInputStream();
+        // When
+        int value = stream.readInt();
+        // Then
+        assertThat(value, is(-2));
+    }
+
+    @Test
+    void shouldReturnMinusOneIfNotEnoughBytesForNumber() throws Exception {
+        // Given
+        stream = new TokenRandomStream(new byte[] {1, 2, 3});
+        stream.openInputStream();
+        // When
+        long value = stream.readLong();
+        // Then
+        assertThat(value, is(-1L));
+        assertThat(stream.isOpen(), is(false));
+    }
+
+    @Test
+    void shouldReadSharedBytesIndependently() throws Exception {
+        // Given
+        byte[] data = {1, 2, 3};
+        TokenRandomStream stream1 = new TokenRandomStream(data);
+        TokenRandomStream stream2 = new TokenRandomStream(data);
+        stream1.openInputStream();
+        stream2.openInputStream();
+        // When
+        stream1.readByte();
+        stream1.readByte();
+        byte value = stream2.readByte();
+        // Then
+        assertThat(value, is((byte) 1));
+        assertThat(stream1.readByte(), is((byte) 3));
+    }
 
+    @Test
+    void shouldPackBytesOfAllTokens() {
+        // Given
+        given(characterFrequencyMap.getByteArrayToken(0)).willReturn(new byte[] {1, 2});
+        given(characterFrequencyMap.getByteArrayToken(1)).willReturn(new byte[0]);
+        given(characterFrequencyMap.getByteArrayToken(2)).willReturn(new byte[] {3});
+        given(characterFrequencyMap.getByteArrayToken(3)).willReturn(null);
+        // When
+        byte[] data = TokenRandomStream.pack(characterFrequencyMap);
+        // Then
+        assertThat(data, is(new byte[] {1, 2, 3}));
+    }
 }
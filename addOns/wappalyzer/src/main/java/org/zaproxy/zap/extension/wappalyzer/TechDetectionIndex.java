@@ -0,0 +1,675 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.wappalyzer;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import net.htmlparser.jericho.Element;
+import net.htmlparser.jericho.HTMLElementName;
+import net.htmlparser.jericho.Source;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.select.Elements;
+import org.parosproxy.paros.network.HtmlParameter;
+import org.parosproxy.paros.network.HttpHeaderField;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.addon.commonlib.ResourceIdentificationUtils;
+import org.zaproxy.zap.extension.wappalyzer.AppPattern.Result;
+import org.zaproxy.zap.extension.wappalyzer.ExtensionWappalyzer.Mode;
+
+/**
+ * An index of the patterns of the applications, to check all the applications against a message
+ * in a single pass per type of evidence, instead of one application at a time.
+ *
+ * <p>The header, cookie, and meta patterns are indexed by name. The URL, HTML, script, and CSS
+ * patterns are bucketed by the literal they require, if any, which are all found with a single
+ * scan of the content, so that only the patterns that might match are evaluated. The response is
+ * parsed into a DOM at most once.
+ */
+class TechDetectionIndex {
+
+    private static final Logger LOGGER = LogManager.getLogger(TechDetectionIndex.class);
+
+    static final int LITERAL_LENGTH = 3;
+
+    private static final String REGEX_META_CHARS = "[](){}.*+?^$|";
+
+    private final List<Application> applications;
+
+    private final PatternGroup url = new PatternGroup();
+    private final Map<String, List<PatternEntry>> headers = new HashMap<>();
+    private final Map<String, List<PatternEntry>> cookies = new HashMap<>();
+    private final PatternGroup html = new PatternGroup();
+    private final List<Integer> domApps = new ArrayList<>();
+    private final Map<String, List<PatternEntry>> metas = new HashMap<>();
+    private final PatternGroup script = new PatternGroup();
+    private final PatternGroup css = new PatternGroup();
+
+    TechDetectionIndex(List<Application> applications) {
+        this.applications = applications;
+
+        for (int i = 0; i < applications.size(); i++) {
+            Application app = applications.get(i);
+            int appIndex = i;
+            app.getUrl().forEach(p -> url.add(new PatternEntry(appIndex, p)));
+            addNamed(headers, appIndex, app.getHeaders(), "HEADER", true);
+            addNamed(cookies, appIndex, app.getCookies(), "Cookies", false);
+            app.getHtml().forEach(p -> html.add(new PatternEntry(appIndex, p)));
+            if (!app.getSimpleDom().isEmpty() || !app.getDom().isEmpty()) {
+                domApps.add(appIndex);
+            }
+            for (Map<String, AppPattern> sp : app.getMetas()) {
+                sp.forEach(
+                        (name, p) ->
+                                metas.computeIfAbsent(name, k -> new ArrayList<>())
+                                        .add(new PatternEntry(appIndex, p)));
+            }
+            app.getScript().forEach(p -> script.add(new PatternEntry(appIndex, p)));
+            app.getCss().forEach(p -> css.add(new PatternEntry(appIndex, p)));
+        }
+    }
+
+    private static void addNamed(
+            Map<String, List<PatternEntry>> index,
+            int appIndex,
+            List<Map<String, AppPattern>> patterns,
+            String type,
+            boolean lowerCaseName) {
+        for (Map<String, AppPattern> sp : patterns) {
+            for (Map.Entry<String, AppPattern> entry : sp.entrySet()) {
+                PatternEntry patternEntry;
+                if (skipValueCheck(entry)) {
+                    // Just the presence, matched against the name for the evidence
+                    AppPattern p = new AppPattern();
+                    p.setType(type);
+                    try {
+                        p.setPattern(entry.getKey());
+                    } catch (java.util.regex.PatternSyntaxException e) {
+                        LOGGER.debug("Ignoring invalid name pattern: {}", entry.getKey());
+                        continue;
+                    }
+                    patternEntry = new PatternEntry(appIndex, p, entry.getKey());
+                } else {
+                    patternEntry = new PatternEntry(appIndex, entry.getValue());
+                }
+                String name =
+                        lowerCaseName ? entry.getKey().toLowerCase(Locale.ROOT) : entry.getKey();
+                index.computeIfAbsent(name, k -> new ArrayList<>()).add(patternEntry);
+            }
+        }
+    }
+
+    static boolean skipValueCheck(Map.Entry<String, AppPattern> entry) {
+        return entry.getValue().getJavaPattern().toString().isEmpty()
+                && entry.getValue().getRe2jPattern().toString().isEmpty();
+    }
+
+    /**
+     * Tells whether or not this index was created for the given applications.
+     *
+     * @param applications the applications.
+     * @return {@code true} if created for the applications, {@code false} otherwise.
+     */
+    boolean isFor(List<Application> applications) {
+        return this.applications == applications;
+    }
+
+    /**
+     * Gets the applications that match the given message, in the order of the applications.
+     *
+     * <p>In {@link Mode#QUICK quick mode} an application is no longer checked once it matched a
+     * type of evidence.
+     *
+     * @param msg the message.
+     * @param source the source of the response body.
+     * @param mode the mode of the checks.
+     * @param identified the names of the applications already identified, not checked.
+     * @return the matches of the applications.
+     */
+    Collection<ApplicationMatch> match(
+            HttpMessage msg, Source source, Mode mode, Set<String> identified) {
+        Matches matches = new Matches(Mode.EXHAUSTIVE.equals(mode), identified);
+
+        String requestUrl = msg.getRequestHeader().getURI().toString();
+        matches.checkAll(url.getCandidates(requestUrl.toLowerCase(Locale.ROOT)), requestUrl);
+        matches.endType();
+        checkHeaders(msg, matches);
+        matches.endType();
+        checkCookies(msg, matches);
+        matches.endType();
+
+        if (!msg.getResponseHeader().isText()) {
+            return matches.getMatches(); // Don't check body if not text'ish
+        }
+
+        Content body = new Content(msg.getResponseBody().toString());
+        matches.checkAll(html.getCandidates(body.getLowerCase()), body.value);
+        matches.endType();
+        checkSimpleDom(body, matches);
+        matches.endType();
+        if (msg.getResponseHeader().isHtml()) {
+            checkDom(body, matches);
+        }
+        matches.endType();
+        checkMetas(source, matches);
+        matches.endType();
+        checkScripts(source, matches);
+        matches.endType();
+        checkCss(msg, body, source, matches);
+
+        return matches.getMatches();
+    }
+
+    private void checkHeaders(HttpMessage msg, Matches matches) {
+        Set<String> checked = new HashSet<>();
+        for (HttpHeaderField field : msg.getResponseHeader().getHeaders()) {
+            String name = field.getName().toLowerCase(Locale.ROOT);
+            List<PatternEntry> entries = headers.get(name);
+            if (entries == null || !checked.add(name)) {
+                continue;
+            }
+            String value = msg.getResponseHeader().getHeader(field.getName());
+            for (PatternEntry entry : entries) {
+                matches.check(entry, entry.name != null ? entry.name : value);
+            }
+        }
+    }
+
+    private void checkCookies(HttpMessage msg, Matches matches) {
+        for (HtmlParameter cookie : msg.getCookieParams()) {
+            List<PatternEntry> entries = cookies.get(cookie.getName());
+            if (entries == null) {
+                continue;
+            }
+            for (PatternEntry entry : entries) {
+                matches.check(entry, entry.name != null ? entry.name : cookie.getValue());
+            }
+        }
+    }
+
+    private void checkSimpleDom(Content body, Matches matches) {
+        for (int appIndex : domApps) {
+            if (!matches.isPending(appIndex)) {
+                continue;
+            }
+            for (String selector : applications.get(appIndex).getSimpleDom()) {
+                if (!body.getDocument().select(selector).isEmpty()) {
+                    matches.getMatch(appIndex);
+                }
+            }
+        }
+    }
+
+    private void checkDom(Content body, Matches matches) {
+        for (int appIndex : domApps) {
+            if (!matches.isPending(appIndex)) {
+                continue;
+            }
+            for (Map<String, Map<String, Map<String, AppPattern>>> domSelectorMap :
+                    applications.get(appIndex).getDom()) {
+                for (Map.Entry<String, Map<String, Map<String, AppPattern>>> selectorMap :
+                        domSelectorMap.entrySet()) {
+                    Elements selectedElements = body.getDocument().select(selectorMap.getKey());
+                    if (selectedElements.isEmpty()) {
+                        continue;
+                    }
+                    for (Map.Entry<String, Map<String, AppPattern>> nodeSelectorMap :
+                            selectorMap.getValue().entrySet()) {
+                        boolean attributes =
+                                Objects.equals(nodeSelectorMap.getKey(), "attributes");
+                        for (Map.Entry<String, AppPattern> value :
+                                nodeSelectorMap.getValue().entrySet()) {
+                            for (org.jsoup.nodes.Element selectedElement : selectedElements) {
+                                if (Objects.equals(value.getKey(), "text")) {
+                                    matches.addIfMatches(
+                                            appIndex, value.getValue(), selectedElement.text());
+                                }
+                                if (attributes && selectedElement.hasAttr(value.getKey())) {
+                                    matches.addIfMatches(
+                                            appIndex,
+                                            value.getValue(),
+                                            selectedElement.attr(value.getKey()));
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void checkMetas(Source source, Matches matches) {
+        if (metas.isEmpty()) {
+            return;
+        }
+        for (Element metaElement : source.getAllElements(HTMLElementName.META)) {
+            String name = metaElement.getAttributeValue("name");
+            String content = metaElement.getAttributeValue("content");
+            if (name == null || content == null) {
+                continue;
+            }
+            List<PatternEntry> entries = metas.get(name);
+            if (entries != null) {
+                matches.checkAll(entries, content);
+            }
+        }
+    }
+
+    private void checkScripts(Source source, Matches matches) {
+        if (script.isEmpty()) {
+            return;
+        }
+        for (Element scriptElement : source.getAllElements(HTMLElementName.SCRIPT)) {
+            String src = scriptElement.getAttributeValue("src");
+            if (src != null && !src.isEmpty()) {
+                matches.checkAll(script.getCandidates(src.toLowerCase(Locale.ROOT)), src);
+            }
+        }
+    }
+
+    private void checkCss(HttpMessage msg, Content body, Source source, Matches matches) {
+        if (css.isEmpty()) {
+            return;
+        }
+        if (ResourceIdentificationUtils.isCss(msg)) {
+            matches.checkAll(css.getCandidates(body.getLowerCase()), body.value);
+            return;
+        }
+        for (Element styleElement : source.getAllElements(HTMLElementName.STYLE)) {
+            String style = styleElement.getSource().toString();
+            matches.checkAll(css.getCandidates(style.toLowerCase(Locale.ROOT)), style);
+        }
+    }
+
+    /**
+     * Gets the literals that the given regular expression requires, any match contains at least
+     * one of them.
+     *
+     * <p>The literals are conservative, only the characters that are matched as is, exactly once,
+     * are considered. There is one literal per alternative, for example, {@code (?:foo|bar)baz}
+     * requires {@code baz}, while {@code foo|bar\d} requires {@code foo} or {@code bar}.
+     *
+     * @param regex the regular expression, case insensitive.
+     * @return the literals in lower case, or {@code null} if none long enough to be indexed.
+     */
+    static List<String> getRequiredLiterals(String regex) {
+        return getRequiredLiterals(regex, 0, regex.length());
+    }
+
+    private static List<String> getRequiredLiterals(String regex, int start, int end) {
+        List<String> literals = new ArrayList<>();
+        int altStart = start;
+        int i = start;
+        while (i <= end) {
+            if (i == end || regex.charAt(i) == '|') {
+                List<String> altLiterals = getSequenceLiterals(regex, altStart, i);
+                if (altLiterals == null) {
+                    return null;
+                }
+                literals.addAll(altLiterals);
+                altStart = i + 1;
+                i++;
+            } else {
+                i = skipItem(regex, i, end);
+            }
+        }
+        return literals;
+    }
+
+    private static List<String> getSequenceLiterals(String regex, int start, int end) {
+        String longest = "";
+        List<String> groupLiterals = null;
+        StringBuilder literal = new StringBuilder();
+        int i = start;
+        while (i < end) {
+            char c = regex.charAt(i);
+            int next = skipItem(regex, i, end);
+            boolean required = next >= end || !isOptionalQuantifier(regex.charAt(next));
+            if (c == '\\' && i + 1 < end && !Character.isLetterOrDigit(regex.charAt(i + 1))) {
+                c = regex.charAt(i + 1);
+                if (c >= 128) {
+                    c = 0;
+                }
+            } else if (c == '\\' || REGEX_META_CHARS.indexOf(c) != -1 || c >= 128) {
+                if (c == '(' && required && groupLiterals == null) {
+                    int groupStart = getGroupContentStart(regex, i);
+                    if (groupStart != -1) {
+                        groupLiterals = getRequiredLiterals(regex, groupStart, next - 1);
+                    }
+                }
+                c = 0;
+            }
+
+            if (c != 0 && required) {
+                literal.append(c);
+            }
+            int afterQuantifier = skipQuantifier(regex, next, end);
+            if (c == 0 || !required || afterQuantifier != next) {
+                if (literal.length() > longest.length()) {
+                    longest = literal.toString();
+                }
+                literal.setLength(0);
+            }
+            i = afterQuantifier;
+        }
+        if (literal.length() > longest.length()) {
+            longest = literal.toString();
+        }
+
+        if (longest.length() >= LITERAL_LENGTH) {
+            return List.of(longest.toLowerCase(Locale.ROOT));
+        }
+        return groupLiterals;
+    }
+
+    /** Gets the start of the content of the group, or -1 if not a plain or non-capturing group. */
+    private static int getGroupContentStart(String regex, int groupStart) {
+        int start = groupStart + 1;
+        if (start >= regex.length() || regex.charAt(start) != '?') {
+            return start;
+        }
+        if (start + 1 < regex.length() && regex.charAt(start + 1) == ':') {
+            return start + 2;
+        }
+        return -1;
+    }
+
+    /** Skips the character, escape, class, or group at the given index, without quantifier. */
+    private static int skipItem(String regex, int i, int end) {
+        char c = regex.charAt(i);
+        if (c == '\\') {
+            return Math.min(i + 2, end);
+        }
+        if (c == '[') {
+            // Classes can be nested, for example, [a-z&&[^b]]
+            int depth = 0;
+            while (i < end) {
+                char cc = regex.charAt(i);
+                if (cc == '\\') {
+                    i += 2;
+                    continue;
+                }
+                if (cc == '[') {
+                    depth++;
+                    i++;
+                    if (i < end && regex.charAt(i) == '^') {
+                        i++;
+                    }
+                    if (i < end && regex.charAt(i) == ']') {
+                        // Literal if first
+                        i++;
+                    }
+                    continue;
+                }
+                if (cc == ']' && --depth == 0) {
+                    return i + 1;
+                }
+                i++;
+            }
+            return end;
+        }
+        if (c == '(') {
+            int depth = 0;
+            while (i < end) {
+                char gc = regex.charAt(i);
+                if (gc == '(') {
+                    depth++;
+                } else if (gc == ')' && --depth == 0) {
+                    return i + 1;
+                } else if (gc == '\\' || gc == '[') {
+                    i = skipItem(regex, i, end);
+                    continue;
+                }
+                i++;
+            }
+            return end;
+        }
+        return i + 1;
+    }
+
+    private static int skipQuantifier(String regex, int i, int end) {
+        if (i >= end) {
+            return i;
+        }
+        char c = regex.charAt(i);
+        if (c == '{') {
+            int close = regex.indexOf('}', i);
+            i = close == -1 || close >= end ? end : close + 1;
+        } else if (c == '?' || c == '*' || c == '+') {
+            i++;
+        } else {
+            return i;
+        }
+        if (i < end && (regex.charAt(i) == '?' || regex.charAt(i) == '+')) {
+            // Reluctant or possessive
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isOptionalQuantifier(char c) {
+        return c == '?' || c == '*' || c == '{';
+    }
+
+    private static class PatternEntry {
+
+        private final int appIndex;
+        private final AppPattern pattern;
+        private final String name;
+        private int id;
+
+        PatternEntry(int appIndex, AppPattern pattern) {
+            this(appIndex, pattern, null);
+        }
+
+        /**
+         * Constructs a {@code PatternEntry} that checks just the presence of a header or cookie.
+         *
+         * @param appIndex the index of the application.
+         * @param pattern the pattern that matches the name.
+         * @param name the name, matched instead of the value.
+         */
+        PatternEntry(int appIndex, AppPattern pattern, String name) {
+            this.appIndex = appIndex;
+            this.pattern = pattern;
+            this.name = name;
+        }
+    }
+
+    /**
+     * The patterns of a type of evidence, bucketed by the first characters of the literals they
+     * require.
+     */
+    private static class PatternGroup {
+
+        private final List<PatternEntry> unindexed = new ArrayList<>();
+        private final Map<Integer, List<Literal>> indexed = new HashMap<>();
+        private final BitSet prefixes = new BitSet(128 * 128);
+        private int size;
+
+        void add(PatternEntry entry) {
+            entry.id = size++;
+            List<String> literals = getRequiredLiterals(entry.pattern.getJavaPattern().pattern());
+            if (literals == null) {
+                unindexed.add(entry);
+                return;
+            }
+            for (String literal : literals) {
+                char c0 = literal.charAt(0);
+                char c1 = literal.charAt(1);
+                prefixes.set(c0 << 7 | c1);
+                int key = c0 << 14 | c1 << 7 | literal.charAt(2);
+                indexed.computeIfAbsent(key, k -> new ArrayList<>())
+                        .add(new Literal(literal, entry));
+            }
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Gets the patterns that might match the given content, that is, the ones with a literal
+         * in the content and the ones without literals.
+         *
+         * @param lowerCaseContent the content in lower case.
+         * @return the patterns that might match.
+         */
+        List<PatternEntry> getCandidates(String lowerCaseContent) {
+            if (indexed.isEmpty()) {
+                return unindexed;
+            }
+            List<PatternEntry> candidates = new ArrayList<>(unindexed);
+            BitSet found = new BitSet(size);
+            int end = lowerCaseContent.length() - LITERAL_LENGTH;
+            for (int i = 0; i <= end; i++) {
+                char c0 = lowerCaseContent.charAt(i);
+                char c1 = lowerCaseContent.charAt(i + 1);
+                if (c0 >= 128 || c1 >= 128 || !prefixes.get(c0 << 7 | c1)) {
+                    continue;
+                }
+                char c2 = lowerCaseContent.charAt(i + 2);
+                if (c2 >= 128) {
+                    continue;
+                }
+                List<Literal> bucket = indexed.get(c0 << 14 | c1 << 7 | c2);
+                if (bucket == null) {
+                    continue;
+                }
+                for (Literal literal : bucket) {
+                    PatternEntry entry = literal.entry;
+                    if (!found.get(entry.id) && lowerCaseContent.startsWith(literal.value, i)) {
+                        found.set(entry.id);
+                        candidates.add(entry);
+                    }
+                }
+            }
+            return candidates;
+        }
+    }
+
+    private static class Literal {
+
+        private final String value;
+        private final PatternEntry entry;
+
+        Literal(String value, PatternEntry entry) {
+            this.value = value;
+            this.entry = entry;
+        }
+    }
+
+    /** The body of the response, converted and parsed only if needed. */
+    private static class Content {
+
+        private final String value;
+        private String lowerCase;
+        private Document document;
+
+        Content(String value) {
+            this.value = value;
+        }
+
+        String getLowerCase() {
+            if (lowerCase == null) {
+                lowerCase = value.toLowerCase(Locale.ROOT);
+            }
+            return lowerCase;
+        }
+
+        Document getDocument() {
+            if (document == null) {
+                document = Jsoup.parse(value);
+            }
+            return document;
+        }
+    }
+
+    /** The matches of the applications being checked against a message. */
+    private class Matches {
+
+        private final boolean exhaustive;
+        private final Set<String> identified;
+        private final Map<Integer, ApplicationMatch> matches = new TreeMap<>();
+        private final Set<Integer> done = new HashSet<>();
+
+        Matches(boolean exhaustive, Set<String> identified) {
+            this.exhaustive = exhaustive;
+            this.identified = identified;
+        }
+
+        boolean isPending(int appIndex) {
+            return !done.contains(appIndex)
+                    && !identified.contains(applications.get(appIndex).getName());
+        }
+
+        void checkAll(List<PatternEntry> entries, String content) {
+            for (PatternEntry entry : entries) {
+                check(entry, content);
+            }
+        }
+
+        void check(PatternEntry entry, String content) {
+            if (isPending(entry.appIndex)) {
+                addIfMatches(entry.appIndex, entry.pattern, content);
+            }
+        }
+
+        void addIfMatches(int appIndex, AppPattern appPattern, String content) {
+            Result result = appPattern.findInString(content);
+            if (!result.getVersions().isEmpty() || !result.getEvidence().isEmpty()) {
+                ApplicationMatch appMatch = getMatch(appIndex);
+                // TODO may need to account for the wappalyzer spec in dealing with version info:
+                // https://www.wappalyzer.com/docs/specification
+                appMatch.addEvidence(result.getEvidence());
+                result.getVersions().forEach(appMatch::addVersion);
+                LOGGER.debug(
+                        "{} matched {}", appPattern.getType(), appMatch.getApplication().getName());
+            }
+        }
+
+        ApplicationMatch getMatch(int appIndex) {
+            return matches.computeIfAbsent(
+                    appIndex, k -> new ApplicationMatch(applications.get(appIndex)));
+        }
+
+        /** Called once all the patterns of a type of evidence were checked. */
+        void endType() {
+            if (!exhaustive) {
+                done.addAll(matches.keySet());
+            }
+        }
+
+        Collection<ApplicationMatch> getMatches() {
+            return matches.values();
+        }
+    }
+}
@@ -141,35 +141,39 @@ public class TechTableModel extends AbstractTableModel {
     }
 
     public void addApplication(ApplicationMatch app) {
-        lastAddedRow = -1;
-
-        for (int i = 0; i < apps.size(); i++) {
-            int cmp =
-                    app.getApplication()
-                            .getName()
-                            .toLowerCase()
-                            .compareTo(apps.get(i).getApplication().getName().toLowerCase());
-            if (cmp < 0) {
-                apps.add(i, app);
-                this.fireTableRowsInserted(i, i);
-
-                lastAddedRow = i;
-                return;
-
-            } else if (cmp == 0) {
-                // Already matches, so ignore
-                ApplicationMatch existing = apps.get(i);
-                existing.getVersions().addAll(app.getVersions());
-                lastAddedRow = i;
-                return;
+        // Called concurrently by the passive scan threads when there is no view, the search and
+        // the insertion must be done atomically.
+        synchronized (apps) {
+            lastAddedRow = -1;
+
+            for (int i = 0; i < apps.size(); i++) {
+                int cmp =
+                        app.getApplication()
+                                .getName()
+                                .toLowerCase()
+                                .compareTo(apps.get(i).getApplication().getName().toLowerCase());
+                if (cmp < 0) {
+                    apps.add(i, app);
+                    this.fireTableRowsInserted(i, i);
+
+                    lastAddedRow = i;
+                    return;
+
+                } else if (cmp == 0) {
+                    // Already matches, so ignore
+                    ApplicationMatch existing = apps.get(i);
+                    existing.getVersions().addAll(app.getVersions());
+                    lastAddedRow = i;
+                    return;
+                }
             }
-        }
 
-        if (!apps.contains(app)) {
-            apps.add(app);
-            this.fireTableRowsInserted(apps.size() - 1, apps.size() - 1);
+            if (!apps.contains(app)) {
+                apps.add(app);
+                this.fireTableRowsInserted(apps.size() - 1, apps.size() - 1);
 
-            lastAddedRow = apps.size() - 1;
+                lastAddedRow = apps.size() - 1;
+            }
         }
     }
 
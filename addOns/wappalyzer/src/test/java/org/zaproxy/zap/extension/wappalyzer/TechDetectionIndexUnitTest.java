@@ -0,0 +1,103 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.wappalyzer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/** Unit test for {@link TechDetectionIndex}. */
+class TechDetectionIndexUnitTest {
+
+    @Test
+    void shouldRequireWholeLiteralPattern() {
+        // Given
+        String regex = "Modernizr";
+        // When
+        List<String> literals = TechDetectionIndex.getRequiredLiterals(regex);
+        // Then
+        assertThat(literals, contains("modernizr"));
+    }
+
+    @Test
+    void shouldRequireEscapedCharactersAndSkipOptionalGroups() {
+        // Given
+        String regex = "\\.php(?:$|\\?)";
+        // When
+        List<String> literals = TechDetectionIndex.getRequiredLiterals(regex);
+        // Then
+        assertThat(literals, contains(".php"));
+    }
+
+    @Test
+    void shouldRequireLongestLiteralOfSequence() {
+        // Given
+        String regex = "jquery[.-]([\\d.]+)\\.js";
+        // When
+        List<String> literals = TechDetectionIndex.getRequiredLiterals(regex);
+        // Then
+        assertThat(literals, contains("jquery"));
+    }
+
+    @Test
+    void shouldRequireOneLiteralPerAlternative() {
+        // Given
+        String regex = "foo|bar\\d";
+        // When
+        List<String> literals = TechDetectionIndex.getRequiredLiterals(regex);
+        // Then
+        assertThat(literals, contains("foo", "bar"));
+    }
+
+    @Test
+    void shouldRequireLiteralsOfAlternativesInGroup() {
+        // Given
+        String regex = "(?:Portal <a[^>]+>Dokeos|@import \"[^\"]+dokeos_blue)";
+        // When
+        List<String> literals = TechDetectionIndex.getRequiredLiterals(regex);
+        // Then
+        assertThat(literals, contains("portal <a", "dokeos_blue"));
+    }
+
+    @Test
+    void shouldNotRequireQuantifiedOrOptionalCharacters() {
+        // Given
+        String regex = "(abc)?d{2}efg";
+        // When
+        List<String> literals = TechDetectionIndex.getRequiredLiterals(regex);
+        // Then
+        assertThat(literals, contains("efg"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"(?:a|b)c", "x(?=abc)", "[[a]xyz]q", "ab.c", "(?:abc|d)ef"})
+    void shouldNotRequireLiteralsIfNoneLongEnoughInAllAlternatives(String regex) {
+        // Given / When
+        List<String> literals = TechDetectionIndex.getRequiredLiterals(regex);
+        // Then
+        assertThat(literals, is(nullValue()));
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.wappalyzer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zaproxy.zap.testutils.TestUtils;
+
+/** Unit test for {@link TechTableModel}. */
+class TechTableModelUnitTest extends TestUtils {
+
+    @BeforeEach
+    void setUp() {
+        mockMessages(new ExtensionWappalyzer());
+    }
+
+    @Test
+    void shouldAddApplicationsSortedByName() {
+        // Given
+        TechTableModel model = new TechTableModel();
+        // When
+        model.addApplication(createMatch("PHP"));
+        model.addApplication(createMatch("apache"));
+        model.addApplication(createMatch("Nginx"));
+        model.addApplication(createMatch("PHP"));
+        // Then
+        assertThat(getNames(model), contains("apache", "Nginx", "PHP"));
+    }
+
+    @Test
+    void shouldAddApplicationsConcurrentlyWithoutDuplicates() throws Exception {
+        // Given
+        TechTableModel model = new TechTableModel();
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> tasks = new ArrayList<>();
+        // When
+        for (int t = 0; t < threads; t++) {
+            tasks.add(
+                    executor.submit(
+                            () -> {
+                                start.await();
+                                for (int i = 0; i < 50; i++) {
+                                    model.addApplication(createMatch("App " + (100 + i)));
+                                }
+                                return null;
+                            }));
+        }
+        start.countDown();
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+        executor.shutdown();
+        // Then
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            expected.add("App " + (100 + i));
+        }
+        assertThat(getNames(model), contains(expected.toArray()));
+    }
+
+    private static ApplicationMatch createMatch(String name) {
+        Application app = new Application();
+        app.setName(name);
+        return new ApplicationMatch(app);
+    }
+
+    private static List<String> getNames(TechTableModel model) {
+        return model.getApps().stream()
+                .map(match -> match.getApplication().getName())
+                .collect(Collectors.toList());
+    }
+}